@@ -17,6 +17,7 @@ package org.mybatis.dynamic.sql;
 
 import java.util.Collection;
 import java.util.Objects;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
@@ -34,6 +35,10 @@ public abstract class AbstractListValueCondition<T> implements VisitableConditio
         return values.stream().map(mapper);
     }
 
+    public final void forEachValue(Consumer<? super T> action) {
+        values.forEach(action);
+    }
+
     @Override
     public boolean shouldRender() {
         return !values.isEmpty();
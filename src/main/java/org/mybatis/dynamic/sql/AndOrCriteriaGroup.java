@@ -38,7 +38,7 @@ public class AndOrCriteriaGroup {
     private AndOrCriteriaGroup(Builder builder) {
         connector = Objects.requireNonNull(builder.connector);
         initialCriterion = builder.initialCriterion;
-        subCriteria = builder.subCriteria;
+        subCriteria = Collections.unmodifiableList(new ArrayList<>(builder.subCriteria));
     }
 
     public String connector() {
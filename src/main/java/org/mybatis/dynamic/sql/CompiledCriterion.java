@@ -0,0 +1,324 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.mybatis.dynamic.sql.exception.InvalidSqlException;
+import org.mybatis.dynamic.sql.render.RenderedParameterInfo;
+import org.mybatis.dynamic.sql.render.RenderingContext;
+import org.mybatis.dynamic.sql.render.RenderingStrategy;
+import org.mybatis.dynamic.sql.render.StatementKind;
+import org.mybatis.dynamic.sql.render.StatementMetadata;
+import org.mybatis.dynamic.sql.render.TableAliasCalculator;
+import org.mybatis.dynamic.sql.util.FragmentAndParameters;
+import org.mybatis.dynamic.sql.util.Messages;
+import org.mybatis.dynamic.sql.where.WhereApplier;
+import org.mybatis.dynamic.sql.where.WhereDSL;
+import org.mybatis.dynamic.sql.where.WhereModel;
+import org.mybatis.dynamic.sql.where.render.CriterionRenderer;
+import org.mybatis.dynamic.sql.where.render.RenderedCriterion;
+
+/**
+ * A criteria group that is rendered once and reused in any number of statements.
+ *
+ * <p>The criteria are rendered when the compiled criterion is created. The rendered SQL is stored as text segments
+ * separated by parameter slots, along with the value bound to each slot. When the compiled criterion is used in a
+ * where clause, the segments are copied into the statement and each slot is given the next parameter key of the
+ * statement being rendered - the criteria themselves are not rendered again. This is useful for filters that are
+ * added to nearly every statement, such as a tenant or visibility filter.
+ *
+ * <p>Everything other than the parameter placeholders is frozen when the criterion is compiled. This includes the
+ * values bound to the parameters (unless they are replaced with {@link #withValues(Object...)}), the decision of
+ * whether optional conditions render, and the names of any tables in exists sub-queries. Table aliases are not
+ * frozen - the criteria are compiled again, once, for each different set of aliases they are used with.
+ *
+ * <p>Criteria cannot be compiled if they reference a column with its own rendering strategy.
+ *
+ * @since 1.5.1
+ */
+public class CompiledCriterion extends SqlCriterion {
+    private static final char SLOT_MARKER = '\u0000';
+
+    private final SqlCriterion criterion;
+    private final Map<List<Optional<String>>, Template> templates;
+    private final List<SqlTable> referencedTables;
+    private final int slotCount;
+    private final List<Object> values; // WARNING - may be null!
+
+    private CompiledCriterion(SqlCriterion criterion) {
+        super(new Builder());
+        this.criterion = criterion;
+        templates = new ConcurrentHashMap<>();
+
+        Template template = Template.compile(criterion, TableAliasCalculator.empty());
+        referencedTables = template.referencedTables();
+        slotCount = template.slotColumns.size();
+        values = null;
+        templates.put(aliasSignature(TableAliasCalculator.empty()), template);
+    }
+
+    private CompiledCriterion(CompiledCriterion original, List<Object> values) {
+        super(new Builder());
+        criterion = original.criterion;
+        templates = original.templates;
+        referencedTables = original.referencedTables;
+        slotCount = original.slotCount;
+        this.values = values;
+    }
+
+    /**
+     * Returns the criteria that were compiled.
+     *
+     * @return the criteria
+     */
+    public SqlCriterion criterion() {
+        return criterion;
+    }
+
+    /**
+     * Returns the number of parameter slots in the compiled criteria.
+     *
+     * @return the number of parameter slots
+     */
+    public int slotCount() {
+        return slotCount;
+    }
+
+    /**
+     * Returns a compiled criterion with the same SQL, but with different values bound to the parameter slots.
+     * The compiled SQL is shared, so this is inexpensive. Values are bound as is, in the order the slots appear
+     * in the rendered SQL - any value mapping or type conversion done by the original conditions is not applied.
+     *
+     * @param values the new values. There must be exactly one value for each parameter slot
+     * @return a new compiled criterion
+     */
+    public CompiledCriterion withValues(Object... values) {
+        return withValues(Arrays.asList(values));
+    }
+
+    /**
+     * Returns a compiled criterion with the same SQL, but with different values bound to the parameter slots.
+     *
+     * @param values the new values. There must be exactly one value for each parameter slot
+     * @return a new compiled criterion
+     * @see #withValues(Object...)
+     */
+    public CompiledCriterion withValues(List<?> values) {
+        if (values.size() != slotCount) {
+            throw new InvalidSqlException(Messages.getString("ERROR.63", //$NON-NLS-1$
+                    Integer.toString(slotCount), Integer.toString(values.size())));
+        }
+        return new CompiledCriterion(this, Collections.unmodifiableList(new ArrayList<>(values)));
+    }
+
+    /**
+     * Returns a where applier that adds this criterion to a where clause with an "and" connector.
+     *
+     * @return the where applier
+     */
+    public WhereApplier toWhereApplier() {
+        return d -> d.and(this);
+    }
+
+    /**
+     * Renders the compiled criteria into the statement being rendered. The only work done is copying the compiled
+     * SQL, calculating a new parameter key for each slot, and recording the compiled tables and columns in the
+     * statement metadata.
+     *
+     * @param renderingContext the rendering context of the statement being rendered
+     * @return the rendered fragment and parameters, or empty if none of the compiled criteria rendered
+     */
+    public Optional<FragmentAndParameters> render(RenderingContext renderingContext) {
+        TableAliasCalculator tableAliasCalculator = renderingContext.tableAliasCalculator();
+        Template template = templates.computeIfAbsent(aliasSignature(tableAliasCalculator),
+                k -> Template.compile(criterion, tableAliasCalculator));
+        return template.splice(renderingContext, values == null ? template.values : values);
+    }
+
+    private List<Optional<String>> aliasSignature(TableAliasCalculator tableAliasCalculator) {
+        List<Optional<String>> signature = new ArrayList<>();
+        for (SqlTable table : referencedTables) {
+            signature.add(tableAliasCalculator.aliasForColumn(table));
+            signature.add(tableAliasCalculator.aliasForTable(table));
+        }
+        return signature;
+    }
+
+    @Override
+    public <R> R accept(SqlCriterionVisitor<R> visitor) {
+        return visitor.visit(this);
+    }
+
+    public static CompiledCriterion of(SqlCriterion initialCriterion, AndOrCriteriaGroup... subCriteria) {
+        return of(initialCriterion, Arrays.asList(subCriteria));
+    }
+
+    public static CompiledCriterion of(SqlCriterion initialCriterion, List<AndOrCriteriaGroup> subCriteria) {
+        return new CompiledCriterion(new CriteriaGroup.Builder()
+                .withInitialCriterion(initialCriterion)
+                .withSubCriteria(subCriteria)
+                .build());
+    }
+
+    public static <T> CompiledCriterion of(BindableColumn<T> column, VisitableCondition<T> condition,
+                                           AndOrCriteriaGroup... subCriteria) {
+        return of(ColumnAndConditionCriterion.withColumn(column).withCondition(condition).build(),
+                Arrays.asList(subCriteria));
+    }
+
+    public static CompiledCriterion of(ExistsPredicate existsPredicate, AndOrCriteriaGroup... subCriteria) {
+        return of(new ExistsCriterion.Builder().withExistsPredicate(existsPredicate).build(),
+                Arrays.asList(subCriteria));
+    }
+
+    /**
+     * Compiles the criteria added to a where clause by a where applier. The applier is run once.
+     *
+     * @param whereApplier the where applier
+     * @return the compiled criterion
+     */
+    public static CompiledCriterion of(WhereApplier whereApplier) {
+        WhereModel whereModel = new WhereDSL().applyWhere(whereApplier).build();
+        return new CompiledCriterion(new CriteriaGroup.Builder()
+                .withInitialCriterion(whereModel.initialCriterion().orElse(null))
+                .withSubCriteria(whereModel.subCriteria())
+                .build());
+    }
+
+    private static class Builder extends AbstractBuilder<Builder> {
+        @Override
+        protected Builder getThis() {
+            return this;
+        }
+    }
+
+    private static class Template {
+        private final List<String> segments;
+        private final List<Optional<BindableColumn<?>>> slotColumns;
+        private final List<Object> values;
+        private final StatementMetadata statementMetadata;
+        private final boolean isEmpty;
+
+        private Template(List<String> segments, List<Optional<BindableColumn<?>>> slotColumns, List<Object> values,
+                         StatementMetadata statementMetadata, boolean isEmpty) {
+            this.segments = segments;
+            this.slotColumns = slotColumns;
+            this.values = values;
+            this.statementMetadata = statementMetadata;
+            this.isEmpty = isEmpty;
+        }
+
+        private List<SqlTable> referencedTables() {
+            Set<SqlTable> tables = new LinkedHashSet<>(statementMetadata.tablesRead());
+            statementMetadata.columns().forEach(c -> tables.add(c.table()));
+            return new ArrayList<>(tables);
+        }
+
+        private Optional<FragmentAndParameters> splice(RenderingContext renderingContext, List<Object> slotValues) {
+            statementMetadata.columns().forEach(renderingContext::recordColumn);
+            statementMetadata.tablesRead().forEach(renderingContext::recordTableRead);
+            if (isEmpty) {
+                return Optional.empty();
+            }
+
+            StringBuilder fragment = new StringBuilder(segments.get(0));
+            Map<String, Object> parameters = new HashMap<>();
+            for (int i = 0; i < slotColumns.size(); i++) {
+                RenderedParameterInfo parameterInfo = slotColumns.get(i)
+                        .map(renderingContext::calculateParameterInfo)
+                        .orElseGet(renderingContext::calculateParameterInfo);
+                fragment.append(parameterInfo.renderedPlaceHolder()).append(segments.get(i + 1));
+                parameters.put(parameterInfo.parameterMapKey(), slotValues.get(i));
+            }
+
+            return FragmentAndParameters.withFragment(fragment.toString())
+                    .withParameters(parameters)
+                    .buildOptional();
+        }
+
+        private static Template compile(SqlCriterion criterion, TableAliasCalculator tableAliasCalculator) {
+            SlotRenderingStrategy renderingStrategy = new SlotRenderingStrategy();
+            RenderingContext renderingContext = RenderingContext.withRenderingStrategy(renderingStrategy)
+                    .withTableAliasCalculator(tableAliasCalculator)
+                    .build();
+
+            Optional<FragmentAndParameters> rendered = criterion.accept(new CriterionRenderer(renderingContext))
+                    .map(RenderedCriterion::fragmentAndParameters);
+            StatementMetadata statementMetadata = renderingContext.statementMetadata(StatementKind.SELECT);
+
+            List<String> segments = new ArrayList<>();
+            List<Optional<BindableColumn<?>>> slotColumns = new ArrayList<>();
+            List<Object> values = new ArrayList<>();
+            String fragment = rendered.map(FragmentAndParameters::fragment).orElse(""); //$NON-NLS-1$
+            Map<String, Object> parameters = rendered.map(FragmentAndParameters::parameters)
+                    .orElseGet(Collections::emptyMap);
+
+            int start = 0;
+            int open = fragment.indexOf(SLOT_MARKER);
+            while (open >= 0) {
+                int close = fragment.indexOf(SLOT_MARKER, open + 1);
+                String mapKey = fragment.substring(open + 1, close);
+                segments.add(fragment.substring(start, open));
+                slotColumns.add(Optional.ofNullable(renderingStrategy.slotColumns.get(mapKey)));
+                values.add(parameters.get(mapKey));
+                start = close + 1;
+                open = fragment.indexOf(SLOT_MARKER, start);
+            }
+            segments.add(fragment.substring(start));
+
+            if (slotColumns.size() != parameters.size()) {
+                // a column rendered its own placeholder, so the slot could not be found
+                throw new InvalidSqlException(Messages.getString("ERROR.62")); //$NON-NLS-1$
+            }
+
+            return new Template(segments, slotColumns, values, statementMetadata, !rendered.isPresent());
+        }
+    }
+
+    /**
+     * Renders each placeholder as a slot marker containing the parameter key, and remembers the column
+     * associated with each key.
+     */
+    private static class SlotRenderingStrategy extends RenderingStrategy {
+        private final Map<String, BindableColumn<?>> slotColumns = new HashMap<>();
+
+        @Override
+        public String getFormattedJdbcPlaceholder(BindableColumn<?> column, String prefix, String parameterName) {
+            slotColumns.put(parameterName, column);
+            return getFormattedJdbcPlaceholder(prefix, parameterName);
+        }
+
+        @Override
+        public String getFormattedJdbcPlaceholder(String prefix, String parameterName) {
+            return SLOT_MARKER + parameterName + SLOT_MARKER;
+        }
+
+        @Override
+        public String getRecordBasedInsertBinding(BindableColumn<?> column, String parameterName) {
+            return getFormattedJdbcPlaceholder(column, "", parameterName); //$NON-NLS-1$
+        }
+    }
+}
@@ -22,11 +22,11 @@ import org.mybatis.dynamic.sql.select.SelectModel;
 import org.mybatis.dynamic.sql.util.Buildable;
 
 public class ExistsPredicate {
-    private final Buildable<SelectModel> selectModelBuilder;
+    private final SelectModel selectModel;
     private final String operator;
 
     private ExistsPredicate(String operator, Buildable<SelectModel> selectModelBuilder) {
-        this.selectModelBuilder = Objects.requireNonNull(selectModelBuilder);
+        this.selectModel = Objects.requireNonNull(selectModelBuilder).build();
         this.operator = Objects.requireNonNull(operator);
     }
 
@@ -34,8 +34,18 @@ public class ExistsPredicate {
         return operator;
     }
 
+    /**
+     * Returns the sub-query of this predicate. The sub-query is built when the predicate is created.
+     *
+     * @return the sub-query
+     * @since 1.5.1
+     */
+    public SelectModel selectModel() {
+        return selectModel;
+    }
+
     public Buildable<SelectModel> selectModelBuilder() {
-        return selectModelBuilder;
+        return () -> selectModel;
     }
 
     @NotNull
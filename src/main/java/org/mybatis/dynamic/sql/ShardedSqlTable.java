@@ -0,0 +1,200 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.mybatis.dynamic.sql.exception.InvalidSqlException;
+import org.mybatis.dynamic.sql.util.Messages;
+
+/**
+ * A logical table that is split into several physical tables (shards) with the same structure.
+ *
+ * <p>The sharded table is created from an {@link AliasableSqlTable} that defines the columns, a list of physical
+ * table names, and a routing function that calculates the physical table name for a key value. Physical tables are
+ * created once with {@link AliasableSqlTable#withName(String)} and reused, so statements can be built against
+ * the table for a key with {@link #route(Object)}, or against every shard with {@link #shards()}.
+ *
+ * <p>The sharded table also caches the SQL rendered for each shard. Statements that differ only by the physical
+ * table render identical parameter maps, so once a statement has been rendered for a shard, the same statement for
+ * that shard can reuse the cached SQL with the parameters of any rendering of the statement. See
+ * {@link #shardStatement(String, String, Supplier)}.
+ *
+ * @param <T> the type of the table
+ * @param <K> the type of the routing key
+ * @since 1.5.1
+ */
+public class ShardedSqlTable<T extends AliasableSqlTable<T>, K> {
+    public static final int DEFAULT_TEMPLATE_CACHE_SIZE = 256;
+
+    private final T logicalTable;
+    private final Function<? super K, String> router;
+    private final Map<String, T> shards;
+    private final Map<String, Map<String, String>> templates;
+
+    private ShardedSqlTable(Builder<T, K> builder) {
+        logicalTable = Objects.requireNonNull(builder.logicalTable);
+        router = Objects.requireNonNull(builder.router);
+        if (builder.shardNames.isEmpty()) {
+            throw new InvalidSqlException(Messages.getString("ERROR.59")); //$NON-NLS-1$
+        }
+
+        Map<String, T> physicalTables = new LinkedHashMap<>();
+        builder.shardNames.forEach(n -> physicalTables.put(n, logicalTable.withName(n)));
+        shards = Collections.unmodifiableMap(physicalTables);
+        templates = Collections.synchronizedMap(new TemplateCache(builder.templateCacheSize));
+    }
+
+    /**
+     * Returns the table the sharded table was created from. This table can be used to build statements that are
+     * rendered for each shard, or to reference the columns.
+     *
+     * @return the logical table
+     */
+    public T logicalTable() {
+        return logicalTable;
+    }
+
+    public List<String> shardNames() {
+        return new ArrayList<>(shards.keySet());
+    }
+
+    public Collection<T> shards() {
+        return shards.values();
+    }
+
+    /**
+     * Returns the physical table with the specified name.
+     *
+     * @param shardName the name of the physical table
+     * @return the physical table
+     * @throws InvalidSqlException if the shard is not defined for this table
+     */
+    public T shard(String shardName) {
+        T shard = shards.get(shardName);
+        if (shard == null) {
+            throw new InvalidSqlException(Messages.getString("ERROR.60", shardName, //$NON-NLS-1$
+                    logicalTable.tableNameAtRuntime()));
+        }
+        return shard;
+    }
+
+    public String shardName(K key) {
+        return router.apply(key);
+    }
+
+    /**
+     * Returns the physical table for a key value as calculated by the routing function.
+     *
+     * @param key the key value
+     * @return the physical table
+     * @throws InvalidSqlException if the routing function returns a shard that is not defined for this table
+     */
+    public T route(K key) {
+        return shard(shardName(key));
+    }
+
+    /**
+     * Returns the SQL of a statement for a shard, rendering it only if it has not been cached.
+     *
+     * @param shardName the name of the physical table
+     * @param logicalStatement the SQL of the statement as rendered for the logical table. This is the cache key, so
+     *     statements with different structure must have different SQL
+     * @param renderer renders the SQL of the statement for the shard. The statement must produce the same
+     *     parameters as the logical statement
+     * @return the SQL for the shard
+     */
+    public String shardStatement(String shardName, String logicalStatement, Supplier<String> renderer) {
+        Map<String, String> shardTemplates = templates.computeIfAbsent(logicalStatement, k -> new LinkedHashMap<>());
+        synchronized (shardTemplates) {
+            return shardTemplates.computeIfAbsent(shardName, k -> renderer.get());
+        }
+    }
+
+    public int cachedTemplateCount() {
+        return templates.size();
+    }
+
+    public static <T extends AliasableSqlTable<T>, K> Builder<T, K> withLogicalTable(T logicalTable) {
+        return new Builder<T, K>().withLogicalTable(logicalTable);
+    }
+
+    public static class Builder<T extends AliasableSqlTable<T>, K> {
+        private T logicalTable;
+        private Function<? super K, String> router;
+        private final List<String> shardNames = new ArrayList<>();
+        private int templateCacheSize = DEFAULT_TEMPLATE_CACHE_SIZE;
+
+        public Builder<T, K> withLogicalTable(T logicalTable) {
+            this.logicalTable = logicalTable;
+            return this;
+        }
+
+        public Builder<T, K> withShardNames(String... shardNames) {
+            return withShardNames(Arrays.asList(shardNames));
+        }
+
+        public Builder<T, K> withShardNames(Collection<String> shardNames) {
+            this.shardNames.addAll(shardNames);
+            return this;
+        }
+
+        public Builder<T, K> withRouter(Function<? super K, String> router) {
+            this.router = router;
+            return this;
+        }
+
+        /**
+         * Set the maximum number of statements with cached shard SQL. The least recently used statement is evicted
+         * when the cache is full.
+         *
+         * @param templateCacheSize the maximum number of cached statements
+         * @return this builder
+         */
+        public Builder<T, K> withTemplateCacheSize(int templateCacheSize) {
+            this.templateCacheSize = templateCacheSize;
+            return this;
+        }
+
+        public ShardedSqlTable<T, K> build() {
+            return new ShardedSqlTable<>(this);
+        }
+    }
+
+    private static class TemplateCache extends LinkedHashMap<String, Map<String, String>> {
+        private static final long serialVersionUID = 1L;
+        private final int maxSize;
+
+        private TemplateCache(int maxSize) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Map<String, String>> eldest) {
+            return size() > maxSize;
+        }
+    }
+}
@@ -21,13 +21,20 @@ import java.util.List;
 import java.util.Objects;
 import java.util.function.Supplier;
 
+import org.mybatis.dynamic.sql.delete.BatchDeleteDSL;
 import org.mybatis.dynamic.sql.delete.DeleteDSL;
 import org.mybatis.dynamic.sql.delete.DeleteModel;
+import org.mybatis.dynamic.sql.insert.ArrayInsertDSL;
 import org.mybatis.dynamic.sql.insert.BatchInsertDSL;
+import org.mybatis.dynamic.sql.insert.BatchUpsertModel;
 import org.mybatis.dynamic.sql.insert.GeneralInsertDSL;
 import org.mybatis.dynamic.sql.insert.InsertDSL;
 import org.mybatis.dynamic.sql.insert.InsertSelectDSL;
 import org.mybatis.dynamic.sql.insert.MultiRowInsertDSL;
+import org.mybatis.dynamic.sql.insert.MultiRowUpsertModel;
+import org.mybatis.dynamic.sql.insert.TupleInsertDSL;
+import org.mybatis.dynamic.sql.insert.UpsertDSL;
+import org.mybatis.dynamic.sql.insert.UpsertModel;
 import org.mybatis.dynamic.sql.select.ColumnSortSpecification;
 import org.mybatis.dynamic.sql.select.CountDSL;
 import org.mybatis.dynamic.sql.select.HavingDSL;
@@ -57,6 +64,8 @@ import org.mybatis.dynamic.sql.select.join.EqualTo;
 import org.mybatis.dynamic.sql.select.join.EqualToValue;
 import org.mybatis.dynamic.sql.select.join.JoinCondition;
 import org.mybatis.dynamic.sql.select.join.JoinCriterion;
+import org.mybatis.dynamic.sql.update.BatchUpdateDSL;
+import org.mybatis.dynamic.sql.update.MultiRowUpdateDSL;
 import org.mybatis.dynamic.sql.update.UpdateDSL;
 import org.mybatis.dynamic.sql.update.UpdateModel;
 import org.mybatis.dynamic.sql.util.Buildable;
@@ -142,6 +151,37 @@ public interface SqlBuilder {
         return DeleteDSL.deleteFrom(table, tableAlias);
     }
 
+    /**
+     * Delete a batch of rows identified by keys in records. The model object is structured to support bulk deletes
+     * with JDBC batch support.
+     *
+     * @param records
+     *            records holding the keys of rows to delete
+     * @param <T>
+     *            the type of record
+     *
+     * @return the next step in the DSL
+     */
+    @SafeVarargs
+    static <T> BatchDeleteDSL.FromGatherer<T> deleteBatch(T... records) {
+        return BatchDeleteDSL.delete(records);
+    }
+
+    /**
+     * Delete a batch of rows identified by keys in records. The model object is structured to support bulk deletes
+     * with JDBC batch support.
+     *
+     * @param records
+     *            records holding the keys of rows to delete
+     * @param <T>
+     *            the type of record
+     *
+     * @return the next step in the DSL
+     */
+    static <T> BatchDeleteDSL.FromGatherer<T> deleteBatch(Collection<T> records) {
+        return BatchDeleteDSL.delete(records);
+    }
+
     static <T> InsertDSL.IntoGatherer<T> insert(T row) {
         return InsertDSL.insert(row);
     }
@@ -210,10 +250,151 @@ public interface SqlBuilder {
         return MultiRowInsertDSL.insert(records);
     }
 
+    /**
+     * Insert multiple records in a single statement by binding one array parameter per column and selecting the
+     * rows from UNNEST. The number of parameter markers is the number of columns, regardless of the number of
+     * records. This requires a database that supports UNNEST with array parameters, such as PostgreSQL or HSQLDB.
+     *
+     * @param records
+     *            records to insert
+     * @param <T>
+     *            the type of record to insert
+     *
+     * @return the next step in the DSL
+     */
+    @SafeVarargs
+    static <T> ArrayInsertDSL.IntoGatherer<T> insertArrays(T... records) {
+        return ArrayInsertDSL.insert(records);
+    }
+
+    /**
+     * Insert multiple records in a single statement by binding one array parameter per column and selecting the
+     * rows from UNNEST. The number of parameter markers is the number of columns, regardless of the number of
+     * records. This requires a database that supports UNNEST with array parameters, such as PostgreSQL or HSQLDB.
+     *
+     * @param records
+     *            records to insert
+     * @param <T>
+     *            the type of record to insert
+     *
+     * @return the next step in the DSL
+     */
+    static <T> ArrayInsertDSL.IntoGatherer<T> insertArrays(Collection<T> records) {
+        return ArrayInsertDSL.insert(records);
+    }
+
+    /**
+     * Insert multiple records in a single statement. Column values are extracted from the records with accessor
+     * functions when the statement is rendered, and are bound as simple parameters rather than as bean property
+     * paths. As with {@link SqlBuilder#insertMultiple(Collection)}, this is not suitable for large bulk inserts.
+     *
+     * @param records
+     *            records to insert
+     * @param <T>
+     *            the type of record to insert
+     *
+     * @return the next step in the DSL
+     */
+    @SafeVarargs
+    static <T> TupleInsertDSL.IntoGatherer<T> insertTuples(T... records) {
+        return TupleInsertDSL.insert(records);
+    }
+
+    /**
+     * Insert multiple records in a single statement. Column values are extracted from the records with accessor
+     * functions when the statement is rendered, and are bound as simple parameters rather than as bean property
+     * paths. As with {@link SqlBuilder#insertMultiple(Collection)}, this is not suitable for large bulk inserts.
+     *
+     * @param records
+     *            records to insert
+     * @param <T>
+     *            the type of record to insert
+     *
+     * @return the next step in the DSL
+     */
+    static <T> TupleInsertDSL.IntoGatherer<T> insertTuples(Collection<T> records) {
+        return TupleInsertDSL.insert(records);
+    }
+
     static InsertIntoNextStep insertInto(SqlTable table) {
         return new InsertIntoNextStep(table);
     }
 
+    /**
+     * Insert a row if it does not exist, or update it if it does. Existence is determined by the key columns
+     * specified in the DSL.
+     *
+     * @param row
+     *            the row to insert or update
+     * @param <T>
+     *            the type of record
+     *
+     * @return the next step in the DSL
+     */
+    static <T> UpsertDSL.IntoGatherer<T, UpsertModel<T>> upsert(T row) {
+        return UpsertDSL.upsert(row);
+    }
+
+    /**
+     * Upsert a batch of records. The model object is structured to support bulk upserts with JDBC batch support.
+     *
+     * @param records
+     *            records to insert or update
+     * @param <T>
+     *            the type of record
+     *
+     * @return the next step in the DSL
+     */
+    @SafeVarargs
+    static <T> UpsertDSL.IntoGatherer<T, BatchUpsertModel<T>> upsertBatch(T... records) {
+        return UpsertDSL.upsertBatch(records);
+    }
+
+    /**
+     * Upsert a batch of records. The model object is structured to support bulk upserts with JDBC batch support.
+     *
+     * @param records
+     *            records to insert or update
+     * @param <T>
+     *            the type of record
+     *
+     * @return the next step in the DSL
+     */
+    static <T> UpsertDSL.IntoGatherer<T, BatchUpsertModel<T>> upsertBatch(Collection<T> records) {
+        return UpsertDSL.upsertBatch(records);
+    }
+
+    /**
+     * Upsert multiple records in a single statement. As with multi-row inserts, this is not recommended for large
+     * numbers of records as it is possible to exceed the limit of parameter markers in a prepared statement.
+     *
+     * @param records
+     *            records to insert or update
+     * @param <T>
+     *            the type of record
+     *
+     * @return the next step in the DSL
+     */
+    @SafeVarargs
+    static <T> UpsertDSL.IntoGatherer<T, MultiRowUpsertModel<T>> upsertMultiple(T... records) {
+        return UpsertDSL.upsertMultiple(records);
+    }
+
+    /**
+     * Upsert multiple records in a single statement. As with multi-row inserts, this is not recommended for large
+     * numbers of records as it is possible to exceed the limit of parameter markers in a prepared statement.
+     *
+     * @param records
+     *            records to insert or update
+     * @param <T>
+     *            the type of record
+     *
+     * @return the next step in the DSL
+     */
+    static <T> UpsertDSL.IntoGatherer<T, MultiRowUpsertModel<T>> upsertMultiple(Collection<T> records) {
+        return UpsertDSL.upsertMultiple(records);
+    }
+
     static FromGatherer<SelectModel> select(BasicColumn... selectList) {
         return SelectDSL.select(selectList);
     }
@@ -242,6 +423,68 @@ public interface SqlBuilder {
         return UpdateDSL.update(table, tableAlias);
     }
 
+    /**
+     * Update a batch of records. The model object is structured to support bulk updates with JDBC batch support.
+     *
+     * @param records
+     *            records to update
+     * @param <T>
+     *            the type of record to update
+     *
+     * @return the next step in the DSL
+     */
+    @SafeVarargs
+    static <T> BatchUpdateDSL.TableGatherer<T> updateBatch(T... records) {
+        return BatchUpdateDSL.update(records);
+    }
+
+    /**
+     * Update a batch of records. The model object is structured to support bulk updates with JDBC batch support.
+     *
+     * @param records
+     *            records to update
+     * @param <T>
+     *            the type of record to update
+     *
+     * @return the next step in the DSL
+     */
+    static <T> BatchUpdateDSL.TableGatherer<T> updateBatch(Collection<T> records) {
+        return BatchUpdateDSL.update(records);
+    }
+
+    /**
+     * Update multiple rows with different values in a single statement. Each set mapping is rendered as a CASE
+     * expression on the key column. Large collections are split into several statements so that no statement
+     * exceeds the limit of parameter markers.
+     *
+     * @param records
+     *            records to update
+     * @param <T>
+     *            the type of record
+     *
+     * @return the next step in the DSL
+     */
+    @SafeVarargs
+    static <T> MultiRowUpdateDSL.TableGatherer<T> updateMultiple(T... records) {
+        return MultiRowUpdateDSL.update(records);
+    }
+
+    /**
+     * Update multiple rows with different values in a single statement. Each set mapping is rendered as a CASE
+     * expression on the key column. Large collections are split into several statements so that no statement
+     * exceeds the limit of parameter markers.
+     *
+     * @param records
+     *            records to update
+     * @param <T>
+     *            the type of record
+     *
+     * @return the next step in the DSL
+     */
+    static <T> MultiRowUpdateDSL.TableGatherer<T> updateMultiple(Collection<T> records) {
+        return MultiRowUpdateDSL.update(records);
+    }
+
     static WhereDSL.StandaloneWhereFinisher where() {
         return new WhereDSL().where();
     }
@@ -729,6 +972,14 @@ public interface SqlBuilder {
         return IsIn.of(values);
     }
 
+    static IsIn<Long> isIn(long[] values) {
+        return IsIn.of(values);
+    }
+
+    static IsIn<Integer> isIn(int[] values) {
+        return IsIn.of(values);
+    }
+
     static <T> IsInWithSubselect<T> isIn(Buildable<SelectModel> selectModelBuilder) {
         return IsInWithSubselect.of(selectModelBuilder);
     }
@@ -751,6 +1002,14 @@ public interface SqlBuilder {
         return IsNotIn.of(values);
     }
 
+    static IsNotIn<Long> isNotIn(long[] values) {
+        return IsNotIn.of(values);
+    }
+
+    static IsNotIn<Integer> isNotIn(int[] values) {
+        return IsNotIn.of(values);
+    }
+
     static <T> IsNotInWithSubselect<T> isNotIn(Buildable<SelectModel> selectModelBuilder) {
         return IsNotInWithSubselect.of(selectModelBuilder);
     }
@@ -23,4 +23,15 @@ public interface SqlCriterionVisitor<R> {
     R visit(CriteriaGroup criterion);
 
     R visit(NotCriterion criterion);
+
+    /**
+     * Visit a compiled criterion. By default, the criteria that were compiled are visited.
+     *
+     * @param criterion the compiled criterion
+     * @return the result of visiting the compiled criteria
+     * @since 1.5.1
+     */
+    default R visit(CompiledCriterion criterion) {
+        return criterion.criterion().accept(this);
+    }
 }
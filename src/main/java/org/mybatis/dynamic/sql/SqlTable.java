@@ -72,35 +72,7 @@ public class SqlTable implements TableExpression {
         Objects.requireNonNull(schemaSupplier);
         Objects.requireNonNull(tableName);
 
-        this.nameSupplier = () -> compose(catalogSupplier, schemaSupplier, tableName);
-    }
-
-    private String compose(Supplier<Optional<String>> catalogSupplier, Supplier<Optional<String>> schemaSupplier,
-            String tableName) {
-        return catalogSupplier.get().map(c -> compose(c, schemaSupplier, tableName))
-                .orElseGet(() -> compose(schemaSupplier, tableName));
-    }
-
-    private String compose(String catalog, Supplier<Optional<String>> schemaSupplier, String tableName) {
-        return schemaSupplier.get().map(s -> composeCatalogSchemaAndTable(catalog, s, tableName))
-                .orElseGet(() -> composeCatalogAndTable(catalog, tableName));
-    }
-
-    private String compose(Supplier<Optional<String>> schemaSupplier, String tableName) {
-        return schemaSupplier.get().map(s -> composeSchemaAndTable(s, tableName))
-                .orElse(tableName);
-    }
-
-    private String composeCatalogAndTable(String catalog, String tableName) {
-        return catalog + ".." + tableName; //$NON-NLS-1$
-    }
-
-    private String composeSchemaAndTable(String schema, String tableName) {
-        return schema + "." + tableName; //$NON-NLS-1$
-    }
-
-    private String composeCatalogSchemaAndTable(String catalog, String schema, String tableName) {
-        return catalog + "." + schema + "." + tableName; //$NON-NLS-1$ //$NON-NLS-2$
+        this.nameSupplier = new ComposedTableName(catalogSupplier, schemaSupplier, tableName);
     }
 
     public String tableNameAtRuntime() {
@@ -139,4 +111,62 @@ public class SqlTable implements TableExpression {
     public static SqlTable of(String name) {
         return new SqlTable(name);
     }
+
+    /**
+     * Composes a qualified table name from a catalog and schema that may change at runtime. The catalog and schema
+     * suppliers are called every time the name is needed, but the qualified name is only composed again when the
+     * catalog or schema is different from the last call.
+     */
+    private static class ComposedTableName implements Supplier<String> {
+        private final Supplier<Optional<String>> catalogSupplier;
+        private final Supplier<Optional<String>> schemaSupplier;
+        private final String tableName;
+        private volatile Composition lastComposition;
+
+        private ComposedTableName(Supplier<Optional<String>> catalogSupplier,
+                                  Supplier<Optional<String>> schemaSupplier, String tableName) {
+            this.catalogSupplier = catalogSupplier;
+            this.schemaSupplier = schemaSupplier;
+            this.tableName = tableName;
+        }
+
+        @Override
+        public String get() {
+            String catalog = catalogSupplier.get().orElse(null);
+            String schema = schemaSupplier.get().orElse(null);
+
+            Composition composition = lastComposition;
+            if (composition == null || !composition.isFor(catalog, schema)) {
+                composition = new Composition(catalog, schema, compose(catalog, schema));
+                lastComposition = composition;
+            }
+            return composition.name;
+        }
+
+        private String compose(String catalog, String schema) {
+            if (catalog == null) {
+                return schema == null ? tableName : schema + "." + tableName; //$NON-NLS-1$
+            } else if (schema == null) {
+                return catalog + ".." + tableName; //$NON-NLS-1$
+            } else {
+                return catalog + "." + schema + "." + tableName; //$NON-NLS-1$ //$NON-NLS-2$
+            }
+        }
+    }
+
+    private static class Composition {
+        private final String catalog;
+        private final String schema;
+        private final String name;
+
+        private Composition(String catalog, String schema, String name) {
+            this.catalog = catalog;
+            this.schema = schema;
+            this.name = name;
+        }
+
+        private boolean isFor(String catalog, String schema) {
+            return Objects.equals(this.catalog, catalog) && Objects.equals(this.schema, schema);
+        }
+    }
 }
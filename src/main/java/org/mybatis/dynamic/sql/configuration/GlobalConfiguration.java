@@ -26,6 +26,7 @@ public class GlobalConfiguration {
     public static final String CONFIGURATION_FILE_PROPERTY = "mybatis-dynamic-sql.configurationFile"; //$NON-NLS-1$
     private static final String DEFAULT_PROPERTY_FILE = "mybatis-dynamic-sql.properties"; //$NON-NLS-1$
     private boolean isNonRenderingWhereClauseAllowed = false;
+    private boolean isCriteriaOptimizationEnabled = false;
     private final Properties properties = new Properties();
 
     public GlobalConfiguration() {
@@ -35,6 +36,7 @@ public class GlobalConfiguration {
     private void initialize() {
         initializeProperties();
         initializeNonRenderingWhereClauseAllowed();
+        initializeCriteriaOptimizationEnabled();
     }
 
     private void initializeProperties() {
@@ -67,7 +69,22 @@ public class GlobalConfiguration {
         isNonRenderingWhereClauseAllowed = Boolean.parseBoolean(value);
     }
 
+    private void initializeCriteriaOptimizationEnabled() {
+        String value = properties.getProperty("criteriaOptimizationEnabled", "false"); //$NON-NLS-1$ //$NON-NLS-2$
+        isCriteriaOptimizationEnabled = Boolean.parseBoolean(value);
+    }
+
     public boolean isIsNonRenderingWhereClauseAllowed() {
         return isNonRenderingWhereClauseAllowed;
     }
+
+    /**
+     * Whether where clauses are optimized before rendering by default.
+     *
+     * @return true if criteria optimization is enabled for all statements
+     * @since 1.5.1
+     */
+    public boolean isCriteriaOptimizationEnabled() {
+        return isCriteriaOptimizationEnabled;
+    }
 }
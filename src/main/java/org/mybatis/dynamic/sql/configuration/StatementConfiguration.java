@@ -32,6 +32,12 @@ import org.mybatis.dynamic.sql.exception.NonRenderingWhereClauseException;
  *         empty list of values. If no criteria are specified in a where clause, the framework
  *         assumes that no where clause was intended and will not throw an exception.
  *     </dd>
+ *     <dt>criteriaOptimizationEnabled</dt>
+ *     <dd>If true, the where clause is simplified before it is rendered. Duplicate conditions are removed,
+ *         equality conditions on the same column joined by OR are combined into an "in" condition, unnecessary
+ *         groups are removed, and double negations are removed. The default is false.
+ *         See {@link org.mybatis.dynamic.sql.where.render.CriteriaOptimizer} for details.
+ *     </dd>
  * </dl>
  *
  * @see GlobalConfiguration
@@ -42,6 +48,9 @@ public class StatementConfiguration {
     private boolean isNonRenderingWhereClauseAllowed =
             GlobalContext.getConfiguration().isIsNonRenderingWhereClauseAllowed();
 
+    private boolean isCriteriaOptimizationEnabled =
+            GlobalContext.getConfiguration().isCriteriaOptimizationEnabled();
+
     public boolean isNonRenderingWhereClauseAllowed() {
         return isNonRenderingWhereClauseAllowed;
     }
@@ -49,4 +58,24 @@ public class StatementConfiguration {
     public void setNonRenderingWhereClauseAllowed(boolean nonRenderingWhereClauseAllowed) {
         this.isNonRenderingWhereClauseAllowed = nonRenderingWhereClauseAllowed;
     }
+
+    /**
+     * Whether the where clause of this statement is optimized before rendering.
+     *
+     * @return true if criteria optimization is enabled
+     * @since 1.5.1
+     */
+    public boolean isCriteriaOptimizationEnabled() {
+        return isCriteriaOptimizationEnabled;
+    }
+
+    /**
+     * Enable or disable optimization of the where clause of this statement.
+     *
+     * @param criteriaOptimizationEnabled true to optimize the where clause before rendering
+     * @since 1.5.1
+     */
+    public void setCriteriaOptimizationEnabled(boolean criteriaOptimizationEnabled) {
+        this.isCriteriaOptimizationEnabled = criteriaOptimizationEnabled;
+    }
 }
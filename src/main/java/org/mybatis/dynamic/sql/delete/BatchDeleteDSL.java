@@ -0,0 +1,98 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.delete;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+import org.jetbrains.annotations.NotNull;
+import org.mybatis.dynamic.sql.SqlColumn;
+import org.mybatis.dynamic.sql.SqlTable;
+import org.mybatis.dynamic.sql.util.Buildable;
+import org.mybatis.dynamic.sql.util.PropertyMapping;
+
+/**
+ * DSL for batch deletes. The where clause is bound to properties of the records, so the statement is rendered
+ * once for the entire batch. For example:
+ *
+ * <pre>
+ * BatchDelete&lt;CompoundKeyRow&gt; batchDelete = deleteBatch(keys)
+ *         .from(compoundKey)
+ *         .where(id1, "id1")
+ *         .and(id2, "id2")
+ *         .build()
+ *         .render(RenderingStrategies.MYBATIS3);
+ * </pre>
+ *
+ * <p>The where clause is an "and" of equality comparisons between columns and record properties - typically the
+ * primary key of the table.
+ *
+ * @param <T> the type of record that holds the keys of rows to delete
+ * @since 1.5.1
+ */
+public class BatchDeleteDSL<T> implements Buildable<BatchDeleteModel<T>> {
+
+    private final Collection<T> records;
+    private final SqlTable table;
+    private final List<PropertyMapping> whereKeys = new ArrayList<>();
+
+    private BatchDeleteDSL(Collection<T> records, SqlTable table) {
+        this.records = records;
+        this.table = Objects.requireNonNull(table);
+    }
+
+    public BatchDeleteDSL<T> where(SqlColumn<?> column, String property) {
+        whereKeys.add(PropertyMapping.of(column, property));
+        return this;
+    }
+
+    public BatchDeleteDSL<T> and(SqlColumn<?> column, String property) {
+        return where(column, property);
+    }
+
+    @NotNull
+    @Override
+    public BatchDeleteModel<T> build() {
+        return BatchDeleteModel.withRecords(records)
+                .withTable(table)
+                .withWhereKeys(whereKeys)
+                .build();
+    }
+
+    @SafeVarargs
+    public static <T> FromGatherer<T> delete(T... records) {
+        return BatchDeleteDSL.delete(Arrays.asList(records));
+    }
+
+    public static <T> FromGatherer<T> delete(Collection<T> records) {
+        return new FromGatherer<>(records);
+    }
+
+    public static class FromGatherer<T> {
+        private final Collection<T> records;
+
+        private FromGatherer(Collection<T> records) {
+            this.records = records;
+        }
+
+        public BatchDeleteDSL<T> from(SqlTable table) {
+            return new BatchDeleteDSL<>(records, table);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.delete.render;
+
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.mybatis.dynamic.sql.SqlColumn;
+import org.mybatis.dynamic.sql.delete.BatchDeleteModel;
+import org.mybatis.dynamic.sql.render.RenderingStrategy;
+import org.mybatis.dynamic.sql.render.StatementKind;
+import org.mybatis.dynamic.sql.render.StatementMetadata;
+import org.mybatis.dynamic.sql.util.PropertyMapping;
+
+public class BatchDeleteRenderer<T> {
+
+    private final BatchDeleteModel<T> model;
+    private final RenderingStrategy renderingStrategy;
+
+    private BatchDeleteRenderer(Builder<T> builder) {
+        model = Objects.requireNonNull(builder.model);
+        renderingStrategy = Objects.requireNonNull(builder.renderingStrategy);
+    }
+
+    public BatchDelete<T> render() {
+        String whereClause = model.mapWhereKeys(this::renderWhereKey)
+                .collect(Collectors.joining(" and ", "where ", "")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+        String deleteStatement = "delete from " //$NON-NLS-1$
+                + model.table().tableNameAtRuntime()
+                + " " //$NON-NLS-1$
+                + whereClause;
+
+        return BatchDelete.withRecords(model.records())
+                .withDeleteStatement(deleteStatement)
+                .withStatementMetadata(calculateStatementMetadata())
+                .build();
+    }
+
+    private StatementMetadata calculateStatementMetadata() {
+        return StatementMetadata.withStatementKind(StatementKind.DELETE)
+                .withTableWritten(model.table())
+                .withColumns(model.mapWhereKeys(m -> m.mapColumn(Function.identity())))
+                .build();
+    }
+
+    private String renderWhereKey(PropertyMapping mapping) {
+        return mapping.columnName() + " = " //$NON-NLS-1$
+                + mapping.mapColumn(c -> calculateJdbcPlaceholder(c, mapping.property()));
+    }
+
+    private String calculateJdbcPlaceholder(SqlColumn<?> column, String parameterName) {
+        return column.renderingStrategy().orElse(renderingStrategy)
+                .getRecordBasedInsertBinding(column, "row", parameterName); //$NON-NLS-1$
+    }
+
+    public static <T> Builder<T> withBatchDeleteModel(BatchDeleteModel<T> model) {
+        return new Builder<T>().withBatchDeleteModel(model);
+    }
+
+    public static class Builder<T> {
+        private BatchDeleteModel<T> model;
+        private RenderingStrategy renderingStrategy;
+
+        public Builder<T> withBatchDeleteModel(BatchDeleteModel<T> model) {
+            this.model = model;
+            return this;
+        }
+
+        public Builder<T> withRenderingStrategy(RenderingStrategy renderingStrategy) {
+            this.renderingStrategy = renderingStrategy;
+            return this;
+        }
+
+        public BatchDeleteRenderer<T> build() {
+            return new BatchDeleteRenderer<>(this);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.delete.render;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+
+import org.mybatis.dynamic.sql.render.StatementMetadata;
+
+/**
+ * A delete statement provider for a single record in a batch delete. The statement binds values from
+ * properties of the record (<code>row.xxx</code>), so the parameter map is always empty.
+ *
+ * @param <T> the type of record that holds the keys of rows to delete
+ * @since 1.5.1
+ */
+public class BatchDeleteStatementProvider<T> implements DeleteStatementProvider {
+    private final String deleteStatement;
+    private final T row;
+    private final StatementMetadata statementMetadata;
+
+    public BatchDeleteStatementProvider(String deleteStatement, T row, StatementMetadata statementMetadata) {
+        this.deleteStatement = Objects.requireNonNull(deleteStatement);
+        this.row = Objects.requireNonNull(row);
+        this.statementMetadata = Objects.requireNonNull(statementMetadata);
+    }
+
+    @Override
+    public Map<String, Object> getParameters() {
+        return Collections.emptyMap();
+    }
+
+    @Override
+    public String getDeleteStatement() {
+        return deleteStatement;
+    }
+
+    public T getRow() {
+        return row;
+    }
+
+    @Override
+    public StatementMetadata getStatementMetadata() {
+        return statementMetadata;
+    }
+}
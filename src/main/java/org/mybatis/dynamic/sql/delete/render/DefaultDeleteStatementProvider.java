@@ -19,13 +19,21 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 
+import org.mybatis.dynamic.sql.render.StatementKind;
+import org.mybatis.dynamic.sql.render.StatementMetadata;
+import org.mybatis.dynamic.sql.util.StatementFingerprint;
+
 public class DefaultDeleteStatementProvider implements DeleteStatementProvider {
     private final String deleteStatement;
     private final Map<String, Object> parameters;
+    private final StatementMetadata statementMetadata;
+    private volatile long fingerprint;
 
     private DefaultDeleteStatementProvider(Builder builder) {
         deleteStatement = Objects.requireNonNull(builder.deleteStatement);
         parameters = Objects.requireNonNull(builder.parameters);
+        statementMetadata = builder.statementMetadata == null ? StatementMetadata.of(StatementKind.DELETE)
+                : builder.statementMetadata;
     }
 
     @Override
@@ -38,6 +46,21 @@ public class DefaultDeleteStatementProvider implements DeleteStatementProvider {
         return deleteStatement;
     }
 
+    @Override
+    public StatementMetadata getStatementMetadata() {
+        return statementMetadata;
+    }
+
+    @Override
+    public long getFingerprint() {
+        long answer = fingerprint;
+        if (answer == 0) {
+            answer = StatementFingerprint.of(deleteStatement);
+            fingerprint = answer;
+        }
+        return answer;
+    }
+
     public static Builder withDeleteStatement(String deleteStatement) {
         return new Builder().withDeleteStatement(deleteStatement);
     }
@@ -45,6 +68,7 @@ public class DefaultDeleteStatementProvider implements DeleteStatementProvider {
     public static class Builder {
         private String deleteStatement;
         private final Map<String, Object> parameters = new HashMap<>();
+        private StatementMetadata statementMetadata;
 
         public Builder withDeleteStatement(String deleteStatement) {
             this.deleteStatement = deleteStatement;
@@ -56,6 +80,11 @@ public class DefaultDeleteStatementProvider implements DeleteStatementProvider {
             return this;
         }
 
+        public Builder withStatementMetadata(StatementMetadata statementMetadata) {
+            this.statementMetadata = statementMetadata;
+            return this;
+        }
+
         public DefaultDeleteStatementProvider build() {
             return new DefaultDeleteStatementProvider(this);
         }
@@ -26,6 +26,7 @@ import org.mybatis.dynamic.sql.render.ExplicitTableAliasCalculator;
 import org.mybatis.dynamic.sql.render.RenderedParameterInfo;
 import org.mybatis.dynamic.sql.render.RenderingContext;
 import org.mybatis.dynamic.sql.render.RenderingStrategy;
+import org.mybatis.dynamic.sql.render.StatementKind;
 import org.mybatis.dynamic.sql.render.TableAliasCalculator;
 import org.mybatis.dynamic.sql.util.FragmentAndParameters;
 import org.mybatis.dynamic.sql.util.FragmentCollector;
@@ -62,10 +63,12 @@ public class DeleteRenderer {
         return DefaultDeleteStatementProvider
                 .withDeleteStatement(fragmentCollector.collectFragments(Collectors.joining(" "))) //$NON-NLS-1$
                 .withParameters(fragmentCollector.parameters())
+                .withStatementMetadata(renderingContext.statementMetadata(StatementKind.DELETE))
                 .build();
     }
 
     private FragmentAndParameters calculateDeleteStatementStart() {
+        renderingContext.recordTableWritten(deleteModel.table());
         String aliasedTableName = renderingContext.aliasedTableName(deleteModel.table());
         return FragmentAndParameters.fromFragment("delete from " + aliasedTableName); //$NON-NLS-1$
     }
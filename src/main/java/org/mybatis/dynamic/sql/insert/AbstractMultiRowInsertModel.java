@@ -33,8 +33,8 @@ public abstract class AbstractMultiRowInsertModel<T> {
 
     protected AbstractMultiRowInsertModel(AbstractBuilder<T, ?> builder) {
         table = Objects.requireNonNull(builder.table);
-        records = Collections.unmodifiableList(Objects.requireNonNull(builder.records));
-        columnMappings = Objects.requireNonNull(builder.columnMappings);
+        records = Collections.unmodifiableList(new ArrayList<>(builder.records));
+        columnMappings = Collections.unmodifiableList(new ArrayList<>(builder.columnMappings));
     }
 
     public <R> Stream<R> mapColumnMappings(Function<AbstractColumnMapping, R> mapper) {
@@ -0,0 +1,97 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.insert;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.mybatis.dynamic.sql.SqlColumn;
+import org.mybatis.dynamic.sql.exception.InvalidSqlException;
+import org.mybatis.dynamic.sql.util.AbstractColumnMapping;
+import org.mybatis.dynamic.sql.util.Messages;
+
+/**
+ * Base class for upsert models. Upserts insert rows that do not exist and update rows that do exist, where
+ * existence is determined by the key columns.
+ *
+ * @param <T> the type of record
+ * @since 1.5.1
+ */
+public abstract class AbstractUpsertModel<T> extends AbstractMultiRowInsertModel<T> {
+    private final List<SqlColumn<?>> keyColumns;
+    private final UpsertDialect dialect;
+
+    protected AbstractUpsertModel(AbstractBuilder<T, ?, ?> builder) {
+        super(builder);
+        keyColumns = Collections.unmodifiableList(new ArrayList<>(builder.keyColumns));
+        dialect = Objects.requireNonNull(builder.dialect);
+        validate();
+    }
+
+    private void validate() {
+        if (records().isEmpty()) {
+            throw new InvalidSqlException(Messages.getString("ERROR.47")); //$NON-NLS-1$
+        }
+        if (columnMappings.isEmpty()) {
+            throw new InvalidSqlException(Messages.getString("ERROR.48")); //$NON-NLS-1$
+        }
+        if (keyColumns.isEmpty() && dialect != UpsertDialect.ON_DUPLICATE_KEY) {
+            throw new InvalidSqlException(Messages.getString("ERROR.49", dialect.name())); //$NON-NLS-1$
+        }
+
+        Set<String> mappedColumns = columnMappings.stream()
+                .map(AbstractColumnMapping::columnName)
+                .collect(Collectors.toSet());
+        keyColumns.stream()
+                .map(SqlColumn::name)
+                .filter(name -> !mappedColumns.contains(name))
+                .findFirst()
+                .ifPresent(name -> {
+                    throw new InvalidSqlException(Messages.getString("ERROR.50", name)); //$NON-NLS-1$
+                });
+    }
+
+    public Stream<SqlColumn<?>> keyColumns() {
+        return keyColumns.stream();
+    }
+
+    public UpsertDialect dialect() {
+        return dialect;
+    }
+
+    public abstract static class AbstractBuilder<T, S extends AbstractBuilder<T, S, M>, M>
+            extends AbstractMultiRowInsertModel.AbstractBuilder<T, S> {
+        private final List<SqlColumn<?>> keyColumns = new ArrayList<>();
+        private UpsertDialect dialect = UpsertDialect.MERGE;
+
+        public S withKeyColumns(List<SqlColumn<?>> keyColumns) {
+            this.keyColumns.addAll(keyColumns);
+            return getThis();
+        }
+
+        public S withDialect(UpsertDialect dialect) {
+            this.dialect = dialect;
+            return getThis();
+        }
+
+        public abstract M build();
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.insert;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+import org.jetbrains.annotations.NotNull;
+import org.mybatis.dynamic.sql.SqlColumn;
+import org.mybatis.dynamic.sql.SqlTable;
+import org.mybatis.dynamic.sql.util.Buildable;
+
+/**
+ * DSL for array based bulk inserts. Rather than rendering a parameter marker for every column of every row like
+ * a multi-row insert, the values of each column are collected into an array and bound as a single parameter.
+ * For example:
+ *
+ * <pre>
+ * GeneralInsertStatementProvider insertStatement = insertArrays(records)
+ *         .into(animalData)
+ *         .map(id).toProperty("id")
+ *         .map(animalName).toProperty("animalName", "varchar(50)")
+ *         .build()
+ *         .render(RenderingStrategies.MYBATIS3);
+ * </pre>
+ *
+ * <p>Renders a statement like <code>insert into AnimalData (id, animal_name) select * from unnest(?, cast(? as
+ * varchar(50) array))</code>. The number of parameters, and the SQL text, is the same for any number of records.
+ *
+ * @param <T> the type of record
+ * @since 1.5.1
+ */
+public class ArrayInsertDSL<T> implements Buildable<ArrayInsertModel<T>> {
+
+    private final Collection<T> records;
+    private final SqlTable table;
+    private final List<ArrayInsertMapping> columnMappings = new ArrayList<>();
+
+    private ArrayInsertDSL(Collection<T> records, SqlTable table) {
+        this.records = records;
+        this.table = Objects.requireNonNull(table);
+    }
+
+    public <F> ColumnMappingFinisher<F> map(SqlColumn<F> column) {
+        return new ColumnMappingFinisher<>(column);
+    }
+
+    @NotNull
+    @Override
+    public ArrayInsertModel<T> build() {
+        return ArrayInsertModel.withRecords(records)
+                .withTable(table)
+                .withColumnMappings(columnMappings)
+                .build();
+    }
+
+    @SafeVarargs
+    public static <T> IntoGatherer<T> insert(T... records) {
+        return ArrayInsertDSL.insert(Arrays.asList(records));
+    }
+
+    public static <T> IntoGatherer<T> insert(Collection<T> records) {
+        return new IntoGatherer<>(records);
+    }
+
+    public static class IntoGatherer<T> {
+        private final Collection<T> records;
+
+        private IntoGatherer(Collection<T> records) {
+            this.records = records;
+        }
+
+        public ArrayInsertDSL<T> into(SqlTable table) {
+            return new ArrayInsertDSL<>(records, table);
+        }
+    }
+
+    public class ColumnMappingFinisher<F> {
+        private final SqlColumn<F> column;
+
+        public ColumnMappingFinisher(SqlColumn<F> column) {
+            this.column = column;
+        }
+
+        public ArrayInsertDSL<T> toProperty(String property) {
+            columnMappings.add(ArrayInsertMapping.of(column, property));
+            return ArrayInsertDSL.this;
+        }
+
+        /**
+         * Map the column to a property, and cast the array parameter to an array of the element type.
+         *
+         * @param property the property of the records that holds the column value
+         * @param elementType the SQL type of the array elements - for example "varchar(30)"
+         * @return the DSL
+         */
+        public ArrayInsertDSL<T> toProperty(String property, String elementType) {
+            columnMappings.add(ArrayInsertMapping.of(column, property, elementType));
+            return ArrayInsertDSL.this;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.insert;
+
+import java.sql.JDBCType;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.mybatis.dynamic.sql.SqlColumn;
+
+/**
+ * Maps a column to a record property for array based inserts. The optional element type is the SQL type of the
+ * array elements (for example "varchar(30)"). When specified, the parameter is cast to an array of that type - some
+ * databases (HSQLDB for example) require the cast.
+ *
+ * @since 1.5.1
+ */
+public class ArrayInsertMapping {
+    private final SqlColumn<?> column;
+    private final String property;
+    private final String elementType;
+
+    private ArrayInsertMapping(SqlColumn<?> column, String property, String elementType) {
+        this.column = Objects.requireNonNull(column);
+        this.property = Objects.requireNonNull(property);
+        this.elementType = elementType;
+    }
+
+    public SqlColumn<?> column() {
+        return column;
+    }
+
+    public String columnName() {
+        return column.name();
+    }
+
+    public String property() {
+        return property;
+    }
+
+    public Optional<String> elementType() {
+        return Optional.ofNullable(elementType);
+    }
+
+    /**
+     * Calculates the element type name for creating a JDBC array. This is the name of the column's JDBC type if
+     * it has one, else the element type without any length or precision.
+     *
+     * @return the element type name, if it can be determined
+     */
+    public Optional<String> elementTypeName() {
+        Optional<String> jdbcTypeName = column.jdbcType().map(JDBCType::getName);
+        if (jdbcTypeName.isPresent()) {
+            return jdbcTypeName;
+        }
+
+        return elementType().map(t -> {
+            int index = t.indexOf('(');
+            return index == -1 ? t.trim() : t.substring(0, index).trim();
+        });
+    }
+
+    public static ArrayInsertMapping of(SqlColumn<?> column, String property) {
+        return new ArrayInsertMapping(column, property, null);
+    }
+
+    public static ArrayInsertMapping of(SqlColumn<?> column, String property, String elementType) {
+        return new ArrayInsertMapping(column, property, Objects.requireNonNull(elementType));
+    }
+}
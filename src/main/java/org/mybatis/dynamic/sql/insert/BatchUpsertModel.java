@@ -0,0 +1,65 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.insert;
+
+import java.util.Collection;
+
+import org.jetbrains.annotations.NotNull;
+import org.mybatis.dynamic.sql.insert.render.BatchInsert;
+import org.mybatis.dynamic.sql.insert.render.UpsertRenderer;
+import org.mybatis.dynamic.sql.render.RenderingStrategy;
+
+/**
+ * Model for a batch upsert. The statement is rendered once and bound to each record in turn, so it can be
+ * executed with JDBC batch support exactly like a {@link BatchInsert}.
+ *
+ * @param <T> the type of record
+ * @since 1.5.1
+ */
+public class BatchUpsertModel<T> extends AbstractUpsertModel<T> {
+
+    private BatchUpsertModel(Builder<T> builder) {
+        super(builder);
+    }
+
+    @NotNull
+    public BatchInsert<T> render(RenderingStrategy renderingStrategy) {
+        UpsertRenderer<T> renderer = UpsertRenderer.withUpsertModel(this)
+                .withRenderingStrategy(renderingStrategy)
+                .build();
+
+        return BatchInsert.withRecords(records())
+                .withInsertStatement(renderer.renderSingleRow())
+                .withStatementMetadata(renderer.statementMetadata())
+                .build();
+    }
+
+    public static <T> Builder<T> withRecords(Collection<T> records) {
+        return new Builder<T>().withRecords(records);
+    }
+
+    public static class Builder<T> extends AbstractBuilder<T, Builder<T>, BatchUpsertModel<T>> {
+        @Override
+        protected Builder<T> getThis() {
+            return this;
+        }
+
+        @Override
+        public BatchUpsertModel<T> build() {
+            return new BatchUpsertModel<>(this);
+        }
+    }
+}
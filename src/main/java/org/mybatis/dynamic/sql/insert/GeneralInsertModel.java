@@ -16,6 +16,7 @@
 package org.mybatis.dynamic.sql.insert;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.Function;
@@ -40,7 +41,7 @@ public class GeneralInsertModel {
         if (builder.insertMappings.isEmpty()) {
             throw new InvalidSqlException(Messages.getString("ERROR.6")); //$NON-NLS-1$
         }
-        insertMappings = builder.insertMappings;
+        insertMappings = Collections.unmodifiableList(new ArrayList<>(builder.insertMappings));
     }
 
     public <R> Stream<R> mapColumnMappings(Function<AbstractColumnMapping, R> mapper) {
@@ -16,6 +16,7 @@
 package org.mybatis.dynamic.sql.insert;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.Function;
@@ -38,7 +39,7 @@ public class InsertModel<T> {
     private InsertModel(Builder<T> builder) {
         table = Objects.requireNonNull(builder.table);
         row = Objects.requireNonNull(builder.row);
-        columnMappings = Objects.requireNonNull(builder.columnMappings);
+        columnMappings = Collections.unmodifiableList(new ArrayList<>(builder.columnMappings));
         if (columnMappings.isEmpty()) {
             throw new InvalidSqlException(Messages.getString("ERROR.7")); //$NON-NLS-1$
         }
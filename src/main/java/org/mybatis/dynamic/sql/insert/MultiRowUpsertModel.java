@@ -0,0 +1,66 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.insert;
+
+import java.util.Collection;
+
+import org.jetbrains.annotations.NotNull;
+import org.mybatis.dynamic.sql.insert.render.DefaultMultiRowInsertStatementProvider;
+import org.mybatis.dynamic.sql.insert.render.MultiRowInsertStatementProvider;
+import org.mybatis.dynamic.sql.insert.render.UpsertRenderer;
+import org.mybatis.dynamic.sql.render.RenderingStrategy;
+
+/**
+ * Model for a multi-row upsert. All records are rendered into a single statement, so the same limits on
+ * parameter markers apply as with multi-row inserts.
+ *
+ * @param <T> the type of record
+ * @since 1.5.1
+ */
+public class MultiRowUpsertModel<T> extends AbstractUpsertModel<T> {
+
+    private MultiRowUpsertModel(Builder<T> builder) {
+        super(builder);
+    }
+
+    @NotNull
+    public MultiRowInsertStatementProvider<T> render(RenderingStrategy renderingStrategy) {
+        UpsertRenderer<T> renderer = UpsertRenderer.withUpsertModel(this)
+                .withRenderingStrategy(renderingStrategy)
+                .build();
+
+        return new DefaultMultiRowInsertStatementProvider.Builder<T>().withRecords(records())
+                .withInsertStatement(renderer.renderMultiRow())
+                .withStatementMetadata(renderer.statementMetadata())
+                .build();
+    }
+
+    public static <T> Builder<T> withRecords(Collection<T> records) {
+        return new Builder<T>().withRecords(records);
+    }
+
+    public static class Builder<T> extends AbstractBuilder<T, Builder<T>, MultiRowUpsertModel<T>> {
+        @Override
+        protected Builder<T> getThis() {
+            return this;
+        }
+
+        @Override
+        public MultiRowUpsertModel<T> build() {
+            return new MultiRowUpsertModel<>(this);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.insert;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+import org.jetbrains.annotations.NotNull;
+import org.mybatis.dynamic.sql.SqlColumn;
+import org.mybatis.dynamic.sql.SqlTable;
+import org.mybatis.dynamic.sql.util.Buildable;
+
+/**
+ * DSL for multi-row inserts where column values are extracted from the records with accessor functions.
+ *
+ * <p>Unlike {@link MultiRowInsertDSL}, the values are extracted when the statement is rendered and the rendered
+ * statement binds simple parameters (p1, p2, etc.) rather than bean property paths. This avoids reflection when the
+ * statement is executed.
+ *
+ * @param <T> the type of record
+ * @since 1.5.1
+ */
+public class TupleInsertDSL<T> implements Buildable<TupleInsertModel<T>> {
+
+    private final Collection<T> records;
+    private final SqlTable table;
+    private final List<TupleInsertMapping<T>> columnMappings = new ArrayList<>();
+
+    private TupleInsertDSL(Collection<T> records, SqlTable table) {
+        this.records = records;
+        this.table = Objects.requireNonNull(table);
+    }
+
+    public <F> ColumnMappingFinisher<F> map(SqlColumn<F> column) {
+        return new ColumnMappingFinisher<>(column);
+    }
+
+    @NotNull
+    @Override
+    public TupleInsertModel<T> build() {
+        return TupleInsertModel.withRecords(records)
+                .withTable(table)
+                .withColumnMappings(columnMappings)
+                .build();
+    }
+
+    @SafeVarargs
+    public static <T> IntoGatherer<T> insert(T... records) {
+        return TupleInsertDSL.insert(Arrays.asList(records));
+    }
+
+    public static <T> IntoGatherer<T> insert(Collection<T> records) {
+        return new IntoGatherer<>(records);
+    }
+
+    public static class IntoGatherer<T> {
+        private final Collection<T> records;
+
+        private IntoGatherer(Collection<T> records) {
+            this.records = records;
+        }
+
+        public TupleInsertDSL<T> into(SqlTable table) {
+            return new TupleInsertDSL<>(records, table);
+        }
+    }
+
+    public class ColumnMappingFinisher<F> {
+        private final SqlColumn<F> column;
+
+        public ColumnMappingFinisher(SqlColumn<F> column) {
+            this.column = column;
+        }
+
+        public TupleInsertDSL<T> toValue(Function<? super T, ? extends F> extractor) {
+            columnMappings.add(TupleInsertMapping.of(column, extractor));
+            return TupleInsertDSL.this;
+        }
+
+        public TupleInsertDSL<T> toNull() {
+            columnMappings.add(TupleInsertMapping.ofPhrase(column, "null")); //$NON-NLS-1$
+            return TupleInsertDSL.this;
+        }
+
+        public TupleInsertDSL<T> toConstant(String constant) {
+            columnMappings.add(TupleInsertMapping.ofPhrase(column, constant));
+            return TupleInsertDSL.this;
+        }
+
+        public TupleInsertDSL<T> toStringConstant(String constant) {
+            columnMappings.add(TupleInsertMapping.ofPhrase(column, "'" + constant + "'")); //$NON-NLS-1$ //$NON-NLS-2$
+            return TupleInsertDSL.this;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.insert;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.mybatis.dynamic.sql.SqlColumn;
+
+/**
+ * A column mapping for tuple based multi-row inserts. A mapping either extracts the column value from each record
+ * with an accessor function, or renders a fixed phrase (a constant or null) for every row.
+ *
+ * @param <T> the type of record
+ * @since 1.5.1
+ */
+public class TupleInsertMapping<T> {
+    private final SqlColumn<?> column;
+    private final Function<? super T, ?> extractor;
+    private final String phrase;
+
+    private TupleInsertMapping(SqlColumn<?> column, Function<? super T, ?> extractor, String phrase) {
+        this.column = Objects.requireNonNull(column);
+        this.extractor = extractor;
+        this.phrase = phrase;
+    }
+
+    public SqlColumn<?> column() {
+        return column;
+    }
+
+    public String columnName() {
+        return column.name();
+    }
+
+    public Optional<Function<? super T, ?>> extractor() {
+        return Optional.ofNullable(extractor);
+    }
+
+    public Optional<String> phrase() {
+        return Optional.ofNullable(phrase);
+    }
+
+    public static <T, F> TupleInsertMapping<T> of(SqlColumn<F> column, Function<? super T, ? extends F> extractor) {
+        return new TupleInsertMapping<>(column, Objects.requireNonNull(extractor), null);
+    }
+
+    public static <T> TupleInsertMapping<T> ofPhrase(SqlColumn<?> column, String phrase) {
+        return new TupleInsertMapping<>(column, null, Objects.requireNonNull(phrase));
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.insert;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.jetbrains.annotations.NotNull;
+import org.mybatis.dynamic.sql.SqlTable;
+import org.mybatis.dynamic.sql.exception.InvalidSqlException;
+import org.mybatis.dynamic.sql.insert.render.GeneralInsertStatementProvider;
+import org.mybatis.dynamic.sql.insert.render.TupleInsertRenderer;
+import org.mybatis.dynamic.sql.render.RenderingStrategy;
+import org.mybatis.dynamic.sql.util.Messages;
+
+public class TupleInsertModel<T> {
+    private final SqlTable table;
+    private final List<T> records;
+    private final List<TupleInsertMapping<T>> columnMappings;
+
+    private TupleInsertModel(Builder<T> builder) {
+        table = Objects.requireNonNull(builder.table);
+        records = Collections.unmodifiableList(new ArrayList<>(builder.records));
+        columnMappings = Collections.unmodifiableList(new ArrayList<>(builder.columnMappings));
+        if (records.isEmpty()) {
+            throw new InvalidSqlException(Messages.getString("ERROR.57")); //$NON-NLS-1$
+        }
+        if (columnMappings.isEmpty()) {
+            throw new InvalidSqlException(Messages.getString("ERROR.58")); //$NON-NLS-1$
+        }
+    }
+
+    public SqlTable table() {
+        return table;
+    }
+
+    public List<T> records() {
+        return records;
+    }
+
+    public int recordCount() {
+        return records.size();
+    }
+
+    public <R> Stream<R> mapColumnMappings(Function<TupleInsertMapping<T>, R> mapper) {
+        return columnMappings.stream().map(mapper);
+    }
+
+    @NotNull
+    public GeneralInsertStatementProvider render(RenderingStrategy renderingStrategy) {
+        return TupleInsertRenderer.withTupleInsertModel(this)
+                .withRenderingStrategy(renderingStrategy)
+                .build()
+                .render();
+    }
+
+    public static <T> Builder<T> withRecords(Collection<T> records) {
+        return new Builder<T>().withRecords(records);
+    }
+
+    public static class Builder<T> {
+        private SqlTable table;
+        private final List<T> records = new ArrayList<>();
+        private final List<TupleInsertMapping<T>> columnMappings = new ArrayList<>();
+
+        public Builder<T> withTable(SqlTable table) {
+            this.table = table;
+            return this;
+        }
+
+        public Builder<T> withRecords(Collection<T> records) {
+            this.records.addAll(records);
+            return this;
+        }
+
+        public Builder<T> withColumnMappings(List<TupleInsertMapping<T>> columnMappings) {
+            this.columnMappings.addAll(columnMappings);
+            return this;
+        }
+
+        public TupleInsertModel<T> build() {
+            return new TupleInsertModel<>(this);
+        }
+    }
+}
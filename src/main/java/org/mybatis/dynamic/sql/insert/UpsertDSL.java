@@ -0,0 +1,171 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.insert;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import org.jetbrains.annotations.NotNull;
+import org.mybatis.dynamic.sql.SqlColumn;
+import org.mybatis.dynamic.sql.SqlTable;
+import org.mybatis.dynamic.sql.util.AbstractColumnMapping;
+import org.mybatis.dynamic.sql.util.Buildable;
+import org.mybatis.dynamic.sql.util.ConstantMapping;
+import org.mybatis.dynamic.sql.util.NullMapping;
+import org.mybatis.dynamic.sql.util.PropertyMapping;
+import org.mybatis.dynamic.sql.util.RowMapping;
+import org.mybatis.dynamic.sql.util.StringConstantMapping;
+
+/**
+ * DSL for upsert statements - statements that insert rows that do not exist and update rows that do.
+ * Column mappings are bound to record properties in the same way as {@link InsertDSL}. The key columns determine
+ * whether a row exists, and all other mapped columns are updated when it does. For example:
+ *
+ * <pre>
+ * InsertStatementProvider&lt;PersonRecord&gt; upsertStatement = upsert(row)
+ *         .into(person)
+ *         .map(id).toProperty("id")
+ *         .map(firstName).toProperty("firstName")
+ *         .onKey(id)
+ *         .withDialect(UpsertDialect.ON_CONFLICT)
+ *         .build()
+ *         .render(RenderingStrategies.MYBATIS3);
+ * </pre>
+ *
+ * <p>The same DSL builds single row ({@link UpsertModel}), batch ({@link BatchUpsertModel}), and multi-row
+ * ({@link MultiRowUpsertModel}) upserts depending on the entry point. The default dialect is
+ * {@link UpsertDialect#MERGE}.
+ *
+ * @param <T> the type of record
+ * @param <M> the type of model built by this DSL
+ * @since 1.5.1
+ */
+public class UpsertDSL<T, M extends AbstractUpsertModel<T>> implements Buildable<M> {
+
+    private final Collection<T> records;
+    private final SqlTable table;
+    private final Supplier<AbstractUpsertModel.AbstractBuilder<T, ?, M>> modelBuilder;
+    private final List<AbstractColumnMapping> columnMappings = new ArrayList<>();
+    private final List<SqlColumn<?>> keyColumns = new ArrayList<>();
+    private UpsertDialect dialect = UpsertDialect.MERGE;
+
+    private UpsertDSL(IntoGatherer<T, M> gatherer, SqlTable table) {
+        this.records = gatherer.records;
+        this.modelBuilder = gatherer.modelBuilder;
+        this.table = Objects.requireNonNull(table);
+    }
+
+    public <F> ColumnMappingFinisher<F> map(SqlColumn<F> column) {
+        return new ColumnMappingFinisher<>(column);
+    }
+
+    public UpsertDSL<T, M> onKey(SqlColumn<?>... keyColumns) {
+        this.keyColumns.addAll(Arrays.asList(keyColumns));
+        return this;
+    }
+
+    public UpsertDSL<T, M> withDialect(UpsertDialect dialect) {
+        this.dialect = Objects.requireNonNull(dialect);
+        return this;
+    }
+
+    @NotNull
+    @Override
+    public M build() {
+        return modelBuilder.get()
+                .withRecords(records)
+                .withTable(table)
+                .withColumnMappings(columnMappings)
+                .withKeyColumns(keyColumns)
+                .withDialect(dialect)
+                .build();
+    }
+
+    public static <T> IntoGatherer<T, UpsertModel<T>> upsert(T row) {
+        return new IntoGatherer<>(Collections.singletonList(row), UpsertModel.Builder::new);
+    }
+
+    @SafeVarargs
+    public static <T> IntoGatherer<T, BatchUpsertModel<T>> upsertBatch(T... records) {
+        return upsertBatch(Arrays.asList(records));
+    }
+
+    public static <T> IntoGatherer<T, BatchUpsertModel<T>> upsertBatch(Collection<T> records) {
+        return new IntoGatherer<>(records, BatchUpsertModel.Builder::new);
+    }
+
+    @SafeVarargs
+    public static <T> IntoGatherer<T, MultiRowUpsertModel<T>> upsertMultiple(T... records) {
+        return upsertMultiple(Arrays.asList(records));
+    }
+
+    public static <T> IntoGatherer<T, MultiRowUpsertModel<T>> upsertMultiple(Collection<T> records) {
+        return new IntoGatherer<>(records, MultiRowUpsertModel.Builder::new);
+    }
+
+    public static class IntoGatherer<T, M extends AbstractUpsertModel<T>> {
+        private final Collection<T> records;
+        private final Supplier<AbstractUpsertModel.AbstractBuilder<T, ?, M>> modelBuilder;
+
+        private IntoGatherer(Collection<T> records,
+                Supplier<AbstractUpsertModel.AbstractBuilder<T, ?, M>> modelBuilder) {
+            this.records = records;
+            this.modelBuilder = modelBuilder;
+        }
+
+        public UpsertDSL<T, M> into(SqlTable table) {
+            return new UpsertDSL<>(this, table);
+        }
+    }
+
+    public class ColumnMappingFinisher<F> {
+        private final SqlColumn<F> column;
+
+        public ColumnMappingFinisher(SqlColumn<F> column) {
+            this.column = column;
+        }
+
+        public UpsertDSL<T, M> toProperty(String property) {
+            columnMappings.add(PropertyMapping.of(column, property));
+            return UpsertDSL.this;
+        }
+
+        public UpsertDSL<T, M> toNull() {
+            columnMappings.add(NullMapping.of(column));
+            return UpsertDSL.this;
+        }
+
+        public UpsertDSL<T, M> toConstant(String constant) {
+            columnMappings.add(ConstantMapping.of(column, constant));
+            return UpsertDSL.this;
+        }
+
+        public UpsertDSL<T, M> toStringConstant(String constant) {
+            columnMappings.add(StringConstantMapping.of(column, constant));
+            return UpsertDSL.this;
+        }
+
+        public UpsertDSL<T, M> toRow() {
+            columnMappings.add(RowMapping.of(column));
+            return UpsertDSL.this;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.insert;
+
+/**
+ * The SQL syntax used to render upsert statements.
+ *
+ * @since 1.5.1
+ */
+public enum UpsertDialect {
+    /**
+     * Standard SQL MERGE statement: <code>merge into ... using (values ...) ... when matched then update ...
+     * when not matched then insert ...</code>. Supported by HSQLDB, H2, Oracle, SQL Server, DB2, and PostgreSQL 15+.
+     */
+    MERGE,
+
+    /**
+     * <code>insert ... on conflict (keys) do update set ...</code>. Supported by PostgreSQL and SQLite.
+     */
+    ON_CONFLICT,
+
+    /**
+     * <code>insert ... on duplicate key update ...</code>. Supported by MySQL and MariaDB. Key columns are optional
+     * for this dialect because the database matches rows on any primary key or unique index.
+     */
+    ON_DUPLICATE_KEY
+}
@@ -0,0 +1,70 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.insert;
+
+import java.util.Collections;
+
+import org.jetbrains.annotations.NotNull;
+import org.mybatis.dynamic.sql.insert.render.DefaultInsertStatementProvider;
+import org.mybatis.dynamic.sql.insert.render.InsertStatementProvider;
+import org.mybatis.dynamic.sql.insert.render.UpsertRenderer;
+import org.mybatis.dynamic.sql.render.RenderingStrategy;
+
+/**
+ * Model for a single row upsert. The rendered statement can be executed with any mapper method or template
+ * method that accepts an {@link InsertStatementProvider}.
+ *
+ * @param <T> the type of record
+ * @since 1.5.1
+ */
+public class UpsertModel<T> extends AbstractUpsertModel<T> {
+
+    private UpsertModel(Builder<T> builder) {
+        super(builder);
+    }
+
+    public T row() {
+        return records().get(0);
+    }
+
+    @NotNull
+    public InsertStatementProvider<T> render(RenderingStrategy renderingStrategy) {
+        UpsertRenderer<T> renderer = UpsertRenderer.withUpsertModel(this)
+                .withRenderingStrategy(renderingStrategy)
+                .build();
+
+        return DefaultInsertStatementProvider.withRow(row())
+                .withInsertStatement(renderer.renderSingleRow())
+                .withStatementMetadata(renderer.statementMetadata())
+                .build();
+    }
+
+    public static <T> Builder<T> withRow(T row) {
+        return new Builder<T>().withRecords(Collections.singletonList(row));
+    }
+
+    public static class Builder<T> extends AbstractBuilder<T, Builder<T>, UpsertModel<T>> {
+        @Override
+        protected Builder<T> getThis() {
+            return this;
+        }
+
+        @Override
+        public UpsertModel<T> build() {
+            return new UpsertModel<>(this);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.insert.render;
+
+import static org.mybatis.dynamic.sql.util.StringUtilities.spaceBefore;
+
+import java.beans.PropertyDescriptor;
+import java.sql.JDBCType;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import org.mybatis.dynamic.sql.SqlColumn;
+import org.mybatis.dynamic.sql.insert.ArrayInsertMapping;
+import org.mybatis.dynamic.sql.insert.ArrayInsertModel;
+import org.mybatis.dynamic.sql.render.RenderedParameterInfo;
+import org.mybatis.dynamic.sql.render.RenderingContext;
+import org.mybatis.dynamic.sql.render.RenderingStrategy;
+import org.mybatis.dynamic.sql.util.PropertyReader;
+
+public class ArrayInsertRenderer<T> {
+    /**
+     * The MyBatis type handler for {@link ArrayParameter}. The class is referenced by name so that this renderer
+     * does not depend on MyBatis.
+     */
+    public static final String MYBATIS3_TYPE_HANDLER =
+            "org.mybatis.dynamic.sql.util.mybatis3.ArrayParameterTypeHandler"; //$NON-NLS-1$
+
+    private final ArrayInsertModel<T> model;
+    private final RenderingStrategy renderingStrategy;
+
+    private ArrayInsertRenderer(Builder<T> builder) {
+        model = Objects.requireNonNull(builder.model);
+        renderingStrategy = Objects.requireNonNull(builder.renderingStrategy);
+    }
+
+    public GeneralInsertStatementProvider render() {
+        RenderingContext renderingContext = RenderingContext.withRenderingStrategy(renderingStrategy).build();
+
+        FieldAndValueCollector collector = model.mapColumnMappings(m -> toFieldAndValue(m, renderingContext))
+                .collect(FieldAndValueCollector.collect());
+
+        String insertStatement = InsertRenderingUtilities.calculateInsertStatementStart(model.table())
+                + spaceBefore(collector.columnsPhrase())
+                + " select * from unnest" //$NON-NLS-1$
+                + unnestArgumentsPhrase(collector);
+
+        return DefaultGeneralInsertStatementProvider.withInsertStatement(insertStatement)
+                .withParameters(collector.parameters())
+                .withStatementMetadata(
+                        InsertRenderingUtilities.calculateStatementMetadata(model.table(), collector.columns()))
+                .build();
+    }
+
+    private String unnestArgumentsPhrase(FieldAndValueCollector collector) {
+        return collector.fieldsAndValues.stream()
+                .map(FieldAndValueAndParameters::valuePhrase)
+                .collect(Collectors.joining(", ", "(", ")")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+    }
+
+    private FieldAndValueAndParameters toFieldAndValue(ArrayInsertMapping mapping,
+            RenderingContext renderingContext) {
+        RenderedParameterInfo parameterInfo =
+                renderingContext.calculateParameterInfo(arrayColumn(mapping.column()));
+
+        String valuePhrase = mapping.elementType()
+                .map(t -> castToArray(parameterInfo.renderedPlaceHolder(), t))
+                .orElseGet(parameterInfo::renderedPlaceHolder);
+
+        return FieldAndValueAndParameters.withColumn(mapping.column())
+                .withValuePhrase(valuePhrase)
+                .withParameter(parameterInfo.parameterMapKey(), toArrayParameter(mapping))
+                .build();
+    }
+
+    private String castToArray(String placeHolder, String elementType) {
+        return "cast(" + placeHolder + " as " + elementType + " array)"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+    }
+
+    private SqlColumn<Object> arrayColumn(SqlColumn<?> column) {
+        SqlColumn<Object> arrayColumn = SqlColumn.of(column.name(), column.table(), JDBCType.ARRAY)
+                .withTypeHandler(MYBATIS3_TYPE_HANDLER);
+        return column.renderingStrategy()
+                .<SqlColumn<Object>>map(arrayColumn::withRenderingStrategy)
+                .orElse(arrayColumn);
+    }
+
+    private ArrayParameter toArrayParameter(ArrayInsertMapping mapping) {
+        List<T> records = model.records();
+        Object[] elements = new Object[records.size()];
+        Class<?> recordClass = null;
+        PropertyDescriptor descriptor = null;
+        for (int i = 0; i < elements.length; i++) {
+            T row = records.get(i);
+            // look up the property once, unless the collection holds records of different classes
+            if (row.getClass() != recordClass) {
+                recordClass = row.getClass();
+                descriptor = PropertyReader.findProperty(recordClass, mapping.property());
+            }
+            elements[i] = PropertyReader.readProperty(row, descriptor);
+        }
+
+        // the model has validated that the element type name is present
+        return new ArrayParameter(mapping.elementTypeName().orElseThrow(IllegalStateException::new), elements);
+    }
+
+    public static <T> Builder<T> withArrayInsertModel(ArrayInsertModel<T> model) {
+        return new Builder<T>().withArrayInsertModel(model);
+    }
+
+    public static class Builder<T> {
+        private ArrayInsertModel<T> model;
+        private RenderingStrategy renderingStrategy;
+
+        public Builder<T> withArrayInsertModel(ArrayInsertModel<T> model) {
+            this.model = model;
+            return this;
+        }
+
+        public Builder<T> withRenderingStrategy(RenderingStrategy renderingStrategy) {
+            this.renderingStrategy = renderingStrategy;
+            return this;
+        }
+
+        public ArrayInsertRenderer<T> build() {
+            return new ArrayInsertRenderer<>(this);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.insert.render;
+
+import java.util.Objects;
+
+/**
+ * A parameter value that should be bound to a statement as a JDBC array. The element type name is the SQL name of
+ * the element type as understood by <code>java.sql.Connection.createArrayOf(String, Object[])</code>.
+ *
+ * <p>The MyBatis type handler <code>org.mybatis.dynamic.sql.util.mybatis3.ArrayParameterTypeHandler</code> and the
+ * Spring extensions convert these parameters into JDBC arrays.
+ *
+ * @since 1.5.1
+ */
+public class ArrayParameter {
+    private final String elementTypeName;
+    private final Object[] elements;
+
+    public ArrayParameter(String elementTypeName, Object[] elements) {
+        this.elementTypeName = Objects.requireNonNull(elementTypeName);
+        this.elements = Objects.requireNonNull(elements);
+    }
+
+    public String elementTypeName() {
+        return elementTypeName;
+    }
+
+    public Object[] elements() {
+        return elements;
+    }
+}
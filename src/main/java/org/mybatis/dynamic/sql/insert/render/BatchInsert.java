@@ -21,13 +21,21 @@ import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
+import org.mybatis.dynamic.sql.render.StatementKind;
+import org.mybatis.dynamic.sql.render.StatementMetadata;
+import org.mybatis.dynamic.sql.util.StatementFingerprint;
+
 public class BatchInsert<T> {
     private final String insertStatement;
     private final List<T> records;
+    private final StatementMetadata statementMetadata;
+    private volatile long fingerprint;
 
     private BatchInsert(Builder<T> builder) {
         insertStatement = Objects.requireNonNull(builder.insertStatement);
         records = Collections.unmodifiableList(Objects.requireNonNull(builder.records));
+        statementMetadata = builder.statementMetadata == null ? StatementMetadata.of(StatementKind.INSERT)
+                : builder.statementMetadata;
     }
 
     /**
@@ -44,6 +52,7 @@ public class BatchInsert<T> {
     private InsertStatementProvider<T> toInsertStatement(T row) {
         return DefaultInsertStatementProvider.withRow(row)
                 .withInsertStatement(insertStatement)
+                .withStatementMetadata(statementMetadata)
                 .build();
     }
 
@@ -60,6 +69,26 @@ public class BatchInsert<T> {
         return Collections.unmodifiableList(records);
     }
 
+    public StatementMetadata getStatementMetadata() {
+        return statementMetadata;
+    }
+
+    /**
+     * Return a stable 64-bit fingerprint of the shape of the statement. The fingerprint is calculated once.
+     *
+     * @return the fingerprint
+     * @see StatementFingerprint
+     * @since 1.5.1
+     */
+    public long getFingerprint() {
+        long answer = fingerprint;
+        if (answer == 0) {
+            answer = StatementFingerprint.of(insertStatement);
+            fingerprint = answer;
+        }
+        return answer;
+    }
+
     public static <T> Builder<T> withRecords(List<T> records) {
         return new Builder<T>().withRecords(records);
     }
@@ -67,6 +96,7 @@ public class BatchInsert<T> {
     public static class Builder<T> {
         private String insertStatement;
         private final List<T> records = new ArrayList<>();
+        private StatementMetadata statementMetadata;
 
         public Builder<T> withInsertStatement(String insertStatement) {
             this.insertStatement = insertStatement;
@@ -78,6 +108,11 @@ public class BatchInsert<T> {
             return this;
         }
 
+        public Builder<T> withStatementMetadata(StatementMetadata statementMetadata) {
+            this.statementMetadata = statementMetadata;
+            return this;
+        }
+
         public BatchInsert<T> build() {
             return new BatchInsert<>(this);
         }
@@ -39,6 +39,8 @@ public class BatchInsertRenderer<T> {
 
         return BatchInsert.withRecords(model.records())
                 .withInsertStatement(insertStatement)
+                .withStatementMetadata(
+                        InsertRenderingUtilities.calculateStatementMetadata(model.table(), collector.columns()))
                 .build();
     }
 
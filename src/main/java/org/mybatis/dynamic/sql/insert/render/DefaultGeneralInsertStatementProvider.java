@@ -19,14 +19,22 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 
+import org.mybatis.dynamic.sql.render.StatementKind;
+import org.mybatis.dynamic.sql.render.StatementMetadata;
+import org.mybatis.dynamic.sql.util.StatementFingerprint;
+
 public class DefaultGeneralInsertStatementProvider
         implements GeneralInsertStatementProvider, InsertSelectStatementProvider {
     private final String insertStatement;
     private final Map<String, Object> parameters = new HashMap<>();
+    private final StatementMetadata statementMetadata;
+    private volatile long fingerprint;
 
     private DefaultGeneralInsertStatementProvider(Builder builder) {
         insertStatement = Objects.requireNonNull(builder.insertStatement);
         parameters.putAll(builder.parameters);
+        statementMetadata = builder.statementMetadata == null ? StatementMetadata.of(StatementKind.INSERT)
+                : builder.statementMetadata;
     }
 
     @Override
@@ -39,6 +47,21 @@ public class DefaultGeneralInsertStatementProvider
         return insertStatement;
     }
 
+    @Override
+    public StatementMetadata getStatementMetadata() {
+        return statementMetadata;
+    }
+
+    @Override
+    public long getFingerprint() {
+        long answer = fingerprint;
+        if (answer == 0) {
+            answer = StatementFingerprint.of(insertStatement);
+            fingerprint = answer;
+        }
+        return answer;
+    }
+
     public static Builder withInsertStatement(String insertStatement) {
         return new Builder().withInsertStatement(insertStatement);
     }
@@ -46,6 +69,7 @@ public class DefaultGeneralInsertStatementProvider
     public static class Builder {
         private String insertStatement;
         private final Map<String, Object> parameters = new HashMap<>();
+        private StatementMetadata statementMetadata;
 
         public Builder withInsertStatement(String insertStatement) {
             this.insertStatement = insertStatement;
@@ -57,6 +81,11 @@ public class DefaultGeneralInsertStatementProvider
             return this;
         }
 
+        public Builder withStatementMetadata(StatementMetadata statementMetadata) {
+            this.statementMetadata = statementMetadata;
+            return this;
+        }
+
         public DefaultGeneralInsertStatementProvider build() {
             return new DefaultGeneralInsertStatementProvider(this);
         }
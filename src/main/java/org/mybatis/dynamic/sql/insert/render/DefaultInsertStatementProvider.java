@@ -18,6 +18,9 @@ package org.mybatis.dynamic.sql.insert.render;
 import java.util.Objects;
 
 import org.jetbrains.annotations.NotNull;
+import org.mybatis.dynamic.sql.render.StatementKind;
+import org.mybatis.dynamic.sql.render.StatementMetadata;
+import org.mybatis.dynamic.sql.util.StatementFingerprint;
 
 public class DefaultInsertStatementProvider<T> implements InsertStatementProvider<T> {
     private final String insertStatement;
@@ -29,11 +32,15 @@ public class DefaultInsertStatementProvider<T> implements InsertStatementProvide
     // Target March 2023 for removing "record" from MyBatis Dynamic SQL.
     private final T record;
     private final T row;
+    private final StatementMetadata statementMetadata;
+    private volatile long fingerprint;
 
     private DefaultInsertStatementProvider(Builder<T> builder) {
         insertStatement = Objects.requireNonNull(builder.insertStatement);
         row = Objects.requireNonNull(builder.row);
         record = row;
+        statementMetadata = builder.statementMetadata == null ? StatementMetadata.of(StatementKind.INSERT)
+                : builder.statementMetadata;
     }
 
     @Override
@@ -52,6 +59,21 @@ public class DefaultInsertStatementProvider<T> implements InsertStatementProvide
         return insertStatement;
     }
 
+    @Override
+    public StatementMetadata getStatementMetadata() {
+        return statementMetadata;
+    }
+
+    @Override
+    public long getFingerprint() {
+        long answer = fingerprint;
+        if (answer == 0) {
+            answer = StatementFingerprint.of(insertStatement);
+            fingerprint = answer;
+        }
+        return answer;
+    }
+
     public static <T> Builder<T> withRow(T row) {
         return new Builder<T>().withRow(row);
     }
@@ -59,6 +81,7 @@ public class DefaultInsertStatementProvider<T> implements InsertStatementProvide
     public static class Builder<T> {
         private String insertStatement;
         private T row;
+        private StatementMetadata statementMetadata;
 
         public Builder<T> withInsertStatement(String insertStatement) {
             this.insertStatement = insertStatement;
@@ -70,6 +93,11 @@ public class DefaultInsertStatementProvider<T> implements InsertStatementProvide
             return this;
         }
 
+        public Builder<T> withStatementMetadata(StatementMetadata statementMetadata) {
+            this.statementMetadata = statementMetadata;
+            return this;
+        }
+
         public DefaultInsertStatementProvider<T> build() {
             return new DefaultInsertStatementProvider<>(this);
         }
@@ -20,14 +20,22 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
+import org.mybatis.dynamic.sql.render.StatementKind;
+import org.mybatis.dynamic.sql.render.StatementMetadata;
+import org.mybatis.dynamic.sql.util.StatementFingerprint;
+
 public class DefaultMultiRowInsertStatementProvider<T> implements MultiRowInsertStatementProvider<T> {
 
     private final List<T> records;
     private final String insertStatement;
+    private final StatementMetadata statementMetadata;
+    private volatile long fingerprint;
 
     private DefaultMultiRowInsertStatementProvider(Builder<T> builder) {
         insertStatement = Objects.requireNonNull(builder.insertStatement);
         records = Collections.unmodifiableList(builder.records);
+        statementMetadata = builder.statementMetadata == null ? StatementMetadata.of(StatementKind.INSERT)
+                : builder.statementMetadata;
     }
 
     @Override
@@ -40,9 +48,25 @@ public class DefaultMultiRowInsertStatementProvider<T> implements MultiRowInsert
         return records;
     }
 
+    @Override
+    public StatementMetadata getStatementMetadata() {
+        return statementMetadata;
+    }
+
+    @Override
+    public long getFingerprint() {
+        long answer = fingerprint;
+        if (answer == 0) {
+            answer = StatementFingerprint.of(insertStatement);
+            fingerprint = answer;
+        }
+        return answer;
+    }
+
     public static class Builder<T> {
         private final List<T> records = new ArrayList<>();
         private String insertStatement;
+        private StatementMetadata statementMetadata;
 
         public Builder<T> withRecords(List<T> records) {
             this.records.addAll(records);
@@ -54,6 +78,11 @@ public class DefaultMultiRowInsertStatementProvider<T> implements MultiRowInsert
             return this;
         }
 
+        public Builder<T> withStatementMetadata(StatementMetadata statementMetadata) {
+            this.statementMetadata = statementMetadata;
+            return this;
+        }
+
         public DefaultMultiRowInsertStatementProvider<T> build() {
             return new DefaultMultiRowInsertStatementProvider<>(this);
         }
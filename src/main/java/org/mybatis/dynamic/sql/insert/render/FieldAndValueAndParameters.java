@@ -20,17 +20,25 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
+import org.mybatis.dynamic.sql.SqlColumn;
+
 public class FieldAndValueAndParameters {
+    private final SqlColumn<?> column;
     private final String fieldName;
     private final String valuePhrase;
     private final Map<String, Object> parameters;
 
     private FieldAndValueAndParameters(Builder builder) {
+        column = builder.column;
         fieldName = Objects.requireNonNull(builder.fieldName);
         valuePhrase = Objects.requireNonNull(builder.valuePhrase);
         parameters = builder.parameters;
     }
 
+    public Optional<SqlColumn<?>> column() {
+        return Optional.ofNullable(column);
+    }
+
     public String fieldName() {
         return fieldName;
     }
@@ -47,7 +55,12 @@ public class FieldAndValueAndParameters {
         return new Builder().withFieldName(fieldName);
     }
 
+    public static Builder withColumn(SqlColumn<?> column) {
+        return new Builder().withColumn(column);
+    }
+
     public static class Builder {
+        private SqlColumn<?> column;
         private String fieldName;
         private String valuePhrase;
         private final Map<String, Object> parameters = new HashMap<>();
@@ -57,6 +70,12 @@ public class FieldAndValueAndParameters {
             return this;
         }
 
+        public Builder withColumn(SqlColumn<?> column) {
+            this.column = column;
+            this.fieldName = column.name();
+            return this;
+        }
+
         public Builder withValuePhrase(String valuePhrase) {
             this.valuePhrase = valuePhrase;
             return this;
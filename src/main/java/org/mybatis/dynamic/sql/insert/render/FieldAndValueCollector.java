@@ -19,9 +19,13 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collector;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.mybatis.dynamic.sql.SqlColumn;
 
 public class FieldAndValueCollector {
     final List<FieldAndValueAndParameters> fieldsAndValues = new ArrayList<>();
@@ -49,6 +53,13 @@ public class FieldAndValueCollector {
                 .collect(Collectors.joining(", ", "(", ")")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
     }
 
+    public Stream<SqlColumn<?>> columns() {
+        return fieldsAndValues.stream()
+                .map(FieldAndValueAndParameters::column)
+                .filter(Optional::isPresent)
+                .map(Optional::get);
+    }
+
     public String valuesPhrase() {
         return fieldsAndValues.stream()
                 .map(FieldAndValueAndParameters::valuePhrase)
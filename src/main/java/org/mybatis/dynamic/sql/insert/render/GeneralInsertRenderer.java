@@ -51,6 +51,8 @@ public class GeneralInsertRenderer {
 
         return DefaultGeneralInsertStatementProvider.withInsertStatement(insertStatement)
                 .withParameters(collector.parameters())
+                .withStatementMetadata(
+                        InsertRenderingUtilities.calculateStatementMetadata(model.table(), collector.columns()))
                 .build();
     }
 
@@ -44,14 +44,14 @@ public class GeneralInsertValuePhraseVisitor extends GeneralInsertMappingVisitor
 
     @Override
     public Optional<FieldAndValueAndParameters> visit(ConstantMapping mapping) {
-        return FieldAndValueAndParameters.withFieldName(mapping.columnName())
+        return mapping.mapColumn(FieldAndValueAndParameters::withColumn)
                 .withValuePhrase(mapping.constant())
                 .buildOptional();
     }
 
     @Override
     public Optional<FieldAndValueAndParameters> visit(StringConstantMapping mapping) {
-        return FieldAndValueAndParameters.withFieldName(mapping.columnName())
+        return mapping.mapColumn(FieldAndValueAndParameters::withColumn)
                 .withValuePhrase("'" + mapping.constant() + "'") //$NON-NLS-1$ //$NON-NLS-2$
                 .buildOptional();
     }
@@ -78,7 +78,7 @@ public class GeneralInsertValuePhraseVisitor extends GeneralInsertMappingVisitor
     }
 
     private Optional<FieldAndValueAndParameters> buildNullFragment(AbstractColumnMapping mapping) {
-        return FieldAndValueAndParameters.withFieldName(mapping.columnName())
+        return mapping.mapColumn(FieldAndValueAndParameters::withColumn)
                 .withValuePhrase("null") //$NON-NLS-1$
                 .buildOptional();
     }
@@ -86,7 +86,7 @@ public class GeneralInsertValuePhraseVisitor extends GeneralInsertMappingVisitor
     private Optional<FieldAndValueAndParameters> buildFragment(AbstractColumnMapping mapping, Object value) {
         RenderedParameterInfo parameterInfo = mapping.mapColumn(renderingContext::calculateParameterInfo);
 
-        return FieldAndValueAndParameters.withFieldName(mapping.columnName())
+        return mapping.mapColumn(FieldAndValueAndParameters::withColumn)
                 .withValuePhrase(parameterInfo.renderedPlaceHolder())
                 .withParameter(parameterInfo.parameterMapKey(), value)
                 .buildOptional();
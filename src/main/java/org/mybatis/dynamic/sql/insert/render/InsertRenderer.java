@@ -49,6 +49,8 @@ public class InsertRenderer<T> {
 
         return DefaultInsertStatementProvider.withRow(model.row())
                 .withInsertStatement(insertStatement)
+                .withStatementMetadata(
+                        InsertRenderingUtilities.calculateStatementMetadata(model.table(), collector.columns()))
                 .build();
     }
 
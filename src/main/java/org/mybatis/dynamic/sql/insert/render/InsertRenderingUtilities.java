@@ -17,7 +17,12 @@ package org.mybatis.dynamic.sql.insert.render;
 
 import static org.mybatis.dynamic.sql.util.StringUtilities.spaceBefore;
 
+import java.util.stream.Stream;
+
+import org.mybatis.dynamic.sql.SqlColumn;
 import org.mybatis.dynamic.sql.SqlTable;
+import org.mybatis.dynamic.sql.render.StatementKind;
+import org.mybatis.dynamic.sql.render.StatementMetadata;
 
 public class InsertRenderingUtilities {
     private InsertRenderingUtilities() {}
@@ -33,4 +38,11 @@ public class InsertRenderingUtilities {
     public static String calculateInsertStatementStart(SqlTable table) {
         return "insert into " + table.tableNameAtRuntime(); //$NON-NLS-1$
     }
+
+    public static StatementMetadata calculateStatementMetadata(SqlTable table, Stream<? extends SqlColumn<?>> columns) {
+        return StatementMetadata.withStatementKind(StatementKind.INSERT)
+                .withTableWritten(table)
+                .withColumns(columns)
+                .build();
+    }
 }
@@ -19,12 +19,15 @@ import static org.mybatis.dynamic.sql.util.StringUtilities.spaceBefore;
 
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.mybatis.dynamic.sql.SqlColumn;
 import org.mybatis.dynamic.sql.insert.InsertColumnListModel;
 import org.mybatis.dynamic.sql.insert.InsertSelectModel;
 import org.mybatis.dynamic.sql.render.RenderingStrategy;
+import org.mybatis.dynamic.sql.render.StatementKind;
+import org.mybatis.dynamic.sql.render.StatementMetadata;
 import org.mybatis.dynamic.sql.select.render.SelectStatementProvider;
 import org.mybatis.dynamic.sql.util.StringUtilities;
 
@@ -51,6 +54,15 @@ public class InsertSelectRenderer {
 
         return DefaultGeneralInsertStatementProvider.withInsertStatement(insertStatement)
                 .withParameters(selectStatement.getParameters())
+                .withStatementMetadata(calculateStatementMetadata(selectStatement))
+                .build();
+    }
+
+    private StatementMetadata calculateStatementMetadata(SelectStatementProvider selectStatement) {
+        StatementMetadata.Builder builder = StatementMetadata.withStatementKind(StatementKind.INSERT)
+                .withTableWritten(model.table());
+        model.columnList().ifPresent(c -> builder.withColumns(c.mapColumns(Function.identity())));
+        return builder.withEmbeddedStatement(selectStatement.getStatementMetadata())
                 .build();
     }
 
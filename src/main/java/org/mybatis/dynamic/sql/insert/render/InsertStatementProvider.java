@@ -16,6 +16,9 @@
 package org.mybatis.dynamic.sql.insert.render;
 
 import org.jetbrains.annotations.NotNull;
+import org.mybatis.dynamic.sql.render.StatementKind;
+import org.mybatis.dynamic.sql.render.StatementMetadata;
+import org.mybatis.dynamic.sql.util.StatementFingerprint;
 
 public interface InsertStatementProvider<T> {
     /**
@@ -42,4 +45,27 @@ public interface InsertStatementProvider<T> {
      * @return the formatted insert statement.
      */
     String getInsertStatement();
+
+    /**
+     * Return metadata describing the tables and columns used by this statement. Statements rendered by the library
+     * always carry metadata. Other implementations return metadata with no tables or columns.
+     *
+     * @return the statement metadata
+     * @since 1.5.1
+     */
+    default StatementMetadata getStatementMetadata() {
+        return StatementMetadata.of(StatementKind.INSERT);
+    }
+
+    /**
+     * Return a stable 64-bit fingerprint of the shape of this statement. Statements that differ only in parameter
+     * values have the same fingerprint. Implementations rendered by the library calculate the fingerprint once.
+     *
+     * @return the fingerprint
+     * @see StatementFingerprint
+     * @since 1.5.1
+     */
+    default long getFingerprint() {
+        return StatementFingerprint.of(getInsertStatement());
+    }
 }
@@ -43,6 +43,8 @@ public class MultiRowInsertRenderer<T> {
 
         return new DefaultMultiRowInsertStatementProvider.Builder<T>().withRecords(model.records())
                 .withInsertStatement(insertStatement)
+                .withStatementMetadata(
+                        InsertRenderingUtilities.calculateStatementMetadata(model.table(), collector.columns()))
                 .build();
     }
 
@@ -35,35 +35,35 @@ public class MultiRowValuePhraseVisitor extends MultiRowInsertMappingVisitor<Fie
 
     @Override
     public FieldAndValueAndParameters visit(NullMapping mapping) {
-        return FieldAndValueAndParameters.withFieldName(mapping.columnName())
+        return mapping.mapColumn(FieldAndValueAndParameters::withColumn)
                 .withValuePhrase("null") //$NON-NLS-1$
                 .build();
     }
 
     @Override
     public FieldAndValueAndParameters visit(ConstantMapping mapping) {
-        return FieldAndValueAndParameters.withFieldName(mapping.columnName())
+        return mapping.mapColumn(FieldAndValueAndParameters::withColumn)
                 .withValuePhrase(mapping.constant())
                 .build();
     }
 
     @Override
     public FieldAndValueAndParameters visit(StringConstantMapping mapping) {
-        return FieldAndValueAndParameters.withFieldName(mapping.columnName())
+        return mapping.mapColumn(FieldAndValueAndParameters::withColumn)
                 .withValuePhrase("'" + mapping.constant() + "'") //$NON-NLS-1$ //$NON-NLS-2$
                 .build();
     }
 
     @Override
     public FieldAndValueAndParameters visit(PropertyMapping mapping) {
-        return FieldAndValueAndParameters.withFieldName(mapping.columnName())
+        return mapping.mapColumn(FieldAndValueAndParameters::withColumn)
                 .withValuePhrase(mapping.mapColumn(c -> calculateJdbcPlaceholder(c, mapping.property())))
                 .build();
     }
 
     @Override
     public FieldAndValueAndParameters visit(RowMapping mapping) {
-        return FieldAndValueAndParameters.withFieldName(mapping.columnName())
+        return mapping.mapColumn(FieldAndValueAndParameters::withColumn)
                 .withValuePhrase(mapping.mapColumn(this::calculateJdbcPlaceholder))
                 .build();
     }
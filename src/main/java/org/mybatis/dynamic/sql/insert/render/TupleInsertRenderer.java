@@ -0,0 +1,125 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.insert.render;
+
+import static org.mybatis.dynamic.sql.util.StringUtilities.spaceBefore;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.StringJoiner;
+import java.util.stream.Collectors;
+
+import org.mybatis.dynamic.sql.insert.TupleInsertMapping;
+import org.mybatis.dynamic.sql.insert.TupleInsertModel;
+import org.mybatis.dynamic.sql.render.RenderedParameterInfo;
+import org.mybatis.dynamic.sql.render.RenderingContext;
+import org.mybatis.dynamic.sql.render.RenderingStrategy;
+
+public class TupleInsertRenderer<T> {
+
+    private final TupleInsertModel<T> model;
+    private final RenderingStrategy renderingStrategy;
+
+    private TupleInsertRenderer(Builder<T> builder) {
+        model = Objects.requireNonNull(builder.model);
+        renderingStrategy = Objects.requireNonNull(builder.renderingStrategy);
+    }
+
+    public GeneralInsertStatementProvider render() {
+        RenderingContext renderingContext = RenderingContext.withRenderingStrategy(renderingStrategy).build();
+
+        // values are extracted one column at a time so each accessor is applied to all records in turn
+        List<ColumnValues<T>> columns = model.mapColumnMappings(this::extractColumnValues)
+                .collect(Collectors.toList());
+
+        Map<String, Object> parameters = new HashMap<>();
+        StringJoiner valuesPhrase = new StringJoiner(", ", "values ", ""); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        for (int row = 0; row < model.recordCount(); row++) {
+            StringJoiner rowPhrase = new StringJoiner(", ", "(", ")"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+            for (ColumnValues<T> column : columns) {
+                rowPhrase.add(column.renderValue(row, renderingContext, parameters));
+            }
+            valuesPhrase.add(rowPhrase.toString());
+        }
+
+        String columnsPhrase = columns.stream()
+                .map(c -> c.mapping.columnName())
+                .collect(Collectors.joining(", ", "(", ")")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+        String insertStatement = InsertRenderingUtilities.calculateInsertStatementStart(model.table())
+                + spaceBefore(columnsPhrase)
+                + spaceBefore(valuesPhrase.toString());
+
+        return DefaultGeneralInsertStatementProvider.withInsertStatement(insertStatement)
+                .withParameters(parameters)
+                .withStatementMetadata(InsertRenderingUtilities.calculateStatementMetadata(model.table(),
+                        columns.stream().map(c -> c.mapping.column())))
+                .build();
+    }
+
+    private ColumnValues<T> extractColumnValues(TupleInsertMapping<T> mapping) {
+        Object[] values = mapping.extractor()
+                .map(e -> model.records().stream().map(e).toArray())
+                .orElse(null);
+        return new ColumnValues<>(mapping, values);
+    }
+
+    private static class ColumnValues<T> {
+        private final TupleInsertMapping<T> mapping;
+        private final Object[] values;
+
+        private ColumnValues(TupleInsertMapping<T> mapping, Object[] values) {
+            this.mapping = mapping;
+            this.values = values;
+        }
+
+        private String renderValue(int row, RenderingContext renderingContext, Map<String, Object> parameters) {
+            if (values == null) {
+                // the mapping is a constant or null phrase
+                return mapping.phrase().orElseThrow(IllegalStateException::new);
+            }
+
+            RenderedParameterInfo parameterInfo = renderingContext.calculateParameterInfo(mapping.column());
+            parameters.put(parameterInfo.parameterMapKey(), values[row]);
+            return parameterInfo.renderedPlaceHolder();
+        }
+    }
+
+    public static <T> Builder<T> withTupleInsertModel(TupleInsertModel<T> model) {
+        return new Builder<T>().withTupleInsertModel(model);
+    }
+
+    public static class Builder<T> {
+        private TupleInsertModel<T> model;
+        private RenderingStrategy renderingStrategy;
+
+        public Builder<T> withTupleInsertModel(TupleInsertModel<T> model) {
+            this.model = model;
+            return this;
+        }
+
+        public Builder<T> withRenderingStrategy(RenderingStrategy renderingStrategy) {
+            this.renderingStrategy = renderingStrategy;
+            return this;
+        }
+
+        public TupleInsertRenderer<T> build() {
+            return new TupleInsertRenderer<>(this);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.insert.render;
+
+import static org.mybatis.dynamic.sql.util.StringUtilities.spaceBefore;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+import org.mybatis.dynamic.sql.SqlColumn;
+import org.mybatis.dynamic.sql.insert.AbstractUpsertModel;
+import org.mybatis.dynamic.sql.render.RenderingStrategy;
+import org.mybatis.dynamic.sql.render.StatementMetadata;
+import org.mybatis.dynamic.sql.util.AbstractColumnMapping;
+
+/**
+ * Renders upsert statements in the syntax of the model's {@link org.mybatis.dynamic.sql.insert.UpsertDialect}.
+ *
+ * @param <T> the type of record
+ * @since 1.5.1
+ */
+public class UpsertRenderer<T> {
+    private static final String SOURCE_ALIAS = "src"; //$NON-NLS-1$
+
+    private final AbstractUpsertModel<T> model;
+    private final RenderingStrategy renderingStrategy;
+    private final String tableName;
+    private final List<String> columns;
+    private final List<String> keyColumns;
+    private final List<String> updateColumns;
+
+    private UpsertRenderer(Builder<T> builder) {
+        model = Objects.requireNonNull(builder.model);
+        renderingStrategy = Objects.requireNonNull(builder.renderingStrategy);
+        tableName = model.table().tableNameAtRuntime();
+        columns = model.mapColumnMappings(AbstractColumnMapping::columnName).collect(Collectors.toList());
+        keyColumns = model.keyColumns().map(SqlColumn::name).collect(Collectors.toList());
+        Set<String> keys = model.keyColumns().map(SqlColumn::name).collect(Collectors.toSet());
+        updateColumns = columns.stream().filter(c -> !keys.contains(c)).collect(Collectors.toList());
+    }
+
+    /**
+     * Render a statement with parameters bound to "row". This is used for single row and batch upserts.
+     *
+     * @return the rendered statement
+     */
+    public String renderSingleRow() {
+        return render("row", FieldAndValueCollector::valuesPhrase); //$NON-NLS-1$
+    }
+
+    /**
+     * Render a statement with parameters bound to "records[n]" for every record in the model.
+     *
+     * @return the rendered statement
+     */
+    public String renderMultiRow() {
+        // the prefix is a generic format that will be resolved with String.format(...)
+        return render("records[%s]", //$NON-NLS-1$
+                c -> c.multiRowInsertValuesPhrase(model.recordCount()));
+    }
+
+    /**
+     * Calculate metadata for the upsert. Every mapped column is reported because any of them may be written.
+     *
+     * @return the statement metadata
+     */
+    public StatementMetadata statementMetadata() {
+        return InsertRenderingUtilities.calculateStatementMetadata(model.table(),
+                model.mapColumnMappings(m -> m.mapColumn(Function.identity())));
+    }
+
+    private String render(String prefix, Function<FieldAndValueCollector, String> valuesRenderer) {
+        MultiRowValuePhraseVisitor visitor = new MultiRowValuePhraseVisitor(renderingStrategy, prefix);
+        FieldAndValueCollector collector = model.mapColumnMappings(m -> m.accept(visitor))
+                .collect(FieldAndValueCollector.collect());
+
+        String columnsPhrase = collector.columnsPhrase();
+        String valuesPhrase = valuesRenderer.apply(collector);
+
+        switch (model.dialect()) {
+        case ON_CONFLICT:
+            return InsertRenderingUtilities.calculateInsertStatementStart(model.table())
+                    + spaceBefore(columnsPhrase)
+                    + spaceBefore(valuesPhrase)
+                    + spaceBefore(calculateOnConflictPhrase());
+        case ON_DUPLICATE_KEY:
+            return InsertRenderingUtilities.calculateInsertStatementStart(model.table())
+                    + spaceBefore(columnsPhrase)
+                    + spaceBefore(valuesPhrase)
+                    + spaceBefore(calculateOnDuplicateKeyPhrase());
+        default:
+            return calculateMergeStatement(columnsPhrase, valuesPhrase);
+        }
+    }
+
+    private String calculateMergeStatement(String columnsPhrase, String valuesPhrase) {
+        String statement = "merge into " + tableName //$NON-NLS-1$
+                + " using (" + valuesPhrase + ") as " + SOURCE_ALIAS //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+                + spaceBefore(columnsPhrase)
+                + " on (" //$NON-NLS-1$
+                + join(keyColumns, this::keyComparison, " and ") //$NON-NLS-1$
+                + ")"; //$NON-NLS-1$
+
+        if (!updateColumns.isEmpty()) {
+            statement += " when matched then update set " //$NON-NLS-1$
+                    + join(updateColumns, c -> c + " = " + sourceColumn(c), ", "); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+
+        return statement
+                + " when not matched then insert" //$NON-NLS-1$
+                + spaceBefore(columnsPhrase)
+                + " values (" + join(columns, this::sourceColumn, ", ") + ")"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+    }
+
+    private String calculateOnConflictPhrase() {
+        String phrase = "on conflict (" + String.join(", ", keyColumns) + ")"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        if (updateColumns.isEmpty()) {
+            return phrase + " do nothing"; //$NON-NLS-1$
+        }
+
+        return phrase + " do update set " //$NON-NLS-1$
+                + join(updateColumns, c -> c + " = excluded." + c, ", "); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    private String calculateOnDuplicateKeyPhrase() {
+        String phrase = "on duplicate key update "; //$NON-NLS-1$
+        if (updateColumns.isEmpty()) {
+            // every mapped column is a key - a no-op assignment leaves the existing row unchanged
+            String column = columns.get(0);
+            return phrase + column + " = " + column; //$NON-NLS-1$
+        }
+
+        return phrase
+                + join(updateColumns, c -> c + " = values(" + c + ")", ", "); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+    }
+
+    private String keyComparison(String column) {
+        return tableName + "." + column + " = " + sourceColumn(column); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    private String sourceColumn(String column) {
+        return SOURCE_ALIAS + "." + column; //$NON-NLS-1$
+    }
+
+    private String join(List<String> columnNames, UnaryOperator<String> renderer, String delimiter) {
+        return columnNames.stream().map(renderer).collect(Collectors.joining(delimiter));
+    }
+
+    public static <T> Builder<T> withUpsertModel(AbstractUpsertModel<T> model) {
+        return new Builder<T>().withUpsertModel(model);
+    }
+
+    public static class Builder<T> {
+        private AbstractUpsertModel<T> model;
+        private RenderingStrategy renderingStrategy;
+
+        public Builder<T> withUpsertModel(AbstractUpsertModel<T> model) {
+            this.model = model;
+            return this;
+        }
+
+        public Builder<T> withRenderingStrategy(RenderingStrategy renderingStrategy) {
+            this.renderingStrategy = renderingStrategy;
+            return this;
+        }
+
+        public UpsertRenderer<T> build() {
+            return new UpsertRenderer<>(this);
+        }
+    }
+}
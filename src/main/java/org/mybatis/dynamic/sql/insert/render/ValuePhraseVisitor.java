@@ -37,28 +37,28 @@ public class ValuePhraseVisitor extends InsertMappingVisitor<Optional<FieldAndVa
 
     @Override
     public Optional<FieldAndValueAndParameters> visit(NullMapping mapping) {
-        return FieldAndValueAndParameters.withFieldName(mapping.columnName())
+        return mapping.mapColumn(FieldAndValueAndParameters::withColumn)
                 .withValuePhrase("null") //$NON-NLS-1$
                 .buildOptional();
     }
 
     @Override
     public Optional<FieldAndValueAndParameters> visit(ConstantMapping mapping) {
-        return FieldAndValueAndParameters.withFieldName(mapping.columnName())
+        return mapping.mapColumn(FieldAndValueAndParameters::withColumn)
                 .withValuePhrase(mapping.constant())
                 .buildOptional();
     }
 
     @Override
     public Optional<FieldAndValueAndParameters> visit(StringConstantMapping mapping) {
-        return FieldAndValueAndParameters.withFieldName(mapping.columnName())
+        return mapping.mapColumn(FieldAndValueAndParameters::withColumn)
                 .withValuePhrase("'" + mapping.constant() + "'") //$NON-NLS-1$ //$NON-NLS-2$
                 .buildOptional();
     }
 
     @Override
     public Optional<FieldAndValueAndParameters> visit(PropertyMapping mapping) {
-        return FieldAndValueAndParameters.withFieldName(mapping.columnName())
+        return mapping.mapColumn(FieldAndValueAndParameters::withColumn)
                 .withValuePhrase(mapping.mapColumn(c -> calculateJdbcPlaceholder(c, mapping.property())))
                 .buildOptional();
     }
@@ -74,7 +74,7 @@ public class ValuePhraseVisitor extends InsertMappingVisitor<Optional<FieldAndVa
 
     @Override
     public Optional<FieldAndValueAndParameters> visit(RowMapping mapping) {
-        return FieldAndValueAndParameters.withFieldName(mapping.columnName())
+        return mapping.mapColumn(FieldAndValueAndParameters::withColumn)
                 .withValuePhrase(mapping.mapColumn(this::calculateJdbcPlaceholder))
                 .buildOptional();
     }
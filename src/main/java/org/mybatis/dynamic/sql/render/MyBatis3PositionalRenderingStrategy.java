@@ -0,0 +1,51 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.render;
+
+import org.mybatis.dynamic.sql.BindableColumn;
+
+/**
+ * Rendering strategy for MyBatis that renders parameter markers without the parameter object prefix. For example,
+ * a parameter is rendered as <code>#{p1,jdbcType=INTEGER}</code> rather than
+ * <code>#{parameters.p1,jdbcType=INTEGER}</code>.
+ *
+ * <p>Statements rendered with this strategy must be executed with the
+ * <code>org.mybatis.dynamic.sql.util.mybatis3.PositionalParameterInterceptor</code> plugin. The plugin binds the
+ * parameters directly from the statement provider's parameter map, in the order of the parameter markers, rather
+ * than resolving each marker as a property path on the provider. Type handlers are resolved by MyBatis when the
+ * markers are parsed, so specifying a java type on columns avoids resolving a type handler for every value.
+ *
+ * <p>Record based insert statements bind properties of a row object and are rendered exactly as with
+ * {@link MyBatis3RenderingStrategy}. Those statements are executed normally by MyBatis.
+ *
+ * @since 1.5.1
+ */
+public class MyBatis3PositionalRenderingStrategy extends MyBatis3RenderingStrategy {
+    @Override
+    public String getFormattedJdbcPlaceholder(String prefix, String parameterName) {
+        return "#{" + parameterName + "}"; //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    @Override
+    public String getFormattedJdbcPlaceholder(BindableColumn<?> column, String prefix, String parameterName) {
+        return getRecordBasedInsertBinding(column, parameterName);
+    }
+
+    @Override
+    public String getRecordBasedInsertBinding(BindableColumn<?> column, String prefix, String parameterName) {
+        return super.getFormattedJdbcPlaceholder(column, prefix, parameterName);
+    }
+}
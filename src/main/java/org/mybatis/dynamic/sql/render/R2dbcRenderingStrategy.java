@@ -0,0 +1,112 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.render;
+
+import org.mybatis.dynamic.sql.BindableColumn;
+import org.mybatis.dynamic.sql.exception.InvalidSqlException;
+import org.mybatis.dynamic.sql.util.Messages;
+
+/**
+ * Rendering strategy for R2DBC drivers. R2DBC statements use positional bind markers rather than the named
+ * parameters used by MyBatis and Spring, and the marker syntax is driver specific. Two styles are supported:
+ *
+ * <ul>
+ *     <li>{@link BindMarkerStyle#INDEXED} - markers like <code>$1</code>, <code>$2</code> as used by
+ *         the Postgres and H2 drivers</li>
+ *     <li>{@link BindMarkerStyle#ANONYMOUS} - markers like <code>?</code> as used by the MySQL and MariaDB
+ *         drivers</li>
+ * </ul>
+ *
+ * <p>Parameters are bound in the order of their generated parameter map keys (<code>p1</code>, <code>p2</code>,
+ * etc.), so the ordered binding list for a statement is simply the parameter map values sorted by key
+ * number - see {@link #parameterIndex(String)}.
+ *
+ * <p>Record based insert statements bind properties of a row object rather than values in a parameter map. For
+ * those statements this strategy renders named markers of the form <code>:row.property</code> or
+ * <code>:records[x].property</code>. The R2DBC adapter in <code>org.mybatis.dynamic.sql.util.r2dbc</code>
+ * replaces those markers with positional markers when the statement is executed.
+ *
+ * @since 1.5.1
+ */
+public class R2dbcRenderingStrategy extends RenderingStrategy {
+    public enum BindMarkerStyle {
+        INDEXED,
+        ANONYMOUS
+    }
+
+    private final BindMarkerStyle bindMarkerStyle;
+
+    public R2dbcRenderingStrategy(BindMarkerStyle bindMarkerStyle) {
+        this.bindMarkerStyle = bindMarkerStyle;
+    }
+
+    public BindMarkerStyle bindMarkerStyle() {
+        return bindMarkerStyle;
+    }
+
+    /**
+     * Returns the bind marker for a parameter position.
+     *
+     * @param index the one based position of the parameter
+     * @return the bind marker
+     */
+    public String bindMarker(int index) {
+        if (bindMarkerStyle == BindMarkerStyle.INDEXED) {
+            return "$" + index; //$NON-NLS-1$
+        } else {
+            return "?"; //$NON-NLS-1$
+        }
+    }
+
+    /**
+     * Returns the one based position of a parameter generated by
+     * {@link RenderingStrategy#formatParameterMapKey(java.util.concurrent.atomic.AtomicInteger)}.
+     *
+     * @param parameterName a parameter map key like "p1"
+     * @return the position of the parameter
+     * @throws InvalidSqlException if the parameter name was not generated by this library
+     */
+    public static int parameterIndex(String parameterName) {
+        if (parameterName.length() > 1 && parameterName.charAt(0) == 'p') {
+            try {
+                return Integer.parseInt(parameterName.substring(1));
+            } catch (NumberFormatException e) {
+                // fall through
+            }
+        }
+        throw new InvalidSqlException(Messages.getString("ERROR.40", parameterName)); //$NON-NLS-1$
+    }
+
+    @Override
+    public String getFormattedJdbcPlaceholder(BindableColumn<?> column, String prefix, String parameterName) {
+        return getFormattedJdbcPlaceholder(prefix, parameterName);
+    }
+
+    @Override
+    public String getFormattedJdbcPlaceholder(String prefix, String parameterName) {
+        return bindMarker(parameterIndex(parameterName));
+    }
+
+    @Override
+    public String getRecordBasedInsertBinding(BindableColumn<?> column, String prefix, String parameterName) {
+        return ":" + prefix + "." + parameterName; //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    @Override
+    public String getRecordBasedInsertBinding(BindableColumn<?> column, String parameterName) {
+        return ":" + parameterName; //$NON-NLS-1$
+    }
+}
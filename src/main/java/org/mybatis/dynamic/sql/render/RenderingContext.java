@@ -17,6 +17,8 @@ package org.mybatis.dynamic.sql.render;
 
 import static org.mybatis.dynamic.sql.util.StringUtilities.spaceBefore;
 
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -38,6 +40,8 @@ public class RenderingContext {
     private final TableAliasCalculator tableAliasCalculator;
     private final String configuredParameterName;
     private final String calculatedParameterName;
+    private final StatementMetadata.Builder statementMetadata;
+    private final Map<SqlTable, String> tableNames;
 
     private RenderingContext(Builder builder) {
         renderingStrategy = Objects.requireNonNull(builder.renderingStrategy);
@@ -49,6 +53,9 @@ public class RenderingContext {
                 : builder.tableAliasCalculator;
         calculatedParameterName = builder.parameterName == null ? RenderingStrategy.DEFAULT_PARAMETER_PREFIX
                 : builder.parameterName + "." + RenderingStrategy.DEFAULT_PARAMETER_PREFIX;  //$NON-NLS-1$
+        statementMetadata = builder.statementMetadata == null ? new StatementMetadata.Builder()
+                : builder.statementMetadata;
+        tableNames = builder.tableNames == null ? new IdentityHashMap<>() : builder.tableNames;
     }
 
     public TableAliasCalculator tableAliasCalculator() {
@@ -80,19 +87,71 @@ public class RenderingContext {
     }
 
     public <T> String aliasedColumnName(SqlColumn<T> column) {
-        return tableAliasCalculator.aliasForColumn(column.table())
-                .map(alias -> aliasedColumnName(column, alias))
-                .orElseGet(column::name);
+        statementMetadata.withColumn(column);
+        return tableAliasCalculator.aliasedColumnName(column.table(), column.name());
     }
 
     public <T> String aliasedColumnName(SqlColumn<T> column, String explicitAlias) {
+        statementMetadata.withColumn(column);
         return explicitAlias + "." + column.name();  //$NON-NLS-1$
     }
 
     public String aliasedTableName(SqlTable table) {
         return tableAliasCalculator.aliasForTable(table)
-                .map(a -> table.tableNameAtRuntime() + spaceBefore(a))
-                .orElseGet(table::tableNameAtRuntime);
+                .map(a -> tableName(table) + spaceBefore(a))
+                .orElseGet(() -> tableName(table));
+    }
+
+    /**
+     * Returns the runtime name of a table. The name is calculated once for each table in the statement being
+     * rendered - including sub queries - so a table whose name changes at runtime has the same name everywhere
+     * in the statement, and the name supplier of the table is not called for every reference to the table.
+     *
+     * @param table the table
+     * @return the name of the table for this rendering
+     * @since 1.5.1
+     */
+    public String tableName(SqlTable table) {
+        return tableNames.computeIfAbsent(table, SqlTable::tableNameAtRuntime);
+    }
+
+    /**
+     * Record a table read by the statement being rendered. Renderers call this for every table in a from clause or
+     * join - including those rendered in subqueries.
+     *
+     * @param table the table read
+     */
+    public void recordTableRead(SqlTable table) {
+        statementMetadata.withTableRead(table);
+    }
+
+    /**
+     * Record a table written by the statement being rendered.
+     *
+     * @param table the table written
+     */
+    public void recordTableWritten(SqlTable table) {
+        statementMetadata.withTableWritten(table);
+    }
+
+    /**
+     * Record a column referenced by the statement being rendered. Columns are recorded automatically when they are
+     * rendered through this context, so this method is only needed for columns rendered by name.
+     *
+     * @param column the column referenced
+     */
+    public void recordColumn(SqlColumn<?> column) {
+        statementMetadata.withColumn(column);
+    }
+
+    /**
+     * Returns metadata describing everything recorded so far in this context and in any context derived from it.
+     *
+     * @param statementKind the kind of statement being rendered
+     * @return the statement metadata
+     */
+    public StatementMetadata statementMetadata(StatementKind statementKind) {
+        return statementMetadata.withStatementKind(statementKind).build();
     }
 
     /**
@@ -110,11 +169,26 @@ public class RenderingContext {
                 .withChild(childTableAliasCalculator)
                 .build();
 
+        return withTableAliasCalculator(tac);
+    }
+
+    /**
+     * Create a new rendering context based on this, with the table alias calculator replaced. The new calculator is
+     * responsible for consulting the calculator of this context, if needed.
+     *
+     * @param tableAliasCalculator the table alias calculator
+     * @return a new rendering context with the specified table alias calculator
+     * @see TableAliasIndex
+     * @since 1.5.1
+     */
+    public RenderingContext withTableAliasCalculator(TableAliasCalculator tableAliasCalculator) {
         return new Builder()
                 .withRenderingStrategy(this.renderingStrategy)
                 .withSequence(this.sequence)
                 .withParameterName(this.configuredParameterName)
-                .withTableAliasCalculator(tac)
+                .withTableAliasCalculator(tableAliasCalculator)
+                .withStatementMetadata(this.statementMetadata)
+                .withTableNames(this.tableNames)
                 .build();
     }
 
@@ -127,6 +201,8 @@ public class RenderingContext {
         private AtomicInteger sequence;
         private TableAliasCalculator tableAliasCalculator;
         private String parameterName;
+        private StatementMetadata.Builder statementMetadata;
+        private Map<SqlTable, String> tableNames;
 
         public Builder withRenderingStrategy(RenderingStrategy renderingStrategy) {
             this.renderingStrategy = renderingStrategy;
@@ -148,6 +224,16 @@ public class RenderingContext {
             return this;
         }
 
+        public Builder withStatementMetadata(StatementMetadata.Builder statementMetadata) {
+            this.statementMetadata = statementMetadata;
+            return this;
+        }
+
+        private Builder withTableNames(Map<SqlTable, String> tableNames) {
+            this.tableNames = tableNames;
+            return this;
+        }
+
         public RenderingContext build() {
             return new RenderingContext(this);
         }
@@ -20,5 +20,13 @@ public class RenderingStrategies {
 
     public static final RenderingStrategy MYBATIS3 = new MyBatis3RenderingStrategy();
 
+    public static final RenderingStrategy MYBATIS3_POSITIONAL = new MyBatis3PositionalRenderingStrategy();
+
     public static final RenderingStrategy SPRING_NAMED_PARAMETER = new SpringNamedParameterRenderingStrategy();
+
+    public static final R2dbcRenderingStrategy R2DBC_INDEXED =
+            new R2dbcRenderingStrategy(R2dbcRenderingStrategy.BindMarkerStyle.INDEXED);
+
+    public static final R2dbcRenderingStrategy R2DBC_ANONYMOUS =
+            new R2dbcRenderingStrategy(R2dbcRenderingStrategy.BindMarkerStyle.ANONYMOUS);
 }
@@ -0,0 +1,162 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.render;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.mybatis.dynamic.sql.SqlColumn;
+import org.mybatis.dynamic.sql.SqlTable;
+
+/**
+ * Describes the database objects touched by a rendered statement. The metadata is collected while a model is
+ * rendered, so it reflects exactly what appears in the statement - including tables referenced in joins, derived
+ * tables, and subqueries in where clauses or exists predicates.
+ *
+ * <p>Tables are compared by identity, as they are everywhere else in the library. Columns are reported once per
+ * table and column name, even when the statement uses several copies of a column (for example, aliased or
+ * descending versions).
+ *
+ * @since 1.5.1
+ */
+public class StatementMetadata {
+    private final StatementKind statementKind;
+    private final Set<SqlTable> tablesRead;
+    private final Set<SqlTable> tablesWritten;
+    private final List<SqlColumn<?>> columns;
+
+    private StatementMetadata(Builder builder) {
+        statementKind = Objects.requireNonNull(builder.statementKind);
+        tablesRead = Collections.unmodifiableSet(new LinkedHashSet<>(builder.tablesRead));
+        tablesWritten = Collections.unmodifiableSet(new LinkedHashSet<>(builder.tablesWritten));
+        List<SqlColumn<?>> allColumns = new ArrayList<>();
+        builder.columns.values().forEach(c -> allColumns.addAll(c.values()));
+        columns = Collections.unmodifiableList(allColumns);
+    }
+
+    public StatementKind statementKind() {
+        return statementKind;
+    }
+
+    /**
+     * Returns the tables read by the statement. For a select statement, this is every table in a from clause or
+     * join. For other statements, it is the tables read by subqueries.
+     *
+     * @return the tables read, in the order they were rendered
+     */
+    public Set<SqlTable> tablesRead() {
+        return tablesRead;
+    }
+
+    /**
+     * Returns the tables written by the statement. This is empty for a select statement.
+     *
+     * @return the tables written
+     */
+    public Set<SqlTable> tablesWritten() {
+        return tablesWritten;
+    }
+
+    /**
+     * Returns every table read or written by the statement.
+     *
+     * @return the tables touched by the statement, written tables first
+     */
+    public Set<SqlTable> tables() {
+        Set<SqlTable> tables = new LinkedHashSet<>(tablesWritten);
+        tables.addAll(tablesRead);
+        return Collections.unmodifiableSet(tables);
+    }
+
+    /**
+     * Returns the columns referenced anywhere in the statement. Columns referenced only by name - for example,
+     * in an order by clause - are not included.
+     *
+     * @return the columns referenced, in the order they were rendered
+     */
+    public List<SqlColumn<?>> columns() {
+        return columns;
+    }
+
+    public static StatementMetadata of(StatementKind statementKind) {
+        return withStatementKind(statementKind).build();
+    }
+
+    public static Builder withStatementKind(StatementKind statementKind) {
+        return new Builder().withStatementKind(statementKind);
+    }
+
+    /**
+     * Builder for statement metadata. The builder may be reused - every call to {@link #build()} takes a copy of
+     * the items collected so far. Builders are not thread safe.
+     */
+    public static class Builder {
+        private StatementKind statementKind;
+        private final Set<SqlTable> tablesRead = new LinkedHashSet<>();
+        private final Set<SqlTable> tablesWritten = new LinkedHashSet<>();
+        private final Map<SqlTable, Map<String, SqlColumn<?>>> columns = new LinkedHashMap<>();
+
+        public Builder withStatementKind(StatementKind statementKind) {
+            this.statementKind = statementKind;
+            return this;
+        }
+
+        public Builder withTableRead(SqlTable table) {
+            tablesRead.add(table);
+            return this;
+        }
+
+        public Builder withTableWritten(SqlTable table) {
+            tablesWritten.add(table);
+            return this;
+        }
+
+        public Builder withColumn(SqlColumn<?> column) {
+            columns.computeIfAbsent(column.table(), t -> new LinkedHashMap<>())
+                    .putIfAbsent(column.name(), column);
+            return this;
+        }
+
+        public Builder withColumns(Stream<? extends SqlColumn<?>> columns) {
+            columns.forEach(this::withColumn);
+            return this;
+        }
+
+        /**
+         * Adds the tables read and the columns of another statement. This is used when a statement embeds
+         * another separately rendered statement - for example, the select statement in an insert select.
+         *
+         * @param other metadata of the embedded statement
+         * @return this builder
+         */
+        public Builder withEmbeddedStatement(StatementMetadata other) {
+            other.tablesRead().forEach(this::withTableRead);
+            other.columns().forEach(this::withColumn);
+            return this;
+        }
+
+        public StatementMetadata build() {
+            return new StatementMetadata(this);
+        }
+    }
+}
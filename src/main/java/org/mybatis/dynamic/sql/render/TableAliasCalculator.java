@@ -25,6 +25,21 @@ public interface TableAliasCalculator {
 
     Optional<String> aliasForTable(SqlTable table);
 
+    /**
+     * Returns a column name qualified with the alias calculated for its table, or the column name alone if there is
+     * no alias for the table.
+     *
+     * @param table the table of the column
+     * @param columnName the name of the column
+     * @return the column name, qualified with an alias if there is one
+     * @since 1.5.1
+     */
+    default String aliasedColumnName(SqlTable table, String columnName) {
+        return aliasForColumn(table)
+                .map(alias -> alias + "." + columnName) //$NON-NLS-1$
+                .orElse(columnName);
+    }
+
     static TableAliasCalculator empty() {
         return new TableAliasCalculator() {
             @Override
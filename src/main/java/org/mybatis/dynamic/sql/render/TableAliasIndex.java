@@ -0,0 +1,183 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.render;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.mybatis.dynamic.sql.SqlTable;
+
+/**
+ * The tables of a query expression and their aliases, resolved once when the query expression model is built.
+ *
+ * <p>Renderers use the index to create a table alias calculator for each rendering. The calculator resolves the alias
+ * of every indexed table when it is created, so looking up the alias of a column in an indexed table is a scan of a
+ * small array by identity and returns a pre-built result. Tables that are not in the index - for example, tables of an
+ * enclosing query referenced from a sub query - are resolved the same way as {@link ExplicitTableAliasCalculator} or
+ * {@link GuaranteedTableAliasCalculator} with a parent calculator.
+ *
+ * @since 1.5.1
+ */
+public class TableAliasIndex {
+    private final SqlTable[] tables;
+    private final String[] aliases; // entries may be null
+
+    private TableAliasIndex(Collection<SqlTable> tables, Map<SqlTable, String> explicitAliases) {
+        List<SqlTable> distinctTables = new ArrayList<>();
+        tables.stream().filter(t -> !contains(distinctTables, t)).forEach(distinctTables::add);
+        explicitAliases.keySet().stream().filter(t -> !contains(distinctTables, t)).forEach(distinctTables::add);
+
+        this.tables = distinctTables.toArray(new SqlTable[0]);
+        aliases = new String[this.tables.length];
+        for (int i = 0; i < aliases.length; i++) {
+            SqlTable table = this.tables[i];
+            String explicitAlias = explicitAliases.get(table);
+            aliases[i] = explicitAlias == null ? table.tableAlias().orElse(null) : explicitAlias;
+        }
+    }
+
+    private static boolean contains(List<SqlTable> tables, SqlTable table) {
+        return tables.stream().anyMatch(t -> t == table);
+    }
+
+    /**
+     * Returns a calculator that uses explicit aliases and table aliases only. The calculator is equivalent to an
+     * {@link ExplicitTableAliasCalculator} for the indexed tables, with the specified parent.
+     *
+     * @param parent the calculator of the enclosing context
+     * @return the calculator
+     */
+    public TableAliasCalculator explicitTableAliasCalculator(TableAliasCalculator parent) {
+        return new IndexedTableAliasCalculator(this, false, parent, SqlTable::tableNameAtRuntime);
+    }
+
+    /**
+     * Returns a calculator that uses the table name as the alias of a column when a table has no alias. The calculator
+     * is equivalent to a {@link GuaranteedTableAliasCalculator} for the indexed tables, with the specified parent.
+     *
+     * @param parent the calculator of the enclosing context
+     * @return the calculator
+     */
+    public TableAliasCalculator guaranteedTableAliasCalculator(TableAliasCalculator parent) {
+        return guaranteedTableAliasCalculator(parent, SqlTable::tableNameAtRuntime);
+    }
+
+    /**
+     * Returns a calculator that uses the table name as the alias of a column when a table has no alias, with table
+     * names calculated by the specified function. Renderers use {@link RenderingContext#tableName(SqlTable)} so table
+     * names are calculated once for each rendering.
+     *
+     * @param parent the calculator of the enclosing context
+     * @param tableNames a function that calculates the runtime name of a table
+     * @return the calculator
+     */
+    public TableAliasCalculator guaranteedTableAliasCalculator(TableAliasCalculator parent,
+                                                               Function<SqlTable, String> tableNames) {
+        return new IndexedTableAliasCalculator(this, true, parent, tableNames);
+    }
+
+    public static TableAliasIndex of(Collection<SqlTable> tables, Map<SqlTable, String> explicitAliases) {
+        return new TableAliasIndex(tables, explicitAliases);
+    }
+
+    private static class IndexedTableAliasCalculator implements TableAliasCalculator {
+        private final SqlTable[] tables;
+        private final Optional<?>[] columnAliases;
+        private final Optional<?>[] tableAliases;
+        private final String[] columnPrefixes; // entries may be null
+        private final boolean isGuaranteed;
+        private final TableAliasCalculator parent;
+        private final Function<SqlTable, String> tableNames;
+
+        private IndexedTableAliasCalculator(TableAliasIndex index, boolean isGuaranteed, TableAliasCalculator parent,
+                                            Function<SqlTable, String> tableNames) {
+            this.isGuaranteed = isGuaranteed;
+            this.parent = Objects.requireNonNull(parent);
+            this.tableNames = Objects.requireNonNull(tableNames);
+            tables = index.tables;
+            columnAliases = new Optional<?>[tables.length];
+            tableAliases = new Optional<?>[tables.length];
+            columnPrefixes = new String[tables.length];
+
+            for (int i = 0; i < tables.length; i++) {
+                String alias = index.aliases[i];
+                String columnAlias = alias == null && isGuaranteed ? tableNames.apply(tables[i]) : alias;
+                tableAliases[i] = Optional.ofNullable(alias);
+                columnAliases[i] = Optional.ofNullable(columnAlias);
+                columnPrefixes[i] = columnAlias == null ? null : columnAlias + "."; //$NON-NLS-1$
+            }
+        }
+
+        @Override
+        public Optional<String> aliasForColumn(SqlTable table) {
+            int index = indexOf(table);
+            if (index < 0) {
+                return unindexedAliasForColumn(table);
+            }
+
+            Optional<String> alias = cast(columnAliases[index]);
+            return alias.isPresent() ? alias : parent.aliasForColumn(table);
+        }
+
+        @Override
+        public Optional<String> aliasForTable(SqlTable table) {
+            int index = indexOf(table);
+            Optional<String> alias = index < 0 ? table.tableAlias() : cast(tableAliases[index]);
+            return alias.isPresent() ? alias : parent.aliasForTable(table);
+        }
+
+        @Override
+        public String aliasedColumnName(SqlTable table, String columnName) {
+            int index = indexOf(table);
+            if (index < 0) {
+                return TableAliasCalculator.super.aliasedColumnName(table, columnName);
+            }
+
+            String prefix = columnPrefixes[index];
+            return prefix == null ? parent.aliasedColumnName(table, columnName) : prefix + columnName;
+        }
+
+        private Optional<String> unindexedAliasForColumn(SqlTable table) {
+            Optional<String> alias = table.tableAlias();
+            if (alias.isPresent()) {
+                return alias;
+            } else if (isGuaranteed) {
+                return Optional.of(tableNames.apply(table));
+            } else {
+                return parent.aliasForColumn(table);
+            }
+        }
+
+        private int indexOf(SqlTable table) {
+            for (int i = 0; i < tables.length; i++) {
+                if (tables[i] == table) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static Optional<String> cast(Optional<?> alias) {
+            return (Optional<String>) alias;
+        }
+    }
+}
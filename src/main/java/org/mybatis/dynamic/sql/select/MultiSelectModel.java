@@ -16,6 +16,7 @@
 package org.mybatis.dynamic.sql.select;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -38,7 +39,7 @@ public class MultiSelectModel {
 
     private MultiSelectModel(Builder builder) {
         initialSelect = Objects.requireNonNull(builder.initialSelect);
-        unionQueries = builder.unionQueries;
+        unionQueries = Collections.unmodifiableList(new ArrayList<>(builder.unionQueries));
         orderByModel = builder.orderByModel;
         pagingModel = builder.pagingModel;
         if (unionQueries.isEmpty()) {
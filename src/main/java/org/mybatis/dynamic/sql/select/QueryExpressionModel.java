@@ -16,6 +16,7 @@
 package org.mybatis.dynamic.sql.select;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -28,7 +29,9 @@ import org.mybatis.dynamic.sql.BasicColumn;
 import org.mybatis.dynamic.sql.SqlTable;
 import org.mybatis.dynamic.sql.TableExpression;
 import org.mybatis.dynamic.sql.exception.InvalidSqlException;
+import org.mybatis.dynamic.sql.render.TableAliasIndex;
 import org.mybatis.dynamic.sql.select.join.JoinModel;
+import org.mybatis.dynamic.sql.select.join.JoinSpecification;
 import org.mybatis.dynamic.sql.util.Messages;
 import org.mybatis.dynamic.sql.where.WhereModel;
 
@@ -42,17 +45,19 @@ public class QueryExpressionModel {
     private final WhereModel whereModel;
     private final GroupByModel groupByModel;
     private final HavingModel havingModel;
+    private final TableAliasIndex tableAliasIndex;
 
     private QueryExpressionModel(Builder builder) {
         connector = builder.connector;
         isDistinct = builder.isDistinct;
-        selectList = Objects.requireNonNull(builder.selectList);
+        selectList = Collections.unmodifiableList(new ArrayList<>(builder.selectList));
         table = Objects.requireNonNull(builder.table);
         joinModel = builder.joinModel;
-        tableAliases = builder.tableAliases;
+        tableAliases = Collections.unmodifiableMap(new HashMap<>(builder.tableAliases));
         whereModel = builder.whereModel;
         groupByModel = builder.groupByModel;
         havingModel = builder.havingModel;
+        tableAliasIndex = TableAliasIndex.of(calculateTables(), tableAliases);
 
         if (selectList.isEmpty()) {
             throw new InvalidSqlException(Messages.getString("ERROR.13")); //$NON-NLS-1$
@@ -79,6 +84,27 @@ public class QueryExpressionModel {
         return tableAliases;
     }
 
+    /**
+     * Returns the tables of this query expression with their aliases resolved. Renderers use the index to look up
+     * table aliases without searching the alias map for every column.
+     *
+     * @return the table alias index
+     * @since 1.5.1
+     */
+    public TableAliasIndex tableAliasIndex() {
+        return tableAliasIndex;
+    }
+
+    private List<SqlTable> calculateTables() {
+        List<SqlTable> tables = new ArrayList<>();
+        Stream.concat(Stream.of(table), joinModel().map(jm -> jm.mapJoinSpecifications(JoinSpecification::table))
+                        .orElseGet(Stream::empty))
+                .filter(SqlTable.class::isInstance)
+                .map(SqlTable.class::cast)
+                .forEach(tables::add);
+        return tables;
+    }
+
     public Optional<WhereModel> whereModel() {
         return Optional.ofNullable(whereModel);
     }
@@ -16,8 +16,8 @@
 package org.mybatis.dynamic.sql.select;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Function;
 import java.util.stream.Stream;
@@ -27,17 +27,25 @@ import org.mybatis.dynamic.sql.common.OrderByModel;
 import org.mybatis.dynamic.sql.exception.InvalidSqlException;
 import org.mybatis.dynamic.sql.render.RenderingContext;
 import org.mybatis.dynamic.sql.render.RenderingStrategy;
+import org.mybatis.dynamic.sql.select.aggregate.CountAll;
 import org.mybatis.dynamic.sql.select.render.SelectRenderer;
 import org.mybatis.dynamic.sql.select.render.SelectStatementProvider;
 import org.mybatis.dynamic.sql.util.Messages;
 
 public class SelectModel {
+    /**
+     * The alias given to the subquery when a count model must wrap the original query.
+     *
+     * @since 1.5.1
+     */
+    public static final String COUNT_SUBQUERY_ALIAS = "count_source"; //$NON-NLS-1$
+
     private final List<QueryExpressionModel> queryExpressions;
     private final OrderByModel orderByModel;
     private final PagingModel pagingModel;
 
     private SelectModel(Builder builder) {
-        queryExpressions = Objects.requireNonNull(builder.queryExpressions);
+        queryExpressions = Collections.unmodifiableList(new ArrayList<>(builder.queryExpressions));
         if (queryExpressions.isEmpty()) {
             throw new InvalidSqlException(Messages.getString("ERROR.14")); //$NON-NLS-1$
         }
@@ -58,6 +66,49 @@ public class SelectModel {
         return Optional.ofNullable(pagingModel);
     }
 
+    /**
+     * Derive a model for a statement that counts the rows this select would return if it were not paged.
+     *
+     * <p>The order by clause, paging, and select list are removed. The table, joins, and where clause are reused
+     * as is. If the query is distinct, is grouped, or is a union, then the count cannot be calculated by simply
+     * replacing the select list - in those cases the query (without order by and paging) is wrapped in a subquery
+     * and the rows of the subquery are counted.
+     *
+     * @return a model for a <code>select count(*)</code> statement
+     * @since 1.5.1
+     */
+    public SelectModel toCountModel() {
+        QueryExpressionModel queryExpression;
+        if (requiresCountSubQuery()) {
+            SubQuery subQuery = new SubQuery.Builder()
+                    .withSelectModel(withQueryExpressions(queryExpressions).build())
+                    .withAlias(COUNT_SUBQUERY_ALIAS)
+                    .build();
+            queryExpression = new QueryExpressionModel.Builder()
+                    .withSelectColumn(new CountAll())
+                    .withTable(subQuery)
+                    .build();
+        } else {
+            QueryExpressionModel original = queryExpressions.get(0);
+            QueryExpressionModel.Builder builder = new QueryExpressionModel.Builder()
+                    .withSelectColumn(new CountAll())
+                    .withTable(original.table())
+                    .withTableAliases(original.tableAliases());
+            original.joinModel().ifPresent(builder::withJoinModel);
+            original.whereModel().ifPresent(builder::withWhereModel);
+            queryExpression = builder.build();
+        }
+
+        return new Builder().withQueryExpression(queryExpression).build();
+    }
+
+    private boolean requiresCountSubQuery() {
+        return queryExpressions.size() > 1
+                || queryExpressions.stream().anyMatch(qe -> qe.isDistinct()
+                        || qe.groupByModel().isPresent()
+                        || qe.havingModel().isPresent());
+    }
+
     @NotNull
     public SelectStatementProvider render(RenderingStrategy renderingStrategy) {
         RenderingContext renderingContext = RenderingContext.withRenderingStrategy(renderingStrategy).build();
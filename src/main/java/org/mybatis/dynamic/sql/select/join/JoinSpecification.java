@@ -16,6 +16,7 @@
 package org.mybatis.dynamic.sql.select.join;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.Function;
@@ -33,7 +34,7 @@ public class JoinSpecification {
 
     private JoinSpecification(Builder builder) {
         table = Objects.requireNonNull(builder.table);
-        joinCriteria = Objects.requireNonNull(builder.joinCriteria);
+        joinCriteria = Collections.unmodifiableList(new ArrayList<>(builder.joinCriteria));
         joinType = Objects.requireNonNull(builder.joinType);
 
         if (joinCriteria.isEmpty()) {
@@ -20,13 +20,21 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 
+import org.mybatis.dynamic.sql.render.StatementKind;
+import org.mybatis.dynamic.sql.render.StatementMetadata;
+import org.mybatis.dynamic.sql.util.StatementFingerprint;
+
 public class DefaultSelectStatementProvider implements SelectStatementProvider {
     private final String selectStatement;
     private final Map<String, Object> parameters;
+    private final StatementMetadata statementMetadata;
+    private volatile long fingerprint;
 
     private DefaultSelectStatementProvider(Builder builder) {
         selectStatement = Objects.requireNonNull(builder.selectStatement);
         parameters = Collections.unmodifiableMap(Objects.requireNonNull(builder.parameters));
+        statementMetadata = builder.statementMetadata == null ? StatementMetadata.of(StatementKind.SELECT)
+                : builder.statementMetadata;
     }
 
     @Override
@@ -39,6 +47,22 @@ public class DefaultSelectStatementProvider implements SelectStatementProvider {
         return selectStatement;
     }
 
+    @Override
+    public StatementMetadata getStatementMetadata() {
+        return statementMetadata;
+    }
+
+    @Override
+    public long getFingerprint() {
+        // zero is a valid fingerprint, but it is rare enough that recalculating it is harmless
+        long answer = fingerprint;
+        if (answer == 0) {
+            answer = StatementFingerprint.of(selectStatement);
+            fingerprint = answer;
+        }
+        return answer;
+    }
+
     public static Builder withSelectStatement(String selectStatement) {
         return new Builder().withSelectStatement(selectStatement);
     }
@@ -46,6 +70,7 @@ public class DefaultSelectStatementProvider implements SelectStatementProvider {
     public static class Builder {
         private String selectStatement;
         private final Map<String, Object> parameters = new HashMap<>();
+        private StatementMetadata statementMetadata;
 
         public Builder withSelectStatement(String selectStatement) {
             this.selectStatement = selectStatement;
@@ -57,6 +82,11 @@ public class DefaultSelectStatementProvider implements SelectStatementProvider {
             return this;
         }
 
+        public Builder withStatementMetadata(StatementMetadata statementMetadata) {
+            this.statementMetadata = statementMetadata;
+            return this;
+        }
+
         public DefaultSelectStatementProvider build() {
             return new DefaultSelectStatementProvider(this);
         }
@@ -21,10 +21,9 @@ import java.util.stream.Collectors;
 
 import org.mybatis.dynamic.sql.BasicColumn;
 import org.mybatis.dynamic.sql.TableExpression;
-import org.mybatis.dynamic.sql.render.ExplicitTableAliasCalculator;
-import org.mybatis.dynamic.sql.render.GuaranteedTableAliasCalculator;
 import org.mybatis.dynamic.sql.render.RenderingContext;
 import org.mybatis.dynamic.sql.render.TableAliasCalculator;
+import org.mybatis.dynamic.sql.render.TableAliasIndex;
 import org.mybatis.dynamic.sql.select.GroupByModel;
 import org.mybatis.dynamic.sql.select.HavingModel;
 import org.mybatis.dynamic.sql.select.QueryExpressionModel;
@@ -42,9 +41,10 @@ public class QueryExpressionRenderer {
 
     private QueryExpressionRenderer(Builder builder) {
         queryExpression = Objects.requireNonNull(builder.queryExpression);
-        TableAliasCalculator childTableAliasCalculator = calculateChildTableAliasCalculator(queryExpression);
+        TableAliasCalculator tableAliasCalculator = calculateChildTableAliasCalculator(queryExpression,
+                builder.renderingContext);
 
-        renderingContext = builder.renderingContext.withChildTableAliasCalculator(childTableAliasCalculator);
+        renderingContext = builder.renderingContext.withTableAliasCalculator(tableAliasCalculator);
 
         tableExpressionRenderer = new TableExpressionRenderer.Builder()
                 .withRenderingContext(renderingContext)
@@ -61,6 +61,9 @@ public class QueryExpressionRenderer {
      * visibility to the aliases in the outer select statement to this renderer so columns in aliased tables can be
      * used in where clause sub query conditions without having to re-specify the alias.
      *
+     * <p>Aliases for the tables of the query expression are resolved once, from the table alias index of the model,
+     * so columns in wide select lists and large joins do not each search the alias map.
+     *
      * <p>Another complication is that we calculate aliases differently if there are joins and sub queries. The
      * cases are as follows:
      *
@@ -72,34 +75,26 @@ public class QueryExpressionRenderer {
      * </ol>
      *
      * @param queryExpression the model to render
+     * @param parentContext the rendering context of the enclosing context
      * @return a table alias calculator appropriate for this context
      */
-    private TableAliasCalculator calculateChildTableAliasCalculator(QueryExpressionModel queryExpression) {
-        return queryExpression.joinModel()
-                .map(JoinModel::containsSubQueries)
-                .map(this::calculateTableAliasCalculatorWithJoins)
-                .orElseGet(this::explicitTableAliasCalculator);
-    }
-
-    private TableAliasCalculator calculateTableAliasCalculatorWithJoins(boolean hasSubQueries) {
-        if (hasSubQueries) {
-            // if there are subqueries, we cannot use the table name automatically
-            // so all aliases must be specified
-            return explicitTableAliasCalculator();
+    private TableAliasCalculator calculateChildTableAliasCalculator(QueryExpressionModel queryExpression,
+                                                                    RenderingContext parentContext) {
+        TableAliasCalculator parent = parentContext.tableAliasCalculator();
+        TableAliasIndex tableAliasIndex = queryExpression.tableAliasIndex();
+        boolean useTableNames = queryExpression.joinModel()
+                .map(jm -> !jm.containsSubQueries())
+                .orElse(false);
+
+        if (useTableNames) {
+            // with joins but without subqueries, we can automatically use table names as aliases
+            return tableAliasIndex.guaranteedTableAliasCalculator(parent, parentContext::tableName);
         } else {
-            // without subqueries, we can automatically use table names as aliases
-            return guaranteedTableAliasCalculator();
+            // without joins, or if there are subqueries, all aliases must be specified
+            return tableAliasIndex.explicitTableAliasCalculator(parent);
         }
     }
 
-    private TableAliasCalculator explicitTableAliasCalculator() {
-        return ExplicitTableAliasCalculator.of(queryExpression.tableAliases());
-    }
-
-    private TableAliasCalculator guaranteedTableAliasCalculator() {
-        return GuaranteedTableAliasCalculator.of(queryExpression.tableAliases());
-    }
-
     public FragmentAndParameters render() {
         FragmentCollector fragmentCollector = new FragmentCollector();
 
@@ -22,6 +22,7 @@ import java.util.stream.Collectors;
 import org.mybatis.dynamic.sql.common.OrderByModel;
 import org.mybatis.dynamic.sql.common.OrderByRenderer;
 import org.mybatis.dynamic.sql.render.RenderingContext;
+import org.mybatis.dynamic.sql.render.StatementKind;
 import org.mybatis.dynamic.sql.select.PagingModel;
 import org.mybatis.dynamic.sql.select.QueryExpressionModel;
 import org.mybatis.dynamic.sql.select.SelectModel;
@@ -52,6 +53,7 @@ public class SelectRenderer {
         return DefaultSelectStatementProvider
                 .withSelectStatement(fragmentCollector.collectFragments(Collectors.joining(" "))) //$NON-NLS-1$
                 .withParameters(fragmentCollector.parameters())
+                .withStatementMetadata(renderingContext.statementMetadata(StatementKind.SELECT))
                 .build();
     }
 
@@ -34,6 +34,7 @@ public class TableExpressionRenderer implements TableExpressionVisitor<FragmentA
 
     @Override
     public FragmentAndParameters visit(SqlTable table) {
+        renderingContext.recordTableRead(table);
         return FragmentAndParameters.fromFragment(renderingContext.aliasedTableName(table));
     }
 
@@ -0,0 +1,137 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.update;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+import org.jetbrains.annotations.NotNull;
+import org.mybatis.dynamic.sql.SqlColumn;
+import org.mybatis.dynamic.sql.SqlTable;
+import org.mybatis.dynamic.sql.util.AbstractColumnMapping;
+import org.mybatis.dynamic.sql.util.Buildable;
+import org.mybatis.dynamic.sql.util.ConstantMapping;
+import org.mybatis.dynamic.sql.util.NullMapping;
+import org.mybatis.dynamic.sql.util.PropertyMapping;
+import org.mybatis.dynamic.sql.util.StringConstantMapping;
+
+/**
+ * DSL for batch updates. Set phrases and where keys are bound to properties of the records, so the statement is
+ * rendered once for the entire batch. For example:
+ *
+ * <pre>
+ * BatchUpdate&lt;PersonRecord&gt; batchUpdate = updateBatch(records)
+ *         .table(person)
+ *         .set(firstName).toProperty("firstName")
+ *         .set(occupation).toProperty("occupation")
+ *         .where(id, "id")
+ *         .build()
+ *         .render(RenderingStrategies.MYBATIS3);
+ * </pre>
+ *
+ * <p>The where clause is an "and" of equality comparisons between columns and record properties - typically the
+ * primary key of the table.
+ *
+ * @param <T> the type of record to update
+ * @since 1.5.1
+ */
+public class BatchUpdateDSL<T> implements Buildable<BatchUpdateModel<T>> {
+
+    private final Collection<T> records;
+    private final SqlTable table;
+    private final List<AbstractColumnMapping> columnMappings = new ArrayList<>();
+    private final List<PropertyMapping> whereKeys = new ArrayList<>();
+
+    private BatchUpdateDSL(Collection<T> records, SqlTable table) {
+        this.records = records;
+        this.table = Objects.requireNonNull(table);
+    }
+
+    public <F> SetClauseFinisher<F> set(SqlColumn<F> column) {
+        return new SetClauseFinisher<>(column);
+    }
+
+    public BatchUpdateDSL<T> where(SqlColumn<?> column, String property) {
+        whereKeys.add(PropertyMapping.of(column, property));
+        return this;
+    }
+
+    public BatchUpdateDSL<T> and(SqlColumn<?> column, String property) {
+        return where(column, property);
+    }
+
+    @NotNull
+    @Override
+    public BatchUpdateModel<T> build() {
+        return BatchUpdateModel.withRecords(records)
+                .withTable(table)
+                .withColumnMappings(columnMappings)
+                .withWhereKeys(whereKeys)
+                .build();
+    }
+
+    @SafeVarargs
+    public static <T> TableGatherer<T> update(T... records) {
+        return BatchUpdateDSL.update(Arrays.asList(records));
+    }
+
+    public static <T> TableGatherer<T> update(Collection<T> records) {
+        return new TableGatherer<>(records);
+    }
+
+    public static class TableGatherer<T> {
+        private final Collection<T> records;
+
+        private TableGatherer(Collection<T> records) {
+            this.records = records;
+        }
+
+        public BatchUpdateDSL<T> table(SqlTable table) {
+            return new BatchUpdateDSL<>(records, table);
+        }
+    }
+
+    public class SetClauseFinisher<F> {
+        private final SqlColumn<F> column;
+
+        public SetClauseFinisher(SqlColumn<F> column) {
+            this.column = column;
+        }
+
+        public BatchUpdateDSL<T> toProperty(String property) {
+            columnMappings.add(PropertyMapping.of(column, property));
+            return BatchUpdateDSL.this;
+        }
+
+        public BatchUpdateDSL<T> toNull() {
+            columnMappings.add(NullMapping.of(column));
+            return BatchUpdateDSL.this;
+        }
+
+        public BatchUpdateDSL<T> toConstant(String constant) {
+            columnMappings.add(ConstantMapping.of(column, constant));
+            return BatchUpdateDSL.this;
+        }
+
+        public BatchUpdateDSL<T> toStringConstant(String constant) {
+            columnMappings.add(StringConstantMapping.of(column, constant));
+            return BatchUpdateDSL.this;
+        }
+    }
+}
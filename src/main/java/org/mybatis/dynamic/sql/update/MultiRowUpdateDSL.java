@@ -0,0 +1,157 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.update;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+import org.jetbrains.annotations.NotNull;
+import org.mybatis.dynamic.sql.SqlColumn;
+import org.mybatis.dynamic.sql.SqlTable;
+import org.mybatis.dynamic.sql.util.AbstractColumnMapping;
+import org.mybatis.dynamic.sql.util.Buildable;
+import org.mybatis.dynamic.sql.util.ConstantMapping;
+import org.mybatis.dynamic.sql.util.NullMapping;
+import org.mybatis.dynamic.sql.util.PropertyMapping;
+import org.mybatis.dynamic.sql.util.StringConstantMapping;
+
+/**
+ * DSL for multi-row updates. Different values are set on many rows with a single statement by rendering each
+ * property mapping as a CASE expression on the key column. For example:
+ *
+ * <pre>
+ * MultiRowUpdate&lt;PersonRecord&gt; multiRowUpdate = updateMultiple(records)
+ *         .table(person)
+ *         .set(firstName).toProperty("firstName")
+ *         .set(occupation).toProperty("occupation")
+ *         .where(id, "id")
+ *         .build()
+ *         .render(RenderingStrategies.MYBATIS3);
+ * </pre>
+ *
+ * <p>Renders statements like:
+ *
+ * <pre>
+ * update Person
+ * set first_name = case id when ? then ? when ? then ? else first_name end,
+ *     occupation = case id when ? then ? when ? then ? else occupation end
+ * where id in (?, ?)
+ * </pre>
+ *
+ * <p>The records are split into as many statements as needed to keep the number of parameter markers in each
+ * statement within the parameter limit (see {@link #withParameterLimit(int)}).
+ *
+ * @param <T> the type of record
+ * @since 1.5.1
+ */
+public class MultiRowUpdateDSL<T> implements Buildable<MultiRowUpdateModel<T>> {
+
+    private final Collection<T> records;
+    private final SqlTable table;
+    private final List<AbstractColumnMapping> columnMappings = new ArrayList<>();
+    private PropertyMapping keyMapping;
+    private int parameterLimit = MultiRowUpdateModel.DEFAULT_PARAMETER_LIMIT;
+
+    private MultiRowUpdateDSL(Collection<T> records, SqlTable table) {
+        this.records = records;
+        this.table = Objects.requireNonNull(table);
+    }
+
+    public <F> SetClauseFinisher<F> set(SqlColumn<F> column) {
+        return new SetClauseFinisher<>(column);
+    }
+
+    public MultiRowUpdateDSL<T> where(SqlColumn<?> keyColumn, String keyProperty) {
+        keyMapping = PropertyMapping.of(keyColumn, keyProperty);
+        return this;
+    }
+
+    /**
+     * Set the maximum number of parameter markers in each rendered statement. The default is
+     * {@value MultiRowUpdateModel#DEFAULT_PARAMETER_LIMIT} which is within the limits of all common databases and
+     * drivers.
+     *
+     * @param parameterLimit the maximum number of parameter markers in each statement
+     * @return this DSL
+     */
+    public MultiRowUpdateDSL<T> withParameterLimit(int parameterLimit) {
+        this.parameterLimit = parameterLimit;
+        return this;
+    }
+
+    @NotNull
+    @Override
+    public MultiRowUpdateModel<T> build() {
+        return MultiRowUpdateModel.withRecords(records)
+                .withTable(table)
+                .withColumnMappings(columnMappings)
+                .withKeyMapping(keyMapping)
+                .withParameterLimit(parameterLimit)
+                .build();
+    }
+
+    @SafeVarargs
+    public static <T> TableGatherer<T> update(T... records) {
+        return MultiRowUpdateDSL.update(Arrays.asList(records));
+    }
+
+    public static <T> TableGatherer<T> update(Collection<T> records) {
+        return new TableGatherer<>(records);
+    }
+
+    public static class TableGatherer<T> {
+        private final Collection<T> records;
+
+        private TableGatherer(Collection<T> records) {
+            this.records = records;
+        }
+
+        public MultiRowUpdateDSL<T> table(SqlTable table) {
+            return new MultiRowUpdateDSL<>(records, table);
+        }
+    }
+
+    public class SetClauseFinisher<F> {
+        private final SqlColumn<F> column;
+
+        public SetClauseFinisher(SqlColumn<F> column) {
+            this.column = column;
+        }
+
+        public MultiRowUpdateDSL<T> toProperty(String property) {
+            columnMappings.add(PropertyMapping.of(column, property));
+            return MultiRowUpdateDSL.this;
+        }
+
+        public MultiRowUpdateDSL<T> toNull() {
+            columnMappings.add(NullMapping.of(column));
+            return MultiRowUpdateDSL.this;
+        }
+
+        public MultiRowUpdateDSL<T> toConstant(String constant) {
+            columnMappings.add(ConstantMapping.of(column, constant));
+            return MultiRowUpdateDSL.this;
+        }
+
+        public MultiRowUpdateDSL<T> toStringConstant(String constant) {
+            columnMappings.add(StringConstantMapping.of(column, constant));
+            return MultiRowUpdateDSL.this;
+        }
+    }
+}
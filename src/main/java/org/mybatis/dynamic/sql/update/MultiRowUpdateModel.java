@@ -0,0 +1,130 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.update;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.jetbrains.annotations.NotNull;
+import org.mybatis.dynamic.sql.SqlTable;
+import org.mybatis.dynamic.sql.exception.InvalidSqlException;
+import org.mybatis.dynamic.sql.render.RenderingStrategy;
+import org.mybatis.dynamic.sql.update.render.MultiRowUpdate;
+import org.mybatis.dynamic.sql.update.render.MultiRowUpdateRenderer;
+import org.mybatis.dynamic.sql.util.AbstractColumnMapping;
+import org.mybatis.dynamic.sql.util.Messages;
+import org.mybatis.dynamic.sql.util.PropertyMapping;
+
+public class MultiRowUpdateModel<T> {
+    public static final int DEFAULT_PARAMETER_LIMIT = 2000;
+
+    private final SqlTable table;
+    private final List<T> records;
+    private final List<AbstractColumnMapping> columnMappings;
+    private final PropertyMapping keyMapping;
+    private final int parameterLimit;
+
+    private MultiRowUpdateModel(Builder<T> builder) {
+        table = Objects.requireNonNull(builder.table);
+        records = Collections.unmodifiableList(new ArrayList<>(builder.records));
+        columnMappings = Collections.unmodifiableList(new ArrayList<>(builder.columnMappings));
+        keyMapping = builder.keyMapping;
+        parameterLimit = builder.parameterLimit;
+        if (records.isEmpty()) {
+            throw new InvalidSqlException(Messages.getString("ERROR.51")); //$NON-NLS-1$
+        }
+        if (columnMappings.isEmpty()) {
+            throw new InvalidSqlException(Messages.getString("ERROR.52")); //$NON-NLS-1$
+        }
+        if (keyMapping == null) {
+            throw new InvalidSqlException(Messages.getString("ERROR.53")); //$NON-NLS-1$
+        }
+    }
+
+    public SqlTable table() {
+        return table;
+    }
+
+    public List<T> records() {
+        return records;
+    }
+
+    public <R> Stream<R> mapColumnMappings(Function<AbstractColumnMapping, R> mapper) {
+        return columnMappings.stream().map(mapper);
+    }
+
+    public PropertyMapping keyMapping() {
+        return keyMapping;
+    }
+
+    public int parameterLimit() {
+        return parameterLimit;
+    }
+
+    @NotNull
+    public MultiRowUpdate<T> render(RenderingStrategy renderingStrategy) {
+        return MultiRowUpdateRenderer.withMultiRowUpdateModel(this)
+                .withRenderingStrategy(renderingStrategy)
+                .build()
+                .render();
+    }
+
+    public static <T> Builder<T> withRecords(Collection<T> records) {
+        return new Builder<T>().withRecords(records);
+    }
+
+    public static class Builder<T> {
+        private SqlTable table;
+        private final List<T> records = new ArrayList<>();
+        private final List<AbstractColumnMapping> columnMappings = new ArrayList<>();
+        private PropertyMapping keyMapping;
+        private int parameterLimit = DEFAULT_PARAMETER_LIMIT;
+
+        public Builder<T> withTable(SqlTable table) {
+            this.table = table;
+            return this;
+        }
+
+        public Builder<T> withRecords(Collection<T> records) {
+            this.records.addAll(records);
+            return this;
+        }
+
+        public Builder<T> withColumnMappings(List<? extends AbstractColumnMapping> columnMappings) {
+            this.columnMappings.addAll(columnMappings);
+            return this;
+        }
+
+        public Builder<T> withKeyMapping(PropertyMapping keyMapping) {
+            this.keyMapping = keyMapping;
+            return this;
+        }
+
+        public Builder<T> withParameterLimit(int parameterLimit) {
+            this.parameterLimit = parameterLimit;
+            return this;
+        }
+
+        public MultiRowUpdateModel<T> build() {
+            return new MultiRowUpdateModel<>(this);
+        }
+    }
+}
@@ -16,6 +16,7 @@
 package org.mybatis.dynamic.sql.update;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -45,7 +46,7 @@ public class UpdateModel {
     private UpdateModel(Builder builder) {
         table = Objects.requireNonNull(builder.table());
         whereModel = builder.whereModel();
-        columnMappings = Objects.requireNonNull(builder.columnMappings);
+        columnMappings = Collections.unmodifiableList(new ArrayList<>(builder.columnMappings));
         tableAlias = builder.tableAlias();
         limit = builder.limit();
         orderByModel = builder.orderByModel();
@@ -0,0 +1,123 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.update.render;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import org.mybatis.dynamic.sql.render.StatementMetadata;
+import org.mybatis.dynamic.sql.util.StatementFingerprint;
+
+/**
+ * A rendered batch update. The same statement is executed for every record.
+ *
+ * @param <T> the type of record to update
+ * @since 1.5.1
+ */
+public class BatchUpdate<T> {
+    private final String updateStatement;
+    private final List<T> records;
+    private final StatementMetadata statementMetadata;
+    private volatile long fingerprint;
+
+    private BatchUpdate(Builder<T> builder) {
+        updateStatement = Objects.requireNonNull(builder.updateStatement);
+        records = Collections.unmodifiableList(builder.records);
+        statementMetadata = Objects.requireNonNull(builder.statementMetadata);
+    }
+
+    /**
+     * Returns a list of update statement providers - one for each record. All the providers share the same
+     * SQL. This is useful for MyBatis batch support - the providers can be passed to a mapper method that accepts
+     * an {@link UpdateStatementProvider} in a session opened with <code>ExecutorType.BATCH</code>.
+     *
+     * @return a List of update statement providers
+     */
+    public List<BatchUpdateStatementProvider<T>> updateStatements() {
+        return records.stream()
+                .map(this::toUpdateStatement)
+                .collect(Collectors.toList());
+    }
+
+    private BatchUpdateStatementProvider<T> toUpdateStatement(T row) {
+        return new BatchUpdateStatementProvider<>(updateStatement, row, statementMetadata);
+    }
+
+    /**
+     * Returns the generated SQL for this batch. This is useful for Spring JDBC batch support.
+     *
+     * @return the generated UPDATE statement
+     */
+    public String getUpdateStatementSQL() {
+        return updateStatement;
+    }
+
+    public List<T> getRecords() {
+        return records;
+    }
+
+    public StatementMetadata getStatementMetadata() {
+        return statementMetadata;
+    }
+
+    /**
+     * Return a stable 64-bit fingerprint of the shape of the statement. The fingerprint is calculated once.
+     *
+     * @return the fingerprint
+     * @see StatementFingerprint
+     * @since 1.5.1
+     */
+    public long getFingerprint() {
+        long answer = fingerprint;
+        if (answer == 0) {
+            answer = StatementFingerprint.of(updateStatement);
+            fingerprint = answer;
+        }
+        return answer;
+    }
+
+    public static <T> Builder<T> withRecords(List<T> records) {
+        return new Builder<T>().withRecords(records);
+    }
+
+    public static class Builder<T> {
+        private String updateStatement;
+        private final List<T> records = new ArrayList<>();
+        private StatementMetadata statementMetadata;
+
+        public Builder<T> withUpdateStatement(String updateStatement) {
+            this.updateStatement = updateStatement;
+            return this;
+        }
+
+        public Builder<T> withRecords(List<T> records) {
+            this.records.addAll(records);
+            return this;
+        }
+
+        public Builder<T> withStatementMetadata(StatementMetadata statementMetadata) {
+            this.statementMetadata = statementMetadata;
+            return this;
+        }
+
+        public BatchUpdate<T> build() {
+            return new BatchUpdate<>(this);
+        }
+    }
+}
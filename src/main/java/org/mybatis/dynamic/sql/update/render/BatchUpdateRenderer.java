@@ -0,0 +1,134 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.update.render;
+
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.mybatis.dynamic.sql.SqlColumn;
+import org.mybatis.dynamic.sql.render.RenderingStrategy;
+import org.mybatis.dynamic.sql.render.StatementKind;
+import org.mybatis.dynamic.sql.render.StatementMetadata;
+import org.mybatis.dynamic.sql.update.BatchUpdateModel;
+import org.mybatis.dynamic.sql.util.ConstantMapping;
+import org.mybatis.dynamic.sql.util.MultiRowInsertMappingVisitor;
+import org.mybatis.dynamic.sql.util.NullMapping;
+import org.mybatis.dynamic.sql.util.PropertyMapping;
+import org.mybatis.dynamic.sql.util.RowMapping;
+import org.mybatis.dynamic.sql.util.StringConstantMapping;
+
+public class BatchUpdateRenderer<T> {
+
+    private final BatchUpdateModel<T> model;
+    private final RenderingStrategy renderingStrategy;
+
+    private BatchUpdateRenderer(Builder<T> builder) {
+        model = Objects.requireNonNull(builder.model);
+        renderingStrategy = Objects.requireNonNull(builder.renderingStrategy);
+    }
+
+    public BatchUpdate<T> render() {
+        SetPhraseVisitor visitor = new SetPhraseVisitor();
+
+        String setPhrase = model.mapColumnMappings(m -> m.accept(visitor))
+                .collect(Collectors.joining(", ", "set ", "")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+        String whereClause = model.mapWhereKeys(visitor::visit)
+                .collect(Collectors.joining(" and ", "where ", "")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+        String updateStatement = "update " //$NON-NLS-1$
+                + model.table().tableNameAtRuntime()
+                + " " //$NON-NLS-1$
+                + setPhrase
+                + " " //$NON-NLS-1$
+                + whereClause;
+
+        return BatchUpdate.withRecords(model.records())
+                .withUpdateStatement(updateStatement)
+                .withStatementMetadata(calculateStatementMetadata())
+                .build();
+    }
+
+    private StatementMetadata calculateStatementMetadata() {
+        return StatementMetadata.withStatementKind(StatementKind.UPDATE)
+                .withTableWritten(model.table())
+                .withColumns(model.mapColumnMappings(m -> m.mapColumn(Function.identity())))
+                .withColumns(model.mapWhereKeys(m -> m.mapColumn(Function.identity())))
+                .build();
+    }
+
+    public static <T> Builder<T> withBatchUpdateModel(BatchUpdateModel<T> model) {
+        return new Builder<T>().withBatchUpdateModel(model);
+    }
+
+    private class SetPhraseVisitor extends MultiRowInsertMappingVisitor<String> {
+        @Override
+        public String visit(NullMapping mapping) {
+            return mapping.columnName() + " = null"; //$NON-NLS-1$
+        }
+
+        @Override
+        public String visit(ConstantMapping mapping) {
+            return mapping.columnName() + " = " + mapping.constant(); //$NON-NLS-1$
+        }
+
+        @Override
+        public String visit(StringConstantMapping mapping) {
+            return mapping.columnName() + " = '" + mapping.constant() + "'"; //$NON-NLS-1$ //$NON-NLS-2$
+        }
+
+        @Override
+        public String visit(PropertyMapping mapping) {
+            return mapping.columnName() + " = " //$NON-NLS-1$
+                    + mapping.mapColumn(c -> calculateJdbcPlaceholder(c, mapping.property()));
+        }
+
+        @Override
+        public String visit(RowMapping mapping) {
+            return mapping.columnName() + " = " + mapping.mapColumn(this::calculateJdbcPlaceholder); //$NON-NLS-1$
+        }
+
+        private String calculateJdbcPlaceholder(SqlColumn<?> column) {
+            return column.renderingStrategy().orElse(renderingStrategy)
+                    .getRecordBasedInsertBinding(column, "row"); //$NON-NLS-1$
+        }
+
+        private String calculateJdbcPlaceholder(SqlColumn<?> column, String parameterName) {
+            return column.renderingStrategy().orElse(renderingStrategy)
+                    .getRecordBasedInsertBinding(column, "row", parameterName); //$NON-NLS-1$
+        }
+    }
+
+    public static class Builder<T> {
+        private BatchUpdateModel<T> model;
+        private RenderingStrategy renderingStrategy;
+
+        public Builder<T> withBatchUpdateModel(BatchUpdateModel<T> model) {
+            this.model = model;
+            return this;
+        }
+
+        public Builder<T> withRenderingStrategy(RenderingStrategy renderingStrategy) {
+            this.renderingStrategy = renderingStrategy;
+            return this;
+        }
+
+        public BatchUpdateRenderer<T> build() {
+            return new BatchUpdateRenderer<>(this);
+        }
+    }
+}
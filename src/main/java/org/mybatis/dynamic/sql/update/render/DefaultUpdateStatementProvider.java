@@ -19,13 +19,21 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 
+import org.mybatis.dynamic.sql.render.StatementKind;
+import org.mybatis.dynamic.sql.render.StatementMetadata;
+import org.mybatis.dynamic.sql.util.StatementFingerprint;
+
 public class DefaultUpdateStatementProvider implements UpdateStatementProvider {
     private final String updateStatement;
     private final Map<String, Object> parameters = new HashMap<>();
+    private final StatementMetadata statementMetadata;
+    private volatile long fingerprint;
 
     private DefaultUpdateStatementProvider(Builder builder) {
         updateStatement = Objects.requireNonNull(builder.updateStatement);
         parameters.putAll(builder.parameters);
+        statementMetadata = builder.statementMetadata == null ? StatementMetadata.of(StatementKind.UPDATE)
+                : builder.statementMetadata;
     }
 
     @Override
@@ -38,6 +46,21 @@ public class DefaultUpdateStatementProvider implements UpdateStatementProvider {
         return updateStatement;
     }
 
+    @Override
+    public StatementMetadata getStatementMetadata() {
+        return statementMetadata;
+    }
+
+    @Override
+    public long getFingerprint() {
+        long answer = fingerprint;
+        if (answer == 0) {
+            answer = StatementFingerprint.of(updateStatement);
+            fingerprint = answer;
+        }
+        return answer;
+    }
+
     public static Builder withUpdateStatement(String updateStatement) {
         return new Builder().withUpdateStatement(updateStatement);
     }
@@ -45,6 +68,7 @@ public class DefaultUpdateStatementProvider implements UpdateStatementProvider {
     public static class Builder {
         private String updateStatement;
         private final Map<String, Object> parameters = new HashMap<>();
+        private StatementMetadata statementMetadata;
 
         public Builder withUpdateStatement(String updateStatement) {
             this.updateStatement = updateStatement;
@@ -56,6 +80,11 @@ public class DefaultUpdateStatementProvider implements UpdateStatementProvider {
             return this;
         }
 
+        public Builder withStatementMetadata(StatementMetadata statementMetadata) {
+            this.statementMetadata = statementMetadata;
+            return this;
+        }
+
         public DefaultUpdateStatementProvider build() {
             return new DefaultUpdateStatementProvider(this);
         }
@@ -0,0 +1,45 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.update.render;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A rendered multi-row update. The records are split into one or more statements so that no statement exceeds
+ * the parameter limit of the model.
+ *
+ * @param <T> the type of record to update
+ * @since 1.5.1
+ */
+public class MultiRowUpdate<T> {
+    private final List<MultiRowUpdateStatementProvider<T>> updateStatements;
+
+    public MultiRowUpdate(List<MultiRowUpdateStatementProvider<T>> updateStatements) {
+        this.updateStatements = Collections.unmodifiableList(Objects.requireNonNull(updateStatements));
+    }
+
+    /**
+     * Returns the update statements. Each statement updates a chunk of the records. The statements can be passed
+     * to a MyBatis mapper method that accepts an {@link UpdateStatementProvider}, or executed with Spring.
+     *
+     * @return a List of update statement providers
+     */
+    public List<MultiRowUpdateStatementProvider<T>> updateStatements() {
+        return updateStatements;
+    }
+}
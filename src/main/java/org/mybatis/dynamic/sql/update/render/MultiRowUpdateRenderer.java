@@ -0,0 +1,221 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.update.render;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.mybatis.dynamic.sql.SqlColumn;
+import org.mybatis.dynamic.sql.render.RenderingStrategy;
+import org.mybatis.dynamic.sql.render.StatementKind;
+import org.mybatis.dynamic.sql.render.StatementMetadata;
+import org.mybatis.dynamic.sql.update.MultiRowUpdateModel;
+import org.mybatis.dynamic.sql.util.ConstantMapping;
+import org.mybatis.dynamic.sql.util.MultiRowInsertMappingVisitor;
+import org.mybatis.dynamic.sql.util.NullMapping;
+import org.mybatis.dynamic.sql.util.PropertyMapping;
+import org.mybatis.dynamic.sql.util.RowMapping;
+import org.mybatis.dynamic.sql.util.StringConstantMapping;
+import org.mybatis.dynamic.sql.util.Utilities;
+
+public class MultiRowUpdateRenderer<T> {
+
+    private final MultiRowUpdateModel<T> model;
+    private final RenderingStrategy renderingStrategy;
+    private final PropertyMapping keyMapping;
+    private final StatementMetadata statementMetadata;
+
+    private MultiRowUpdateRenderer(Builder<T> builder) {
+        model = Objects.requireNonNull(builder.model);
+        renderingStrategy = Objects.requireNonNull(builder.renderingStrategy);
+        keyMapping = model.keyMapping();
+        statementMetadata = StatementMetadata.withStatementKind(StatementKind.UPDATE)
+                .withTableWritten(model.table())
+                .withColumns(model.mapColumnMappings(m -> m.mapColumn(Function.identity())))
+                .withColumn(keyMapping.mapColumn(Function.identity()))
+                .build();
+    }
+
+    public MultiRowUpdate<T> render() {
+        // resolve the table name once so every chunk updates the same table
+        String tableName = model.table().tableNameAtRuntime();
+
+        // the statement only depends on the number of records, so it is rendered once for the full chunks and once
+        // for the remainder
+        Map<Integer, String> statementsBySize = new HashMap<>();
+        List<MultiRowUpdateStatementProvider<T>> updateStatements =
+                Utilities.chunk(model.records(), calculateChunkSize()).stream()
+                        .map(records -> new MultiRowUpdateStatementProvider<>(
+                                statementsBySize.computeIfAbsent(records.size(),
+                                        size -> renderStatement(tableName, size)),
+                                records, statementMetadata))
+                        .collect(Collectors.toList());
+
+        return new MultiRowUpdate<>(updateStatements);
+    }
+
+    /**
+     * Calculate the number of records in each statement. Every record binds its key once in the where clause, and
+     * once in each CASE expression along with the new value.
+     *
+     * @return the number of records that can be rendered in a statement without exceeding the parameter limit
+     */
+    private int calculateChunkSize() {
+        int caseExpressions = model.mapColumnMappings(m -> m.accept(new ParameterCountVisitor()))
+                .mapToInt(Integer::intValue)
+                .sum();
+
+        int parametersPerRecord = caseExpressions * 2 + 1;
+        return Math.max(1, model.parameterLimit() / parametersPerRecord);
+    }
+
+    private String renderStatement(String tableName, int recordCount) {
+        SetPhraseVisitor visitor = new SetPhraseVisitor(recordCount);
+
+        String setPhrase = model.mapColumnMappings(m -> m.accept(visitor))
+                .collect(Collectors.joining(", ", "set ", "")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+        String whereClause = IntStream.range(0, recordCount)
+                .mapToObj(this::keyPlaceholder)
+                .collect(Collectors.joining(", ", //$NON-NLS-1$
+                        "where " + keyMapping.columnName() + " in (", ")")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+        return "update " //$NON-NLS-1$
+                + tableName
+                + " " //$NON-NLS-1$
+                + setPhrase
+                + " " //$NON-NLS-1$
+                + whereClause;
+    }
+
+    private String keyPlaceholder(int index) {
+        return keyMapping.mapColumn(c -> calculateJdbcPlaceholder(c, index, keyMapping.property()));
+    }
+
+    private String calculateJdbcPlaceholder(SqlColumn<?> column, int index) {
+        return column.renderingStrategy().orElse(renderingStrategy)
+                .getRecordBasedInsertBinding(column, recordPrefix(index));
+    }
+
+    private String calculateJdbcPlaceholder(SqlColumn<?> column, int index, String parameterName) {
+        return column.renderingStrategy().orElse(renderingStrategy)
+                .getRecordBasedInsertBinding(column, recordPrefix(index), parameterName);
+    }
+
+    private String recordPrefix(int index) {
+        return "records[" + index + "]"; //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    public static <T> Builder<T> withMultiRowUpdateModel(MultiRowUpdateModel<T> model) {
+        return new Builder<T>().withMultiRowUpdateModel(model);
+    }
+
+    private class SetPhraseVisitor extends MultiRowInsertMappingVisitor<String> {
+        private final int recordCount;
+
+        private SetPhraseVisitor(int recordCount) {
+            this.recordCount = recordCount;
+        }
+
+        @Override
+        public String visit(NullMapping mapping) {
+            return mapping.columnName() + " = null"; //$NON-NLS-1$
+        }
+
+        @Override
+        public String visit(ConstantMapping mapping) {
+            return mapping.columnName() + " = " + mapping.constant(); //$NON-NLS-1$
+        }
+
+        @Override
+        public String visit(StringConstantMapping mapping) {
+            return mapping.columnName() + " = '" + mapping.constant() + "'"; //$NON-NLS-1$ //$NON-NLS-2$
+        }
+
+        @Override
+        public String visit(PropertyMapping mapping) {
+            return caseExpression(mapping.columnName(),
+                    i -> mapping.mapColumn(c -> calculateJdbcPlaceholder(c, i, mapping.property())));
+        }
+
+        @Override
+        public String visit(RowMapping mapping) {
+            return caseExpression(mapping.columnName(), i -> mapping.mapColumn(c -> calculateJdbcPlaceholder(c, i)));
+        }
+
+        // the else branch keeps the current value, and also gives databases a type for the parameter markers
+        private String caseExpression(String columnName, IntFunction<String> valuePlaceholder) {
+            return IntStream.range(0, recordCount)
+                    .mapToObj(i -> "when " + keyPlaceholder(i) //$NON-NLS-1$
+                            + " then " + valuePlaceholder.apply(i)) //$NON-NLS-1$
+                    .collect(Collectors.joining(" ", //$NON-NLS-1$
+                            columnName + " = case " + keyMapping.columnName() + " ", //$NON-NLS-1$ //$NON-NLS-2$
+                            " else " + columnName + " end")); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+    }
+
+    private static class ParameterCountVisitor extends MultiRowInsertMappingVisitor<Integer> {
+        @Override
+        public Integer visit(NullMapping mapping) {
+            return 0;
+        }
+
+        @Override
+        public Integer visit(ConstantMapping mapping) {
+            return 0;
+        }
+
+        @Override
+        public Integer visit(StringConstantMapping mapping) {
+            return 0;
+        }
+
+        @Override
+        public Integer visit(PropertyMapping mapping) {
+            return 1;
+        }
+
+        @Override
+        public Integer visit(RowMapping mapping) {
+            return 1;
+        }
+    }
+
+    public static class Builder<T> {
+        private MultiRowUpdateModel<T> model;
+        private RenderingStrategy renderingStrategy;
+
+        public Builder<T> withMultiRowUpdateModel(MultiRowUpdateModel<T> model) {
+            this.model = model;
+            return this;
+        }
+
+        public Builder<T> withRenderingStrategy(RenderingStrategy renderingStrategy) {
+            this.renderingStrategy = renderingStrategy;
+            return this;
+        }
+
+        public MultiRowUpdateRenderer<T> build() {
+            return new MultiRowUpdateRenderer<>(this);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.update.render;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.mybatis.dynamic.sql.render.StatementMetadata;
+
+/**
+ * An update statement provider for one statement of a multi-row update. The statement binds values from
+ * properties of the records (<code>records[n].xxx</code>), so the parameter map is always empty.
+ *
+ * @param <T> the type of record to update
+ * @since 1.5.1
+ */
+public class MultiRowUpdateStatementProvider<T> implements UpdateStatementProvider {
+    private final String updateStatement;
+    private final List<T> records;
+    private final StatementMetadata statementMetadata;
+
+    public MultiRowUpdateStatementProvider(String updateStatement, List<T> records,
+            StatementMetadata statementMetadata) {
+        this.updateStatement = Objects.requireNonNull(updateStatement);
+        this.records = Collections.unmodifiableList(Objects.requireNonNull(records));
+        this.statementMetadata = Objects.requireNonNull(statementMetadata);
+    }
+
+    @Override
+    public Map<String, Object> getParameters() {
+        return Collections.emptyMap();
+    }
+
+    @Override
+    public String getUpdateStatement() {
+        return updateStatement;
+    }
+
+    public List<T> getRecords() {
+        return records;
+    }
+
+    @Override
+    public StatementMetadata getStatementMetadata() {
+        return statementMetadata;
+    }
+}
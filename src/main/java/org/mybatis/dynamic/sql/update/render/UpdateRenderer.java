@@ -27,6 +27,7 @@ import org.mybatis.dynamic.sql.render.ExplicitTableAliasCalculator;
 import org.mybatis.dynamic.sql.render.RenderedParameterInfo;
 import org.mybatis.dynamic.sql.render.RenderingContext;
 import org.mybatis.dynamic.sql.render.RenderingStrategy;
+import org.mybatis.dynamic.sql.render.StatementKind;
 import org.mybatis.dynamic.sql.render.TableAliasCalculator;
 import org.mybatis.dynamic.sql.update.UpdateModel;
 import org.mybatis.dynamic.sql.util.FragmentAndParameters;
@@ -66,10 +67,12 @@ public class UpdateRenderer {
         return DefaultUpdateStatementProvider
                 .withUpdateStatement(fragmentCollector.collectFragments(Collectors.joining(" "))) //$NON-NLS-1$
                 .withParameters(fragmentCollector.parameters())
+                .withStatementMetadata(renderingContext.statementMetadata(StatementKind.UPDATE))
                 .build();
     }
 
     private FragmentAndParameters calculateUpdateStatementStart() {
+        renderingContext.recordTableWritten(updateModel.table());
         String aliasedTableName = renderingContext.aliasedTableName(updateModel.table());
         return FragmentAndParameters.fromFragment("update " + aliasedTableName); //$NON-NLS-1$
     }
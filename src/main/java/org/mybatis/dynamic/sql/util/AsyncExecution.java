@@ -0,0 +1,262 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.util;
+
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Runs blocking statement executions asynchronously and returns {@link CompletableFuture}s. This is the shared
+ * plumbing for the async facades over the Spring and MyBatis3 support.
+ *
+ * <p>Statements run on a configurable {@link Executor}. By default, the executor creates a virtual thread for
+ * each task when running on JDK 21 or later, and uses a cached pool of daemon threads on earlier JDKs.
+ *
+ * <p>Concurrency can be bounded per data source. If a maximum concurrency is configured, each data source (or any
+ * other key object supplied by a facade) gets its own permit pool of that size. No more than the configured number
+ * of statements will use connections from a single data source at the same time - regardless of how many futures
+ * are outstanding. Tasks that cannot get a permit are queued without occupying an executor thread. When a task
+ * completes, its permit is handed to the next queued task for the same data source before the task's future is
+ * completed, so dependent stages that run on the completing thread never hold a permit.
+ *
+ * @since 1.5.1
+ */
+public class AsyncExecution {
+    private final Executor executor;
+    private final int maxConcurrency;
+    private final Map<Object, PermitQueue> permits = new ConcurrentHashMap<>();
+
+    private AsyncExecution(Builder builder) {
+        executor = Utilities.buildIfNecessary(builder.executor, DefaultExecutorHolder::getExecutor);
+        maxConcurrency = builder.maxConcurrency;
+    }
+
+    public Executor executor() {
+        return executor;
+    }
+
+    public int maxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * Run a task asynchronously.
+     *
+     * @param dataSource the key for the permit pool - typically the DataSource used by the task
+     * @param task the task to run
+     * @param <T> the type returned by the task
+     * @return a future that completes with the result of the task
+     */
+    public <T> CompletableFuture<T> supplyAsync(Object dataSource, Supplier<T> task) {
+        if (maxConcurrency <= 0) {
+            return CompletableFuture.supplyAsync(task, executor);
+        }
+
+        PermitQueue permitQueue = permits.computeIfAbsent(Objects.requireNonNull(dataSource),
+                k -> new PermitQueue(executor, maxConcurrency));
+        return permitQueue.submit(task);
+    }
+
+    /**
+     * Returns an async execution with the default executor and no concurrency limit.
+     *
+     * @return the default async execution
+     */
+    public static AsyncExecution defaultExecution() {
+        return new Builder().build();
+    }
+
+    /**
+     * Returns the default executor: a virtual thread per task executor on JDK 21 or later, or a cached pool of
+     * daemon threads on earlier JDKs. The executor is shared by all async executions that do not specify an
+     * executor.
+     *
+     * @return the default executor
+     */
+    public static Executor defaultExecutor() {
+        return DefaultExecutorHolder.getExecutor();
+    }
+
+    public static class Builder {
+        private Executor executor;
+        private int maxConcurrency;
+
+        public Builder withExecutor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Set the maximum number of statements that may run concurrently against a single data source. Values
+         * less than one mean no limit.
+         *
+         * @param maxConcurrency the number of permits per data source
+         * @return this builder
+         */
+        public Builder withMaxConcurrency(int maxConcurrency) {
+            this.maxConcurrency = maxConcurrency;
+            return this;
+        }
+
+        public AsyncExecution build() {
+            return new AsyncExecution(this);
+        }
+    }
+
+    /**
+     * The permit pool for a single data source. A task is dispatched to the executor only when a permit is
+     * available, otherwise it is queued. When a task completes, its permit passes to the next queued task, which is
+     * dispatched to the executor, or is returned to the pool if no task is waiting.
+     */
+    private static class PermitQueue {
+        private final Executor executor;
+        private final Queue<PermitTask<?>> waiting = new ArrayDeque<>();
+        private int available;
+
+        private PermitQueue(Executor executor, int permits) {
+            this.executor = executor;
+            available = permits;
+        }
+
+        private <T> CompletableFuture<T> submit(Supplier<T> supplier) {
+            PermitTask<T> task = new PermitTask<>(supplier);
+            synchronized (this) {
+                if (available == 0) {
+                    waiting.add(task);
+                    return task.future;
+                }
+                available--;
+            }
+
+            dispatch(task);
+            return task.future;
+        }
+
+        private void dispatch(PermitTask<?> task) {
+            List<PermitTask<?>> rejected = null;
+            PermitTask<?> next = task;
+            while (next != null) {
+                PermitTask<?> current = next;
+                try {
+                    executor.execute(() -> run(current));
+                    next = null;
+                } catch (RejectedExecutionException e) {
+                    current.reject(e);
+                    if (rejected == null) {
+                        rejected = new ArrayList<>();
+                    }
+                    rejected.add(current);
+                    next = nextOrRelease();
+                }
+            }
+
+            if (rejected != null) {
+                rejected.forEach(PermitTask::complete);
+            }
+        }
+
+        private void run(PermitTask<?> task) {
+            task.execute();
+            PermitTask<?> next = nextOrRelease();
+            if (next != null) {
+                dispatch(next);
+            }
+            // the permit has been passed on, so dependent stages that run on this thread cannot block other tasks
+            task.complete();
+        }
+
+        /**
+         * Returns the next queued task, which takes over the permit of the completed task. If no task is waiting,
+         * the permit is returned to the pool.
+         *
+         * @return the next task, or null if the permit was released
+         */
+        private synchronized PermitTask<?> nextOrRelease() {
+            PermitTask<?> next = waiting.poll();
+            if (next == null) {
+                available++;
+            }
+            return next;
+        }
+    }
+
+    private static class PermitTask<T> {
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private final Supplier<T> supplier;
+        private T result;
+        private Throwable exception;
+
+        private PermitTask(Supplier<T> supplier) {
+            this.supplier = supplier;
+        }
+
+        private void execute() {
+            try {
+                result = supplier.get();
+            } catch (Throwable e) {
+                // same as CompletableFuture.supplyAsync
+                exception = new CompletionException(e);
+            }
+        }
+
+        private void reject(RejectedExecutionException e) {
+            exception = e;
+        }
+
+        private void complete() {
+            if (exception == null) {
+                future.complete(result);
+            } else {
+                future.completeExceptionally(exception);
+            }
+        }
+    }
+
+    private static class DefaultExecutorHolder {
+        private static final Executor EXECUTOR = createExecutor();
+
+        private static Executor getExecutor() {
+            return EXECUTOR;
+        }
+
+        private static Executor createExecutor() {
+            try {
+                // JDK 21+ - the library is compiled for Java 8, so look the method up reflectively
+                Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor"); //$NON-NLS-1$
+                return (ExecutorService) method.invoke(null);
+            } catch (ReflectiveOperationException e) {
+                return Executors.newCachedThreadPool(r -> {
+                    Thread thread = new Thread(r, "mybatis-dynamic-sql-async"); //$NON-NLS-1$
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.util;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Reads a single column value from a result set by column index. Readers are selected once, based on the Java type
+ * of a column in a select list, so that rows can be read without inspecting the column again for every row.
+ *
+ * @since 1.5.1
+ * @author Jeff Butler
+ */
+@FunctionalInterface
+public interface ColumnReader {
+    Object read(ResultSet resultSet, int columnIndex) throws SQLException;
+
+    /**
+     * Return a reader appropriate for the specified Java type. Boxed primitive types are read with the primitive
+     * JDBC getters and converted to null if the database value was null. Other known types are read with the
+     * matching JDBC getter, and unknown types are read with {@link ResultSet#getObject(int, Class)}. If the type is
+     * null, then values are read with {@link ResultSet#getObject(int)} and the JDBC driver will determine the type
+     * of the returned value.
+     *
+     * @param javaType the Java type of the column, may be null
+     * @return a reader for the type
+     */
+    static ColumnReader forJavaType(Class<?> javaType) {
+        if (javaType == null || javaType == Object.class) {
+            return ResultSet::getObject;
+        } else if (javaType == String.class) {
+            return ResultSet::getString;
+        } else if (javaType == Integer.class) {
+            return (rs, i) -> nullIfWasNull(rs, rs.getInt(i));
+        } else if (javaType == Long.class) {
+            return (rs, i) -> nullIfWasNull(rs, rs.getLong(i));
+        } else if (javaType == Double.class) {
+            return (rs, i) -> nullIfWasNull(rs, rs.getDouble(i));
+        } else if (javaType == Boolean.class) {
+            return (rs, i) -> nullIfWasNull(rs, rs.getBoolean(i));
+        } else if (javaType == Short.class) {
+            return (rs, i) -> nullIfWasNull(rs, rs.getShort(i));
+        } else if (javaType == Byte.class) {
+            return (rs, i) -> nullIfWasNull(rs, rs.getByte(i));
+        } else if (javaType == Float.class) {
+            return (rs, i) -> nullIfWasNull(rs, rs.getFloat(i));
+        } else if (javaType == BigDecimal.class) {
+            return ResultSet::getBigDecimal;
+        } else if (javaType == byte[].class) {
+            return ResultSet::getBytes;
+        } else if (javaType == java.util.Date.class || javaType == java.sql.Timestamp.class) {
+            return ResultSet::getTimestamp;
+        } else if (javaType == java.sql.Date.class) {
+            return ResultSet::getDate;
+        } else if (javaType == java.sql.Time.class) {
+            return ResultSet::getTime;
+        } else {
+            return (rs, i) -> rs.getObject(i, javaType);
+        }
+    }
+
+    static Object nullIfWasNull(ResultSet resultSet, Object value) throws SQLException {
+        return resultSet.wasNull() ? null : value;
+    }
+}
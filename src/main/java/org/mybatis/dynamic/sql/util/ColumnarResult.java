@@ -0,0 +1,294 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.util;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Objects;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import org.mybatis.dynamic.sql.BasicColumn;
+import org.mybatis.dynamic.sql.BindableColumn;
+import org.mybatis.dynamic.sql.exception.DynamicSqlException;
+
+/**
+ * A query result stored by column rather than by row. Integer, Long, and Double columns are stored in primitive
+ * arrays (with a bit set marking null values), other columns are stored in object arrays.
+ * This is far more compact than a List of Maps for large result sets with few columns.
+ *
+ * <p>Results are created by a {@link ColumnarResultReader}. Values can be accessed by column (as a primitive stream
+ * or a stream of values), by row and column, or as a stream of {@link Row} views. Instances are immutable.
+ *
+ * @since 1.5.1
+ */
+public class ColumnarResult {
+    private final SelectListIndex selectList;
+    private final int rowCount;
+    private final Object[] columns;
+    private final BitSet[] nulls;
+
+    ColumnarResult(SelectListIndex selectList, int rowCount, Object[] columns, BitSet[] nulls) {
+        this.selectList = Objects.requireNonNull(selectList);
+        this.rowCount = rowCount;
+        this.columns = Objects.requireNonNull(columns);
+        this.nulls = Objects.requireNonNull(nulls);
+    }
+
+    public int rowCount() {
+        return rowCount;
+    }
+
+    public int columnCount() {
+        return columns.length;
+    }
+
+    public boolean isEmpty() {
+        return rowCount == 0;
+    }
+
+    public boolean isNull(BasicColumn column, int row) {
+        return isNull(selectList.indexOf(column) - 1, checkRow(row));
+    }
+
+    /**
+     * Return a value from the result. Values from primitive columns are boxed.
+     *
+     * @param column the column
+     * @param row the 0 based row number
+     * @param <T> the Java type of the column
+     * @return the value, or null if the value is null
+     */
+    public <T> T get(BindableColumn<T> column, int row) {
+        @SuppressWarnings("unchecked")
+        T t = (T) getObject(selectList.indexOf(column) - 1, checkRow(row));
+        return t;
+    }
+
+    /**
+     * Return a numeric value as a long. The column must be stored as long or int values, or must be an object
+     * column containing numbers. Null values are returned as zero - use
+     * {@link ColumnarResult#isNull(BasicColumn, int)} to distinguish null values if needed.
+     *
+     * @param column the column
+     * @param row the 0 based row number
+     * @return the value
+     */
+    public long getLong(BasicColumn column, int row) {
+        return getLong(selectList.indexOf(column) - 1, checkRow(row), column);
+    }
+
+    public int getInt(BasicColumn column, int row) {
+        return getInt(selectList.indexOf(column) - 1, checkRow(row), column);
+    }
+
+    public double getDouble(BasicColumn column, int row) {
+        return getDouble(selectList.indexOf(column) - 1, checkRow(row), column);
+    }
+
+    /**
+     * Return the values of a numeric column as longs. The column must be stored as long or int values, or must be an
+     * object column containing numbers. Null values are returned as zero.
+     *
+     * @param column the column
+     * @return a stream of the column values
+     */
+    public LongStream longs(BasicColumn column) {
+        int index = selectList.indexOf(column) - 1;
+        Object data = columns[index];
+        if (data instanceof long[]) {
+            return Arrays.stream((long[]) data, 0, rowCount);
+        } else if (data instanceof int[]) {
+            return Arrays.stream((int[]) data, 0, rowCount).asLongStream();
+        }
+        checkObjectColumn(index, column, "long"); //$NON-NLS-1$
+        return IntStream.range(0, rowCount)
+                .mapToLong(row -> number(index, row, column, "long").longValue()); //$NON-NLS-1$
+    }
+
+    public IntStream ints(BasicColumn column) {
+        int index = selectList.indexOf(column) - 1;
+        Object data = columns[index];
+        if (data instanceof int[]) {
+            return Arrays.stream((int[]) data, 0, rowCount);
+        }
+        checkObjectColumn(index, column, "int"); //$NON-NLS-1$
+        return IntStream.range(0, rowCount).map(row -> number(index, row, column, "int").intValue()); //$NON-NLS-1$
+    }
+
+    public DoubleStream doubles(BasicColumn column) {
+        int index = selectList.indexOf(column) - 1;
+        Object data = columns[index];
+        if (data instanceof double[]) {
+            return Arrays.stream((double[]) data, 0, rowCount);
+        } else if (data instanceof long[]) {
+            return Arrays.stream((long[]) data, 0, rowCount).asDoubleStream();
+        } else if (data instanceof int[]) {
+            return Arrays.stream((int[]) data, 0, rowCount).asDoubleStream();
+        }
+        checkObjectColumn(index, column, "double"); //$NON-NLS-1$
+        return IntStream.range(0, rowCount)
+                .mapToDouble(row -> number(index, row, column, "double").doubleValue()); //$NON-NLS-1$
+    }
+
+    /**
+     * Return the values of any column. Values from primitive columns are boxed, and null values are included.
+     *
+     * @param column the column
+     * @param <T> the Java type of the column
+     * @return a stream of the column values
+     */
+    public <T> Stream<T> values(BindableColumn<T> column) {
+        int index = selectList.indexOf(column) - 1;
+        @SuppressWarnings("unchecked")
+        Stream<T> values = IntStream.range(0, rowCount).mapToObj(row -> (T) getObject(index, row));
+        return values;
+    }
+
+    /**
+     * Return a stream of row views over this result. Row views are lightweight and do not copy any values.
+     *
+     * @return a stream of rows
+     */
+    public Stream<Row> rows() {
+        return IntStream.range(0, rowCount).mapToObj(Row::new);
+    }
+
+    private int checkRow(int row) {
+        if (row < 0 || row >= rowCount) {
+            throw new IndexOutOfBoundsException(String.valueOf(row));
+        }
+        return row;
+    }
+
+    private boolean isNull(int index, int row) {
+        BitSet columnNulls = nulls[index];
+        if (columnNulls == null) {
+            return ((Object[]) columns[index])[row] == null;
+        }
+        return columnNulls.get(row);
+    }
+
+    private Object getObject(int index, int row) {
+        Object data = columns[index];
+        if (data instanceof Object[]) {
+            return ((Object[]) data)[row];
+        } else if (nulls[index].get(row)) {
+            return null;
+        } else if (data instanceof long[]) {
+            return ((long[]) data)[row];
+        } else if (data instanceof int[]) {
+            return ((int[]) data)[row];
+        } else {
+            return ((double[]) data)[row];
+        }
+    }
+
+    private long getLong(int index, int row, BasicColumn column) {
+        Object data = columns[index];
+        if (data instanceof long[]) {
+            return ((long[]) data)[row];
+        } else if (data instanceof int[]) {
+            return ((int[]) data)[row];
+        }
+        return number(index, row, column, "long").longValue(); //$NON-NLS-1$
+    }
+
+    private int getInt(int index, int row, BasicColumn column) {
+        Object data = columns[index];
+        if (data instanceof int[]) {
+            return ((int[]) data)[row];
+        }
+        return number(index, row, column, "int").intValue(); //$NON-NLS-1$
+    }
+
+    private double getDouble(int index, int row, BasicColumn column) {
+        Object data = columns[index];
+        if (data instanceof double[]) {
+            return ((double[]) data)[row];
+        } else if (data instanceof long[]) {
+            return ((long[]) data)[row];
+        } else if (data instanceof int[]) {
+            return ((int[]) data)[row];
+        }
+        return number(index, row, column, "double").doubleValue(); //$NON-NLS-1$
+    }
+
+    /**
+     * Return a numeric value from a column stored in an object array (for example, a column without a Java type).
+     * Null values are returned as zero.
+     */
+    private Number number(int index, int row, BasicColumn column, String type) {
+        Object data = checkObjectColumn(index, column, type);
+        Object value = ((Object[]) data)[row];
+        if (value == null) {
+            return 0;
+        } else if (value instanceof Number) {
+            return (Number) value;
+        }
+        throw wrongType(column, type);
+    }
+
+    private Object checkObjectColumn(int index, BasicColumn column, String type) {
+        Object data = columns[index];
+        if (data instanceof Object[]) {
+            return data;
+        }
+        throw wrongType(column, type);
+    }
+
+    private static DynamicSqlException wrongType(BasicColumn column, String type) {
+        return new DynamicSqlException(
+                Messages.getString("ERROR.39", SelectListIndex.describe(column), type)); //$NON-NLS-1$
+    }
+
+    /**
+     * A view of a single row in a columnar result.
+     */
+    public class Row {
+        private final int row;
+
+        private Row(int row) {
+            this.row = row;
+        }
+
+        public int rowNumber() {
+            return row;
+        }
+
+        public <T> T get(BindableColumn<T> column) {
+            return ColumnarResult.this.get(column, row);
+        }
+
+        public long getLong(BasicColumn column) {
+            return ColumnarResult.this.getLong(column, row);
+        }
+
+        public int getInt(BasicColumn column) {
+            return ColumnarResult.this.getInt(column, row);
+        }
+
+        public double getDouble(BasicColumn column) {
+            return ColumnarResult.this.getDouble(column, row);
+        }
+
+        public boolean isNull(BasicColumn column) {
+            return ColumnarResult.this.isNull(column, row);
+        }
+    }
+}
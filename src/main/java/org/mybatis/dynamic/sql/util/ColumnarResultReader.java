@@ -0,0 +1,251 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.util;
+
+import java.sql.JDBCType;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+import org.mybatis.dynamic.sql.BasicColumn;
+import org.mybatis.dynamic.sql.select.SelectModel;
+
+/**
+ * Reads a result set into a {@link ColumnarResult}. The storage for each column is selected once, based on the
+ * Java type of the column in the select list (see {@link org.mybatis.dynamic.sql.SqlColumn#withJavaType(Class)}):
+ * Integer, Long, and Double columns are stored in primitive arrays, all other columns are stored in object arrays.
+ * If a column does not have a Java type, then columns with a JDBC type of INTEGER, BIGINT, DOUBLE, or FLOAT are
+ * stored in primitive arrays.
+ *
+ * <p>Readers are immutable and thread safe, and can be reused for any statement with the same select list.
+ * Integrations are available for Spring (see
+ * {@link org.mybatis.dynamic.sql.util.spring.NamedParameterJdbcTemplateExtensions}) and MyBatis (see
+ * {@link org.mybatis.dynamic.sql.util.mybatis3.CommonSelectMapper}).
+ *
+ * @since 1.5.1
+ */
+public class ColumnarResultReader implements ResultSetReader<ColumnarResult> {
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private final SelectListIndex selectList;
+
+    private ColumnarResultReader(SelectListIndex selectList) {
+        this.selectList = Objects.requireNonNull(selectList);
+    }
+
+    @Override
+    public ColumnarResult read(ResultSet resultSet) throws SQLException {
+        List<ColumnBuffer> buffers = createBuffers(DEFAULT_CAPACITY);
+        int rowCount = 0;
+        while (resultSet.next()) {
+            readRow(resultSet, buffers, rowCount++);
+        }
+        return toResult(buffers, rowCount);
+    }
+
+    /**
+     * Read a result set in batches of rows. Each batch is passed to the batch handler as soon as it is read, so
+     * only one batch is held in memory at a time.
+     *
+     * @param resultSet the result set to read
+     * @param batchSize the maximum number of rows in each batch
+     * @param batchHandler receives each batch. Return false from the handler to stop reading the result set.
+     * @return the total number of rows read
+     * @throws SQLException if thrown by the result set
+     */
+    public int read(ResultSet resultSet, int batchSize, Predicate<ColumnarResult> batchHandler) throws SQLException {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException(String.valueOf(batchSize));
+        }
+
+        List<ColumnBuffer> buffers = createBuffers(batchSize);
+        int totalRows = 0;
+        int batchRows = 0;
+        while (resultSet.next()) {
+            readRow(resultSet, buffers, batchRows++);
+            totalRows++;
+            if (batchRows == batchSize) {
+                boolean keepReading = batchHandler.test(toResult(buffers, batchRows));
+                if (!keepReading) {
+                    return totalRows;
+                }
+                buffers = createBuffers(batchSize);
+                batchRows = 0;
+            }
+        }
+
+        if (batchRows > 0) {
+            batchHandler.test(toResult(buffers, batchRows));
+        }
+        return totalRows;
+    }
+
+    private void readRow(ResultSet resultSet, List<ColumnBuffer> buffers, int row) throws SQLException {
+        for (int i = 0; i < buffers.size(); i++) {
+            buffers.get(i).read(resultSet, i + 1, row);
+        }
+    }
+
+    private List<ColumnBuffer> createBuffers(int capacity) {
+        List<ColumnBuffer> buffers = new ArrayList<>(selectList.size());
+        for (int i = 1; i <= selectList.size(); i++) {
+            buffers.add(ColumnBuffer.forColumn(selectList.javaType(i), selectList.jdbcType(i), capacity));
+        }
+        return buffers;
+    }
+
+    private ColumnarResult toResult(List<ColumnBuffer> buffers, int rowCount) {
+        Object[] columns = new Object[buffers.size()];
+        BitSet[] nulls = new BitSet[buffers.size()];
+        for (int i = 0; i < buffers.size(); i++) {
+            columns[i] = buffers.get(i).values();
+            nulls[i] = buffers.get(i).nulls();
+        }
+        return new ColumnarResult(selectList, rowCount, columns, nulls);
+    }
+
+    /**
+     * Create a reader based on the select list of the first query expression in a select model.
+     *
+     * @param selectModel the select model
+     * @return a reader
+     */
+    public static ColumnarResultReader of(SelectModel selectModel) {
+        return new ColumnarResultReader(SelectListIndex.of(selectModel));
+    }
+
+    public static ColumnarResultReader of(List<? extends BasicColumn> selectList) {
+        return new ColumnarResultReader(SelectListIndex.of(selectList));
+    }
+
+    private abstract static class ColumnBuffer {
+        protected final BitSet nulls = new BitSet();
+
+        abstract void read(ResultSet resultSet, int columnIndex, int row) throws SQLException;
+
+        abstract Object values();
+
+        BitSet nulls() {
+            return nulls;
+        }
+
+        protected void checkNull(ResultSet resultSet, int row) throws SQLException {
+            if (resultSet.wasNull()) {
+                nulls.set(row);
+            }
+        }
+
+        static ColumnBuffer forColumn(Class<?> javaType, JDBCType jdbcType, int capacity) {
+            if (javaType == Long.class || (javaType == null && jdbcType == JDBCType.BIGINT)) {
+                return new LongBuffer(capacity);
+            } else if (javaType == Integer.class || (javaType == null && jdbcType == JDBCType.INTEGER)) {
+                return new IntBuffer(capacity);
+            } else if (javaType == Double.class
+                    || (javaType == null && (jdbcType == JDBCType.DOUBLE || jdbcType == JDBCType.FLOAT))) {
+                return new DoubleBuffer(capacity);
+            } else {
+                return new ObjectBuffer(ColumnReader.forJavaType(javaType), capacity);
+            }
+        }
+    }
+
+    private static class LongBuffer extends ColumnBuffer {
+        private final GrowableLongArray values;
+
+        LongBuffer(int capacity) {
+            values = new GrowableLongArray(capacity);
+        }
+
+        @Override
+        void read(ResultSet resultSet, int columnIndex, int row) throws SQLException {
+            values.add(resultSet.getLong(columnIndex));
+            checkNull(resultSet, row);
+        }
+
+        @Override
+        Object values() {
+            return values.toArray();
+        }
+    }
+
+    private static class IntBuffer extends ColumnBuffer {
+        private final GrowableIntArray values;
+
+        IntBuffer(int capacity) {
+            values = new GrowableIntArray(capacity);
+        }
+
+        @Override
+        void read(ResultSet resultSet, int columnIndex, int row) throws SQLException {
+            values.add(resultSet.getInt(columnIndex));
+            checkNull(resultSet, row);
+        }
+
+        @Override
+        Object values() {
+            return values.toArray();
+        }
+    }
+
+    private static class DoubleBuffer extends ColumnBuffer {
+        private final GrowableDoubleArray values;
+
+        DoubleBuffer(int capacity) {
+            values = new GrowableDoubleArray(capacity);
+        }
+
+        @Override
+        void read(ResultSet resultSet, int columnIndex, int row) throws SQLException {
+            values.add(resultSet.getDouble(columnIndex));
+            checkNull(resultSet, row);
+        }
+
+        @Override
+        Object values() {
+            return values.toArray();
+        }
+    }
+
+    private static class ObjectBuffer extends ColumnBuffer {
+        private final ColumnReader reader;
+        private final List<Object> values;
+
+        ObjectBuffer(ColumnReader reader, int capacity) {
+            this.reader = reader;
+            values = new ArrayList<>(capacity);
+        }
+
+        @Override
+        void read(ResultSet resultSet, int columnIndex, int row) throws SQLException {
+            values.add(reader.read(resultSet, columnIndex));
+        }
+
+        @Override
+        Object values() {
+            return values.toArray();
+        }
+
+        @Override
+        BitSet nulls() {
+            // nulls are stored directly in the object array
+            return null;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.util;
+
+import java.util.Arrays;
+
+/**
+ * A growable array of primitive double values. This is used to collect query results without boxing each value.
+ *
+ * @since 1.5.1
+ */
+public class GrowableDoubleArray {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private double[] values;
+    private int size;
+
+    public GrowableDoubleArray() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public GrowableDoubleArray(int initialCapacity) {
+        values = new double[Math.max(initialCapacity, 1)];
+    }
+
+    public void add(double value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, values.length * 2);
+        }
+        values[size++] = value;
+    }
+
+    public double get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(String.valueOf(index));
+        }
+        return values[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public double[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@link StatementMetrics} that keeps {@link StatementStatistics} in memory for every statement shape it has
+ * seen. This is useful in tests, for simple diagnostics endpoints, and as a reference for implementations that
+ * export to a metrics library.
+ *
+ * <p>This class is thread safe.
+ *
+ * @since 1.5.1
+ */
+public class InMemoryStatementMetrics implements StatementMetrics {
+    private final Map<Long, StatementStatistics> statistics = new ConcurrentHashMap<>();
+
+    @Override
+    public void record(StatementExecution execution) {
+        statistics.computeIfAbsent(execution.fingerprint(), k -> new StatementStatistics(execution))
+                .record(execution);
+    }
+
+    public Optional<StatementStatistics> statistics(long fingerprint) {
+        return Optional.ofNullable(statistics.get(fingerprint));
+    }
+
+    /**
+     * Return the statistics of every statement shape seen.
+     *
+     * @return the statistics, in no particular order
+     */
+    public List<StatementStatistics> statistics() {
+        return Collections.unmodifiableList(new ArrayList<>(statistics.values()));
+    }
+
+    public void clear() {
+        statistics.clear();
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.util;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Objects;
+
+import org.mybatis.dynamic.sql.BindableColumn;
+
+/**
+ * A view of the current row of a result set that allows values to be retrieved by select list column rather than
+ * by column name. Column positions are calculated once by an {@link IndexedRowMapper}, so retrieving a value
+ * is a direct read from the result set with no intermediate Map of row values.
+ *
+ * <p>Instances of this class are only valid during a call to {@link IndexedRowMapper#mapRow(ResultSet)} and
+ * should not be retained.
+ *
+ * @since 1.5.1
+ * @author Jeff Butler
+ */
+public class IndexedRow {
+    private final IndexedRowMapper<?> rowMapper;
+    private final ResultSet resultSet;
+
+    IndexedRow(IndexedRowMapper<?> rowMapper, ResultSet resultSet) {
+        this.rowMapper = Objects.requireNonNull(rowMapper);
+        this.resultSet = Objects.requireNonNull(resultSet);
+    }
+
+    /**
+     * Retrieve the value of a column in the select list. The value is read with a reader based on the Java type
+     * of the column in the select list.
+     *
+     * @param column a column in the select list. Ideally this should be the same instance used in the select list,
+     *     but a column with the same table and name will also be found
+     * @param <T> the Java type of the column
+     * @return the column value - may be null
+     * @throws SQLException if thrown by the JDBC driver
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(BindableColumn<T> column) throws SQLException {
+        return (T) get(rowMapper.indexOf(column));
+    }
+
+    /**
+     * Retrieve the value of a column by position in the select list.
+     *
+     * @param columnIndex the first column is 1, the second is 2, etc.
+     * @return the column value - may be null
+     * @throws SQLException if thrown by the JDBC driver
+     */
+    public Object get(int columnIndex) throws SQLException {
+        return rowMapper.read(resultSet, columnIndex);
+    }
+
+    public int getInt(BindableColumn<?> column) throws SQLException {
+        return resultSet.getInt(rowMapper.indexOf(column));
+    }
+
+    public long getLong(BindableColumn<?> column) throws SQLException {
+        return resultSet.getLong(rowMapper.indexOf(column));
+    }
+
+    public double getDouble(BindableColumn<?> column) throws SQLException {
+        return resultSet.getDouble(rowMapper.indexOf(column));
+    }
+
+    public boolean getBoolean(BindableColumn<?> column) throws SQLException {
+        return resultSet.getBoolean(rowMapper.indexOf(column));
+    }
+
+    /**
+     * Reports whether the last primitive value read was SQL NULL.
+     *
+     * @return true if the last value read was null
+     * @throws SQLException if thrown by the JDBC driver
+     */
+    public boolean wasNull() throws SQLException {
+        return resultSet.wasNull();
+    }
+
+    public ResultSet resultSet() {
+        return resultSet;
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.util;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Objects;
+
+import org.mybatis.dynamic.sql.BasicColumn;
+import org.mybatis.dynamic.sql.SqlColumn;
+import org.mybatis.dynamic.sql.select.SelectModel;
+
+/**
+ * A row mapper that reads result set columns by position, where the positions are derived from the select list of
+ * a select statement. This avoids the overhead of building a Map of values for each row - values are read
+ * directly from the result set and passed to a user supplied function (typically a constructor or a lambda).
+ *
+ * <p>For example:
+ *
+ * <pre>
+ * SelectModel selectModel = select(id, animalName).from(animalData).build();
+ * IndexedRowMapper&lt;Animal&gt; rowMapper =
+ *         IndexedRowMapper.of(selectModel, row -&gt; new Animal(row.get(id), row.get(animalName)));
+ * </pre>
+ *
+ * <p>Column readers are selected once when the mapper is created based on the Java type of each column in the
+ * select list (see {@link SqlColumn#withJavaType(Class)}). Instances are immutable and thread safe, and can be
+ * reused for any statement with the same select list.
+ *
+ * <p>Integrations for this mapper are available for Spring (see
+ * {@link org.mybatis.dynamic.sql.util.spring.NamedParameterJdbcTemplateExtensions}) and MyBatis (see
+ * {@link org.mybatis.dynamic.sql.util.mybatis3.CommonSelectMapper}).
+ *
+ * @param <R> the type of object created for each row
+ * @since 1.5.1
+ * @author Jeff Butler
+ */
+public class IndexedRowMapper<R> {
+    private final SelectListIndex selectList;
+    private final ColumnReader[] readers;
+    private final RowFunction<R> rowFunction;
+
+    private IndexedRowMapper(SelectListIndex selectList, RowFunction<R> rowFunction) {
+        this.selectList = Objects.requireNonNull(selectList);
+        this.rowFunction = Objects.requireNonNull(rowFunction);
+        readers = new ColumnReader[selectList.size()];
+
+        for (int i = 0; i < readers.length; i++) {
+            readers[i] = ColumnReader.forJavaType(selectList.javaType(i + 1));
+        }
+    }
+
+    public R mapRow(ResultSet resultSet) throws SQLException {
+        return rowFunction.apply(new IndexedRow(this, resultSet));
+    }
+
+    public int columnCount() {
+        return readers.length;
+    }
+
+    Object read(ResultSet resultSet, int columnIndex) throws SQLException {
+        return readers[columnIndex - 1].read(resultSet, columnIndex);
+    }
+
+    int indexOf(BasicColumn column) {
+        return selectList.indexOf(column);
+    }
+
+    /**
+     * Create a row mapper based on the select list of the first query expression in a select model. All query
+     * expressions in a union must have compatible select lists, so the first query expression determines the
+     * shape of the result set.
+     *
+     * @param selectModel the select model
+     * @param rowFunction function that creates an object from a row
+     * @param <R> the type of object created for each row
+     * @return a row mapper
+     */
+    public static <R> IndexedRowMapper<R> of(SelectModel selectModel, RowFunction<R> rowFunction) {
+        return new IndexedRowMapper<>(SelectListIndex.of(selectModel), rowFunction);
+    }
+
+    public static <R> IndexedRowMapper<R> of(List<? extends BasicColumn> selectList, RowFunction<R> rowFunction) {
+        return new IndexedRowMapper<>(SelectListIndex.of(selectList), rowFunction);
+    }
+
+    @FunctionalInterface
+    public interface RowFunction<R> {
+        R apply(IndexedRow row) throws SQLException;
+    }
+}
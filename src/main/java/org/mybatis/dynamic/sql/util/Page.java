@@ -0,0 +1,121 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.mybatis.dynamic.sql.select.PagingModel;
+
+/**
+ * One page of rows returned by a paged select statement, together with the total number of rows the statement
+ * would return without paging.
+ *
+ * @param <T> the type of row
+ * @since 1.5.1
+ */
+public class Page<T> {
+    private final List<T> rows;
+    private final long totalRows;
+    private final long offset;
+    private final Long pageSize;
+
+    private Page(Builder<T> builder) {
+        rows = Collections.unmodifiableList(new ArrayList<>(builder.rows));
+        totalRows = builder.totalRows;
+        offset = builder.offset;
+        pageSize = builder.pageSize;
+    }
+
+    public List<T> rows() {
+        return rows;
+    }
+
+    public long totalRows() {
+        return totalRows;
+    }
+
+    /**
+     * The number of rows skipped before this page. This is zero if the statement had no offset.
+     *
+     * @return the offset of the first row in this page
+     */
+    public long offset() {
+        return offset;
+    }
+
+    /**
+     * The maximum number of rows in a page - the limit or fetch first value of the statement.
+     *
+     * @return the page size, or empty if the statement was not limited
+     */
+    public Optional<Long> pageSize() {
+        return Optional.ofNullable(pageSize);
+    }
+
+    public boolean hasNext() {
+        return offset + rows.size() < totalRows;
+    }
+
+    public static <T> Builder<T> withRows(List<T> rows) {
+        return new Builder<T>().withRows(rows);
+    }
+
+    public static class Builder<T> {
+        private List<T> rows = Collections.emptyList();
+        private long totalRows;
+        private long offset;
+        private Long pageSize;
+
+        public Builder<T> withRows(List<T> rows) {
+            this.rows = rows;
+            return this;
+        }
+
+        public Builder<T> withTotalRows(long totalRows) {
+            this.totalRows = totalRows;
+            return this;
+        }
+
+        public Builder<T> withOffset(long offset) {
+            this.offset = offset;
+            return this;
+        }
+
+        public Builder<T> withPageSize(Long pageSize) {
+            this.pageSize = pageSize;
+            return this;
+        }
+
+        /**
+         * Set the offset and page size from the paging clause of a select statement.
+         *
+         * @param pagingModel the paging model of the select statement
+         * @return this builder
+         */
+        public Builder<T> withPagingModel(PagingModel pagingModel) {
+            this.offset = pagingModel.offset().orElse(0L);
+            this.pageSize = pagingModel.limit().orElse(pagingModel.fetchFirstRows().orElse(null));
+            return this;
+        }
+
+        public Page<T> build() {
+            return new Page<>(this);
+        }
+    }
+}
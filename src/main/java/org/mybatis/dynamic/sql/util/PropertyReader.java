@@ -0,0 +1,63 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.util;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import org.mybatis.dynamic.sql.exception.DynamicSqlException;
+
+/**
+ * Reads JavaBean properties from records. This is used by renderers and adapters that bind record properties
+ * themselves, rather than relying on the reflection utilities of MyBatis or Spring.
+ *
+ * @since 1.5.1
+ */
+public class PropertyReader {
+    private PropertyReader() {}
+
+    public static PropertyDescriptor findProperty(Class<?> beanClass, String property) {
+        try {
+            for (PropertyDescriptor descriptor : Introspector.getBeanInfo(beanClass).getPropertyDescriptors()) {
+                if (descriptor.getName().equals(property) && descriptor.getReadMethod() != null) {
+                    return descriptor;
+                }
+            }
+        } catch (IntrospectionException e) {
+            throw new DynamicSqlException(Messages.getString("ERROR.41", property, //$NON-NLS-1$
+                    beanClass.getName()), e);
+        }
+        throw new DynamicSqlException(Messages.getString("ERROR.41", property, //$NON-NLS-1$
+                beanClass.getName()));
+    }
+
+    public static Object readProperty(Object bean, PropertyDescriptor descriptor) {
+        Method readMethod = descriptor.getReadMethod();
+        try {
+            return readMethod.invoke(bean);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new DynamicSqlException(Messages.getString("ERROR.41", descriptor.getName(), //$NON-NLS-1$
+                    bean.getClass().getName()), e);
+        }
+    }
+
+    public static Object readProperty(Object bean, String property) {
+        return readProperty(bean, findProperty(bean.getClass(), property));
+    }
+}
@@ -0,0 +1,286 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.util;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.mybatis.dynamic.sql.SqlTable;
+import org.mybatis.dynamic.sql.render.StatementMetadata;
+import org.mybatis.dynamic.sql.select.render.SelectStatementProvider;
+
+/**
+ * A read-through cache for the results of select statements.
+ *
+ * <p>Results are keyed on the rendered SQL, the parameter values, and a result type supplied by the caller (the
+ * same statement may be mapped to different result types). Every table has a generation counter, and each cached
+ * result remembers the generations of the tables its statement reads. Tables are identified by their name at
+ * runtime, so aliased copies of a table (including the tables of a self join) share the generation of the table
+ * they were created from. Executing an insert, update, or delete
+ * through a cache aware utility increments the generation of the tables written, so any result read from those
+ * tables is discarded the next time it is requested. Results are also discarded when they are older than the
+ * configured time to live, and the least recently used result is evicted when the cache is full.
+ *
+ * <p>The tables read by a statement are taken from its {@link StatementMetadata}. Statements without metadata -
+ * statement providers not created by the library - are never cached.
+ *
+ * <p>Generations are incremented when a statement executes, not when a transaction commits. A statement that
+ * reads uncommitted data in the same transaction may cache it, and changes made by other applications are only
+ * seen when a result expires. Choose a time to live that bounds the staleness acceptable for the data.
+ *
+ * <p>Cached results are shared between callers and must not be modified. This class is thread safe.
+ *
+ * @since 1.5.1
+ */
+public class QueryResultCache {
+    public static final int DEFAULT_MAXIMUM_SIZE = 1000;
+
+    private final Map<CacheKey, CacheEntry> entries;
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final Duration timeToLive;
+    private final Clock clock;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private QueryResultCache(Builder builder) {
+        entries = Collections.synchronizedMap(new EntryMap(builder.maximumSize));
+        timeToLive = builder.timeToLive;
+        clock = Objects.requireNonNull(builder.clock);
+    }
+
+    /**
+     * Return the cached result of a select statement, or execute the statement with the loader and cache the
+     * result. The loader is called without holding any lock, so concurrent requests for the same uncached result
+     * may each execute the statement.
+     *
+     * @param selectStatement the rendered select statement
+     * @param resultType identifies the type of result returned by the loader - for example, a class or the row
+     *     mapper. Results are only shared between callers with equal result types.
+     * @param loader executes the statement
+     * @param <R> the type of result
+     * @return the cached or loaded result
+     */
+    @SuppressWarnings("unchecked")
+    public <R> R computeIfAbsent(SelectStatementProvider selectStatement, Object resultType, Supplier<R> loader) {
+        List<String> tables = tableNames(selectStatement.getStatementMetadata().tables());
+        if (tables.isEmpty()) {
+            return loader.get();
+        }
+
+        CacheKey key = new CacheKey(selectStatement.getSelectStatement(), selectStatement.getParameters(),
+                resultType);
+        long now = clock.millis();
+        CacheEntry entry = entries.get(key);
+        if (entry != null && entry.isValid(now)) {
+            hits.increment();
+            return (R) entry.value;
+        }
+
+        misses.increment();
+        // generations are read before the statement executes so a concurrent write always invalidates the result
+        long[] tableGenerations = currentGenerations(tables);
+        R value = loader.get();
+        entries.put(key, new CacheEntry(value, tables, tableGenerations, expiresAt(now)));
+        return value;
+    }
+
+    /**
+     * Record a write to the tables of a statement. This discards any cached result read from the tables.
+     *
+     * @param statementMetadata metadata of the insert, update, or delete statement that was executed
+     */
+    public void recordWrite(StatementMetadata statementMetadata) {
+        statementMetadata.tablesWritten().forEach(this::invalidate);
+    }
+
+    /**
+     * Discard any cached result read from the table. Use this when a table is changed by a statement that does
+     * not pass through a cache aware utility.
+     *
+     * @param table the changed table
+     */
+    public void invalidate(SqlTable table) {
+        generations.computeIfAbsent(table.tableNameAtRuntime(), t -> new AtomicLong()).incrementAndGet();
+    }
+
+    public long generation(SqlTable table) {
+        return generation(table.tableNameAtRuntime());
+    }
+
+    private long generation(String tableName) {
+        AtomicLong generation = generations.get(tableName);
+        return generation == null ? 0 : generation.get();
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    private List<String> tableNames(Collection<SqlTable> tables) {
+        return tables.stream().map(SqlTable::tableNameAtRuntime).distinct().collect(Collectors.toList());
+    }
+
+    private long[] currentGenerations(List<String> tables) {
+        return tables.stream().mapToLong(this::generation).toArray();
+    }
+
+    private long expiresAt(long now) {
+        return timeToLive == null ? Long.MAX_VALUE : now + timeToLive.toMillis();
+    }
+
+    public static Builder withMaximumSize(int maximumSize) {
+        return new Builder().withMaximumSize(maximumSize);
+    }
+
+    public static class Builder {
+        private int maximumSize = DEFAULT_MAXIMUM_SIZE;
+        private Duration timeToLive;
+        private Clock clock = Clock.systemUTC();
+
+        /**
+         * Set the maximum number of cached results. The least recently used result is evicted when the cache
+         * is full.
+         *
+         * @param maximumSize the maximum number of cached results
+         * @return this builder
+         */
+        public Builder withMaximumSize(int maximumSize) {
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        /**
+         * Set the time a result may be used after it is read. By default, results only expire when a table they
+         * read is written.
+         *
+         * @param timeToLive the time to live for cached results
+         * @return this builder
+         */
+        public Builder withTimeToLive(Duration timeToLive) {
+            this.timeToLive = timeToLive;
+            return this;
+        }
+
+        public Builder withClock(Clock clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        public QueryResultCache build() {
+            return new QueryResultCache(this);
+        }
+    }
+
+    private class CacheEntry {
+        private final Object value;
+        private final List<String> tables;
+        private final long[] tableGenerations;
+        private final long expiresAt;
+
+        private CacheEntry(Object value, List<String> tables, long[] tableGenerations, long expiresAt) {
+            this.value = value;
+            this.tables = tables;
+            this.tableGenerations = tableGenerations;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isValid(long now) {
+            if (now >= expiresAt) {
+                return false;
+            }
+
+            for (int i = 0; i < tables.size(); i++) {
+                if (generation(tables.get(i)) != tableGenerations[i]) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+    }
+
+    private static class CacheKey {
+        private final String sql;
+        private final Map<String, Object> parameters;
+        private final Object resultType;
+        private final int hashCode;
+
+        private CacheKey(String sql, Map<String, Object> parameters, Object resultType) {
+            this.sql = sql;
+            this.parameters = new HashMap<>(parameters);
+            this.resultType = resultType;
+            hashCode = Objects.hash(sql, this.parameters, resultType);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof CacheKey)) {
+                return false;
+            }
+            CacheKey other = (CacheKey) obj;
+            return sql.equals(other.sql)
+                    && parameters.equals(other.parameters)
+                    && Objects.equals(resultType, other.resultType);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    private static class EntryMap extends LinkedHashMap<CacheKey, CacheEntry> {
+        private static final long serialVersionUID = 1L;
+        private final int maximumSize;
+
+        private EntryMap(int maximumSize) {
+            super(16, 0.75f, true);
+            this.maximumSize = maximumSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<CacheKey, CacheEntry> eldest) {
+            return size() > maximumSize;
+        }
+    }
+}
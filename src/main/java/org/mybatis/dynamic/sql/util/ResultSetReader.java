@@ -0,0 +1,64 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.util;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Reads an entire result set into a single object. This is similar to Spring's ResultSetExtractor, but has no
+ * dependency on Spring so that it can be used with MyBatis as well.
+ *
+ * <p>The static methods in this interface return readers for single column result sets that collect values into
+ * primitive arrays without boxing. SQL NULL values are returned as zero - as with the JDBC primitive getters.
+ *
+ * @param <R> the type of object read from the result set
+ * @since 1.5.1
+ */
+@FunctionalInterface
+public interface ResultSetReader<R> {
+    R read(ResultSet resultSet) throws SQLException;
+
+    static ResultSetReader<long[]> longArray() {
+        return rs -> {
+            GrowableLongArray values = new GrowableLongArray();
+            while (rs.next()) {
+                values.add(rs.getLong(1));
+            }
+            return values.toArray();
+        };
+    }
+
+    static ResultSetReader<int[]> intArray() {
+        return rs -> {
+            GrowableIntArray values = new GrowableIntArray();
+            while (rs.next()) {
+                values.add(rs.getInt(1));
+            }
+            return values.toArray();
+        };
+    }
+
+    static ResultSetReader<double[]> doubleArray() {
+        return rs -> {
+            GrowableDoubleArray values = new GrowableDoubleArray();
+            while (rs.next()) {
+                values.add(rs.getDouble(1));
+            }
+            return values.toArray();
+        };
+    }
+}
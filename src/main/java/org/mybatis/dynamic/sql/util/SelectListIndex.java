@@ -0,0 +1,144 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.util;
+
+import java.sql.JDBCType;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.mybatis.dynamic.sql.BasicColumn;
+import org.mybatis.dynamic.sql.BindableColumn;
+import org.mybatis.dynamic.sql.SqlColumn;
+import org.mybatis.dynamic.sql.exception.DynamicSqlException;
+import org.mybatis.dynamic.sql.select.QueryExpressionModel;
+import org.mybatis.dynamic.sql.select.SelectModel;
+
+/**
+ * The select list of a statement, indexed so that the position of a column in a result set can be found quickly.
+ *
+ * @since 1.5.1
+ */
+class SelectListIndex {
+    private final List<BasicColumn> selectList;
+    private final Map<BasicColumn, Integer> columnIndexes = new IdentityHashMap<>();
+
+    private SelectListIndex(List<? extends BasicColumn> selectList) {
+        this.selectList = new ArrayList<>(Objects.requireNonNull(selectList));
+        for (int i = 0; i < this.selectList.size(); i++) {
+            columnIndexes.putIfAbsent(this.selectList.get(i), i + 1);
+        }
+    }
+
+    int size() {
+        return selectList.size();
+    }
+
+    /**
+     * Return the Java type of the column at a position in the select list, if known.
+     *
+     * @param columnIndex the 1 based position of the column in the select list
+     * @return the Java type of the column, or null if unknown
+     */
+    Class<?> javaType(int columnIndex) {
+        BasicColumn column = selectList.get(columnIndex - 1);
+        if (column instanceof BindableColumn) {
+            return ((BindableColumn<?>) column).javaType().orElse(null);
+        }
+        return null;
+    }
+
+    /**
+     * Return the JDBC type of the column at a position in the select list, if known.
+     *
+     * @param columnIndex the 1 based position of the column in the select list
+     * @return the JDBC type of the column, or null if unknown
+     */
+    JDBCType jdbcType(int columnIndex) {
+        BasicColumn column = selectList.get(columnIndex - 1);
+        if (column instanceof BindableColumn) {
+            return ((BindableColumn<?>) column).jdbcType().orElse(null);
+        }
+        return null;
+    }
+
+    /**
+     * Find the position of a column in the select list. Columns are located by identity first. If not found,
+     * then a column with the same table and name is located (this allows a column to be found if it was
+     * aliased in the select list).
+     *
+     * @param column the column to find
+     * @return the 1 based position of the column in the select list
+     */
+    int indexOf(BasicColumn column) {
+        Integer index = columnIndexes.get(column);
+        if (index != null) {
+            return index;
+        }
+
+        if (column instanceof SqlColumn) {
+            SqlColumn<?> sqlColumn = (SqlColumn<?>) column;
+            for (int i = 0; i < selectList.size(); i++) {
+                if (isSameColumn(sqlColumn, selectList.get(i))) {
+                    return i + 1;
+                }
+            }
+        }
+
+        throw new DynamicSqlException(Messages.getString("ERROR.38", describe(column))); //$NON-NLS-1$
+    }
+
+    private boolean isSameColumn(SqlColumn<?> column, BasicColumn selectListItem) {
+        if (selectListItem instanceof SqlColumn) {
+            SqlColumn<?> other = (SqlColumn<?>) selectListItem;
+            return column.table() == other.table() && column.name().equals(other.name());
+        }
+        return false;
+    }
+
+    static String describe(BasicColumn column) {
+        return column.alias().orElseGet(() -> column instanceof SqlColumn ? ((SqlColumn<?>) column).name()
+                : column.toString());
+    }
+
+    static SelectListIndex of(List<? extends BasicColumn> selectList) {
+        return new SelectListIndex(selectList);
+    }
+
+    /**
+     * Create an index based on the select list of the first query expression in a select model. All query
+     * expressions in a union must have compatible select lists, so the first query expression determines the
+     * shape of the result set.
+     *
+     * @param selectModel the select model
+     * @return the index
+     */
+    static SelectListIndex of(SelectModel selectModel) {
+        return selectModel.mapQueryExpressions(Function.identity())
+                .findFirst()
+                .map(SelectListIndex::selectList)
+                .map(SelectListIndex::new)
+                .orElseThrow(() -> new DynamicSqlException(Messages.getString("ERROR.14"))); //$NON-NLS-1$
+    }
+
+    private static List<BasicColumn> selectList(QueryExpressionModel queryExpressionModel) {
+        return queryExpressionModel.mapColumns(Function.identity()).collect(Collectors.toList());
+    }
+}
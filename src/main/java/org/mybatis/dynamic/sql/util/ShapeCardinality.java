@@ -0,0 +1,77 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.util;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The distinct statement shapes seen from one origin by a {@link StatementShapeRegistry}.
+ *
+ * @since 1.5.1
+ */
+public class ShapeCardinality {
+    private final Object origin;
+    private final Map<Long, String> shapes;
+    private final long executions;
+    private final boolean isTruncated;
+
+    ShapeCardinality(Object origin, Map<Long, String> shapes, long executions, boolean isTruncated) {
+        this.origin = Objects.requireNonNull(origin);
+        this.shapes = Collections.unmodifiableMap(new LinkedHashMap<>(shapes));
+        this.executions = executions;
+        this.isTruncated = isTruncated;
+    }
+
+    public Object origin() {
+        return origin;
+    }
+
+    /**
+     * The number of distinct shapes seen from the origin. If {@link #isTruncated()} is true, this is a lower bound.
+     *
+     * @return the number of distinct shapes
+     */
+    public int distinctShapes() {
+        return shapes.size();
+    }
+
+    /**
+     * Return the shapes seen from the origin - the fingerprint of each shape, and the first statement seen with
+     * that fingerprint.
+     *
+     * @return the shapes
+     */
+    public Map<Long, String> shapes() {
+        return shapes;
+    }
+
+    public long executions() {
+        return executions;
+    }
+
+    /**
+     * Whether the registry stopped tracking new shapes for the origin because it reached the maximum number of
+     * shapes per origin.
+     *
+     * @return true if some shapes were not tracked
+     */
+    public boolean isTruncated() {
+        return isTruncated;
+    }
+}
@@ -0,0 +1,266 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.mybatis.dynamic.sql.AliasableSqlTable;
+import org.mybatis.dynamic.sql.ShardedSqlTable;
+import org.mybatis.dynamic.sql.exception.InvalidSqlException;
+import org.mybatis.dynamic.sql.render.RenderingStrategy;
+import org.mybatis.dynamic.sql.select.PagingModel;
+import org.mybatis.dynamic.sql.select.SelectModel;
+import org.mybatis.dynamic.sql.select.render.DefaultSelectStatementProvider;
+import org.mybatis.dynamic.sql.select.render.SelectStatementProvider;
+
+/**
+ * Runs a select statement against every shard of a {@link ShardedSqlTable} in parallel and merges the results.
+ *
+ * <p>The statement is built by a function of a table. It is built and rendered once for the logical table, and the
+ * SQL for each shard is taken from the template cache of the sharded table - so each shard is only rendered the
+ * first time a statement is seen. Each shard is queried on the executor of an {@link AsyncExecution} (the shard
+ * name is the key for concurrency limits), with a function supplied by the caller that typically selects a mapper
+ * or template for the shard's data source.
+ *
+ * <p>If the statement has an ORDER BY clause, the sorted results of the shards are merged with a k-way merge, so a
+ * comparator that matches the ORDER BY clause must be supplied. Otherwise, results are concatenated in shard order.
+ * LIMIT, OFFSET, and FETCH FIRST are applied to the merged results: each shard is queried for the first
+ * <code>offset + limit</code> rows without an offset, and the offset and limit are then applied while merging.
+ *
+ * @since 1.5.1
+ */
+public class ShardedSelectExecutor {
+    private final AsyncExecution asyncExecution;
+
+    private ShardedSelectExecutor(Builder builder) {
+        asyncExecution = Utilities.buildIfNecessary(builder.asyncExecution, AsyncExecution::defaultExecution);
+    }
+
+    /**
+     * Runs a select statement against all shards and merges the results, waiting for all shards to complete.
+     *
+     * @param table the sharded table
+     * @param statement a function that builds the select statement for a table
+     * @param renderingStrategy the rendering strategy
+     * @param shardQuery a function that runs the rendered statement against the named shard
+     * @param comparator a comparator matching the ORDER BY clause of the statement. May be null if the statement
+     *     has no ORDER BY clause
+     * @param <T> the type of the table
+     * @param <R> the type of the rows returned by the statement
+     * @return the merged rows
+     */
+    public <T extends AliasableSqlTable<T>, R> List<R> selectList(ShardedSqlTable<T, ?> table,
+            Function<T, Buildable<SelectModel>> statement, RenderingStrategy renderingStrategy,
+            BiFunction<String, SelectStatementProvider, List<R>> shardQuery, Comparator<? super R> comparator) {
+        try {
+            return selectListAsync(table, statement, renderingStrategy, shardQuery, comparator).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Runs a select statement against all shards and merges the results when all shards complete.
+     *
+     * @param table the sharded table
+     * @param statement a function that builds the select statement for a table
+     * @param renderingStrategy the rendering strategy
+     * @param shardQuery a function that runs the rendered statement against the named shard
+     * @param comparator a comparator matching the ORDER BY clause of the statement. May be null if the statement
+     *     has no ORDER BY clause
+     * @param <T> the type of the table
+     * @param <R> the type of the rows returned by the statement
+     * @return a future that completes with the merged rows
+     */
+    public <T extends AliasableSqlTable<T>, R> CompletableFuture<List<R>> selectListAsync(
+            ShardedSqlTable<T, ?> table, Function<T, Buildable<SelectModel>> statement,
+            RenderingStrategy renderingStrategy, BiFunction<String, SelectStatementProvider, List<R>> shardQuery,
+            Comparator<? super R> comparator) {
+        SelectModel logicalModel = statement.apply(table.logicalTable()).build();
+        if (logicalModel.orderByModel().isPresent() && comparator == null) {
+            throw new InvalidSqlException(Messages.getString("ERROR.61")); //$NON-NLS-1$
+        }
+
+        SelectStatementProvider logicalStatement = shardModel(logicalModel).render(renderingStrategy);
+
+        List<CompletableFuture<List<R>>> futures = table.shardNames().stream()
+                .map(shardName -> {
+                    SelectStatementProvider shardStatement = shardStatement(table, shardName, statement,
+                            renderingStrategy, logicalStatement);
+                    return asyncExecution.supplyAsync(shardName,
+                            () -> shardQuery.apply(shardName, shardStatement));
+                })
+                .collect(Collectors.toList());
+
+        Optional<PagingModel> pagingModel = logicalModel.pagingModel();
+        long offset = pagingModel.flatMap(PagingModel::offset).orElse(0L);
+        long limit = pagingModel.flatMap(this::rowLimit).orElse(Long.MAX_VALUE);
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .thenApply(v -> futures.stream().map(CompletableFuture::join).collect(Collectors.toList()))
+                .thenApply(results -> merge(results, comparator, offset, limit));
+    }
+
+    private <T extends AliasableSqlTable<T>> SelectStatementProvider shardStatement(ShardedSqlTable<T, ?> table,
+            String shardName, Function<T, Buildable<SelectModel>> statement, RenderingStrategy renderingStrategy,
+            SelectStatementProvider logicalStatement) {
+        String sql = table.shardStatement(shardName, logicalStatement.getSelectStatement(),
+                () -> shardModel(statement.apply(table.shard(shardName)).build())
+                        .render(renderingStrategy)
+                        .getSelectStatement());
+
+        return DefaultSelectStatementProvider.withSelectStatement(sql)
+                .withParameters(logicalStatement.getParameters())
+                .withStatementMetadata(logicalStatement.getStatementMetadata())
+                .build();
+    }
+
+    /**
+     * Calculates the statement to run against each shard. Every shard must return enough rows to satisfy the
+     * offset and limit after merging, so the offset is added to the limit and removed.
+     *
+     * @param model the statement
+     * @return the statement for each shard
+     */
+    private SelectModel shardModel(SelectModel model) {
+        Optional<PagingModel> pagingModel = model.pagingModel();
+        if (!pagingModel.flatMap(PagingModel::offset).isPresent()) {
+            return model;
+        }
+
+        long offset = pagingModel.flatMap(PagingModel::offset).orElse(0L);
+        PagingModel shardPagingModel = pagingModel.flatMap(this::rowLimit)
+                .map(l -> new PagingModel.Builder().withLimit(l + offset).build())
+                .orElse(null);
+
+        return SelectModel.withQueryExpressions(model.mapQueryExpressions(Function.identity())
+                        .collect(Collectors.toList()))
+                .withOrderByModel(model.orderByModel().orElse(null))
+                .withPagingModel(shardPagingModel)
+                .build();
+    }
+
+    private Optional<Long> rowLimit(PagingModel pagingModel) {
+        Optional<Long> limit = pagingModel.limit();
+        return limit.isPresent() ? limit : pagingModel.fetchFirstRows();
+    }
+
+    private <R> List<R> merge(List<List<R>> results, Comparator<? super R> comparator, long offset, long limit) {
+        Iterator<R> rows = comparator == null ? concatenate(results) : new MergingIterator<>(results, comparator);
+
+        List<R> merged = new ArrayList<>();
+        long position = 0;
+        while (rows.hasNext() && merged.size() < limit) {
+            R row = rows.next();
+            if (position++ >= offset) {
+                merged.add(row);
+            }
+        }
+        return merged;
+    }
+
+    private <R> Iterator<R> concatenate(List<List<R>> results) {
+        return results.stream().flatMap(List::stream).iterator();
+    }
+
+    /**
+     * Merges sorted lists by repeatedly taking the smallest head row. Ties are taken in shard order.
+     *
+     * @param <R> the type of row
+     */
+    private static class MergingIterator<R> implements Iterator<R> {
+        private final PriorityQueue<ShardCursor<R>> queue;
+
+        private MergingIterator(List<List<R>> results, Comparator<? super R> comparator) {
+            Comparator<ShardCursor<R>> cursorComparator = (c1, c2) -> {
+                int result = comparator.compare(c1.head, c2.head);
+                return result == 0 ? Integer.compare(c1.shardIndex, c2.shardIndex) : result;
+            };
+            queue = new PriorityQueue<>(Math.max(1, results.size()), cursorComparator);
+            for (int i = 0; i < results.size(); i++) {
+                Iterator<R> iterator = results.get(i).iterator();
+                if (iterator.hasNext()) {
+                    queue.add(new ShardCursor<>(i, iterator));
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !queue.isEmpty();
+        }
+
+        @Override
+        public R next() {
+            ShardCursor<R> cursor = queue.remove();
+            R row = cursor.head;
+            if (cursor.advance()) {
+                queue.add(cursor);
+            }
+            return row;
+        }
+    }
+
+    private static class ShardCursor<R> {
+        private final int shardIndex;
+        private final Iterator<R> iterator;
+        private R head;
+
+        private ShardCursor(int shardIndex, Iterator<R> iterator) {
+            this.shardIndex = shardIndex;
+            this.iterator = iterator;
+            head = iterator.next();
+        }
+
+        private boolean advance() {
+            if (iterator.hasNext()) {
+                head = iterator.next();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    public static ShardedSelectExecutor defaultExecutor() {
+        return new Builder().build();
+    }
+
+    public static class Builder {
+        private AsyncExecution asyncExecution;
+
+        public Builder withAsyncExecution(AsyncExecution asyncExecution) {
+            this.asyncExecution = asyncExecution;
+            return this;
+        }
+
+        public ShardedSelectExecutor build() {
+            return new ShardedSelectExecutor(this);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.util;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+import org.mybatis.dynamic.sql.render.StatementKind;
+
+/**
+ * Describes one execution of a statement, as reported to a {@link StatementMetrics}.
+ *
+ * @since 1.5.1
+ */
+public class StatementExecution {
+    private final String statement;
+    private final long fingerprint;
+    private final StatementKind statementKind;
+    private final long elapsedNanos;
+    private final long rows;
+    private final Throwable error;
+
+    private StatementExecution(Builder builder) {
+        statement = Objects.requireNonNull(builder.statement);
+        fingerprint = builder.fingerprint == null ? StatementFingerprint.of(statement) : builder.fingerprint;
+        statementKind = Objects.requireNonNull(builder.statementKind);
+        elapsedNanos = builder.elapsedNanos;
+        rows = builder.rows;
+        error = builder.error;
+    }
+
+    /**
+     * The rendered statement. The statement contains parameter placeholders, never parameter values.
+     *
+     * @return the rendered statement
+     */
+    public String statement() {
+        return statement;
+    }
+
+    /**
+     * The fingerprint of the statement shape. Use this, or {@link #fingerprintTag()}, rather than the statement text
+     * to group executions.
+     *
+     * @return the fingerprint
+     * @see StatementFingerprint
+     */
+    public long fingerprint() {
+        return fingerprint;
+    }
+
+    public String fingerprintTag() {
+        return StatementFingerprint.toHexString(fingerprint);
+    }
+
+    public StatementKind statementKind() {
+        return statementKind;
+    }
+
+    public long elapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * The number of rows returned by a select, or affected by an insert, update, or delete. Empty if the
+     * execution failed, or if the driver did not report a count.
+     *
+     * @return the number of rows
+     */
+    public OptionalLong rows() {
+        return rows < 0 ? OptionalLong.empty() : OptionalLong.of(rows);
+    }
+
+    public Optional<Throwable> error() {
+        return Optional.ofNullable(error);
+    }
+
+    public boolean isSuccessful() {
+        return error == null;
+    }
+
+    public static Builder withStatement(String statement) {
+        return new Builder().withStatement(statement);
+    }
+
+    public static class Builder {
+        private String statement;
+        private Long fingerprint;
+        private StatementKind statementKind;
+        private long elapsedNanos;
+        private long rows = -1;
+        private Throwable error;
+
+        public Builder withStatement(String statement) {
+            this.statement = statement;
+            return this;
+        }
+
+        /**
+         * Set the fingerprint of the statement - for example, from a statement provider that has already
+         * calculated it. If not set, the fingerprint is calculated from the statement.
+         *
+         * @param fingerprint the fingerprint of the statement
+         * @return this builder
+         */
+        public Builder withFingerprint(long fingerprint) {
+            this.fingerprint = fingerprint;
+            return this;
+        }
+
+        public Builder withStatementKind(StatementKind statementKind) {
+            this.statementKind = statementKind;
+            return this;
+        }
+
+        public Builder withElapsedNanos(long elapsedNanos) {
+            this.elapsedNanos = elapsedNanos;
+            return this;
+        }
+
+        public Builder withRows(long rows) {
+            this.rows = rows;
+            return this;
+        }
+
+        public Builder withError(Throwable error) {
+            this.error = error;
+            return this;
+        }
+
+        public StatementExecution build() {
+            return new StatementExecution(this);
+        }
+    }
+}
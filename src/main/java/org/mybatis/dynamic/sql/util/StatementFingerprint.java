@@ -0,0 +1,156 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.util;
+
+/**
+ * Calculates a stable 64-bit fingerprint of the shape of a rendered SQL statement.
+ *
+ * <p>The fingerprint is a 64-bit FNV-1a hash of the statement text after normalization. Normalization replaces
+ * every parameter placeholder - MyBatis (<code>#{...}</code>), Spring and R2DBC named (<code>:name</code>), R2DBC
+ * indexed (<code>$1</code>), and JDBC (<code>?</code>) - with <code>?</code>, and collapses runs of white space to a
+ * single space. String literals are hashed unchanged. So the same statement rendered for different rendering
+ * strategies has the same fingerprint, parameter values never contribute to the fingerprint, and statements that
+ * differ in structure (for example, IN lists with a different number of values) have different fingerprints.
+ *
+ * <p>Fingerprints do not depend on the JVM or on the order in which statements are rendered, so they may be used
+ * as metric tags and compared across processes.
+ *
+ * @since 1.5.1
+ */
+public final class StatementFingerprint {
+    private static final long OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long PRIME = 0x100000001b3L;
+
+    private StatementFingerprint() {}
+
+    /**
+     * Calculate the fingerprint of a rendered statement.
+     *
+     * @param statement the rendered statement
+     * @return the fingerprint
+     */
+    public static long of(String statement) {
+        long hash = OFFSET_BASIS;
+        boolean pendingSpace = false;
+        int length = statement.length();
+        int i = 0;
+        while (i < length) {
+            char c = statement.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = true;
+                i++;
+                continue;
+            }
+
+            if (pendingSpace) {
+                hash = hash(hash, ' ');
+                pendingSpace = false;
+            }
+
+            int placeholderEnd = placeholderEnd(statement, i);
+            if (placeholderEnd > i) {
+                hash = hash(hash, '?');
+                i = placeholderEnd;
+            } else if (c == '\'') {
+                int literalEnd = literalEnd(statement, i);
+                for (; i < literalEnd; i++) {
+                    hash = hash(hash, statement.charAt(i));
+                }
+            } else {
+                hash = hash(hash, c);
+                i++;
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Format a fingerprint as 16 lower case hexadecimal digits - suitable for use as a metric tag.
+     *
+     * @param fingerprint the fingerprint
+     * @return the formatted fingerprint
+     */
+    public static String toHexString(long fingerprint) {
+        String hex = Long.toHexString(fingerprint);
+        return "0000000000000000".substring(hex.length()) + hex; //$NON-NLS-1$
+    }
+
+    private static long hash(long hash, char c) {
+        return (hash ^ c) * PRIME;
+    }
+
+    /**
+     * Return the index after the placeholder starting at the index, or the index itself if no placeholder starts
+     * there.
+     */
+    private static int placeholderEnd(String statement, int start) {
+        char c = statement.charAt(start);
+        int length = statement.length();
+        if (c == '?') {
+            return start + 1;
+        }
+
+        if (c == '#' && start + 1 < length && statement.charAt(start + 1) == '{') {
+            int end = statement.indexOf('}', start);
+            return end < 0 ? start : end + 1;
+        }
+
+        if (c == ':' && start + 1 < length && isNameStart(statement.charAt(start + 1))
+                && (start == 0 || statement.charAt(start - 1) != ':')) {
+            // a preceding colon means a cast such as "::int", not a named parameter
+            int end = start + 1;
+            while (end < length && isNamePart(statement.charAt(end))) {
+                end++;
+            }
+            return end;
+        }
+
+        if (c == '$' && start + 1 < length && Character.isDigit(statement.charAt(start + 1))) {
+            int end = start + 1;
+            while (end < length && Character.isDigit(statement.charAt(end))) {
+                end++;
+            }
+            return end;
+        }
+
+        return start;
+    }
+
+    private static int literalEnd(String statement, int start) {
+        int length = statement.length();
+        int i = start + 1;
+        while (i < length) {
+            if (statement.charAt(i) == '\'') {
+                // a doubled quote is an escaped quote inside the literal
+                if (i + 1 < length && statement.charAt(i + 1) == '\'') {
+                    i += 2;
+                    continue;
+                }
+                return i + 1;
+            }
+            i++;
+        }
+        return length;
+    }
+
+    private static boolean isNameStart(char c) {
+        return Character.isLetter(c) || c == '_';
+    }
+
+    private static boolean isNamePart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '.';
+    }
+}
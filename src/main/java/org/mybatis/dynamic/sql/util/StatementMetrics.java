@@ -0,0 +1,154 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.util;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+import org.mybatis.dynamic.sql.render.StatementMetadata;
+
+/**
+ * Receives a report of every statement executed through a metrics aware utility - the
+ * <code>withStatementMetrics</code> method of
+ * {@link org.mybatis.dynamic.sql.util.spring.NamedParameterJdbcTemplateExtensions}, and the <code>measured</code>
+ * methods in {@link org.mybatis.dynamic.sql.util.mybatis3.MyBatis3Utils}.
+ *
+ * <p>This is the extension point for metrics libraries. An implementation typically records
+ * {@link StatementExecution#elapsedNanos()} in a timer or histogram, {@link StatementExecution#rows()} in a
+ * distribution summary, and failed executions in a counter - all tagged with
+ * {@link StatementExecution#fingerprintTag()} and {@link StatementExecution#statementKind()}. The fingerprint
+ * identifies the shape of the statement and never includes parameter values, so the number of distinct tags is
+ * bounded by the number of distinct statements in the application. {@link InMemoryStatementMetrics} is a simple
+ * implementation that keeps statistics in memory.
+ *
+ * <p>Implementations are called on the thread that executed the statement, after it completes, so they should be
+ * fast and thread safe. Exceptions thrown by an implementation are propagated to the caller.
+ *
+ * @since 1.5.1
+ */
+@FunctionalInterface
+public interface StatementMetrics {
+    void record(StatementExecution execution);
+
+    /**
+     * Execute a statement, and record its elapsed time, the number of rows, and whether it failed. Exceptions
+     * thrown by the execution are recorded and rethrown.
+     *
+     * @param statement the rendered statement
+     * @param statementMetadata the statement metadata
+     * @param execution executes the statement
+     * @param rowCounter calculates the number of rows returned or affected from the result of the execution.
+     *     Return a negative number if the number of rows is not known.
+     * @param <T> the type of result
+     * @return the result of the execution
+     */
+    default <T> T measure(String statement, StatementMetadata statementMetadata, Supplier<T> execution,
+            ToLongFunction<? super T> rowCounter) {
+        return measure(statement, StatementFingerprint.of(statement), statementMetadata, execution, rowCounter);
+    }
+
+    /**
+     * Execute a statement whose fingerprint is known, and record its elapsed time, the number of rows, and whether
+     * it failed. Exceptions thrown by the execution are recorded and rethrown.
+     *
+     * @param statement the rendered statement
+     * @param fingerprint the fingerprint of the statement - typically from the statement provider
+     * @param statementMetadata the statement metadata
+     * @param execution executes the statement
+     * @param rowCounter calculates the number of rows returned or affected from the result of the execution.
+     *     Return a negative number if the number of rows is not known.
+     * @param <T> the type of result
+     * @return the result of the execution
+     */
+    default <T> T measure(String statement, long fingerprint, StatementMetadata statementMetadata,
+            Supplier<T> execution, ToLongFunction<? super T> rowCounter) {
+        StatementExecution.Builder builder = StatementExecution.withStatement(statement)
+                .withFingerprint(fingerprint)
+                .withStatementKind(statementMetadata.statementKind());
+        long start = System.nanoTime();
+        T result;
+        try {
+            result = execution.get();
+        } catch (RuntimeException | Error e) {
+            record(builder.withElapsedNanos(System.nanoTime() - start).withError(e).build());
+            throw e;
+        }
+        record(builder.withElapsedNanos(System.nanoTime() - start).withRows(rowCounter.applyAsLong(result)).build());
+        return result;
+    }
+
+    /**
+     * Calculate the number of rows returned by a select statement. Collections, arrays, {@link ColumnarResult},
+     * and {@link Optional} are counted, <code>null</code> is zero rows, and any other object is a single row.
+     *
+     * @param result the result of a select statement
+     * @return the number of rows
+     */
+    static long rowsOf(Object result) {
+        if (result == null) {
+            return 0;
+        } else if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        } else if (result instanceof Optional) {
+            return ((Optional<?>) result).isPresent() ? 1 : 0;
+        } else if (result instanceof ColumnarResult) {
+            return ((ColumnarResult) result).rowCount();
+        } else if (result.getClass().isArray()) {
+            return Array.getLength(result);
+        } else {
+            return 1;
+        }
+    }
+
+    /**
+     * Calculate the number of rows affected by a JDBC batch. Update counts that are not known (negative values,
+     * such as {@link java.sql.Statement#SUCCESS_NO_INFO}) are ignored.
+     *
+     * @param updateCounts the update counts of each statement in the batch
+     * @return the number of rows
+     */
+    static long updateCountOf(int[] updateCounts) {
+        return Arrays.stream(updateCounts).filter(i -> i > 0).asLongStream().sum();
+    }
+
+    /**
+     * Return metrics that report every execution to these metrics, and then to the other metrics.
+     *
+     * @param other the other metrics
+     * @return the combined metrics
+     */
+    default StatementMetrics andThen(StatementMetrics other) {
+        Objects.requireNonNull(other);
+        return execution -> {
+            record(execution);
+            other.record(execution);
+        };
+    }
+
+    /**
+     * Return metrics that discard every report.
+     *
+     * @return the metrics
+     */
+    static StatementMetrics noOp() {
+        return execution -> { };
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.util;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Counts the distinct statement shapes executed from each origin, and reports origins that produce more shapes than
+ * a threshold.
+ *
+ * <p>Conditions that are dropped when their values are missing (the <code>WhenPresent</code> conditions), and IN
+ * conditions with a variable number of values, render a different statement for different parameters. Each
+ * distinct statement is parsed and planned separately by the database and occupies its own entry in the database
+ * statement cache. A single place in the code can produce hundreds of shapes without anyone noticing. This registry
+ * makes that visible: it tracks the {@link StatementFingerprint fingerprints} seen from each origin, calls the
+ * listener once when an origin first exceeds the threshold, and reports the cardinality of every origin on demand.
+ *
+ * <p>An origin is any object that identifies where statements come from. Shapes may be recorded directly with
+ * {@link #record(Object, long, String)} - for example with a mapper method name as the origin. The registry is also
+ * a {@link StatementMetrics}, so it can be attached to any metrics aware utility. In that case the origin of each
+ * execution is calculated by the origin resolver, which by default is the call site: the first stack frame outside
+ * the library, Spring, MyBatis, and the JDK. Capturing the call site creates a stack trace for every execution, so
+ * use a cheaper resolver if the registry is left enabled in production.
+ *
+ * <p>To bound memory, the registry tracks at most the configured maximum number of shapes for each origin. This
+ * class is thread safe.
+ *
+ * @since 1.5.1
+ */
+public class StatementShapeRegistry implements StatementMetrics {
+    public static final int DEFAULT_THRESHOLD = 20;
+    public static final int DEFAULT_MAXIMUM_SHAPES_PER_ORIGIN = 1000;
+
+    private static final List<String> FRAMEWORK_PACKAGES = Arrays.asList(
+            "org.mybatis.dynamic.sql.", //$NON-NLS-1$
+            "org.apache.ibatis.", //$NON-NLS-1$
+            "org.mybatis.spring.", //$NON-NLS-1$
+            "org.springframework.", //$NON-NLS-1$
+            "java.", //$NON-NLS-1$
+            "javax.", //$NON-NLS-1$
+            "jdk.", //$NON-NLS-1$
+            "sun.", //$NON-NLS-1$
+            "com.sun.", //$NON-NLS-1$
+            "kotlin.", //$NON-NLS-1$
+            "kotlinx."); //$NON-NLS-1$
+
+    private final Map<Object, OriginShapes> origins = new ConcurrentHashMap<>();
+    private final int threshold;
+    private final int maximumShapesPerOrigin;
+    private final Function<? super StatementExecution, ?> originResolver;
+    private final Consumer<? super ShapeCardinality> thresholdListener;
+
+    private StatementShapeRegistry(Builder builder) {
+        threshold = builder.threshold;
+        maximumShapesPerOrigin = Math.max(builder.maximumShapesPerOrigin, threshold + 1);
+        originResolver = Objects.requireNonNull(builder.originResolver);
+        thresholdListener = Objects.requireNonNull(builder.thresholdListener);
+    }
+
+    /**
+     * Record the origin of an execution, as calculated by the origin resolver, and the fingerprint of its
+     * statement.
+     *
+     * @param execution the execution
+     */
+    @Override
+    public void record(StatementExecution execution) {
+        record(originResolver.apply(execution), execution.fingerprint(), execution.statement());
+    }
+
+    /**
+     * Record a statement shape seen from an origin. If this is the first time the origin exceeds the threshold,
+     * the threshold listener is called on the current thread.
+     *
+     * @param origin identifies where the statement came from
+     * @param fingerprint the fingerprint of the statement - typically from a statement provider
+     * @param statement the rendered statement
+     */
+    public void record(Object origin, long fingerprint, String statement) {
+        OriginShapes shapes = origins.computeIfAbsent(origin, OriginShapes::new);
+        shapes.executions.increment();
+        if (!shapes.fingerprints.containsKey(fingerprint)) {
+            if (shapes.fingerprints.size() < maximumShapesPerOrigin) {
+                shapes.fingerprints.putIfAbsent(fingerprint, statement);
+            } else {
+                shapes.isTruncated = true;
+            }
+        }
+
+        if (shapes.fingerprints.size() > threshold && shapes.isReported.compareAndSet(false, true)) {
+            thresholdListener.accept(shapes.cardinality());
+        }
+    }
+
+    public Optional<ShapeCardinality> cardinality(Object origin) {
+        return Optional.ofNullable(origins.get(origin)).map(OriginShapes::cardinality);
+    }
+
+    /**
+     * Report the cardinality of every origin.
+     *
+     * @return the cardinality of each origin, with the origins with the most distinct shapes first
+     */
+    public List<ShapeCardinality> report() {
+        return origins.values().stream()
+                .map(OriginShapes::cardinality)
+                .sorted(Comparator.comparingInt(ShapeCardinality::distinctShapes).reversed())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Report the origins that have exceeded the threshold.
+     *
+     * @return the cardinality of each origin that has more distinct shapes than the threshold, with the origins
+     *     with the most distinct shapes first
+     */
+    public List<ShapeCardinality> exceeded() {
+        return report().stream()
+                .filter(c -> c.distinctShapes() > threshold)
+                .collect(Collectors.toList());
+    }
+
+    public void clear() {
+        origins.clear();
+    }
+
+    /**
+     * Calculate the call site of the current thread - the first stack frame outside the library, Spring, MyBatis,
+     * the JDK, and the Kotlin standard library. This is the default origin resolver.
+     *
+     * @return the call site, or "unknown" if every frame is in a framework package
+     */
+    public static String callSite() {
+        return Arrays.stream(new Throwable().getStackTrace())
+                .filter(StatementShapeRegistry::isApplicationFrame)
+                .findFirst()
+                .map(StackTraceElement::toString)
+                .orElse("unknown"); //$NON-NLS-1$
+    }
+
+    private static boolean isApplicationFrame(StackTraceElement element) {
+        String className = element.getClassName();
+        return FRAMEWORK_PACKAGES.stream().noneMatch(className::startsWith)
+                && !className.contains("$Proxy"); //$NON-NLS-1$
+    }
+
+    private static class OriginShapes {
+        private final Object origin;
+        private final Map<Long, String> fingerprints = new ConcurrentHashMap<>();
+        private final LongAdder executions = new LongAdder();
+        private final AtomicBoolean isReported = new AtomicBoolean();
+        private volatile boolean isTruncated;
+
+        private OriginShapes(Object origin) {
+            this.origin = origin;
+        }
+
+        private ShapeCardinality cardinality() {
+            return new ShapeCardinality(origin, fingerprints, executions.sum(), isTruncated);
+        }
+    }
+
+    public static class Builder {
+        private int threshold = DEFAULT_THRESHOLD;
+        private int maximumShapesPerOrigin = DEFAULT_MAXIMUM_SHAPES_PER_ORIGIN;
+        private Function<? super StatementExecution, ?> originResolver = e -> callSite();
+        private Consumer<? super ShapeCardinality> thresholdListener = c -> { };
+
+        /**
+         * Set the number of distinct shapes an origin may produce before it is reported.
+         *
+         * @param threshold the threshold
+         * @return this builder
+         */
+        public Builder withThreshold(int threshold) {
+            this.threshold = threshold;
+            return this;
+        }
+
+        /**
+         * Set the maximum number of shapes tracked for each origin. The maximum is always at least one more than
+         * the threshold.
+         *
+         * @param maximumShapesPerOrigin the maximum number of shapes tracked for each origin
+         * @return this builder
+         */
+        public Builder withMaximumShapesPerOrigin(int maximumShapesPerOrigin) {
+            this.maximumShapesPerOrigin = maximumShapesPerOrigin;
+            return this;
+        }
+
+        /**
+         * Set the function that calculates the origin of executions reported through the {@link StatementMetrics}
+         * interface. The function must not return null.
+         *
+         * @param originResolver the origin resolver
+         * @return this builder
+         */
+        public Builder withOriginResolver(Function<? super StatementExecution, ?> originResolver) {
+            this.originResolver = originResolver;
+            return this;
+        }
+
+        /**
+         * Set a listener that is called once for each origin, when it first produces more distinct shapes than the
+         * threshold. Use the listener to log a warning or to increment a metric.
+         *
+         * @param thresholdListener the listener
+         * @return this builder
+         */
+        public Builder withThresholdListener(Consumer<? super ShapeCardinality> thresholdListener) {
+            this.thresholdListener = thresholdListener;
+            return this;
+        }
+
+        public StatementShapeRegistry build() {
+            return new StatementShapeRegistry(this);
+        }
+    }
+}
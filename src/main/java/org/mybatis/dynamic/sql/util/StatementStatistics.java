@@ -0,0 +1,174 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.mybatis.dynamic.sql.render.StatementKind;
+
+/**
+ * Statistics for the executions of one statement shape, as collected by {@link InMemoryStatementMetrics}.
+ *
+ * <p>Latencies are recorded in a histogram with buckets whose upper bounds are powers of two microseconds - the
+ * first bucket holds executions of up to 1 microsecond, the second up to 2 microseconds, and so on. The last bucket
+ * holds every execution longer than the bound of the bucket before it. Percentiles are reported as the upper
+ * bound of the bucket that contains them, so they overstate the true value by at most a factor of two.
+ *
+ * <p>This class is thread safe. Values read while executions are being recorded may be slightly inconsistent
+ * with each other.
+ *
+ * @since 1.5.1
+ */
+public class StatementStatistics {
+    public static final int LATENCY_BUCKETS = 32;
+
+    private final long fingerprint;
+    private final String statement;
+    private final StatementKind statementKind;
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    private final AtomicLongArray latencyBuckets = new AtomicLongArray(LATENCY_BUCKETS);
+
+    StatementStatistics(StatementExecution execution) {
+        fingerprint = execution.fingerprint();
+        statement = execution.statement();
+        statementKind = execution.statementKind();
+    }
+
+    void record(StatementExecution execution) {
+        long nanos = Math.max(0, execution.elapsedNanos());
+        executions.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+        latencyBuckets.incrementAndGet(latencyBucket(nanos));
+        execution.rows().ifPresent(rows::add);
+        if (!execution.isSuccessful()) {
+            errors.increment();
+        }
+    }
+
+    public long fingerprint() {
+        return fingerprint;
+    }
+
+    public String fingerprintTag() {
+        return StatementFingerprint.toHexString(fingerprint);
+    }
+
+    /**
+     * The statement text of the first execution recorded for this shape.
+     *
+     * @return the rendered statement
+     */
+    public String statement() {
+        return statement;
+    }
+
+    public StatementKind statementKind() {
+        return statementKind;
+    }
+
+    public long executions() {
+        return executions.sum();
+    }
+
+    public long errors() {
+        return errors.sum();
+    }
+
+    /**
+     * The total number of rows returned or affected by all executions that reported a row count.
+     *
+     * @return the total number of rows
+     */
+    public long rows() {
+        return rows.sum();
+    }
+
+    public long totalNanos() {
+        return totalNanos.sum();
+    }
+
+    public long maxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * Return the count of executions in each latency bucket.
+     *
+     * @return a copy of the bucket counts
+     * @see #latencyBucketUpperBoundNanos(int)
+     */
+    public long[] latencyBucketCounts() {
+        long[] counts = new long[LATENCY_BUCKETS];
+        for (int i = 0; i < LATENCY_BUCKETS; i++) {
+            counts[i] = latencyBuckets.get(i);
+        }
+        return counts;
+    }
+
+    /**
+     * Estimate a latency percentile.
+     *
+     * @param percentile the percentile - between 0 and 100
+     * @return the upper bound, in nanoseconds, of the bucket containing the percentile, or 0 if nothing has been
+     *     recorded
+     */
+    public long latencyPercentileNanos(double percentile) {
+        long[] counts = latencyBucketCounts();
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(total * Math.min(100.0, Math.max(0.0, percentile)) / 100.0));
+        long seen = 0;
+        for (int i = 0; i < LATENCY_BUCKETS - 1; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return latencyBucketUpperBoundNanos(i);
+            }
+        }
+        return maxNanos();
+    }
+
+    /**
+     * Return the upper bound of a latency bucket. The last bucket has no upper bound, so
+     * {@link Long#MAX_VALUE} is returned for it.
+     *
+     * @param bucket the bucket index
+     * @return the upper bound in nanoseconds
+     */
+    public static long latencyBucketUpperBoundNanos(int bucket) {
+        return bucket >= LATENCY_BUCKETS - 1 ? Long.MAX_VALUE : TimeUnit.MICROSECONDS.toNanos(1L << bucket);
+    }
+
+    static int latencyBucket(long nanos) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(nanos - 1) + 1;
+        // the smallest bucket whose bound, 2^bucket microseconds, is at least the latency
+        int bucket = micros <= 1 ? 0 : 64 - Long.numberOfLeadingZeros(micros - 1);
+        return Math.min(bucket, LATENCY_BUCKETS - 1);
+    }
+}
@@ -15,6 +15,8 @@
  */
 package org.mybatis.dynamic.sql.util;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Supplier;
 
 public interface Utilities {
@@ -25,4 +27,22 @@ public interface Utilities {
     static long safelyUnbox(Long l) {
         return l == null ? 0 : l;
     }
+
+    /**
+     * Split a list into consecutive sub lists (views) of at most chunkSize elements. If chunkSize is less than one,
+     * the entire list is returned as a single chunk.
+     *
+     * @param list the list to split
+     * @param chunkSize the maximum size of a chunk
+     * @param <T> the type of list element
+     * @return the chunks
+     */
+    static <T> List<List<T>> chunk(List<T> list, int chunkSize) {
+        List<List<T>> chunks = new ArrayList<>();
+        int size = chunkSize < 1 ? list.size() : chunkSize;
+        for (int i = 0; i < list.size(); i += size) {
+            chunks.add(list.subList(i, Math.min(i + size, list.size())));
+        }
+        return chunks;
+    }
 }
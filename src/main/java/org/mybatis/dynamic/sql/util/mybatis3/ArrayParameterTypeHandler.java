@@ -0,0 +1,64 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.util.mybatis3;
+
+import java.sql.Array;
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.apache.ibatis.type.BaseTypeHandler;
+import org.apache.ibatis.type.JdbcType;
+import org.mybatis.dynamic.sql.insert.render.ArrayParameter;
+import org.mybatis.dynamic.sql.util.Messages;
+
+/**
+ * MyBatis type handler that binds an {@link ArrayParameter} as a JDBC array. Array based insert statements
+ * reference this handler by name in the rendered parameter markers, so it does not need to be registered.
+ *
+ * <p>This handler is only used for binding parameters. Reading arrays from result sets is not supported.
+ *
+ * @since 1.5.1
+ */
+public class ArrayParameterTypeHandler extends BaseTypeHandler<ArrayParameter> {
+
+    @Override
+    public void setNonNullParameter(PreparedStatement ps, int i, ArrayParameter parameter, JdbcType jdbcType)
+            throws SQLException {
+        Array array = ps.getConnection().createArrayOf(parameter.elementTypeName(), parameter.elements());
+        try {
+            ps.setArray(i, array);
+        } finally {
+            array.free();
+        }
+    }
+
+    @Override
+    public ArrayParameter getNullableResult(ResultSet rs, String columnName) {
+        throw new UnsupportedOperationException(Messages.getString("ERROR.64")); //$NON-NLS-1$
+    }
+
+    @Override
+    public ArrayParameter getNullableResult(ResultSet rs, int columnIndex) {
+        throw new UnsupportedOperationException(Messages.getString("ERROR.64")); //$NON-NLS-1$
+    }
+
+    @Override
+    public ArrayParameter getNullableResult(CallableStatement cs, int columnIndex) {
+        throw new UnsupportedOperationException(Messages.getString("ERROR.64")); //$NON-NLS-1$
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.util.mybatis3;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.function.UnaryOperator;
+
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.dynamic.sql.BasicColumn;
+import org.mybatis.dynamic.sql.SqlBuilder;
+import org.mybatis.dynamic.sql.SqlTable;
+import org.mybatis.dynamic.sql.delete.DeleteDSLCompleter;
+import org.mybatis.dynamic.sql.delete.render.DeleteStatementProvider;
+import org.mybatis.dynamic.sql.insert.GeneralInsertDSL;
+import org.mybatis.dynamic.sql.insert.InsertDSL;
+import org.mybatis.dynamic.sql.insert.MultiRowInsertDSL;
+import org.mybatis.dynamic.sql.insert.render.GeneralInsertStatementProvider;
+import org.mybatis.dynamic.sql.insert.render.InsertStatementProvider;
+import org.mybatis.dynamic.sql.insert.render.MultiRowInsertStatementProvider;
+import org.mybatis.dynamic.sql.render.RenderingStrategies;
+import org.mybatis.dynamic.sql.select.CountDSL;
+import org.mybatis.dynamic.sql.select.CountDSLCompleter;
+import org.mybatis.dynamic.sql.select.QueryExpressionDSL;
+import org.mybatis.dynamic.sql.select.SelectDSLCompleter;
+import org.mybatis.dynamic.sql.select.SelectModel;
+import org.mybatis.dynamic.sql.select.render.SelectStatementProvider;
+import org.mybatis.dynamic.sql.update.UpdateDSLCompleter;
+import org.mybatis.dynamic.sql.update.render.UpdateStatementProvider;
+import org.mybatis.dynamic.sql.util.AsyncExecution;
+import org.mybatis.dynamic.sql.util.Page;
+
+/**
+ * Async variants of the mapper utility functions in {@link MyBatis3Utils}. Each method renders the statement on
+ * the calling thread, then executes the mapper method on the executor configured in the {@link AsyncExecution}
+ * and returns a {@link CompletableFuture}.
+ *
+ * <p>Mapper methods will be called from executor threads, so the mapper must be safe for use by multiple
+ * threads. Mappers obtained from MyBatis-Spring's <code>SqlSessionTemplate</code>, or from a MyBatis
+ * <code>SqlSessionManager</code> that is not managing a session on the calling thread, are thread safe. Mappers
+ * obtained from a plain <code>SqlSession</code> are not.
+ *
+ * @since 1.5.1
+ */
+public class AsyncMyBatis3Utils {
+    private final AsyncExecution asyncExecution;
+    private final Object dataSource;
+
+    /**
+     * Create an instance that limits concurrency for the DataSource configured in the session factory's
+     * environment.
+     *
+     * @param sqlSessionFactory the session factory used by the mappers
+     * @param asyncExecution the executor and concurrency configuration
+     */
+    public AsyncMyBatis3Utils(SqlSessionFactory sqlSessionFactory, AsyncExecution asyncExecution) {
+        this(asyncExecution, sqlSessionFactory.getConfiguration().getEnvironment().getDataSource());
+    }
+
+    /**
+     * Create an instance that limits concurrency with the supplied key.
+     *
+     * @param asyncExecution the executor and concurrency configuration
+     * @param dataSource the key for concurrency permits - typically the DataSource used by the mappers
+     */
+    public AsyncMyBatis3Utils(AsyncExecution asyncExecution, Object dataSource) {
+        this.asyncExecution = Objects.requireNonNull(asyncExecution);
+        this.dataSource = Objects.requireNonNull(dataSource);
+    }
+
+    public CompletableFuture<Long> count(ToLongFunction<SelectStatementProvider> mapper, BasicColumn column,
+            SqlTable table, CountDSLCompleter completer) {
+        SelectStatementProvider selectStatement = MyBatis3Utils.count(column, table, completer);
+        return asyncExecution.supplyAsync(dataSource, () -> mapper.applyAsLong(selectStatement));
+    }
+
+    public CompletableFuture<Long> countDistinct(ToLongFunction<SelectStatementProvider> mapper, BasicColumn column,
+            SqlTable table, CountDSLCompleter completer) {
+        SelectStatementProvider selectStatement = MyBatis3Utils.countDistinct(column, table, completer);
+        return asyncExecution.supplyAsync(dataSource, () -> mapper.applyAsLong(selectStatement));
+    }
+
+    public CompletableFuture<Long> countFrom(ToLongFunction<SelectStatementProvider> mapper,
+            SqlTable table, CountDSLCompleter completer) {
+        SelectStatementProvider selectStatement = MyBatis3Utils.countFrom(table, completer);
+        return asyncExecution.supplyAsync(dataSource, () -> mapper.applyAsLong(selectStatement));
+    }
+
+    public CompletableFuture<Long> countFrom(ToLongFunction<SelectStatementProvider> mapper,
+            CountDSL<SelectModel> start, CountDSLCompleter completer) {
+        SelectStatementProvider selectStatement = MyBatis3Utils.countFrom(start, completer);
+        return asyncExecution.supplyAsync(dataSource, () -> mapper.applyAsLong(selectStatement));
+    }
+
+    public CompletableFuture<Integer> deleteFrom(ToIntFunction<DeleteStatementProvider> mapper,
+            SqlTable table, DeleteDSLCompleter completer) {
+        DeleteStatementProvider deleteStatement = MyBatis3Utils.deleteFrom(table, completer);
+        return asyncExecution.supplyAsync(dataSource, () -> mapper.applyAsInt(deleteStatement));
+    }
+
+    public <R> CompletableFuture<Integer> insert(ToIntFunction<InsertStatementProvider<R>> mapper, R row,
+            SqlTable table, UnaryOperator<InsertDSL<R>> completer) {
+        InsertStatementProvider<R> insertStatement = MyBatis3Utils.insert(row, table, completer);
+        return asyncExecution.supplyAsync(dataSource, () -> mapper.applyAsInt(insertStatement));
+    }
+
+    public CompletableFuture<Integer> generalInsert(ToIntFunction<GeneralInsertStatementProvider> mapper,
+            SqlTable table, UnaryOperator<GeneralInsertDSL> completer) {
+        GeneralInsertStatementProvider insertStatement = MyBatis3Utils.generalInsert(table, completer);
+        return asyncExecution.supplyAsync(dataSource, () -> mapper.applyAsInt(insertStatement));
+    }
+
+    public <R> CompletableFuture<Integer> insertMultiple(ToIntFunction<MultiRowInsertStatementProvider<R>> mapper,
+            Collection<R> records, SqlTable table, UnaryOperator<MultiRowInsertDSL<R>> completer) {
+        MultiRowInsertStatementProvider<R> insertStatement = MyBatis3Utils.insertMultiple(records, table, completer);
+        return asyncExecution.supplyAsync(dataSource, () -> mapper.applyAsInt(insertStatement));
+    }
+
+    public <R> CompletableFuture<List<R>> selectDistinct(Function<SelectStatementProvider, List<R>> mapper,
+            BasicColumn[] selectList, SqlTable table, SelectDSLCompleter completer) {
+        return apply(mapper, MyBatis3Utils.selectDistinct(selectList, table, completer));
+    }
+
+    public <R> CompletableFuture<List<R>> selectList(Function<SelectStatementProvider, List<R>> mapper,
+            BasicColumn[] selectList, SqlTable table, SelectDSLCompleter completer) {
+        return apply(mapper, MyBatis3Utils.select(selectList, table, completer));
+    }
+
+    public <R> CompletableFuture<List<R>> selectList(Function<SelectStatementProvider, List<R>> mapper,
+            QueryExpressionDSL<SelectModel> start, SelectDSLCompleter completer) {
+        return apply(mapper, MyBatis3Utils.select(start, completer));
+    }
+
+    /**
+     * Execute a paged select statement and a count of all the rows it matches concurrently. The count statement
+     * is derived from the select with {@link SelectModel#toCountModel()}.
+     *
+     * @param mapper the mapper method for the select statement
+     * @param countMapper the mapper method for the count statement - typically a {@link CommonCountMapper} method
+     * @param selectList the columns to select
+     * @param table the table to select from
+     * @param completer a completer that adds the where clause, order by, and paging to the select statement
+     * @param <R> the type of row
+     * @return a future that completes with the page when both statements have executed
+     */
+    public <R> CompletableFuture<Page<R>> selectPage(Function<SelectStatementProvider, List<R>> mapper,
+            ToLongFunction<SelectStatementProvider> countMapper, BasicColumn[] selectList, SqlTable table,
+            SelectDSLCompleter completer) {
+        return selectPage(mapper, countMapper, SqlBuilder.select(selectList).from(table), completer);
+    }
+
+    public <R> CompletableFuture<Page<R>> selectPage(Function<SelectStatementProvider, List<R>> mapper,
+            ToLongFunction<SelectStatementProvider> countMapper, QueryExpressionDSL<SelectModel> start,
+            SelectDSLCompleter completer) {
+        SelectModel selectModel = completer.apply(start).build();
+        SelectStatementProvider selectStatement = selectModel.render(RenderingStrategies.MYBATIS3);
+        SelectStatementProvider countStatement = selectModel.toCountModel().render(RenderingStrategies.MYBATIS3);
+
+        CompletableFuture<List<R>> rows = apply(mapper, selectStatement);
+        CompletableFuture<Long> totalRows =
+                asyncExecution.supplyAsync(dataSource, () -> countMapper.applyAsLong(countStatement));
+        return rows.thenCombine(totalRows, (r, t) -> {
+            Page.Builder<R> builder = Page.withRows(r).withTotalRows(t);
+            selectModel.pagingModel().ifPresent(builder::withPagingModel);
+            return builder.build();
+        });
+    }
+
+    public <R> CompletableFuture<R> selectOne(Function<SelectStatementProvider, R> mapper,
+            BasicColumn[] selectList, SqlTable table, SelectDSLCompleter completer) {
+        return apply(mapper, MyBatis3Utils.select(selectList, table, completer));
+    }
+
+    public <R> CompletableFuture<R> selectOne(Function<SelectStatementProvider, R> mapper,
+            QueryExpressionDSL<SelectModel> start, SelectDSLCompleter completer) {
+        return apply(mapper, MyBatis3Utils.select(start, completer));
+    }
+
+    public CompletableFuture<Integer> update(ToIntFunction<UpdateStatementProvider> mapper,
+            SqlTable table, UpdateDSLCompleter completer) {
+        UpdateStatementProvider updateStatement = MyBatis3Utils.update(table, completer);
+        return asyncExecution.supplyAsync(dataSource, () -> mapper.applyAsInt(updateStatement));
+    }
+
+    private <R> CompletableFuture<R> apply(Function<SelectStatementProvider, R> mapper,
+            SelectStatementProvider selectStatement) {
+        return asyncExecution.supplyAsync(dataSource, () -> mapper.apply(selectStatement));
+    }
+}
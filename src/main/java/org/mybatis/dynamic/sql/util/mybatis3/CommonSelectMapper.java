@@ -22,24 +22,36 @@ import java.util.Optional;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.ResultType;
 import org.apache.ibatis.annotations.SelectProvider;
+import org.apache.ibatis.executor.result.DefaultResultContext;
+import org.apache.ibatis.session.ResultHandler;
 import org.mybatis.dynamic.sql.select.render.SelectStatementProvider;
+import org.mybatis.dynamic.sql.util.ColumnarResult;
+import org.mybatis.dynamic.sql.util.ColumnarResultReader;
+import org.mybatis.dynamic.sql.util.IndexedRowMapper;
+import org.mybatis.dynamic.sql.util.ResultSetReader;
 import org.mybatis.dynamic.sql.util.SqlProviderAdapter;
 
 /**
  * This is a general purpose MyBatis mapper for select statements. It allows you to execute select statements without
  * having to write a custom {@link org.apache.ibatis.annotations.ResultMap} for each statement.
  *
- * <p>This mapper contains three types of methods:
+ * <p>This mapper contains four types of methods:
  * <ul>
  *   <li>The selectOneMappedRow and selectManyMappedRows methods allow you to use select statements with
  *     any number of columns. MyBatis will process the rows and return a Map of values, or a List of Maps.</li>
  *   <li>The selectOne and selectMany methods also allow you to use select statements with any number of columns.
  *   These methods also allow you to specify a function that will transform a Map of row values into a specific
  *   object.</li>
+ *   <li>The selectMany methods that accept an {@link IndexedRowMapper} read values directly from the result set
+ *   by position in the select list - there is no intermediate Map of values. These methods require that the
+ *   {@link IndexedRowInterceptor} is configured in MyBatis.</li>
  *   <li>The other methods are for result sets with a single column. There are functions for many
  *   data types (Integer, Long, String, etc.) There are also functions that return a single value, and Optional value,
- *   or a List of values.</li>
+ *   or a List of values. For long, int, and double values there are also functions that return primitive arrays
+ *   (these functions also require the {@link IndexedRowInterceptor}).</li>
  * </ul>
  *
  * <p>This mapper can be injected as-is into a MyBatis configuration, or it can be extended with existing mappers.
@@ -113,6 +125,116 @@ public interface CommonSelectMapper {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Select any number of rows and map them with a row mapper that reads values by position in the select list.
+     * This method requires that the {@link IndexedRowInterceptor} is configured in MyBatis. Typically, this method
+     * is not called directly - use {@link CommonSelectMapper#selectMany(SelectStatementProvider, IndexedRowMapper)}
+     * instead.
+     *
+     * @param selectStatement the select statement, including the row mapper
+     * @param <R> the datatype of the converted object
+     * @return the List of converted objects
+     */
+    @SelectProvider(type = SqlProviderAdapter.class, method = "select")
+    @Options(useCache = false)
+    <R> List<R> selectManyIndexedRows(IndexedRowSelectStatementProvider<R> selectStatement);
+
+    /**
+     * Select any number of rows and pass them to a result handler after mapping them with a row mapper that reads
+     * values by position in the select list. Rows are not accumulated in a List, so this method is suitable for
+     * processing very large result sets. This method requires that the {@link IndexedRowInterceptor} is configured
+     * in MyBatis.
+     *
+     * @param selectStatement the select statement, including the row mapper
+     * @param resultHandler a result handler that will receive each converted row
+     * @param <R> the datatype of the converted object
+     */
+    @SelectProvider(type = SqlProviderAdapter.class, method = "select")
+    @Options(useCache = false)
+    @ResultType(Object.class)
+    <R> void selectIndexedRowsWithHandler(IndexedRowSelectStatementProvider<R> selectStatement,
+            ResultHandler<R> resultHandler);
+
+    /**
+     * Select any number of rows and convert each row with a row mapper that reads values by position in the
+     * select list. Unlike {@link CommonSelectMapper#selectMany(SelectStatementProvider, Function)}, no Map
+     * of row values is created. This method requires that the {@link IndexedRowInterceptor} is configured in
+     * MyBatis.
+     *
+     * @param selectStatement the select statement
+     * @param rowMapper a row mapper derived from the select list of the statement
+     * @param <R> the datatype of the converted object
+     * @return the List of converted objects
+     */
+    default <R> List<R> selectMany(SelectStatementProvider selectStatement, IndexedRowMapper<R> rowMapper) {
+        return selectManyIndexedRows(new IndexedRowSelectStatementProvider<>(selectStatement, rowMapper));
+    }
+
+    /**
+     * Select any number of rows, convert each row with a row mapper that reads values by position in the
+     * select list, and pass each converted row to a result handler. This method requires that the
+     * {@link IndexedRowInterceptor} is configured in MyBatis.
+     *
+     * @param selectStatement the select statement
+     * @param rowMapper a row mapper derived from the select list of the statement
+     * @param resultHandler a result handler that will receive each converted row
+     * @param <R> the datatype of the converted object
+     */
+    default <R> void selectMany(SelectStatementProvider selectStatement, IndexedRowMapper<R> rowMapper,
+            ResultHandler<R> resultHandler) {
+        selectIndexedRowsWithHandler(new IndexedRowSelectStatementProvider<>(selectStatement, rowMapper),
+                resultHandler);
+    }
+
+    /**
+     * Read an entire result set with a {@link ResultSetReader} and return the single object created by the reader.
+     * This method requires that the {@link IndexedRowInterceptor} is configured in MyBatis. Typically, this method
+     * is not called directly - use one of the primitive array methods instead.
+     *
+     * @param selectStatement the select statement, including the result set reader
+     * @param <R> the datatype of the object created by the reader
+     * @return the object created by the reader
+     */
+    @SelectProvider(type = SqlProviderAdapter.class, method = "select")
+    @Options(useCache = false)
+    <R> R selectWithResultSetReader(ResultSetReaderSelectStatementProvider<R> selectStatement);
+
+    /**
+     * Select any number of rows into a columnar result. Values are stored by column in primitive or object
+     * arrays, which is far more compact than a List of Maps for large result sets. This method requires that the
+     * {@link IndexedRowInterceptor} is configured in MyBatis.
+     *
+     * @param selectStatement the select statement
+     * @param resultReader a reader derived from the select list of the statement
+     * @return the columnar result
+     */
+    default ColumnarResult selectColumnar(SelectStatementProvider selectStatement,
+            ColumnarResultReader resultReader) {
+        return selectWithResultSetReader(new ResultSetReaderSelectStatementProvider<>(selectStatement, resultReader));
+    }
+
+    /**
+     * Select any number of rows into columnar results of at most batchSize rows, and pass each batch to a result
+     * handler as it is read. Only one batch is held in memory at a time. Reading stops early if the handler
+     * stops the result context. This method requires that the {@link IndexedRowInterceptor} is configured in
+     * MyBatis.
+     *
+     * @param selectStatement the select statement
+     * @param resultReader a reader derived from the select list of the statement
+     * @param batchSize the maximum number of rows in each batch
+     * @param resultHandler a result handler that will receive each batch
+     */
+    default void selectColumnar(SelectStatementProvider selectStatement, ColumnarResultReader resultReader,
+            int batchSize, ResultHandler<ColumnarResult> resultHandler) {
+        DefaultResultContext<ColumnarResult> resultContext = new DefaultResultContext<>();
+        ResultSetReader<Integer> batchReader = rs -> resultReader.read(rs, batchSize, batch -> {
+            resultContext.nextResultObject(batch);
+            resultHandler.handleResult(resultContext);
+            return !resultContext.isStopped();
+        });
+        selectWithResultSetReader(new ResultSetReaderSelectStatementProvider<>(selectStatement, batchReader));
+    }
+
     /**
      * Retrieve a single {@link java.math.BigDecimal} from a result set. The result set must have
      * only one column and one or zero rows. The column must be retrievable from the result set
@@ -183,6 +305,22 @@ public interface CommonSelectMapper {
     @SelectProvider(type = SqlProviderAdapter.class, method = "select")
     List<Double> selectManyDoubles(SelectStatementProvider selectStatement);
 
+    /**
+     * Retrieve an array of primitive double values from a result set. The result set must have
+     * only one column, but can have any number of rows. The column must be retrievable from the result set
+     * via the ResultSet.getDouble() method. Values are collected without boxing, so this method is suitable
+     * for very large result sets. Null values in the result set will be returned as zero.
+     *
+     * <p>This method requires that the {@link IndexedRowInterceptor} is configured in MyBatis.
+     *
+     * @param selectStatement the select statement
+     * @return the array of extracted values
+     */
+    default double[] selectDoubleArray(SelectStatementProvider selectStatement) {
+        return selectWithResultSetReader(
+                new ResultSetReaderSelectStatementProvider<>(selectStatement, ResultSetReader.doubleArray()));
+    }
+
     /**
      * Retrieve a single {@link java.lang.Integer} from a result set. The result set must have
      * only one column and one or zero rows. The column must be retrievable from the result set
@@ -218,6 +356,22 @@ public interface CommonSelectMapper {
     @SelectProvider(type = SqlProviderAdapter.class, method = "select")
     List<Integer> selectManyIntegers(SelectStatementProvider selectStatement);
 
+    /**
+     * Retrieve an array of primitive int values from a result set. The result set must have
+     * only one column, but can have any number of rows. The column must be retrievable from the result set
+     * via the ResultSet.getInt() method. Values are collected without boxing, so this method is suitable
+     * for very large result sets. Null values in the result set will be returned as zero.
+     *
+     * <p>This method requires that the {@link IndexedRowInterceptor} is configured in MyBatis.
+     *
+     * @param selectStatement the select statement
+     * @return the array of extracted values
+     */
+    default int[] selectIntArray(SelectStatementProvider selectStatement) {
+        return selectWithResultSetReader(
+                new ResultSetReaderSelectStatementProvider<>(selectStatement, ResultSetReader.intArray()));
+    }
+
     /**
      * Retrieve a single {@link java.lang.Long} from a result set. The result set must have
      * only one column and one or zero rows. The column must be retrievable from the result set
@@ -253,6 +407,22 @@ public interface CommonSelectMapper {
     @SelectProvider(type = SqlProviderAdapter.class, method = "select")
     List<Long> selectManyLongs(SelectStatementProvider selectStatement);
 
+    /**
+     * Retrieve an array of primitive long values from a result set. The result set must have
+     * only one column, but can have any number of rows. The column must be retrievable from the result set
+     * via the ResultSet.getLong() method. Values are collected without boxing, so this method is suitable
+     * for very large result sets. Null values in the result set will be returned as zero.
+     *
+     * <p>This method requires that the {@link IndexedRowInterceptor} is configured in MyBatis.
+     *
+     * @param selectStatement the select statement
+     * @return the array of extracted values
+     */
+    default long[] selectLongArray(SelectStatementProvider selectStatement) {
+        return selectWithResultSetReader(
+                new ResultSetReaderSelectStatementProvider<>(selectStatement, ResultSetReader.longArray()));
+    }
+
     /**
      * Retrieve a single {@link java.lang.String} from a result set. The result set must have
      * only one column and one or zero rows. The column must be retrievable from the result set
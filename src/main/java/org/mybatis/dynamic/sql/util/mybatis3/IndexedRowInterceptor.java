@@ -0,0 +1,191 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.util.mybatis3;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.result.DefaultResultContext;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.mybatis.dynamic.sql.util.IndexedRowMapper;
+import org.mybatis.dynamic.sql.util.ResultSetReader;
+
+/**
+ * MyBatis plugin that reads result sets directly for statements with an {@link IndexedRowSelectStatementProvider}
+ * or a {@link ResultSetReaderSelectStatementProvider}. For those statements, MyBatis result mapping is bypassed and
+ * the result set is read with the {@link IndexedRowMapper} or {@link ResultSetReader} carried by the provider.
+ * All other statements are processed normally.
+ *
+ * <p>The interceptor must be added to the MyBatis configuration in order to use the indexed row and primitive array
+ * methods in {@link CommonSelectMapper}:
+ *
+ * <pre>
+ * configuration.addInterceptor(new IndexedRowInterceptor());
+ * </pre>
+ *
+ * <p>The plugin also adds the row mapper or result set reader to the cache key of those statements, so results
+ * read with different mappers are cached separately by MyBatis.
+ *
+ * @since 1.5.1
+ * @author Jeff Butler
+ */
+@Intercepts({
+    @Signature(type = Executor.class, method = "query",
+            args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+    @Signature(type = Executor.class, method = "query",
+            args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class,
+                    BoundSql.class}),
+    @Signature(type = StatementHandler.class, method = "query", args = {Statement.class, ResultHandler.class})
+})
+public class IndexedRowInterceptor implements Interceptor {
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        if (invocation.getTarget() instanceof Executor) {
+            return executorQuery(invocation);
+        }
+
+        StatementHandler statementHandler = (StatementHandler) invocation.getTarget();
+        Object parameterObject = statementHandler.getParameterHandler().getParameterObject();
+        Statement statement = (Statement) invocation.getArgs()[0];
+        if (parameterObject instanceof IndexedRowSelectStatementProvider) {
+            ResultHandler<?> resultHandler = (ResultHandler<?>) invocation.getArgs()[1];
+            return query(statement, statementHandler, (IndexedRowSelectStatementProvider<?>) parameterObject,
+                    resultHandler);
+        } else if (parameterObject instanceof ResultSetReaderSelectStatementProvider) {
+            return query(statement, statementHandler, (ResultSetReaderSelectStatementProvider<?>) parameterObject);
+        }
+
+        return invocation.proceed();
+    }
+
+    /**
+     * Adds the row mapper or result set reader to the cache key. MyBatis calculates the key from the statement and
+     * its parameters only, so without this a result read with one mapper could be returned for another.
+     *
+     * @param invocation the executor query invocation
+     * @return the query result
+     * @throws Throwable if the query fails
+     */
+    private Object executorQuery(Invocation invocation) throws Throwable {
+        Object[] args = invocation.getArgs();
+        Object reader = resultReader(args[1]);
+        if (reader == null) {
+            return invocation.proceed();
+        }
+
+        if (args.length == 6) {
+            // the caller already calculated the key
+            ((CacheKey) args[4]).update(reader);
+            return invocation.proceed();
+        }
+
+        MappedStatement mappedStatement = (MappedStatement) args[0];
+        RowBounds rowBounds = (RowBounds) args[2];
+        ResultHandler<?> resultHandler = (ResultHandler<?>) args[3];
+        Executor executor = (Executor) invocation.getTarget();
+        BoundSql boundSql = mappedStatement.getBoundSql(args[1]);
+        CacheKey cacheKey = executor.createCacheKey(mappedStatement, args[1], rowBounds, boundSql);
+        cacheKey.update(reader);
+        return executor.query(mappedStatement, args[1], rowBounds, resultHandler, cacheKey, boundSql);
+    }
+
+    private Object resultReader(Object parameterObject) {
+        if (parameterObject instanceof IndexedRowSelectStatementProvider) {
+            return ((IndexedRowSelectStatementProvider<?>) parameterObject).getRowMapper();
+        } else if (parameterObject instanceof ResultSetReaderSelectStatementProvider) {
+            return ((ResultSetReaderSelectStatementProvider<?>) parameterObject).getResultSetReader();
+        } else {
+            return null;
+        }
+    }
+
+    private <R> List<R> query(Statement statement, StatementHandler statementHandler,
+            ResultSetReaderSelectStatementProvider<R> selectStatement) throws SQLException {
+        execute(statement, statementHandler);
+
+        try (ResultSet resultSet = statement.getResultSet()) {
+            if (resultSet == null) {
+                return Collections.emptyList();
+            }
+
+            ResultSetReader<R> resultSetReader = selectStatement.getResultSetReader();
+            return Collections.singletonList(resultSetReader.read(resultSet));
+        }
+    }
+
+    private <R> List<R> query(Statement statement, StatementHandler statementHandler,
+            IndexedRowSelectStatementProvider<R> selectStatement, ResultHandler<?> resultHandler)
+            throws SQLException {
+        execute(statement, statementHandler);
+
+        try (ResultSet resultSet = statement.getResultSet()) {
+            if (resultSet == null) {
+                return Collections.emptyList();
+            }
+
+            IndexedRowMapper<R> rowMapper = selectStatement.getRowMapper();
+            if (resultHandler == null) {
+                return readRows(resultSet, rowMapper);
+            } else {
+                @SuppressWarnings("unchecked")
+                ResultHandler<R> typedHandler = (ResultHandler<R>) resultHandler;
+                handleRows(resultSet, rowMapper, typedHandler);
+                return Collections.emptyList();
+            }
+        }
+    }
+
+    private void execute(Statement statement, StatementHandler statementHandler) throws SQLException {
+        if (statement instanceof PreparedStatement) {
+            ((PreparedStatement) statement).execute();
+        } else {
+            statement.execute(statementHandler.getBoundSql().getSql());
+        }
+    }
+
+    private <R> List<R> readRows(ResultSet resultSet, IndexedRowMapper<R> rowMapper) throws SQLException {
+        List<R> rows = new ArrayList<>();
+        while (resultSet.next()) {
+            rows.add(rowMapper.mapRow(resultSet));
+        }
+        return rows;
+    }
+
+    private <R> void handleRows(ResultSet resultSet, IndexedRowMapper<R> rowMapper, ResultHandler<R> resultHandler)
+            throws SQLException {
+        DefaultResultContext<R> resultContext = new DefaultResultContext<>();
+        while (!resultContext.isStopped() && resultSet.next()) {
+            resultContext.nextResultObject(rowMapper.mapRow(resultSet));
+            resultHandler.handleResult(resultContext);
+        }
+    }
+}
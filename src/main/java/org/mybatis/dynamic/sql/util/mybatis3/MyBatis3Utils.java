@@ -15,18 +15,25 @@
  */
 package org.mybatis.dynamic.sql.util.mybatis3;
 
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.function.ToIntBiFunction;
 import java.util.function.ToIntFunction;
 import java.util.function.ToLongFunction;
 import java.util.function.UnaryOperator;
 
+import org.apache.ibatis.executor.BatchResult;
 import org.mybatis.dynamic.sql.BasicColumn;
 import org.mybatis.dynamic.sql.SqlBuilder;
 import org.mybatis.dynamic.sql.SqlTable;
 import org.mybatis.dynamic.sql.delete.DeleteDSLCompleter;
+import org.mybatis.dynamic.sql.delete.render.BatchDelete;
 import org.mybatis.dynamic.sql.delete.render.DeleteStatementProvider;
 import org.mybatis.dynamic.sql.insert.GeneralInsertDSL;
 import org.mybatis.dynamic.sql.insert.InsertDSL;
@@ -35,6 +42,7 @@ import org.mybatis.dynamic.sql.insert.render.GeneralInsertStatementProvider;
 import org.mybatis.dynamic.sql.insert.render.InsertStatementProvider;
 import org.mybatis.dynamic.sql.insert.render.MultiRowInsertStatementProvider;
 import org.mybatis.dynamic.sql.render.RenderingStrategies;
+import org.mybatis.dynamic.sql.render.StatementMetadata;
 import org.mybatis.dynamic.sql.select.CountDSL;
 import org.mybatis.dynamic.sql.select.CountDSLCompleter;
 import org.mybatis.dynamic.sql.select.QueryExpressionDSL;
@@ -42,7 +50,14 @@ import org.mybatis.dynamic.sql.select.SelectDSLCompleter;
 import org.mybatis.dynamic.sql.select.SelectModel;
 import org.mybatis.dynamic.sql.select.render.SelectStatementProvider;
 import org.mybatis.dynamic.sql.update.UpdateDSLCompleter;
+import org.mybatis.dynamic.sql.update.render.BatchUpdate;
+import org.mybatis.dynamic.sql.update.render.MultiRowUpdate;
 import org.mybatis.dynamic.sql.update.render.UpdateStatementProvider;
+import org.mybatis.dynamic.sql.util.ColumnarResult;
+import org.mybatis.dynamic.sql.util.ColumnarResultReader;
+import org.mybatis.dynamic.sql.util.QueryResultCache;
+import org.mybatis.dynamic.sql.util.StatementMetrics;
+import org.mybatis.dynamic.sql.util.Utilities;
 
 /**
  * Utility functions for building MyBatis3 mappers.
@@ -102,6 +117,69 @@ public class MyBatis3Utils {
         return mapper.applyAsInt(deleteFrom(table, completer));
     }
 
+    /**
+     * Execute a batch delete in chunks. This method must be used with a mapper from a session opened with
+     * <code>ExecutorType.BATCH</code>. Statements for each chunk are queued with the mapper method, then the
+     * flusher is called to send the chunk to the database.
+     *
+     * @param mapper a mapper method that accepts a DeleteStatementProvider
+     * @param flusher typically <code>SqlSession::flushStatements</code>, or a mapper method annotated with
+     *     <code>@Flush</code>
+     * @param batchDelete the rendered batch delete
+     * @param chunkSize the maximum number of statements in each JDBC batch
+     * @param <T> the type of record
+     * @return the update counts for each chunk
+     */
+    public static <T> int[][] deleteBatch(ToIntFunction<DeleteStatementProvider> mapper,
+            Supplier<List<BatchResult>> flusher, BatchDelete<T> batchDelete, int chunkSize) {
+        return executeInChunks(batchDelete.deleteStatements(), mapper, flusher, chunkSize);
+    }
+
+    /**
+     * Execute a batch update in chunks. This method must be used with a mapper from a session opened with
+     * <code>ExecutorType.BATCH</code>. Statements for each chunk are queued with the mapper method, then the
+     * flusher is called to send the chunk to the database.
+     *
+     * @param mapper a mapper method that accepts an UpdateStatementProvider
+     * @param flusher typically <code>SqlSession::flushStatements</code>, or a mapper method annotated with
+     *     <code>@Flush</code>
+     * @param batchUpdate the rendered batch update
+     * @param chunkSize the maximum number of statements in each JDBC batch
+     * @param <T> the type of record
+     * @return the update counts for each chunk
+     */
+    public static <T> int[][] updateBatch(ToIntFunction<UpdateStatementProvider> mapper,
+            Supplier<List<BatchResult>> flusher, BatchUpdate<T> batchUpdate, int chunkSize) {
+        return executeInChunks(batchUpdate.updateStatements(), mapper, flusher, chunkSize);
+    }
+
+    /**
+     * Execute every statement of a multi-row update.
+     *
+     * @param mapper a mapper method that accepts an UpdateStatementProvider
+     * @param multiRowUpdate the rendered multi-row update
+     * @param <T> the type of record
+     * @return the total number of rows updated
+     */
+    public static <T> int updateMultiple(ToIntFunction<UpdateStatementProvider> mapper,
+            MultiRowUpdate<T> multiRowUpdate) {
+        return multiRowUpdate.updateStatements().stream()
+                .mapToInt(mapper::applyAsInt)
+                .sum();
+    }
+
+    private static <S> int[][] executeInChunks(List<? extends S> statements, ToIntFunction<S> mapper,
+            Supplier<List<BatchResult>> flusher, int chunkSize) {
+        return Utilities.chunk(statements, chunkSize).stream()
+                .map(chunk -> {
+                    chunk.forEach(mapper::applyAsInt);
+                    return flusher.get().stream()
+                            .flatMapToInt(br -> Arrays.stream(br.getUpdateCounts()))
+                            .toArray();
+                })
+                .toArray(int[][]::new);
+    }
+
     public static <R> InsertStatementProvider<R> insert(R row, SqlTable table,
             UnaryOperator<InsertDSL<R>> completer) {
         return completer.apply(SqlBuilder.insert(row).into(table))
@@ -156,6 +234,49 @@ public class MyBatis3Utils {
                 .render(RenderingStrategies.MYBATIS3);
     }
 
+    public static long[] selectLongArray(Function<SelectStatementProvider, long[]> mapper, BasicColumn column,
+            SqlTable table, SelectDSLCompleter completer) {
+        return mapper.apply(select(BasicColumn.columnList(column), table, completer));
+    }
+
+    public static long[] selectLongArray(Function<SelectStatementProvider, long[]> mapper,
+            QueryExpressionDSL<SelectModel> start, SelectDSLCompleter completer) {
+        return mapper.apply(select(start, completer));
+    }
+
+    public static int[] selectIntArray(Function<SelectStatementProvider, int[]> mapper, BasicColumn column,
+            SqlTable table, SelectDSLCompleter completer) {
+        return mapper.apply(select(BasicColumn.columnList(column), table, completer));
+    }
+
+    public static int[] selectIntArray(Function<SelectStatementProvider, int[]> mapper,
+            QueryExpressionDSL<SelectModel> start, SelectDSLCompleter completer) {
+        return mapper.apply(select(start, completer));
+    }
+
+    public static double[] selectDoubleArray(Function<SelectStatementProvider, double[]> mapper, BasicColumn column,
+            SqlTable table, SelectDSLCompleter completer) {
+        return mapper.apply(select(BasicColumn.columnList(column), table, completer));
+    }
+
+    public static double[] selectDoubleArray(Function<SelectStatementProvider, double[]> mapper,
+            QueryExpressionDSL<SelectModel> start, SelectDSLCompleter completer) {
+        return mapper.apply(select(start, completer));
+    }
+
+    public static ColumnarResult selectColumnar(
+            BiFunction<SelectStatementProvider, ColumnarResultReader, ColumnarResult> mapper,
+            BasicColumn[] selectList, SqlTable table, SelectDSLCompleter completer) {
+        return selectColumnar(mapper, SqlBuilder.select(selectList).from(table), completer);
+    }
+
+    public static ColumnarResult selectColumnar(
+            BiFunction<SelectStatementProvider, ColumnarResultReader, ColumnarResult> mapper,
+            QueryExpressionDSL<SelectModel> start, SelectDSLCompleter completer) {
+        SelectModel selectModel = completer.apply(start).build();
+        return mapper.apply(selectModel.render(RenderingStrategies.MYBATIS3), ColumnarResultReader.of(selectModel));
+    }
+
     public static SelectStatementProvider selectDistinct(BasicColumn[] selectList, SqlTable table,
             SelectDSLCompleter completer) {
         return select(SqlBuilder.selectDistinct(selectList).from(table), completer);
@@ -196,4 +317,198 @@ public class MyBatis3Utils {
             SqlTable table, UpdateDSLCompleter completer) {
         return mapper.applyAsInt(update(table, completer));
     }
+
+    /**
+     * Wrap a mapper select method so that results are read through a cache. Use this with any of the select utility
+     * methods - for example
+     * <code>selectList(cachedSelect(cache, "PersonMapper.selectMany", this::selectMany), selectList, table,
+     * completer)</code>.
+     *
+     * <p>Cached results are shared between callers. Lists are cached as unmodifiable lists, and every caller gets a
+     * copy of a cached array.
+     *
+     * @param cache the cache for select results
+     * @param resultType identifies the type of result returned by the mapper method - for example, a constant
+     *     naming the mapper method. Results are only shared between callers with equal result types, so mapper
+     *     methods that map the same statement to different results (a select one and a select many method, for
+     *     example) must use different values.
+     * @param mapper the mapper select method
+     * @param <R> the type of result
+     * @return a function that reads results through the cache
+     * @since 1.5.1
+     */
+    public static <R> Function<SelectStatementProvider, R> cachedSelect(QueryResultCache cache, Object resultType,
+            Function<SelectStatementProvider, R> mapper) {
+        Objects.requireNonNull(resultType);
+        return selectStatement -> copyArray(cache.computeIfAbsent(selectStatement, resultType,
+                () -> unmodifiableList(mapper.apply(selectStatement))));
+    }
+
+    /**
+     * Wrap a mapper count method so that results are read through a cache. Count results are shared with every
+     * other cached count of the same statement.
+     *
+     * @param cache the cache for select results
+     * @param mapper the mapper count method
+     * @return a function that reads results through the cache
+     * @since 1.5.1
+     */
+    public static ToLongFunction<SelectStatementProvider> cachedCount(QueryResultCache cache,
+            ToLongFunction<SelectStatementProvider> mapper) {
+        return selectStatement -> cache.computeIfAbsent(selectStatement, Long.class,
+                () -> mapper.applyAsLong(selectStatement));
+    }
+
+    /**
+     * Wrap a mapper delete method so that cached results read from the table are discarded when it executes.
+     *
+     * @param cache the cache for select results
+     * @param mapper the mapper delete method
+     * @return a function that executes the statement and then records the write
+     * @since 1.5.1
+     */
+    public static ToIntFunction<DeleteStatementProvider> invalidatingDelete(QueryResultCache cache,
+            ToIntFunction<DeleteStatementProvider> mapper) {
+        return deleteStatement -> recordWrite(cache, mapper.applyAsInt(deleteStatement),
+                deleteStatement.getStatementMetadata());
+    }
+
+    public static ToIntFunction<GeneralInsertStatementProvider> invalidatingGeneralInsert(QueryResultCache cache,
+            ToIntFunction<GeneralInsertStatementProvider> mapper) {
+        return insertStatement -> recordWrite(cache, mapper.applyAsInt(insertStatement),
+                insertStatement.getStatementMetadata());
+    }
+
+    public static <R> ToIntFunction<InsertStatementProvider<R>> invalidatingInsert(QueryResultCache cache,
+            ToIntFunction<InsertStatementProvider<R>> mapper) {
+        return insertStatement -> recordWrite(cache, mapper.applyAsInt(insertStatement),
+                insertStatement.getStatementMetadata());
+    }
+
+    public static <R> ToIntFunction<MultiRowInsertStatementProvider<R>> invalidatingInsertMultiple(
+            QueryResultCache cache, ToIntFunction<MultiRowInsertStatementProvider<R>> mapper) {
+        return insertStatement -> recordWrite(cache, mapper.applyAsInt(insertStatement),
+                insertStatement.getStatementMetadata());
+    }
+
+    public static ToIntFunction<UpdateStatementProvider> invalidatingUpdate(QueryResultCache cache,
+            ToIntFunction<UpdateStatementProvider> mapper) {
+        return updateStatement -> recordWrite(cache, mapper.applyAsInt(updateStatement),
+                updateStatement.getStatementMetadata());
+    }
+
+    /**
+     * Wrap a mapper select method so that every execution is reported to the metrics. Use this with any of the
+     * select utility methods - for example
+     * <code>selectList(measuredSelect(metrics, this::selectMany), selectList, table, completer)</code>. The number
+     * of rows is calculated with {@link StatementMetrics#rowsOf(Object)}.
+     *
+     * <p>Measured methods may be combined with cached methods. Wrap the cached method to measure every call, or
+     * wrap the mapper method inside the cached method to measure only the statements that are executed.
+     *
+     * @param metrics the metrics
+     * @param mapper the mapper select method
+     * @param <R> the type of result
+     * @return a function that executes the statement and reports the execution
+     * @since 1.5.1
+     */
+    public static <R> Function<SelectStatementProvider, R> measuredSelect(StatementMetrics metrics,
+            Function<SelectStatementProvider, R> mapper) {
+        return selectStatement -> metrics.measure(selectStatement.getSelectStatement(),
+                selectStatement.getFingerprint(), selectStatement.getStatementMetadata(),
+                () -> mapper.apply(selectStatement), StatementMetrics::rowsOf);
+    }
+
+    /**
+     * Wrap a mapper count method so that every execution is reported to the metrics. A count statement returns a
+     * single row.
+     *
+     * @param metrics the metrics
+     * @param mapper the mapper count method
+     * @return a function that executes the statement and reports the execution
+     * @since 1.5.1
+     */
+    public static ToLongFunction<SelectStatementProvider> measuredCount(StatementMetrics metrics,
+            ToLongFunction<SelectStatementProvider> mapper) {
+        return selectStatement -> metrics.measure(selectStatement.getSelectStatement(),
+                selectStatement.getFingerprint(), selectStatement.getStatementMetadata(),
+                () -> mapper.applyAsLong(selectStatement), r -> 1);
+    }
+
+    /**
+     * Wrap a mapper delete method so that every execution, and the number of rows deleted, is reported to the
+     * metrics.
+     *
+     * @param metrics the metrics
+     * @param mapper the mapper delete method
+     * @return a function that executes the statement and reports the execution
+     * @since 1.5.1
+     */
+    public static ToIntFunction<DeleteStatementProvider> measuredDelete(StatementMetrics metrics,
+            ToIntFunction<DeleteStatementProvider> mapper) {
+        return deleteStatement -> measure(metrics, deleteStatement.getDeleteStatement(),
+                deleteStatement.getFingerprint(), deleteStatement.getStatementMetadata(),
+                () -> mapper.applyAsInt(deleteStatement));
+    }
+
+    public static ToIntFunction<GeneralInsertStatementProvider> measuredGeneralInsert(StatementMetrics metrics,
+            ToIntFunction<GeneralInsertStatementProvider> mapper) {
+        return insertStatement -> measure(metrics, insertStatement.getInsertStatement(),
+                insertStatement.getFingerprint(), insertStatement.getStatementMetadata(),
+                () -> mapper.applyAsInt(insertStatement));
+    }
+
+    public static <R> ToIntFunction<InsertStatementProvider<R>> measuredInsert(StatementMetrics metrics,
+            ToIntFunction<InsertStatementProvider<R>> mapper) {
+        return insertStatement -> measure(metrics, insertStatement.getInsertStatement(),
+                insertStatement.getFingerprint(), insertStatement.getStatementMetadata(),
+                () -> mapper.applyAsInt(insertStatement));
+    }
+
+    public static <R> ToIntFunction<MultiRowInsertStatementProvider<R>> measuredInsertMultiple(
+            StatementMetrics metrics, ToIntFunction<MultiRowInsertStatementProvider<R>> mapper) {
+        return insertStatement -> measure(metrics, insertStatement.getInsertStatement(),
+                insertStatement.getFingerprint(), insertStatement.getStatementMetadata(),
+                () -> mapper.applyAsInt(insertStatement));
+    }
+
+    public static ToIntFunction<UpdateStatementProvider> measuredUpdate(StatementMetrics metrics,
+            ToIntFunction<UpdateStatementProvider> mapper) {
+        return updateStatement -> measure(metrics, updateStatement.getUpdateStatement(),
+                updateStatement.getFingerprint(), updateStatement.getStatementMetadata(),
+                () -> mapper.applyAsInt(updateStatement));
+    }
+
+    private static int measure(StatementMetrics metrics, String statement, long fingerprint,
+            StatementMetadata statementMetadata, Supplier<Integer> execution) {
+        return metrics.measure(statement, fingerprint, statementMetadata, execution, Integer::longValue);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <R> R unmodifiableList(R result) {
+        if (result instanceof List) {
+            return (R) Collections.unmodifiableList((List<?>) result);
+        }
+        return result;
+    }
+
+    // arrays are mutable, so every caller gets a copy of a cached array
+    @SuppressWarnings("unchecked")
+    private static <R> R copyArray(R result) {
+        if (result instanceof long[]) {
+            return (R) ((long[]) result).clone();
+        } else if (result instanceof int[]) {
+            return (R) ((int[]) result).clone();
+        } else if (result instanceof double[]) {
+            return (R) ((double[]) result).clone();
+        } else if (result instanceof Object[]) {
+            return (R) ((Object[]) result).clone();
+        }
+        return result;
+    }
+
+    private static int recordWrite(QueryResultCache cache, int rows, StatementMetadata statementMetadata) {
+        cache.recordWrite(statementMetadata);
+        return rows;
+    }
 }
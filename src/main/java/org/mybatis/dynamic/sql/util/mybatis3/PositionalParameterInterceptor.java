@@ -0,0 +1,399 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.util.mybatis3;
+
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.ParameterMode;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.ObjectTypeHandler;
+import org.apache.ibatis.type.TypeException;
+import org.apache.ibatis.type.TypeHandler;
+import org.apache.ibatis.type.TypeHandlerRegistry;
+import org.apache.ibatis.type.UnknownTypeHandler;
+import org.mybatis.dynamic.sql.delete.render.DeleteStatementProvider;
+import org.mybatis.dynamic.sql.insert.render.GeneralInsertStatementProvider;
+import org.mybatis.dynamic.sql.insert.render.InsertSelectStatementProvider;
+import org.mybatis.dynamic.sql.render.RenderingStrategy;
+import org.mybatis.dynamic.sql.select.render.SelectStatementProvider;
+import org.mybatis.dynamic.sql.update.render.UpdateStatementProvider;
+
+/**
+ * MyBatis plugin that binds the parameters of statement providers positionally, without resolving each parameter
+ * marker as a property path on the provider.
+ *
+ * <p>MyBatis normally binds a marker like <code>#{parameters.p1}</code> by reflectively reading the
+ * <code>parameters</code> property of the provider and then looking up <code>p1</code> in the map. This plugin reads
+ * the parameter map, orders the values by parameter number, and binds each marker with the type handler MyBatis
+ * resolved when the statement was parsed. For select statements rendered with
+ * {@link org.mybatis.dynamic.sql.render.RenderingStrategies#MYBATIS3_POSITIONAL}, the plugin also calculates the
+ * local cache key from the ordered values, because MyBatis would otherwise read every parameter reflectively. The
+ * values calculated for the cache key are reused when the statement is parameterized, so the parameter map is read
+ * once per execution.
+ *
+ * <p>Markers without a Java type or type handler are parsed with MyBatis' <code>UnknownTypeHandler</code>, which
+ * looks up a type handler for every value it sets. The plugin resolves those type handlers itself when the statement
+ * is executed through a mapper, and reuses a resolved type handler for following markers with the same Java type
+ * and JDBC type (for example, the values of an "in" condition).
+ *
+ * <p>Markers rendered by both {@link org.mybatis.dynamic.sql.render.RenderingStrategies#MYBATIS3} and
+ * {@link org.mybatis.dynamic.sql.render.RenderingStrategies#MYBATIS3_POSITIONAL} are supported. Statements rendered
+ * with the positional strategy require this plugin.
+ *
+ * <p>The plugin handles select, update, delete, general insert, and insert select statement providers. If any
+ * marker in a statement does not refer to a generated parameter (for example, record based inserts), the statement
+ * is bound normally by MyBatis.
+ *
+ * <pre>
+ * configuration.addInterceptor(new PositionalParameterInterceptor());
+ * </pre>
+ *
+ * @since 1.5.1
+ */
+@Intercepts({
+    @Signature(type = Executor.class, method = "query",
+            args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+    @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}),
+    @Signature(type = StatementHandler.class, method = "parameterize", args = {Statement.class})
+})
+public class PositionalParameterInterceptor implements Interceptor {
+    private static final String PREFIXED_PARAMETER = RenderingStrategy.DEFAULT_PARAMETER_PREFIX + "."; //$NON-NLS-1$
+
+    private static final TypeHandler<Object> OBJECT_TYPE_HANDLER = new ObjectTypeHandler();
+
+    private final JdbcType jdbcTypeForNull;
+    private final ThreadLocal<Execution> executions = new ThreadLocal<>();
+
+    public PositionalParameterInterceptor() {
+        this(JdbcType.OTHER);
+    }
+
+    /**
+     * Creates the plugin with the JDBC type used for null parameters that have no JDBC type. This should match the
+     * <code>jdbcTypeForNull</code> setting of the MyBatis configuration.
+     *
+     * @param jdbcTypeForNull the JDBC type for null parameters
+     */
+    public PositionalParameterInterceptor(JdbcType jdbcTypeForNull) {
+        this.jdbcTypeForNull = Objects.requireNonNull(jdbcTypeForNull);
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        if (!(invocation.getTarget() instanceof Executor)) {
+            return parameterize(invocation);
+        } else if (invocation.getArgs().length == 2) {
+            return update(invocation);
+        } else {
+            return query(invocation);
+        }
+    }
+
+    private Object update(Invocation invocation) throws Throwable {
+        MappedStatement mappedStatement = (MappedStatement) invocation.getArgs()[0];
+        Object parameterObject = invocation.getArgs()[1];
+        if (!isStatementProvider(parameterObject)) {
+            return invocation.proceed();
+        }
+
+        return proceed(invocation::proceed, new Execution(parameterObject, mappedStatement, null, null));
+    }
+
+    private Object query(Invocation invocation) throws Throwable {
+        MappedStatement mappedStatement = (MappedStatement) invocation.getArgs()[0];
+        Object parameterObject = invocation.getArgs()[1];
+        RowBounds rowBounds = (RowBounds) invocation.getArgs()[2];
+        ResultHandler<?> resultHandler = (ResultHandler<?>) invocation.getArgs()[3];
+
+        if (!isStatementProvider(parameterObject)) {
+            return invocation.proceed();
+        }
+
+        // check the statement before building the bound SQL so other statements are not rendered twice
+        if (!isRenderedPositionally(parameterObject)) {
+            return proceed(invocation::proceed, new Execution(parameterObject, mappedStatement, null, null));
+        }
+
+        BoundSql boundSql = mappedStatement.getBoundSql(parameterObject);
+        Object[] values = markerValues(parameterObject, boundSql.getParameterMappings());
+        if (values == null) {
+            return proceed(invocation::proceed, new Execution(parameterObject, mappedStatement, null, null));
+        }
+
+        // MyBatis would read every parameter reflectively to calculate the cache key, so calculate it here
+        CacheKey cacheKey = new CacheKey();
+        cacheKey.update(mappedStatement.getId());
+        cacheKey.update(rowBounds.getOffset());
+        cacheKey.update(rowBounds.getLimit());
+        cacheKey.update(boundSql.getSql());
+        for (Object value : values) {
+            cacheKey.update(value);
+        }
+        Environment environment = mappedStatement.getConfiguration().getEnvironment();
+        if (environment != null) {
+            cacheKey.update(environment.getId());
+        }
+
+        Executor executor = (Executor) invocation.getTarget();
+        return proceed(() -> executor.query(mappedStatement, parameterObject, rowBounds, resultHandler, cacheKey,
+                boundSql), new Execution(parameterObject, mappedStatement, boundSql.getParameterMappings(), values));
+    }
+
+    /**
+     * Runs an executor call with the execution available to {@link #parameterize(Invocation)}. Executions are
+     * nested when a statement runs other statements (for example, nested selects), so the outer execution is
+     * restored afterwards.
+     */
+    private Object proceed(ExecutorCall executorCall, Execution execution) throws Throwable {
+        Execution outerExecution = executions.get();
+        executions.set(execution);
+        try {
+            return executorCall.proceed();
+        } finally {
+            if (outerExecution == null) {
+                executions.remove();
+            } else {
+                executions.set(outerExecution);
+            }
+        }
+    }
+
+    /**
+     * Determines whether a parameter object is a select statement rendered with
+     * {@link org.mybatis.dynamic.sql.render.MyBatis3PositionalRenderingStrategy}. None of the parameter markers in
+     * those statements are prefixed with the parameter map property.
+     *
+     * @param parameterObject the parameter object of the statement
+     * @return true if the statement was rendered with the positional strategy
+     */
+    private boolean isRenderedPositionally(Object parameterObject) {
+        return parameterObject instanceof SelectStatementProvider
+                && !((SelectStatementProvider) parameterObject).getSelectStatement()
+                        .contains("#{" + PREFIXED_PARAMETER); //$NON-NLS-1$
+    }
+
+    private Object parameterize(Invocation invocation) throws Throwable {
+        Statement statement = (Statement) invocation.getArgs()[0];
+        if (!(statement instanceof PreparedStatement) || statement instanceof CallableStatement) {
+            return invocation.proceed();
+        }
+
+        StatementHandler statementHandler = (StatementHandler) invocation.getTarget();
+        Object parameterObject = statementHandler.getParameterHandler().getParameterObject();
+        List<ParameterMapping> parameterMappings = statementHandler.getBoundSql().getParameterMappings();
+
+        Execution execution = executions.get();
+        if (execution != null && execution.parameterObject != parameterObject) {
+            // the statement was run by an executor method this plugin does not intercept, for example a cursor
+            execution = null;
+        }
+
+        Object[] values = execution != null && execution.parameterMappings == parameterMappings
+                ? execution.values : markerValues(parameterObject, parameterMappings);
+        if (values == null) {
+            return invocation.proceed();
+        }
+
+        bind((PreparedStatement) statement, parameterMappings, values,
+                execution == null ? null : execution.typeHandlerRegistry);
+        return null;
+    }
+
+    /**
+     * Calculates the value for each parameter marker in a statement.
+     *
+     * @param parameterObject the parameter object of the statement
+     * @param parameterMappings the parameter markers parsed by MyBatis
+     * @return the values in marker order, or null if the markers cannot be bound positionally
+     */
+    private Object[] markerValues(Object parameterObject, List<ParameterMapping> parameterMappings) {
+        Map<String, Object> parameters = parameterMap(parameterObject);
+        if (parameters == null || parameterMappings.isEmpty()) {
+            return null;
+        }
+
+        Object[] orderedValues = orderedValues(parameters);
+        Object[] values = new Object[parameterMappings.size()];
+        for (int i = 0; i < values.length; i++) {
+            ParameterMapping parameterMapping = parameterMappings.get(i);
+            int position = parameterMapping.getMode() == ParameterMode.IN
+                    ? parameterPosition(parameterMapping.getProperty()) : -1;
+            if (position < 0 || position >= orderedValues.length) {
+                return null;
+            }
+            values[i] = orderedValues[position];
+        }
+        return values;
+    }
+
+    private Map<String, Object> parameterMap(Object parameterObject) {
+        if (parameterObject instanceof SelectStatementProvider) {
+            return ((SelectStatementProvider) parameterObject).getParameters();
+        } else if (parameterObject instanceof UpdateStatementProvider) {
+            return ((UpdateStatementProvider) parameterObject).getParameters();
+        } else if (parameterObject instanceof DeleteStatementProvider) {
+            return ((DeleteStatementProvider) parameterObject).getParameters();
+        } else if (parameterObject instanceof GeneralInsertStatementProvider) {
+            return ((GeneralInsertStatementProvider) parameterObject).getParameters();
+        } else if (parameterObject instanceof InsertSelectStatementProvider) {
+            return ((InsertSelectStatementProvider) parameterObject).getParameters();
+        } else {
+            return null;
+        }
+    }
+
+    private int parameterPosition(String property) {
+        String parameterName = property.startsWith(PREFIXED_PARAMETER)
+                ? property.substring(PREFIXED_PARAMETER.length()) : property;
+        return parameterNumber(parameterName) - 1;
+    }
+
+    /**
+     * Returns the number of a parameter generated by
+     * {@link RenderingStrategy#formatParameterMapKey(java.util.concurrent.atomic.AtomicInteger)}.
+     *
+     * @param parameterName a parameter name like "p1"
+     * @return the parameter number, or zero if the name is not a generated parameter name
+     */
+    private int parameterNumber(String parameterName) {
+        if (parameterName.length() < 2 || parameterName.charAt(0) != 'p') {
+            return 0;
+        }
+
+        int number = 0;
+        for (int i = 1; i < parameterName.length(); i++) {
+            char c = parameterName.charAt(i);
+            if (c < '0' || c > '9') {
+                return 0;
+            }
+            number = number * 10 + c - '0';
+        }
+        return number;
+    }
+
+    private boolean isStatementProvider(Object parameterObject) {
+        return parameterObject instanceof SelectStatementProvider
+                || parameterObject instanceof UpdateStatementProvider
+                || parameterObject instanceof DeleteStatementProvider
+                || parameterObject instanceof GeneralInsertStatementProvider
+                || parameterObject instanceof InsertSelectStatementProvider;
+    }
+
+    private Object[] orderedValues(Map<String, Object> parameters) {
+        // generated parameters are numbered from one, so the map size is normally the highest number
+        Object[] values = new Object[parameters.size()];
+        for (Map.Entry<String, Object> entry : parameters.entrySet()) {
+            int number = parameterNumber(entry.getKey());
+            if (number > values.length) {
+                values = Arrays.copyOf(values, number);
+            }
+            if (number > 0) {
+                values[number - 1] = entry.getValue();
+            }
+        }
+        return values;
+    }
+
+    private void bind(PreparedStatement ps, List<ParameterMapping> parameterMappings, Object[] values,
+            TypeHandlerRegistry typeHandlerRegistry) {
+        Class<?> resolvedJavaType = null;
+        JdbcType resolvedJdbcType = null;
+        TypeHandler<Object> resolvedTypeHandler = null;
+
+        for (int i = 0; i < values.length; i++) {
+            ParameterMapping parameterMapping = parameterMappings.get(i);
+            Object value = values[i];
+            JdbcType jdbcType = parameterMapping.getJdbcType();
+            if (value == null && jdbcType == null) {
+                jdbcType = jdbcTypeForNull;
+            }
+
+            @SuppressWarnings("unchecked")
+            TypeHandler<Object> typeHandler = (TypeHandler<Object>) parameterMapping.getTypeHandler();
+            if (value != null && typeHandler instanceof UnknownTypeHandler && typeHandlerRegistry != null) {
+                if (value.getClass() != resolvedJavaType || jdbcType != resolvedJdbcType) {
+                    resolvedJavaType = value.getClass();
+                    resolvedJdbcType = jdbcType;
+                    resolvedTypeHandler = resolveTypeHandler(typeHandlerRegistry, resolvedJavaType, jdbcType);
+                }
+                typeHandler = resolvedTypeHandler;
+            }
+
+            try {
+                typeHandler.setParameter(ps, i + 1, value, jdbcType);
+            } catch (TypeException | SQLException e) {
+                throw new TypeException("Could not set parameters for mapping: " + parameterMapping //$NON-NLS-1$
+                        + ". Cause: " + e, e); //$NON-NLS-1$
+            }
+        }
+    }
+
+    /**
+     * Resolves a type handler the same way as MyBatis' <code>UnknownTypeHandler</code>.
+     */
+    @SuppressWarnings("unchecked")
+    private TypeHandler<Object> resolveTypeHandler(TypeHandlerRegistry typeHandlerRegistry, Class<?> javaType,
+            JdbcType jdbcType) {
+        TypeHandler<?> typeHandler = typeHandlerRegistry.getTypeHandler(javaType, jdbcType);
+        if (typeHandler == null || typeHandler instanceof UnknownTypeHandler) {
+            return OBJECT_TYPE_HANDLER;
+        }
+        return (TypeHandler<Object>) typeHandler;
+    }
+
+    @FunctionalInterface
+    private interface ExecutorCall {
+        Object proceed() throws Throwable;
+    }
+
+    /**
+     * The state of a statement executed through a mapper, shared with {@link #parameterize(Invocation)}.
+     */
+    private static class Execution {
+        private final Object parameterObject;
+        private final TypeHandlerRegistry typeHandlerRegistry;
+        private final List<ParameterMapping> parameterMappings;
+        private final Object[] values;
+
+        private Execution(Object parameterObject, MappedStatement mappedStatement,
+                List<ParameterMapping> parameterMappings, Object[] values) {
+            this.parameterObject = parameterObject;
+            this.typeHandlerRegistry = mappedStatement.getConfiguration().getTypeHandlerRegistry();
+            this.parameterMappings = parameterMappings;
+            this.values = values;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.util.mybatis3;
+
+import java.util.Map;
+import java.util.Objects;
+
+import org.mybatis.dynamic.sql.render.StatementMetadata;
+import org.mybatis.dynamic.sql.select.render.SelectStatementProvider;
+import org.mybatis.dynamic.sql.util.ResultSetReader;
+
+/**
+ * A select statement provider that carries a {@link ResultSetReader}. When a statement with this provider
+ * is executed in a MyBatis configuration that includes the {@link IndexedRowInterceptor}, the entire result set
+ * is read by the reader rather than by MyBatis result mapping. The mapper method will return the single
+ * object created by the reader.
+ *
+ * @param <R> the type of object read from the result set
+ * @since 1.5.1
+ */
+public class ResultSetReaderSelectStatementProvider<R> implements SelectStatementProvider {
+    private final SelectStatementProvider delegate;
+    private final ResultSetReader<R> resultSetReader;
+
+    public ResultSetReaderSelectStatementProvider(SelectStatementProvider delegate,
+            ResultSetReader<R> resultSetReader) {
+        this.delegate = Objects.requireNonNull(delegate);
+        this.resultSetReader = Objects.requireNonNull(resultSetReader);
+    }
+
+    @Override
+    public Map<String, Object> getParameters() {
+        return delegate.getParameters();
+    }
+
+    @Override
+    public String getSelectStatement() {
+        return delegate.getSelectStatement();
+    }
+
+    @Override
+    public StatementMetadata getStatementMetadata() {
+        return delegate.getStatementMetadata();
+    }
+
+    @Override
+    public long getFingerprint() {
+        return delegate.getFingerprint();
+    }
+
+    public ResultSetReader<R> getResultSetReader() {
+        return resultSetReader;
+    }
+}
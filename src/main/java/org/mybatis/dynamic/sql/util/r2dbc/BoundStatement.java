@@ -0,0 +1,144 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.util.r2dbc;
+
+import java.beans.PropertyDescriptor;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.mybatis.dynamic.sql.exception.InvalidSqlException;
+import org.mybatis.dynamic.sql.render.R2dbcRenderingStrategy;
+import org.mybatis.dynamic.sql.util.Messages;
+import org.mybatis.dynamic.sql.util.PropertyReader;
+
+/**
+ * A rendered statement with positional bind markers and the ordered list of values to bind.
+ *
+ * <p>Statements rendered with a parameter map (select, update, delete, general insert) already contain
+ * positional markers, so the bindings are the parameter map values ordered by key number. Record based insert
+ * statements contain named markers like <code>:records[0].id</code> - those are replaced by positional markers and
+ * the values are read from the row objects.
+ *
+ * @since 1.5.1
+ */
+public class BoundStatement {
+    private static final Pattern RECORD_MARKER =
+            Pattern.compile(":(row|records\\[(\\d+)])(?:\\.([A-Za-z_$][A-Za-z0-9_$]*))?"); //$NON-NLS-1$
+
+    private final String sql;
+    private final List<Binding> bindings;
+
+    private BoundStatement(String sql, List<Binding> bindings) {
+        this.sql = Objects.requireNonNull(sql);
+        this.bindings = Collections.unmodifiableList(bindings);
+    }
+
+    public String sql() {
+        return sql;
+    }
+
+    public List<Binding> bindings() {
+        return bindings;
+    }
+
+    /**
+     * Creates a bound statement from a statement rendered with a parameter map. The parameter map keys must be the
+     * keys generated by the library - <code>p1</code> through <code>pN</code> with no gaps - and the bindings are
+     * ordered by key number.
+     *
+     * <p>With {@link R2dbcRenderingStrategy.BindMarkerStyle#ANONYMOUS} markers, the bindings are matched to the
+     * <code>?</code> markers by position. This relies on the renderers generating parameter map keys in the same
+     * order as they write the markers into the statement, which is also what makes the
+     * {@link R2dbcRenderingStrategy.BindMarkerStyle#INDEXED} markers ascend through the statement.
+     *
+     * @param sql the rendered statement
+     * @param parameters the parameter map of the rendered statement
+     * @return the bound statement
+     * @throws org.mybatis.dynamic.sql.exception.InvalidSqlException if a parameter map key is not a generated key,
+     *     or if the keys do not number the parameters from one to the size of the map
+     */
+    public static BoundStatement of(String sql, Map<String, Object> parameters) {
+        Binding[] bindings = new Binding[parameters.size()];
+        parameters.forEach((k, v) -> {
+            int index = R2dbcRenderingStrategy.parameterIndex(k);
+            if (index < 1 || index > bindings.length || bindings[index - 1] != null) {
+                throw new InvalidSqlException(Messages.getString("ERROR.65", k, //$NON-NLS-1$
+                        Integer.toString(bindings.length)));
+            }
+            bindings[index - 1] = new Binding(v, v == null ? Object.class : v.getClass());
+        });
+
+        List<Binding> answer = new ArrayList<>(bindings.length);
+        Collections.addAll(answer, bindings);
+        return new BoundStatement(sql, answer);
+    }
+
+    public static BoundStatement ofRow(String sql, Object row, R2dbcRenderingStrategy renderingStrategy) {
+        return ofRecords(sql, Collections.singletonList(row), renderingStrategy);
+    }
+
+    public static BoundStatement ofRecords(String sql, List<?> records, R2dbcRenderingStrategy renderingStrategy) {
+        List<Binding> bindings = new ArrayList<>();
+        StringBuffer buffer = new StringBuffer();
+        Matcher matcher = RECORD_MARKER.matcher(sql);
+        while (matcher.find()) {
+            Object row = matcher.group(2) == null ? records.get(0) : records.get(Integer.parseInt(matcher.group(2)));
+            String property = matcher.group(3);
+            if (property == null) {
+                bindings.add(new Binding(row, row == null ? Object.class : row.getClass()));
+            } else {
+                bindings.add(readProperty(row, property));
+            }
+            matcher.appendReplacement(buffer,
+                    Matcher.quoteReplacement(renderingStrategy.bindMarker(bindings.size())));
+        }
+        matcher.appendTail(buffer);
+        return new BoundStatement(buffer.toString(), bindings);
+    }
+
+    private static Binding readProperty(Object row, String property) {
+        PropertyDescriptor descriptor = PropertyReader.findProperty(row.getClass(), property);
+        return new Binding(PropertyReader.readProperty(row, descriptor), descriptor.getPropertyType());
+    }
+
+    public static class Binding {
+        private final Object value;
+        private final Class<?> type;
+
+        private Binding(Object value, Class<?> type) {
+            this.value = value;
+            this.type = type;
+        }
+
+        public Object value() {
+            return value;
+        }
+
+        /**
+         * The declared type of the value. This is needed by R2DBC drivers when binding a null value.
+         *
+         * @return the type of the value
+         */
+        public Class<?> type() {
+            return type;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.util.r2dbc;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import io.r2dbc.spi.Statement;
+import org.mybatis.dynamic.sql.delete.DeleteModel;
+import org.mybatis.dynamic.sql.delete.render.DeleteStatementProvider;
+import org.mybatis.dynamic.sql.insert.GeneralInsertModel;
+import org.mybatis.dynamic.sql.insert.InsertModel;
+import org.mybatis.dynamic.sql.insert.MultiRowInsertModel;
+import org.mybatis.dynamic.sql.insert.render.GeneralInsertStatementProvider;
+import org.mybatis.dynamic.sql.insert.render.InsertStatementProvider;
+import org.mybatis.dynamic.sql.insert.render.MultiRowInsertStatementProvider;
+import org.mybatis.dynamic.sql.render.R2dbcRenderingStrategy;
+import org.mybatis.dynamic.sql.render.RenderingStrategies;
+import org.mybatis.dynamic.sql.select.SelectModel;
+import org.mybatis.dynamic.sql.select.render.SelectStatementProvider;
+import org.mybatis.dynamic.sql.update.UpdateModel;
+import org.mybatis.dynamic.sql.update.render.UpdateStatementProvider;
+import org.mybatis.dynamic.sql.util.Buildable;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Executes statements against an R2DBC {@link ConnectionFactory}. This is the non-blocking counterpart of
+ * {@link org.mybatis.dynamic.sql.util.spring.NamedParameterJdbcTemplateExtensions}.
+ *
+ * <p>Statement providers passed to this class must be rendered with the same {@link R2dbcRenderingStrategy}
+ * that is configured here. Methods that accept a {@link Buildable} render the statement with that strategy.
+ *
+ * <p>Each method obtains a connection when the returned publisher is subscribed, and closes the connection when
+ * the publisher completes, fails, or is cancelled. Nothing happens until the publisher is subscribed.
+ *
+ * @since 1.5.1
+ */
+public class ConnectionFactoryExtensions {
+    private final ConnectionFactory connectionFactory;
+    private final R2dbcRenderingStrategy renderingStrategy;
+
+    public ConnectionFactoryExtensions(ConnectionFactory connectionFactory) {
+        this(connectionFactory, RenderingStrategies.R2DBC_INDEXED);
+    }
+
+    public ConnectionFactoryExtensions(ConnectionFactory connectionFactory,
+            R2dbcRenderingStrategy renderingStrategy) {
+        this.connectionFactory = Objects.requireNonNull(connectionFactory);
+        this.renderingStrategy = Objects.requireNonNull(renderingStrategy);
+    }
+
+    public R2dbcRenderingStrategy renderingStrategy() {
+        return renderingStrategy;
+    }
+
+    public Mono<Long> count(Buildable<SelectModel> countStatement) {
+        return count(countStatement.build().render(renderingStrategy));
+    }
+
+    public Mono<Long> count(SelectStatementProvider countStatement) {
+        return selectOne(countStatement, (row, rowMetadata) -> row.get(0, Long.class));
+    }
+
+    public Mono<Long> delete(Buildable<DeleteModel> deleteStatement) {
+        return delete(deleteStatement.build().render(renderingStrategy));
+    }
+
+    public Mono<Long> delete(DeleteStatementProvider deleteStatement) {
+        return update(BoundStatement.of(deleteStatement.getDeleteStatement(), deleteStatement.getParameters()));
+    }
+
+    public Mono<Long> generalInsert(Buildable<GeneralInsertModel> insertStatement) {
+        return generalInsert(insertStatement.build().render(renderingStrategy));
+    }
+
+    public Mono<Long> generalInsert(GeneralInsertStatementProvider insertStatement) {
+        return update(BoundStatement.of(insertStatement.getInsertStatement(), insertStatement.getParameters()));
+    }
+
+    public <T> Mono<Long> insert(Buildable<InsertModel<T>> insertStatement) {
+        return insert(insertStatement.build().render(renderingStrategy));
+    }
+
+    public <T> Mono<Long> insert(InsertStatementProvider<T> insertStatement) {
+        return update(BoundStatement.ofRow(insertStatement.getInsertStatement(), insertStatement.getRow(),
+                renderingStrategy));
+    }
+
+    public <T> Mono<Long> insertMultiple(Buildable<MultiRowInsertModel<T>> insertStatement) {
+        return insertMultiple(insertStatement.build().render(renderingStrategy));
+    }
+
+    public <T> Mono<Long> insertMultiple(MultiRowInsertStatementProvider<T> insertStatement) {
+        return update(BoundStatement.ofRecords(insertStatement.getInsertStatement(), insertStatement.getRecords(),
+                renderingStrategy));
+    }
+
+    public <T> Flux<T> selectList(Buildable<SelectModel> selectStatement,
+            BiFunction<Row, RowMetadata, T> rowMapper) {
+        return selectList(selectStatement.build().render(renderingStrategy), rowMapper);
+    }
+
+    public <T> Flux<T> selectList(SelectStatementProvider selectStatement,
+            BiFunction<Row, RowMetadata, T> rowMapper) {
+        return selectList(BoundStatement.of(selectStatement.getSelectStatement(), selectStatement.getParameters()),
+                rowMapper);
+    }
+
+    public <T> Flux<T> selectList(BoundStatement statement, BiFunction<Row, RowMetadata, T> rowMapper) {
+        return execute(statement, result -> result.map(rowMapper));
+    }
+
+    /**
+     * Select a single row. The returned Mono is empty if no row is found, and fails with an
+     * {@link IndexOutOfBoundsException} if more than one row is found.
+     *
+     * @param selectStatement the select statement
+     * @param rowMapper a mapper for the row
+     * @param <T> the type of object returned
+     * @return a Mono of the selected row
+     */
+    public <T> Mono<T> selectOne(Buildable<SelectModel> selectStatement,
+            BiFunction<Row, RowMetadata, T> rowMapper) {
+        return selectOne(selectStatement.build().render(renderingStrategy), rowMapper);
+    }
+
+    public <T> Mono<T> selectOne(SelectStatementProvider selectStatement,
+            BiFunction<Row, RowMetadata, T> rowMapper) {
+        return selectList(selectStatement, rowMapper).singleOrEmpty();
+    }
+
+    public Mono<Long> update(Buildable<UpdateModel> updateStatement) {
+        return update(updateStatement.build().render(renderingStrategy));
+    }
+
+    public Mono<Long> update(UpdateStatementProvider updateStatement) {
+        return update(BoundStatement.of(updateStatement.getUpdateStatement(), updateStatement.getParameters()));
+    }
+
+    public Mono<Long> update(BoundStatement statement) {
+        return execute(statement, Result::getRowsUpdated).reduce(0L, Long::sum);
+    }
+
+    private <T> Flux<T> execute(BoundStatement boundStatement,
+            Function<Result, ? extends Publisher<? extends T>> resultMapper) {
+        return Flux.usingWhen(connectionFactory.create(),
+                connection -> Flux.from(createStatement(connection, boundStatement).execute())
+                        .concatMap(resultMapper),
+                Connection::close);
+    }
+
+    private Statement createStatement(Connection connection, BoundStatement boundStatement) {
+        Statement statement = connection.createStatement(boundStatement.sql());
+        List<BoundStatement.Binding> bindings = boundStatement.bindings();
+        for (int i = 0; i < bindings.size(); i++) {
+            BoundStatement.Binding binding = bindings.get(i);
+            if (binding.value() == null) {
+                statement.bindNull(i, binding.type());
+            } else {
+                statement.bind(i, binding.value());
+            }
+        }
+        return statement;
+    }
+}
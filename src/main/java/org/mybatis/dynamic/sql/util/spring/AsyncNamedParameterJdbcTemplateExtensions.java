@@ -0,0 +1,337 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.util.spring;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import org.mybatis.dynamic.sql.delete.BatchDeleteModel;
+import org.mybatis.dynamic.sql.delete.DeleteModel;
+import org.mybatis.dynamic.sql.delete.render.BatchDelete;
+import org.mybatis.dynamic.sql.delete.render.DeleteStatementProvider;
+import org.mybatis.dynamic.sql.insert.ArrayInsertModel;
+import org.mybatis.dynamic.sql.insert.BatchInsertModel;
+import org.mybatis.dynamic.sql.insert.BatchUpsertModel;
+import org.mybatis.dynamic.sql.insert.GeneralInsertModel;
+import org.mybatis.dynamic.sql.insert.InsertModel;
+import org.mybatis.dynamic.sql.insert.MultiRowInsertModel;
+import org.mybatis.dynamic.sql.insert.MultiRowUpsertModel;
+import org.mybatis.dynamic.sql.insert.TupleInsertModel;
+import org.mybatis.dynamic.sql.insert.UpsertModel;
+import org.mybatis.dynamic.sql.insert.render.BatchInsert;
+import org.mybatis.dynamic.sql.insert.render.GeneralInsertStatementProvider;
+import org.mybatis.dynamic.sql.insert.render.InsertStatementProvider;
+import org.mybatis.dynamic.sql.insert.render.MultiRowInsertStatementProvider;
+import org.mybatis.dynamic.sql.render.RenderingStrategies;
+import org.mybatis.dynamic.sql.select.SelectModel;
+import org.mybatis.dynamic.sql.select.render.SelectStatementProvider;
+import org.mybatis.dynamic.sql.update.BatchUpdateModel;
+import org.mybatis.dynamic.sql.update.MultiRowUpdateModel;
+import org.mybatis.dynamic.sql.update.UpdateModel;
+import org.mybatis.dynamic.sql.update.render.BatchUpdate;
+import org.mybatis.dynamic.sql.update.render.MultiRowUpdate;
+import org.mybatis.dynamic.sql.update.render.UpdateStatementProvider;
+import org.mybatis.dynamic.sql.util.AsyncExecution;
+import org.mybatis.dynamic.sql.util.Buildable;
+import org.mybatis.dynamic.sql.util.IndexedRowMapper;
+import org.mybatis.dynamic.sql.util.Page;
+import org.mybatis.dynamic.sql.util.QueryResultCache;
+import org.mybatis.dynamic.sql.util.StatementMetrics;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.KeyHolder;
+
+/**
+ * Async variants of the methods in {@link NamedParameterJdbcTemplateExtensions}. Each method returns a
+ * {@link CompletableFuture} that completes when the statement has executed on the executor configured in the
+ * {@link AsyncExecution}.
+ *
+ * <p>Statements are rendered on the calling thread, so DSL objects are never shared with the executor. The
+ * template's DataSource is used as the key for concurrency permits.
+ *
+ * <p>Note that Spring transactions are bound to threads, so statements executed through this class do not
+ * participate in a transaction started on the calling thread.
+ *
+ * @since 1.5.1
+ */
+public class AsyncNamedParameterJdbcTemplateExtensions {
+    private final NamedParameterJdbcTemplateExtensions extensions;
+    private final AsyncExecution asyncExecution;
+    private final Object dataSource;
+
+    public AsyncNamedParameterJdbcTemplateExtensions(NamedParameterJdbcTemplate template) {
+        this(template, AsyncExecution.defaultExecution());
+    }
+
+    public AsyncNamedParameterJdbcTemplateExtensions(NamedParameterJdbcTemplate template,
+            AsyncExecution asyncExecution) {
+        this(new NamedParameterJdbcTemplateExtensions(template), template, asyncExecution);
+    }
+
+    /**
+     * Create async extensions that read select results through a cache. See
+     * {@link NamedParameterJdbcTemplateExtensions#NamedParameterJdbcTemplateExtensions(NamedParameterJdbcTemplate,
+     * QueryResultCache)} for details.
+     *
+     * @param template the template
+     * @param asyncExecution the executor and concurrency limits
+     * @param resultCache the cache for select results
+     */
+    public AsyncNamedParameterJdbcTemplateExtensions(NamedParameterJdbcTemplate template,
+            AsyncExecution asyncExecution, QueryResultCache resultCache) {
+        this(new NamedParameterJdbcTemplateExtensions(template, resultCache), template, asyncExecution);
+    }
+
+    private AsyncNamedParameterJdbcTemplateExtensions(NamedParameterJdbcTemplateExtensions extensions,
+            NamedParameterJdbcTemplate template, AsyncExecution asyncExecution) {
+        this.extensions = extensions;
+        this.asyncExecution = Objects.requireNonNull(asyncExecution);
+        this.dataSource = Optional.<Object>ofNullable(template.getJdbcTemplate().getDataSource()).orElse(template);
+    }
+
+    private AsyncNamedParameterJdbcTemplateExtensions(AsyncNamedParameterJdbcTemplateExtensions extensions,
+            StatementMetrics statementMetrics) {
+        this.extensions = extensions.extensions.withStatementMetrics(statementMetrics);
+        asyncExecution = extensions.asyncExecution;
+        dataSource = extensions.dataSource;
+    }
+
+    /**
+     * Return async extensions that report every statement they execute to the metrics. See
+     * {@link NamedParameterJdbcTemplateExtensions#withStatementMetrics(StatementMetrics)} for details. Elapsed
+     * time is measured on the executor thread, so it does not include time spent waiting for a permit or a thread.
+     *
+     * @param statementMetrics the metrics
+     * @return new async extensions that report to the metrics
+     */
+    public AsyncNamedParameterJdbcTemplateExtensions withStatementMetrics(StatementMetrics statementMetrics) {
+        return new AsyncNamedParameterJdbcTemplateExtensions(this, statementMetrics);
+    }
+
+    public CompletableFuture<Long> count(Buildable<SelectModel> countStatement) {
+        return count(countStatement.build().render(RenderingStrategies.SPRING_NAMED_PARAMETER));
+    }
+
+    public CompletableFuture<Long> count(SelectStatementProvider countStatement) {
+        return supplyAsync(() -> extensions.count(countStatement));
+    }
+
+    public CompletableFuture<Integer> delete(Buildable<DeleteModel> deleteStatement) {
+        return delete(deleteStatement.build().render(RenderingStrategies.SPRING_NAMED_PARAMETER));
+    }
+
+    public CompletableFuture<Integer> delete(DeleteStatementProvider deleteStatement) {
+        return supplyAsync(() -> extensions.delete(deleteStatement));
+    }
+
+    public <T> CompletableFuture<int[]> deleteBatch(Buildable<BatchDeleteModel<T>> deleteStatement) {
+        return deleteBatch(deleteStatement.build().render(RenderingStrategies.SPRING_NAMED_PARAMETER));
+    }
+
+    public <T> CompletableFuture<int[]> deleteBatch(BatchDelete<T> deleteStatement) {
+        return supplyAsync(() -> extensions.deleteBatch(deleteStatement));
+    }
+
+    public CompletableFuture<Integer> generalInsert(Buildable<GeneralInsertModel> insertStatement) {
+        return generalInsert(insertStatement.build().render(RenderingStrategies.SPRING_NAMED_PARAMETER));
+    }
+
+    public CompletableFuture<Integer> generalInsert(GeneralInsertStatementProvider insertStatement) {
+        return supplyAsync(() -> extensions.generalInsert(insertStatement));
+    }
+
+    public CompletableFuture<Integer> generalInsert(Buildable<GeneralInsertModel> insertStatement,
+            KeyHolder keyHolder) {
+        return generalInsert(insertStatement.build().render(RenderingStrategies.SPRING_NAMED_PARAMETER), keyHolder);
+    }
+
+    public CompletableFuture<Integer> generalInsert(GeneralInsertStatementProvider insertStatement,
+            KeyHolder keyHolder) {
+        return supplyAsync(() -> extensions.generalInsert(insertStatement, keyHolder));
+    }
+
+    public <T> CompletableFuture<Integer> insertArrays(Buildable<ArrayInsertModel<T>> insertStatement) {
+        return insertArrays(insertStatement.build().render(RenderingStrategies.SPRING_NAMED_PARAMETER));
+    }
+
+    public CompletableFuture<Integer> insertArrays(GeneralInsertStatementProvider insertStatement) {
+        return supplyAsync(() -> extensions.insertArrays(insertStatement));
+    }
+
+    public <T> CompletableFuture<Integer> insertTuples(Buildable<TupleInsertModel<T>> insertStatement) {
+        return generalInsert(insertStatement.build().render(RenderingStrategies.SPRING_NAMED_PARAMETER));
+    }
+
+    public <T> CompletableFuture<Integer> insert(Buildable<InsertModel<T>> insertStatement) {
+        return insert(insertStatement.build().render(RenderingStrategies.SPRING_NAMED_PARAMETER));
+    }
+
+    public <T> CompletableFuture<Integer> insert(InsertStatementProvider<T> insertStatement) {
+        return supplyAsync(() -> extensions.insert(insertStatement));
+    }
+
+    public <T> CompletableFuture<Integer> insert(Buildable<InsertModel<T>> insertStatement, KeyHolder keyHolder) {
+        return insert(insertStatement.build().render(RenderingStrategies.SPRING_NAMED_PARAMETER), keyHolder);
+    }
+
+    public <T> CompletableFuture<Integer> insert(InsertStatementProvider<T> insertStatement, KeyHolder keyHolder) {
+        return supplyAsync(() -> extensions.insert(insertStatement, keyHolder));
+    }
+
+    public <T> CompletableFuture<int[]> insertBatch(Buildable<BatchInsertModel<T>> insertStatement) {
+        return insertBatch(insertStatement.build().render(RenderingStrategies.SPRING_NAMED_PARAMETER));
+    }
+
+    public <T> CompletableFuture<int[]> insertBatch(BatchInsert<T> insertStatement) {
+        return supplyAsync(() -> extensions.insertBatch(insertStatement));
+    }
+
+    public <T> CompletableFuture<Integer> insertMultiple(Buildable<MultiRowInsertModel<T>> insertStatement) {
+        return insertMultiple(insertStatement.build().render(RenderingStrategies.SPRING_NAMED_PARAMETER));
+    }
+
+    public <T> CompletableFuture<Integer> insertMultiple(MultiRowInsertStatementProvider<T> insertStatement) {
+        return supplyAsync(() -> extensions.insertMultiple(insertStatement));
+    }
+
+    public <T> CompletableFuture<Integer> insertMultiple(Buildable<MultiRowInsertModel<T>> insertStatement,
+            KeyHolder keyHolder) {
+        return insertMultiple(insertStatement.build().render(RenderingStrategies.SPRING_NAMED_PARAMETER),
+                keyHolder);
+    }
+
+    public <T> CompletableFuture<Integer> insertMultiple(MultiRowInsertStatementProvider<T> insertStatement,
+            KeyHolder keyHolder) {
+        return supplyAsync(() -> extensions.insertMultiple(insertStatement, keyHolder));
+    }
+
+    public <T> CompletableFuture<List<T>> selectList(Buildable<SelectModel> selectStatement,
+            RowMapper<T> rowMapper) {
+        return selectList(selectStatement.build().render(RenderingStrategies.SPRING_NAMED_PARAMETER), rowMapper);
+    }
+
+    public <T> CompletableFuture<List<T>> selectList(SelectStatementProvider selectStatement,
+            RowMapper<T> rowMapper) {
+        return supplyAsync(() -> extensions.selectList(selectStatement, rowMapper));
+    }
+
+    public <T> CompletableFuture<List<T>> selectList(SelectStatementProvider selectStatement,
+            IndexedRowMapper<T> rowMapper) {
+        return supplyAsync(() -> extensions.selectList(selectStatement, rowMapper));
+    }
+
+    /**
+     * Execute a paged select statement and a count of all the rows it matches concurrently. The count statement
+     * is derived from the select with {@link SelectModel#toCountModel()}.
+     *
+     * @param selectStatement the select statement - typically with limit and offset, or fetch first
+     * @param rowMapper the row mapper for the select statement
+     * @param <T> the type of row
+     * @return a future that completes with the page when both statements have executed
+     */
+    public <T> CompletableFuture<Page<T>> selectPage(Buildable<SelectModel> selectStatement,
+            RowMapper<T> rowMapper) {
+        SelectModel selectModel = selectStatement.build();
+        CompletableFuture<List<T>> rows =
+                selectList(selectModel.render(RenderingStrategies.SPRING_NAMED_PARAMETER), rowMapper);
+        CompletableFuture<Long> totalRows =
+                count(selectModel.toCountModel().render(RenderingStrategies.SPRING_NAMED_PARAMETER));
+        return rows.thenCombine(totalRows, (r, t) -> toPage(selectModel, r, t));
+    }
+
+    public CompletableFuture<long[]> selectLongArray(Buildable<SelectModel> selectStatement) {
+        return selectLongArray(selectStatement.build().render(RenderingStrategies.SPRING_NAMED_PARAMETER));
+    }
+
+    public CompletableFuture<long[]> selectLongArray(SelectStatementProvider selectStatement) {
+        return supplyAsync(() -> extensions.selectLongArray(selectStatement));
+    }
+
+    public CompletableFuture<int[]> selectIntArray(Buildable<SelectModel> selectStatement) {
+        return selectIntArray(selectStatement.build().render(RenderingStrategies.SPRING_NAMED_PARAMETER));
+    }
+
+    public CompletableFuture<int[]> selectIntArray(SelectStatementProvider selectStatement) {
+        return supplyAsync(() -> extensions.selectIntArray(selectStatement));
+    }
+
+    public CompletableFuture<double[]> selectDoubleArray(Buildable<SelectModel> selectStatement) {
+        return selectDoubleArray(selectStatement.build().render(RenderingStrategies.SPRING_NAMED_PARAMETER));
+    }
+
+    public CompletableFuture<double[]> selectDoubleArray(SelectStatementProvider selectStatement) {
+        return supplyAsync(() -> extensions.selectDoubleArray(selectStatement));
+    }
+
+    public <T> CompletableFuture<Optional<T>> selectOne(Buildable<SelectModel> selectStatement,
+            RowMapper<T> rowMapper) {
+        return selectOne(selectStatement.build().render(RenderingStrategies.SPRING_NAMED_PARAMETER), rowMapper);
+    }
+
+    public <T> CompletableFuture<Optional<T>> selectOne(SelectStatementProvider selectStatement,
+            RowMapper<T> rowMapper) {
+        return supplyAsync(() -> extensions.selectOne(selectStatement, rowMapper));
+    }
+
+    public CompletableFuture<Integer> update(Buildable<UpdateModel> updateStatement) {
+        return update(updateStatement.build().render(RenderingStrategies.SPRING_NAMED_PARAMETER));
+    }
+
+    public CompletableFuture<Integer> update(UpdateStatementProvider updateStatement) {
+        return supplyAsync(() -> extensions.update(updateStatement));
+    }
+
+    public <T> CompletableFuture<int[]> updateBatch(Buildable<BatchUpdateModel<T>> updateStatement) {
+        return updateBatch(updateStatement.build().render(RenderingStrategies.SPRING_NAMED_PARAMETER));
+    }
+
+    public <T> CompletableFuture<int[]> updateBatch(BatchUpdate<T> updateStatement) {
+        return supplyAsync(() -> extensions.updateBatch(updateStatement));
+    }
+
+    public <T> CompletableFuture<Integer> updateMultiple(Buildable<MultiRowUpdateModel<T>> updateStatement) {
+        return updateMultiple(updateStatement.build().render(RenderingStrategies.SPRING_NAMED_PARAMETER));
+    }
+
+    public <T> CompletableFuture<Integer> updateMultiple(MultiRowUpdate<T> updateStatement) {
+        return supplyAsync(() -> extensions.updateMultiple(updateStatement));
+    }
+
+    public <T> CompletableFuture<Integer> upsert(Buildable<UpsertModel<T>> upsertStatement) {
+        return insert(upsertStatement.build().render(RenderingStrategies.SPRING_NAMED_PARAMETER));
+    }
+
+    public <T> CompletableFuture<int[]> upsertBatch(Buildable<BatchUpsertModel<T>> upsertStatement) {
+        return insertBatch(upsertStatement.build().render(RenderingStrategies.SPRING_NAMED_PARAMETER));
+    }
+
+    public <T> CompletableFuture<Integer> upsertMultiple(Buildable<MultiRowUpsertModel<T>> upsertStatement) {
+        return insertMultiple(upsertStatement.build().render(RenderingStrategies.SPRING_NAMED_PARAMETER));
+    }
+
+    private static <T> Page<T> toPage(SelectModel selectModel, List<T> rows, long totalRows) {
+        Page.Builder<T> builder = Page.withRows(rows).withTotalRows(totalRows);
+        selectModel.pagingModel().ifPresent(builder::withPagingModel);
+        return builder.build();
+    }
+
+    private <T> CompletableFuture<T> supplyAsync(Supplier<T> task) {
+        return asyncExecution.supplyAsync(dataSource, task);
+    }
+}
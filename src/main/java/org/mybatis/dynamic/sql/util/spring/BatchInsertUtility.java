@@ -24,10 +24,10 @@ import org.springframework.jdbc.core.namedparam.SqlParameterSourceUtils;
 /**
  * Utility class for converting a list of rows to an array or SqlParameterSources.
  *
- * <p>This class is necessary due to the way that the library generates bindings for batch insert
+ * <p>This class is necessary due to the way that the library generates bindings for batch insert and batch update
  * statements. The bindings will be of the form <code>:row.propertyName</code>. The <code>createBatch</code> method
  * in this class will wrap all input rows in a class - RowHolder - with a single property named "row".
- * This will allow the generated bindings to function properly with a Spring batch insert.
+ * This will allow the generated bindings to function properly with a Spring batch insert or update.
  */
 public class BatchInsertUtility {
     private BatchInsertUtility() {}
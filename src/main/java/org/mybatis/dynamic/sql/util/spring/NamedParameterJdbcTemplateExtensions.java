@@ -15,39 +15,112 @@
  */
 package org.mybatis.dynamic.sql.util.spring;
 
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
 
+import org.mybatis.dynamic.sql.delete.BatchDeleteModel;
 import org.mybatis.dynamic.sql.delete.DeleteModel;
+import org.mybatis.dynamic.sql.delete.render.BatchDelete;
 import org.mybatis.dynamic.sql.delete.render.DeleteStatementProvider;
+import org.mybatis.dynamic.sql.insert.ArrayInsertModel;
 import org.mybatis.dynamic.sql.insert.BatchInsertModel;
+import org.mybatis.dynamic.sql.insert.BatchUpsertModel;
 import org.mybatis.dynamic.sql.insert.GeneralInsertModel;
 import org.mybatis.dynamic.sql.insert.InsertModel;
 import org.mybatis.dynamic.sql.insert.MultiRowInsertModel;
+import org.mybatis.dynamic.sql.insert.MultiRowUpsertModel;
+import org.mybatis.dynamic.sql.insert.TupleInsertModel;
+import org.mybatis.dynamic.sql.insert.UpsertModel;
+import org.mybatis.dynamic.sql.insert.render.ArrayParameter;
 import org.mybatis.dynamic.sql.insert.render.BatchInsert;
 import org.mybatis.dynamic.sql.insert.render.GeneralInsertStatementProvider;
 import org.mybatis.dynamic.sql.insert.render.InsertStatementProvider;
 import org.mybatis.dynamic.sql.insert.render.MultiRowInsertStatementProvider;
 import org.mybatis.dynamic.sql.render.RenderingStrategies;
+import org.mybatis.dynamic.sql.render.StatementMetadata;
 import org.mybatis.dynamic.sql.select.SelectModel;
 import org.mybatis.dynamic.sql.select.render.SelectStatementProvider;
+import org.mybatis.dynamic.sql.update.BatchUpdateModel;
+import org.mybatis.dynamic.sql.update.MultiRowUpdateModel;
 import org.mybatis.dynamic.sql.update.UpdateModel;
+import org.mybatis.dynamic.sql.update.render.BatchUpdate;
+import org.mybatis.dynamic.sql.update.render.MultiRowUpdate;
 import org.mybatis.dynamic.sql.update.render.UpdateStatementProvider;
 import org.mybatis.dynamic.sql.util.Buildable;
+import org.mybatis.dynamic.sql.util.ColumnarResult;
+import org.mybatis.dynamic.sql.util.ColumnarResultReader;
+import org.mybatis.dynamic.sql.util.IndexedRowMapper;
+import org.mybatis.dynamic.sql.util.QueryResultCache;
+import org.mybatis.dynamic.sql.util.ResultSetReader;
+import org.mybatis.dynamic.sql.util.StatementMetrics;
 import org.mybatis.dynamic.sql.util.Utilities;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.ResultSetExtractor;
 import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.SqlTypeValue;
 import org.springframework.jdbc.core.namedparam.BeanPropertySqlParameterSource;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.support.AbstractSqlTypeValue;
 import org.springframework.jdbc.support.KeyHolder;
 
 public class NamedParameterJdbcTemplateExtensions {
     private final NamedParameterJdbcTemplate template;
+    private final QueryResultCache resultCache;
+    private final StatementMetrics statementMetrics;
 
     public NamedParameterJdbcTemplateExtensions(NamedParameterJdbcTemplate template) {
         this.template = Objects.requireNonNull(template);
+        resultCache = null;
+        statementMetrics = null;
+    }
+
+    /**
+     * Create extensions that read select results through a cache. Count, select list, select one, and primitive
+     * array selects are cached. Inserts, updates, deletes, and upserts executed through these extensions discard
+     * cached results read from the tables they write.
+     *
+     * <p>Results are cached separately for each row mapper instance, so use row mappers that are created once
+     * (for example, constants or method references) to benefit from the cache.
+     *
+     * @param template the template
+     * @param resultCache the cache for select results
+     * @since 1.5.1
+     */
+    public NamedParameterJdbcTemplateExtensions(NamedParameterJdbcTemplate template, QueryResultCache resultCache) {
+        this.template = Objects.requireNonNull(template);
+        this.resultCache = Objects.requireNonNull(resultCache);
+        statementMetrics = null;
+    }
+
+    private NamedParameterJdbcTemplateExtensions(NamedParameterJdbcTemplateExtensions extensions,
+            StatementMetrics statementMetrics) {
+        template = extensions.template;
+        resultCache = extensions.resultCache;
+        this.statementMetrics = Objects.requireNonNull(statementMetrics);
+    }
+
+    /**
+     * Return extensions that report every statement they execute to the metrics. The returned extensions share
+     * the template and result cache of these extensions. Select results read from the cache do not execute a
+     * statement, so they are not reported.
+     *
+     * @param statementMetrics the metrics
+     * @return new extensions that report to the metrics
+     * @since 1.5.1
+     */
+    public NamedParameterJdbcTemplateExtensions withStatementMetrics(StatementMetrics statementMetrics) {
+        return new NamedParameterJdbcTemplateExtensions(this, statementMetrics);
     }
 
     public long count(Buildable<SelectModel> countStatement) {
@@ -55,8 +128,9 @@ public class NamedParameterJdbcTemplateExtensions {
     }
 
     public long count(SelectStatementProvider countStatement) {
-        Long answer = template.queryForObject(countStatement.getSelectStatement(),
-                countStatement.getParameters(), Long.class);
+        Long answer = cached(countStatement, Long.class, () -> measuredSelect(countStatement,
+                () -> template.queryForObject(countStatement.getSelectStatement(), countStatement.getParameters(),
+                        Long.class)));
 
         return Utilities.safelyUnbox(answer);
     }
@@ -66,7 +140,39 @@ public class NamedParameterJdbcTemplateExtensions {
     }
 
     public int delete(DeleteStatementProvider deleteStatement) {
-        return template.update(deleteStatement.getDeleteStatement(), deleteStatement.getParameters());
+        int rows = measuredUpdate(deleteStatement.getDeleteStatement(), deleteStatement::getFingerprint,
+                deleteStatement.getStatementMetadata(),
+                () -> template.update(deleteStatement.getDeleteStatement(), deleteStatement.getParameters()));
+        recordWrite(deleteStatement.getStatementMetadata());
+        return rows;
+    }
+
+    public <T> int[] deleteBatch(Buildable<BatchDeleteModel<T>> deleteStatement) {
+        return deleteBatch(deleteStatement.build().render(RenderingStrategies.SPRING_NAMED_PARAMETER));
+    }
+
+    public <T> int[] deleteBatch(BatchDelete<T> deleteStatement) {
+        int[] rows = measuredBatch(deleteStatement.getDeleteStatementSQL(), deleteStatement::getFingerprint,
+                deleteStatement.getStatementMetadata(),
+                () -> template.batchUpdate(deleteStatement.getDeleteStatementSQL(),
+                        BatchInsertUtility.createBatch(deleteStatement.getRecords())));
+        recordWrite(deleteStatement.getStatementMetadata());
+        return rows;
+    }
+
+    /**
+     * Execute a batch delete in chunks. Each chunk is sent to the database as a separate JDBC batch.
+     *
+     * @param deleteStatement the batch delete
+     * @param chunkSize the maximum number of records in each JDBC batch
+     * @param <T> the type of record
+     * @return the update counts for each chunk
+     */
+    public <T> int[][] deleteBatch(BatchDelete<T> deleteStatement, int chunkSize) {
+        int[][] rows = batchUpdate(deleteStatement.getDeleteStatementSQL(), deleteStatement::getFingerprint,
+                deleteStatement.getStatementMetadata(), deleteStatement.getRecords(), chunkSize);
+        recordWrite(deleteStatement.getStatementMetadata());
+        return rows;
     }
 
     public int generalInsert(Buildable<GeneralInsertModel> insertStatement) {
@@ -74,7 +180,11 @@ public class NamedParameterJdbcTemplateExtensions {
     }
 
     public int generalInsert(GeneralInsertStatementProvider insertStatement) {
-        return template.update(insertStatement.getInsertStatement(), insertStatement.getParameters());
+        int rows = measuredUpdate(insertStatement.getInsertStatement(), insertStatement::getFingerprint,
+                insertStatement.getStatementMetadata(),
+                () -> template.update(insertStatement.getInsertStatement(), insertStatement.getParameters()));
+        recordWrite(insertStatement.getStatementMetadata());
+        return rows;
     }
 
     public int generalInsert(Buildable<GeneralInsertModel> insertStatement, KeyHolder keyHolder) {
@@ -82,8 +192,53 @@ public class NamedParameterJdbcTemplateExtensions {
     }
 
     public int generalInsert(GeneralInsertStatementProvider insertStatement, KeyHolder keyHolder) {
-        return template.update(insertStatement.getInsertStatement(),
-                new MapSqlParameterSource(insertStatement.getParameters()), keyHolder);
+        int rows = measuredUpdate(insertStatement.getInsertStatement(), insertStatement::getFingerprint,
+                insertStatement.getStatementMetadata(),
+                () -> template.update(insertStatement.getInsertStatement(),
+                        new MapSqlParameterSource(insertStatement.getParameters()), keyHolder));
+        recordWrite(insertStatement.getStatementMetadata());
+        return rows;
+    }
+
+    public <T> int insertArrays(Buildable<ArrayInsertModel<T>> insertStatement) {
+        return insertArrays(insertStatement.build().render(RenderingStrategies.SPRING_NAMED_PARAMETER));
+    }
+
+    /**
+     * Execute an array based insert statement. Array parameters are bound as JDBC arrays created from the
+     * connection.
+     *
+     * @param insertStatement a rendered array based insert statement
+     * @return the number of rows inserted
+     */
+    public int insertArrays(GeneralInsertStatementProvider insertStatement) {
+        MapSqlParameterSource parameterSource = new MapSqlParameterSource();
+        insertStatement.getParameters().forEach((k, v) -> {
+            if (v instanceof ArrayParameter) {
+                parameterSource.addValue(k, toSqlArray((ArrayParameter) v), Types.ARRAY);
+            } else {
+                parameterSource.addValue(k, v);
+            }
+        });
+        int rows = measuredUpdate(insertStatement.getInsertStatement(), insertStatement::getFingerprint,
+                insertStatement.getStatementMetadata(),
+                () -> template.update(insertStatement.getInsertStatement(), parameterSource));
+        recordWrite(insertStatement.getStatementMetadata());
+        return rows;
+    }
+
+    private SqlTypeValue toSqlArray(ArrayParameter parameter) {
+        return new AbstractSqlTypeValue() {
+            @Override
+            protected Object createTypeValue(Connection connection, int sqlType, String typeName)
+                    throws SQLException {
+                return connection.createArrayOf(parameter.elementTypeName(), parameter.elements());
+            }
+        };
+    }
+
+    public <T> int insertTuples(Buildable<TupleInsertModel<T>> insertStatement) {
+        return generalInsert(insertStatement.build().render(RenderingStrategies.SPRING_NAMED_PARAMETER));
     }
 
     public <T> int insert(Buildable<InsertModel<T>> insertStatement) {
@@ -91,8 +246,12 @@ public class NamedParameterJdbcTemplateExtensions {
     }
 
     public <T> int insert(InsertStatementProvider<T> insertStatement) {
-        return template.update(insertStatement.getInsertStatement(),
-                new BeanPropertySqlParameterSource(insertStatement));
+        int rows = measuredUpdate(insertStatement.getInsertStatement(), insertStatement::getFingerprint,
+                insertStatement.getStatementMetadata(),
+                () -> template.update(insertStatement.getInsertStatement(),
+                        new BeanPropertySqlParameterSource(insertStatement)));
+        recordWrite(insertStatement.getStatementMetadata());
+        return rows;
     }
 
     public <T> int insert(Buildable<InsertModel<T>> insertStatement, KeyHolder keyHolder) {
@@ -100,8 +259,12 @@ public class NamedParameterJdbcTemplateExtensions {
     }
 
     public <T> int insert(InsertStatementProvider<T> insertStatement, KeyHolder keyHolder) {
-        return template.update(insertStatement.getInsertStatement(),
-                new BeanPropertySqlParameterSource(insertStatement), keyHolder);
+        int rows = measuredUpdate(insertStatement.getInsertStatement(), insertStatement::getFingerprint,
+                insertStatement.getStatementMetadata(),
+                () -> template.update(insertStatement.getInsertStatement(),
+                        new BeanPropertySqlParameterSource(insertStatement), keyHolder));
+        recordWrite(insertStatement.getStatementMetadata());
+        return rows;
     }
 
     public <T> int[] insertBatch(Buildable<BatchInsertModel<T>> insertStatement) {
@@ -109,8 +272,12 @@ public class NamedParameterJdbcTemplateExtensions {
     }
 
     public <T> int[] insertBatch(BatchInsert<T> insertStatement) {
-        return template.batchUpdate(insertStatement.getInsertStatementSQL(),
-                BatchInsertUtility.createBatch(insertStatement.getRecords()));
+        int[] rows = measuredBatch(insertStatement.getInsertStatementSQL(), insertStatement::getFingerprint,
+                insertStatement.getStatementMetadata(),
+                () -> template.batchUpdate(insertStatement.getInsertStatementSQL(),
+                        BatchInsertUtility.createBatch(insertStatement.getRecords())));
+        recordWrite(insertStatement.getStatementMetadata());
+        return rows;
     }
 
     public <T> int insertMultiple(Buildable<MultiRowInsertModel<T>> insertStatement) {
@@ -118,8 +285,12 @@ public class NamedParameterJdbcTemplateExtensions {
     }
 
     public <T> int insertMultiple(MultiRowInsertStatementProvider<T> insertStatement) {
-        return template.update(insertStatement.getInsertStatement(),
-                new BeanPropertySqlParameterSource(insertStatement));
+        int rows = measuredUpdate(insertStatement.getInsertStatement(), insertStatement::getFingerprint,
+                insertStatement.getStatementMetadata(),
+                () -> template.update(insertStatement.getInsertStatement(),
+                        new BeanPropertySqlParameterSource(insertStatement)));
+        recordWrite(insertStatement.getStatementMetadata());
+        return rows;
     }
 
     public <T> int insertMultiple(Buildable<MultiRowInsertModel<T>> insertStatement, KeyHolder keyHolder) {
@@ -127,8 +298,12 @@ public class NamedParameterJdbcTemplateExtensions {
     }
 
     public <T> int insertMultiple(MultiRowInsertStatementProvider<T> insertStatement, KeyHolder keyHolder) {
-        return template.update(insertStatement.getInsertStatement(),
-                new BeanPropertySqlParameterSource(insertStatement), keyHolder);
+        int rows = measuredUpdate(insertStatement.getInsertStatement(), insertStatement::getFingerprint,
+                insertStatement.getStatementMetadata(),
+                () -> template.update(insertStatement.getInsertStatement(),
+                        new BeanPropertySqlParameterSource(insertStatement), keyHolder));
+        recordWrite(insertStatement.getStatementMetadata());
+        return rows;
     }
 
     public <T> List<T> selectList(Buildable<SelectModel> selectStatement, RowMapper<T> rowMapper) {
@@ -136,7 +311,145 @@ public class NamedParameterJdbcTemplateExtensions {
     }
 
     public <T> List<T> selectList(SelectStatementProvider selectStatement, RowMapper<T> rowMapper) {
-        return template.query(selectStatement.getSelectStatement(), selectStatement.getParameters(), rowMapper);
+        return selectList(selectStatement, rowMapper, rowMapper);
+    }
+
+    /**
+     * Select rows with a row mapper that reads columns by position in the select list. This avoids looking up
+     * columns by name in each row.
+     *
+     * @param selectStatement the select statement
+     * @param rowMapper a row mapper derived from the select list of the statement
+     * @param <T> the type of object created for each row
+     * @return the List of mapped rows
+     */
+    public <T> List<T> selectList(SelectStatementProvider selectStatement, IndexedRowMapper<T> rowMapper) {
+        return selectList(selectStatement, toRowMapper(rowMapper), rowMapper);
+    }
+
+    private <T> List<T> selectList(SelectStatementProvider selectStatement, RowMapper<T> rowMapper,
+            Object resultType) {
+        Supplier<List<T>> query = () -> measuredSelect(selectStatement,
+                () -> template.query(selectStatement.getSelectStatement(), selectStatement.getParameters(), rowMapper));
+        if (resultCache == null) {
+            return query.get();
+        }
+
+        return resultCache.computeIfAbsent(selectStatement, resultType,
+                () -> Collections.unmodifiableList(query.get()));
+    }
+
+    public long[] selectLongArray(Buildable<SelectModel> selectStatement) {
+        return selectLongArray(selectStatement.build().render(RenderingStrategies.SPRING_NAMED_PARAMETER));
+    }
+
+    /**
+     * Select a single column of long values into a primitive array. Values are collected without boxing.
+     * Null values in the result set are returned as zero.
+     *
+     * @param selectStatement the select statement. The statement must return a single column.
+     * @return the array of values
+     */
+    public long[] selectLongArray(SelectStatementProvider selectStatement) {
+        if (resultCache == null) {
+            return read(selectStatement, ResultSetReader.longArray());
+        }
+
+        // arrays are mutable, so every caller gets a copy of the cached array
+        return resultCache.computeIfAbsent(selectStatement, long[].class,
+                () -> read(selectStatement, ResultSetReader.longArray())).clone();
+    }
+
+    public int[] selectIntArray(Buildable<SelectModel> selectStatement) {
+        return selectIntArray(selectStatement.build().render(RenderingStrategies.SPRING_NAMED_PARAMETER));
+    }
+
+    /**
+     * Select a single column of int values into a primitive array. Values are collected without boxing.
+     * Null values in the result set are returned as zero.
+     *
+     * @param selectStatement the select statement. The statement must return a single column.
+     * @return the array of values
+     */
+    public int[] selectIntArray(SelectStatementProvider selectStatement) {
+        if (resultCache == null) {
+            return read(selectStatement, ResultSetReader.intArray());
+        }
+
+        // arrays are mutable, so every caller gets a copy of the cached array
+        return resultCache.computeIfAbsent(selectStatement, int[].class,
+                () -> read(selectStatement, ResultSetReader.intArray())).clone();
+    }
+
+    public double[] selectDoubleArray(Buildable<SelectModel> selectStatement) {
+        return selectDoubleArray(selectStatement.build().render(RenderingStrategies.SPRING_NAMED_PARAMETER));
+    }
+
+    /**
+     * Select a single column of double values into a primitive array. Values are collected without boxing.
+     * Null values in the result set are returned as zero.
+     *
+     * @param selectStatement the select statement. The statement must return a single column.
+     * @return the array of values
+     */
+    public double[] selectDoubleArray(SelectStatementProvider selectStatement) {
+        if (resultCache == null) {
+            return read(selectStatement, ResultSetReader.doubleArray());
+        }
+
+        // arrays are mutable, so every caller gets a copy of the cached array
+        return resultCache.computeIfAbsent(selectStatement, double[].class,
+                () -> read(selectStatement, ResultSetReader.doubleArray())).clone();
+    }
+
+    /**
+     * Select rows into a columnar result. Values are stored by column in primitive or object arrays, which is far
+     * more compact than a List of objects for large result sets with few columns. The storage for each column is
+     * derived from the select list of the statement.
+     *
+     * @param selectStatement the select statement
+     * @return the columnar result
+     * @since 1.5.1
+     */
+    public ColumnarResult selectColumnar(Buildable<SelectModel> selectStatement) {
+        SelectModel selectModel = selectStatement.build();
+        return selectColumnar(selectModel.render(RenderingStrategies.SPRING_NAMED_PARAMETER),
+                ColumnarResultReader.of(selectModel));
+    }
+
+    public ColumnarResult selectColumnar(SelectStatementProvider selectStatement, ColumnarResultReader resultReader) {
+        return read(selectStatement, resultReader);
+    }
+
+    /**
+     * Select rows into columnar results of at most batchSize rows, and pass each batch to the batch handler as it
+     * is read. Only one batch is held in memory at a time.
+     *
+     * @param selectStatement the select statement
+     * @param resultReader a reader derived from the select list of the statement
+     * @param batchSize the maximum number of rows in each batch
+     * @param batchHandler receives each batch. Return false from the handler to stop reading the result set.
+     * @return the total number of rows read
+     * @since 1.5.1
+     */
+    public int selectColumnar(SelectStatementProvider selectStatement, ColumnarResultReader resultReader,
+            int batchSize, Predicate<ColumnarResult> batchHandler) {
+        Integer rows = read(selectStatement, rs -> resultReader.read(rs, batchSize, batchHandler),
+                r -> r == null ? 0 : r);
+        return rows == null ? 0 : rows;
+    }
+
+    private <T> T read(SelectStatementProvider selectStatement, ResultSetReader<T> resultSetReader) {
+        return read(selectStatement, resultSetReader, StatementMetrics::rowsOf);
+    }
+
+    private <T> T read(SelectStatementProvider selectStatement, ResultSetReader<T> resultSetReader,
+            ToLongFunction<? super T> rowCounter) {
+        ResultSetExtractor<T> extractor = resultSetReader::read;
+        return measured(selectStatement.getSelectStatement(), selectStatement::getFingerprint,
+                selectStatement.getStatementMetadata(),
+                () -> template.query(selectStatement.getSelectStatement(), selectStatement.getParameters(), extractor),
+                rowCounter);
     }
 
     public <T> Optional<T> selectOne(Buildable<SelectModel> selectStatement, RowMapper<T> rowMapper) {
@@ -144,15 +457,31 @@ public class NamedParameterJdbcTemplateExtensions {
     }
 
     public <T> Optional<T> selectOne(SelectStatementProvider selectStatement, RowMapper<T> rowMapper) {
-        T result;
+        return selectOne(selectStatement, rowMapper, rowMapper);
+    }
+
+    public <T> Optional<T> selectOne(SelectStatementProvider selectStatement, IndexedRowMapper<T> rowMapper) {
+        return selectOne(selectStatement, toRowMapper(rowMapper), rowMapper);
+    }
+
+    private <T> Optional<T> selectOne(SelectStatementProvider selectStatement, RowMapper<T> rowMapper,
+            Object resultType) {
+        // the cached result type is distinct from the select list type, so the same row mapper may be used for both
+        return Optional.ofNullable(cached(selectStatement, new SelectOneResult(resultType),
+                () -> measuredSelect(selectStatement, () -> queryForObject(selectStatement, rowMapper))));
+    }
+
+    private <T> T queryForObject(SelectStatementProvider selectStatement, RowMapper<T> rowMapper) {
         try {
-            result = template.queryForObject(selectStatement.getSelectStatement(), selectStatement.getParameters(),
-                            rowMapper);
+            return template.queryForObject(selectStatement.getSelectStatement(), selectStatement.getParameters(),
+                    rowMapper);
         } catch (EmptyResultDataAccessException e) {
-            result = null;
+            return null;
         }
+    }
 
-        return Optional.ofNullable(result);
+    private <T> RowMapper<T> toRowMapper(IndexedRowMapper<T> rowMapper) {
+        return (rs, rowNum) -> rowMapper.mapRow(rs);
     }
 
     public int update(Buildable<UpdateModel> updateStatement) {
@@ -160,6 +489,131 @@ public class NamedParameterJdbcTemplateExtensions {
     }
 
     public int update(UpdateStatementProvider updateStatement) {
-        return template.update(updateStatement.getUpdateStatement(), updateStatement.getParameters());
+        int rows = measuredUpdate(updateStatement.getUpdateStatement(), updateStatement::getFingerprint,
+                updateStatement.getStatementMetadata(),
+                () -> template.update(updateStatement.getUpdateStatement(), updateStatement.getParameters()));
+        recordWrite(updateStatement.getStatementMetadata());
+        return rows;
+    }
+
+    public <T> int[] updateBatch(Buildable<BatchUpdateModel<T>> updateStatement) {
+        return updateBatch(updateStatement.build().render(RenderingStrategies.SPRING_NAMED_PARAMETER));
+    }
+
+    public <T> int[] updateBatch(BatchUpdate<T> updateStatement) {
+        int[] rows = measuredBatch(updateStatement.getUpdateStatementSQL(), updateStatement::getFingerprint,
+                updateStatement.getStatementMetadata(),
+                () -> template.batchUpdate(updateStatement.getUpdateStatementSQL(),
+                        BatchInsertUtility.createBatch(updateStatement.getRecords())));
+        recordWrite(updateStatement.getStatementMetadata());
+        return rows;
+    }
+
+    /**
+     * Execute a batch update in chunks. Each chunk is sent to the database as a separate JDBC batch.
+     *
+     * @param updateStatement the batch update
+     * @param chunkSize the maximum number of records in each JDBC batch
+     * @param <T> the type of record
+     * @return the update counts for each chunk
+     */
+    public <T> int[][] updateBatch(BatchUpdate<T> updateStatement, int chunkSize) {
+        int[][] rows = batchUpdate(updateStatement.getUpdateStatementSQL(), updateStatement::getFingerprint,
+                updateStatement.getStatementMetadata(), updateStatement.getRecords(), chunkSize);
+        recordWrite(updateStatement.getStatementMetadata());
+        return rows;
+    }
+
+    public <T> int updateMultiple(Buildable<MultiRowUpdateModel<T>> updateStatement) {
+        return updateMultiple(updateStatement.build().render(RenderingStrategies.SPRING_NAMED_PARAMETER));
+    }
+
+    /**
+     * Execute every statement of a multi-row update.
+     *
+     * @param updateStatement the rendered multi-row update
+     * @param <T> the type of record
+     * @return the total number of rows updated
+     */
+    public <T> int updateMultiple(MultiRowUpdate<T> updateStatement) {
+        int rows = updateStatement.updateStatements().stream()
+                .mapToInt(s -> measuredUpdate(s.getUpdateStatement(), s::getFingerprint, s.getStatementMetadata(),
+                        () -> template.update(s.getUpdateStatement(), new BeanPropertySqlParameterSource(s))))
+                .sum();
+        updateStatement.updateStatements().forEach(s -> recordWrite(s.getStatementMetadata()));
+        return rows;
+    }
+
+    public <T> int upsert(Buildable<UpsertModel<T>> upsertStatement) {
+        return insert(upsertStatement.build().render(RenderingStrategies.SPRING_NAMED_PARAMETER));
+    }
+
+    public <T> int[] upsertBatch(Buildable<BatchUpsertModel<T>> upsertStatement) {
+        return insertBatch(upsertStatement.build().render(RenderingStrategies.SPRING_NAMED_PARAMETER));
+    }
+
+    public <T> int upsertMultiple(Buildable<MultiRowUpsertModel<T>> upsertStatement) {
+        return insertMultiple(upsertStatement.build().render(RenderingStrategies.SPRING_NAMED_PARAMETER));
+    }
+
+    private <T> T cached(SelectStatementProvider selectStatement, Object resultType, Supplier<T> loader) {
+        return resultCache == null ? loader.get() : resultCache.computeIfAbsent(selectStatement, resultType, loader);
+    }
+
+    private <R> R measured(String statement, LongSupplier fingerprint, StatementMetadata statementMetadata,
+            Supplier<R> execution, ToLongFunction<? super R> rowCounter) {
+        // the fingerprint is only calculated when there are metrics to report it to
+        return statementMetrics == null ? execution.get()
+                : statementMetrics.measure(statement, fingerprint.getAsLong(), statementMetadata, execution,
+                        rowCounter);
+    }
+
+    private <R> R measuredSelect(SelectStatementProvider selectStatement, Supplier<R> execution) {
+        return measured(selectStatement.getSelectStatement(), selectStatement::getFingerprint,
+                selectStatement.getStatementMetadata(), execution, StatementMetrics::rowsOf);
+    }
+
+    private int measuredUpdate(String statement, LongSupplier fingerprint, StatementMetadata statementMetadata,
+            IntSupplier execution) {
+        return statementMetrics == null ? execution.getAsInt()
+                : statementMetrics.measure(statement, fingerprint.getAsLong(), statementMetadata, execution::getAsInt,
+                        Integer::longValue);
+    }
+
+    private int[] measuredBatch(String statement, LongSupplier fingerprint, StatementMetadata statementMetadata,
+            Supplier<int[]> execution) {
+        return measured(statement, fingerprint, statementMetadata, execution, StatementMetrics::updateCountOf);
+    }
+
+    private void recordWrite(StatementMetadata statementMetadata) {
+        if (resultCache != null) {
+            resultCache.recordWrite(statementMetadata);
+        }
+    }
+
+    private <T> int[][] batchUpdate(String sql, LongSupplier fingerprint, StatementMetadata statementMetadata,
+            List<T> records, int chunkSize) {
+        return Utilities.chunk(records, chunkSize).stream()
+                .map(chunk -> measuredBatch(sql, fingerprint, statementMetadata,
+                        () -> template.batchUpdate(sql, BatchInsertUtility.createBatch(chunk))))
+                .toArray(int[][]::new);
+    }
+
+    private static class SelectOneResult {
+        private final Object rowMapper;
+
+        private SelectOneResult(Object rowMapper) {
+            this.rowMapper = rowMapper;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof SelectOneResult && ((SelectOneResult) obj).rowMapper.equals(rowMapper);
+        }
+
+        @Override
+        public int hashCode() {
+            return rowMapper.hashCode();
+        }
     }
 }
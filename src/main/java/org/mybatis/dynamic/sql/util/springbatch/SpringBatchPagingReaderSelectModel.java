@@ -18,6 +18,7 @@ package org.mybatis.dynamic.sql.util.springbatch;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.mybatis.dynamic.sql.render.StatementMetadata;
 import org.mybatis.dynamic.sql.select.SelectModel;
 import org.mybatis.dynamic.sql.select.render.SelectStatementProvider;
 
@@ -38,9 +39,11 @@ public class SpringBatchPagingReaderSelectModel {
     public static class LimitAndOffsetDecorator implements SelectStatementProvider {
         private final Map<String, Object> parameters = new HashMap<>();
         private final String selectStatement;
+        private final StatementMetadata statementMetadata;
 
         public LimitAndOffsetDecorator(SelectStatementProvider delegate) {
             parameters.putAll(delegate.getParameters());
+            statementMetadata = delegate.getStatementMetadata();
 
             selectStatement = delegate.getSelectStatement()
                     + " LIMIT #{_pagesize} OFFSET #{_skiprows}"; //$NON-NLS-1$
@@ -55,5 +58,10 @@ public class SpringBatchPagingReaderSelectModel {
         public String getSelectStatement() {
             return selectStatement;
         }
+
+        @Override
+        public StatementMetadata getStatementMetadata() {
+            return statementMetadata;
+        }
     }
 }
@@ -20,6 +20,7 @@ import java.util.Objects;
 import java.util.Optional;
 
 import org.mybatis.dynamic.sql.AndOrCriteriaGroup;
+import org.mybatis.dynamic.sql.CriteriaGroup;
 import org.mybatis.dynamic.sql.SqlCriterion;
 import org.mybatis.dynamic.sql.common.AbstractBooleanExpressionModel;
 import org.mybatis.dynamic.sql.configuration.StatementConfiguration;
@@ -27,20 +28,59 @@ import org.mybatis.dynamic.sql.render.RenderingContext;
 import org.mybatis.dynamic.sql.render.RenderingStrategy;
 import org.mybatis.dynamic.sql.render.TableAliasCalculator;
 import org.mybatis.dynamic.sql.util.FragmentAndParameters;
+import org.mybatis.dynamic.sql.where.render.CriteriaOptimizer;
 import org.mybatis.dynamic.sql.where.render.WhereClauseProvider;
 import org.mybatis.dynamic.sql.where.render.WhereRenderer;
 
 public class WhereModel extends AbstractBooleanExpressionModel {
-    private final StatementConfiguration statementConfiguration;
+    private final boolean isNonRenderingClauseAllowed;
+    private final boolean isCriteriaOptimizationEnabled;
 
+    /**
+     * Creates a where model. The statement configuration is read when the model is created, so later changes to the
+     * configuration do not change the model.
+     *
+     * @param initialCriterion the initial criterion - may be null
+     * @param subCriteria the sub criteria
+     * @param statementConfiguration the statement configuration
+     */
     public WhereModel(SqlCriterion initialCriterion, List<AndOrCriteriaGroup> subCriteria,
                       StatementConfiguration statementConfiguration) {
         super(initialCriterion, subCriteria);
-        this.statementConfiguration = Objects.requireNonNull(statementConfiguration);
+        Objects.requireNonNull(statementConfiguration);
+        isNonRenderingClauseAllowed = statementConfiguration.isNonRenderingWhereClauseAllowed();
+        isCriteriaOptimizationEnabled = statementConfiguration.isCriteriaOptimizationEnabled();
+    }
+
+    private WhereModel(SqlCriterion initialCriterion, List<AndOrCriteriaGroup> subCriteria,
+                       WhereModel configuration) {
+        super(initialCriterion, subCriteria);
+        isNonRenderingClauseAllowed = configuration.isNonRenderingClauseAllowed;
+        isCriteriaOptimizationEnabled = configuration.isCriteriaOptimizationEnabled;
     }
 
     public boolean isNonRenderingClauseAllowed() {
-        return statementConfiguration.isNonRenderingWhereClauseAllowed();
+        return isNonRenderingClauseAllowed;
+    }
+
+    public boolean isCriteriaOptimizationEnabled() {
+        return isCriteriaOptimizationEnabled;
+    }
+
+    /**
+     * Returns a where model with the same configuration and simplified criteria. The renderer calls this method
+     * when criteria optimization is enabled for the statement.
+     *
+     * <p>Conditions that will not render are removed by the optimizer, so this method should only be called
+     * immediately before rendering.
+     *
+     * @return a where model with optimized criteria
+     * @see CriteriaOptimizer
+     * @since 1.5.1
+     */
+    public WhereModel optimizeCriteria() {
+        CriteriaGroup criteria = CriteriaOptimizer.optimize(initialCriterion().orElse(null), subCriteria());
+        return new WhereModel(criteria.initialCriterion().orElse(null), criteria.subCriteria(), this);
     }
 
     /**
@@ -15,6 +15,7 @@
  */
 package org.mybatis.dynamic.sql.where.condition;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -65,7 +66,39 @@ public class IsIn<T> extends AbstractListValueCondition<T> {
         return of(Arrays.asList(values));
     }
 
+    /**
+     * Create a condition from a collection of values. The collection is copied, so later changes to the collection
+     * do not change the condition.
+     *
+     * @param values the values
+     * @param <T> the type of the values
+     * @return a new condition
+     */
     public static <T> IsIn<T> of(Collection<T> values) {
-        return new IsIn<>(values);
+        return new IsIn<>(new ArrayList<>(values));
+    }
+
+    /**
+     * Create a condition from a primitive long array. The array is copied, but the values are not boxed until
+     * the condition is rendered.
+     *
+     * @param values the values
+     * @return a new condition
+     * @since 1.5.1
+     */
+    public static IsIn<Long> of(long[] values) {
+        return new IsIn<>(new LongArrayValues(values));
+    }
+
+    /**
+     * Create a condition from a primitive int array. The array is copied, but the values are not boxed until
+     * the condition is rendered.
+     *
+     * @param values the values
+     * @return a new condition
+     * @since 1.5.1
+     */
+    public static IsIn<Integer> of(int[] values) {
+        return new IsIn<>(new IntArrayValues(values));
     }
 }
@@ -0,0 +1,51 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.where.condition;
+
+import java.util.AbstractList;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+
+/**
+ * A read only list view over a copy of a primitive long array. Values are boxed one at a time as they are read,
+ * so large lists of values do not need to be boxed in advance when building a condition.
+ */
+class LongArrayValues extends AbstractList<Long> implements RandomAccess {
+    private final long[] values;
+
+    LongArrayValues(long[] values) {
+        this.values = Objects.requireNonNull(values).clone();
+    }
+
+    @Override
+    public Long get(int index) {
+        return values[index];
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+
+    @Override
+    public void forEach(Consumer<? super Long> action) {
+        Objects.requireNonNull(action);
+        for (long value : values) {
+            action.accept(value);
+        }
+    }
+}
@@ -0,0 +1,435 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.where.render;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.mybatis.dynamic.sql.AbstractListValueCondition;
+import org.mybatis.dynamic.sql.AbstractNoValueCondition;
+import org.mybatis.dynamic.sql.AbstractSingleValueCondition;
+import org.mybatis.dynamic.sql.AbstractTwoValueCondition;
+import org.mybatis.dynamic.sql.AndOrCriteriaGroup;
+import org.mybatis.dynamic.sql.BindableColumn;
+import org.mybatis.dynamic.sql.ColumnAndConditionCriterion;
+import org.mybatis.dynamic.sql.CompiledCriterion;
+import org.mybatis.dynamic.sql.CriteriaGroup;
+import org.mybatis.dynamic.sql.ExistsCriterion;
+import org.mybatis.dynamic.sql.NotCriterion;
+import org.mybatis.dynamic.sql.SqlCriterion;
+import org.mybatis.dynamic.sql.SqlCriterionVisitor;
+import org.mybatis.dynamic.sql.VisitableCondition;
+import org.mybatis.dynamic.sql.where.condition.IsEqualTo;
+import org.mybatis.dynamic.sql.where.condition.IsIn;
+
+/**
+ * Simplifies criteria before they are rendered. The optimizer is applied to a where clause when
+ * {@link org.mybatis.dynamic.sql.configuration.StatementConfiguration#isCriteriaOptimizationEnabled()} is true.
+ * The following changes are made:
+ *
+ * <ul>
+ *     <li>Conditions that will not render are removed, exactly as the renderer would remove them</li>
+ *     <li>Groups with a single member are replaced by the member</li>
+ *     <li>Groups are merged into the enclosing criteria when SQL operator precedence allows - for example
+ *         <code>a = ? and (b = ? and c = ?)</code> becomes <code>a = ? and b = ? and c = ?</code></li>
+ *     <li>A NOT group that contains only a NOT group is replaced by the contents of the inner group</li>
+ *     <li>Duplicate conditions in a list of criteria joined only by AND, or only by OR, are removed</li>
+ *     <li>Equality and "in" conditions on the same column in a list of criteria joined only by OR are combined
+ *         into a single "in" condition - for example <code>a = ? or a = ? or b = ?</code> becomes
+ *         <code>a in (?, ?) or b = ?</code></li>
+ * </ul>
+ *
+ * <p>Each change is valid in SQL's three-valued logic. Conditions with null values are never combined, and
+ * conditions are only considered duplicates if they are library conditions of the same type, on the same column
+ * instance, with equal values. Custom conditions, column comparisons, and sub-selects are never removed or
+ * combined.
+ *
+ * <p>The optimizer calls {@link VisitableCondition#renderingSkipped()} for conditions that will not render, so it
+ * should only be used immediately before rendering.
+ *
+ * @since 1.5.1
+ */
+public class CriteriaOptimizer {
+    private static final String AND = "and"; //$NON-NLS-1$
+    private static final String OR = "or"; //$NON-NLS-1$
+
+    private CriteriaOptimizer() {}
+
+    /**
+     * Optimize a list of criteria.
+     *
+     * @param initialCriterion the initial criterion - may be null
+     * @param subCriteria the criteria that follow the initial criterion
+     * @return a criteria group containing the optimized criteria. The group has no initial criterion if none of
+     *     the criteria will render.
+     */
+    public static CriteriaGroup optimize(SqlCriterion initialCriterion, List<AndOrCriteriaGroup> subCriteria) {
+        List<Term> terms = optimizeTerms(toTerms(initialCriterion, subCriteria));
+        return withTerms(new CriteriaGroup.Builder(), terms).build();
+    }
+
+    private static List<Term> toTerms(SqlCriterion initialCriterion, List<AndOrCriteriaGroup> subCriteria) {
+        List<Term> terms = new ArrayList<>();
+        if (initialCriterion != null) {
+            terms.add(new Term(null, initialCriterion.accept(new NodeBuilder())));
+        }
+
+        for (AndOrCriteriaGroup subCriterion : subCriteria) {
+            Node node = new Group(toTerms(subCriterion.initialCriterion().orElse(null),
+                    subCriterion.subCriteria()));
+            terms.add(new Term(subCriterion.connector(), node));
+        }
+
+        return terms;
+    }
+
+    private static List<Term> optimizeTerms(List<Term> terms) {
+        List<Term> optimized = new ArrayList<>();
+        for (Term term : terms) {
+            // if the first term does not render, the renderer drops the connector of the next term
+            term.node.optimize()
+                    .map(n -> new Term(optimized.isEmpty() ? null : term.connector, n))
+                    .ifPresent(optimized::add);
+        }
+
+        List<Term> merged = mergeGroups(optimized);
+
+        if (isJoinedBy(merged, AND)) {
+            return removeDuplicates(merged);
+        } else if (isJoinedBy(merged, OR)) {
+            return combineEqualities(removeDuplicates(merged));
+        } else {
+            return merged;
+        }
+    }
+
+    private static List<Term> mergeGroups(List<Term> terms) {
+        List<Term> merged = new ArrayList<>();
+        for (int i = 0; i < terms.size(); i++) {
+            Term term = terms.get(i);
+            if (term.node instanceof Group && canMerge((Group) term.node, terms, i)) {
+                List<Term> children = ((Group) term.node).terms;
+                merged.add(new Term(term.connector, children.get(0).node));
+                merged.addAll(children.subList(1, children.size()));
+            } else {
+                merged.add(term);
+            }
+        }
+        return merged;
+    }
+
+    private static boolean canMerge(Group group, List<Term> terms, int index) {
+        if (terms.size() == 1 || isJoinedBy(group.terms, AND)) {
+            // AND binds more tightly than OR, so an AND group never needs parentheses
+            return true;
+        }
+
+        // an OR group can only be merged if it is a whole operand of an OR
+        return isJoinedBy(group.terms, OR)
+                && (index == 0 || OR.equalsIgnoreCase(terms.get(index).connector))
+                && (index == terms.size() - 1 || OR.equalsIgnoreCase(terms.get(index + 1).connector));
+    }
+
+    private static boolean isJoinedBy(List<Term> terms, String connector) {
+        return terms.stream().skip(1).allMatch(t -> connector.equalsIgnoreCase(t.connector));
+    }
+
+    private static List<Term> removeDuplicates(List<Term> terms) {
+        List<Term> unique = new ArrayList<>();
+        for (Term term : terms) {
+            if (unique.stream().noneMatch(t -> isDuplicate(t.node, term.node))) {
+                unique.add(term);
+            }
+        }
+        return unique;
+    }
+
+    private static boolean isDuplicate(Node node1, Node node2) {
+        if (!(node1 instanceof Leaf) || !(node2 instanceof Leaf)) {
+            return false;
+        }
+
+        SqlCriterion criterion1 = ((Leaf) node1).criterion;
+        SqlCriterion criterion2 = ((Leaf) node2).criterion;
+        if (criterion1 == criterion2) {
+            return true;
+        }
+
+        if (criterion1 instanceof ColumnAndConditionCriterion && criterion2 instanceof ColumnAndConditionCriterion) {
+            ColumnAndConditionCriterion<?> c1 = (ColumnAndConditionCriterion<?>) criterion1;
+            ColumnAndConditionCriterion<?> c2 = (ColumnAndConditionCriterion<?>) criterion2;
+            return c1.column() == c2.column() && isEqual(c1.condition(), c2.condition());
+        }
+
+        return false;
+    }
+
+    private static boolean isEqual(VisitableCondition<?> condition1, VisitableCondition<?> condition2) {
+        if (condition1.getClass() != condition2.getClass() || !isLibraryCondition(condition1)) {
+            return false;
+        }
+
+        if (condition1 instanceof AbstractNoValueCondition) {
+            return true;
+        } else if (condition1 instanceof AbstractSingleValueCondition) {
+            return Objects.equals(((AbstractSingleValueCondition<?>) condition1).value(),
+                    ((AbstractSingleValueCondition<?>) condition2).value());
+        } else if (condition1 instanceof AbstractTwoValueCondition) {
+            AbstractTwoValueCondition<?> c1 = (AbstractTwoValueCondition<?>) condition1;
+            AbstractTwoValueCondition<?> c2 = (AbstractTwoValueCondition<?>) condition2;
+            return Objects.equals(c1.value1(), c2.value1()) && Objects.equals(c1.value2(), c2.value2());
+        } else if (condition1 instanceof AbstractListValueCondition) {
+            return values((AbstractListValueCondition<?>) condition1)
+                    .equals(values((AbstractListValueCondition<?>) condition2));
+        } else {
+            return false;
+        }
+    }
+
+    private static boolean isLibraryCondition(VisitableCondition<?> condition) {
+        return IsEqualTo.class.getPackage().equals(condition.getClass().getPackage());
+    }
+
+    private static List<Term> combineEqualities(List<Term> terms) {
+        Map<BindableColumn<?>, List<ColumnAndConditionCriterion<?>>> combinable = new IdentityHashMap<>();
+        for (Term term : terms) {
+            combinableCriterion(term.node).ifPresent(c ->
+                    combinable.computeIfAbsent(c.column(), k -> new ArrayList<>()).add(c));
+        }
+
+        List<Term> combined = new ArrayList<>();
+        for (Term term : terms) {
+            Optional<ColumnAndConditionCriterion<?>> criterion = combinableCriterion(term.node);
+            List<ColumnAndConditionCriterion<?>> sameColumn = criterion
+                    .map(c -> combinable.get(c.column()))
+                    .orElse(Collections.emptyList());
+
+            if (sameColumn.size() < 2) {
+                combined.add(term);
+            } else if (sameColumn.get(0) == criterion.orElse(null)) {
+                combined.add(new Term(term.connector, new Leaf(combine(sameColumn))));
+            }
+            // else the criterion has been combined into an earlier term
+        }
+        return combined;
+    }
+
+    private static Optional<ColumnAndConditionCriterion<?>> combinableCriterion(Node node) {
+        if (!(node instanceof Leaf) || !(((Leaf) node).criterion instanceof ColumnAndConditionCriterion)) {
+            return Optional.empty();
+        }
+
+        ColumnAndConditionCriterion<?> criterion = (ColumnAndConditionCriterion<?>) ((Leaf) node).criterion;
+        VisitableCondition<?> condition = criterion.condition();
+        boolean isCombinable;
+        if (condition.getClass() == IsEqualTo.class) {
+            isCombinable = ((IsEqualTo<?>) condition).value() != null;
+        } else if (condition.getClass() == IsIn.class) {
+            // "in" conditions with a null value are left alone, so they render exactly as written
+            isCombinable = values((IsIn<?>) condition).stream().allMatch(Objects::nonNull);
+        } else {
+            isCombinable = false;
+        }
+
+        return isCombinable ? Optional.of(criterion) : Optional.empty();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> SqlCriterion combine(List<ColumnAndConditionCriterion<?>> criteria) {
+        BindableColumn<T> column = (BindableColumn<T>) criteria.get(0).column();
+        List<T> values = criteria.stream()
+                .map(c -> (VisitableCondition<T>) c.condition())
+                .flatMap(CriteriaOptimizer::valueStream)
+                .distinct()
+                .collect(Collectors.toList());
+
+        return ColumnAndConditionCriterion.withColumn(column)
+                .withCondition(IsIn.of(values))
+                .build();
+    }
+
+    private static <T> Stream<T> valueStream(VisitableCondition<T> condition) {
+        if (condition instanceof IsEqualTo) {
+            return Stream.of(((IsEqualTo<T>) condition).value());
+        } else {
+            return ((IsIn<T>) condition).mapValues(Function.identity());
+        }
+    }
+
+    private static <T> List<T> values(AbstractListValueCondition<T> condition) {
+        return condition.mapValues(Function.identity()).collect(Collectors.toList());
+    }
+
+    private static <B extends CriteriaGroup.AbstractGroupBuilder<B>> B withTerms(B builder, List<Term> terms) {
+        if (terms.isEmpty()) {
+            return builder;
+        }
+
+        List<AndOrCriteriaGroup> subCriteria = terms.stream()
+                .skip(1)
+                .map(t -> new AndOrCriteriaGroup.Builder()
+                        .withConnector(t.connector)
+                        .withInitialCriterion(t.node.toCriterion())
+                        .build())
+                .collect(Collectors.toList());
+
+        return builder.withInitialCriterion(terms.get(0).node.toCriterion())
+                .withSubCriteria(subCriteria);
+    }
+
+    private static class Term {
+        // null for the first term in a list
+        private final String connector;
+        private final Node node;
+
+        private Term(String connector, Node node) {
+            this.connector = connector;
+            this.node = node;
+        }
+    }
+
+    private interface Node {
+        Optional<Node> optimize();
+
+        SqlCriterion toCriterion();
+    }
+
+    private static class Leaf implements Node {
+        private final SqlCriterion criterion;
+
+        private Leaf(SqlCriterion criterion) {
+            this.criterion = criterion;
+        }
+
+        @Override
+        public Optional<Node> optimize() {
+            if (criterion instanceof ColumnAndConditionCriterion) {
+                VisitableCondition<?> condition = ((ColumnAndConditionCriterion<?>) criterion).condition();
+                if (!condition.shouldRender()) {
+                    condition.renderingSkipped();
+                    return Optional.empty();
+                }
+            }
+            return Optional.of(this);
+        }
+
+        @Override
+        public SqlCriterion toCriterion() {
+            return criterion;
+        }
+    }
+
+    private static class Group implements Node {
+        private final List<Term> terms;
+
+        private Group(List<Term> terms) {
+            this.terms = terms;
+        }
+
+        @Override
+        public Optional<Node> optimize() {
+            List<Term> optimized = optimizeTerms(terms);
+            if (optimized.isEmpty()) {
+                return Optional.empty();
+            } else if (optimized.size() == 1) {
+                return Optional.of(optimized.get(0).node);
+            } else {
+                return Optional.of(new Group(optimized));
+            }
+        }
+
+        @Override
+        public SqlCriterion toCriterion() {
+            return withTerms(new CriteriaGroup.Builder(), terms).build();
+        }
+    }
+
+    private static class Not implements Node {
+        private final List<Term> terms;
+
+        private Not(List<Term> terms) {
+            this.terms = terms;
+        }
+
+        @Override
+        public Optional<Node> optimize() {
+            List<Term> optimized = optimizeTerms(terms);
+            if (optimized.isEmpty()) {
+                return Optional.empty();
+            } else if (optimized.size() == 1 && optimized.get(0).node instanceof Not) {
+                // not (not (x)) is x in three-valued logic
+                return new Group(((Not) optimized.get(0).node).terms).optimize();
+            } else {
+                return Optional.of(new Not(optimized));
+            }
+        }
+
+        @Override
+        public SqlCriterion toCriterion() {
+            return withTerms(new NotCriterion.Builder(), terms).build();
+        }
+    }
+
+    private static class NodeBuilder implements SqlCriterionVisitor<Node> {
+        @Override
+        public <T> Node visit(ColumnAndConditionCriterion<T> criterion) {
+            if (criterion.subCriteria().isEmpty()) {
+                return new Leaf(criterion);
+            }
+
+            SqlCriterion initialCriterion = ColumnAndConditionCriterion.withColumn(criterion.column())
+                    .withCondition(criterion.condition())
+                    .build();
+            return new Group(toTerms(initialCriterion, criterion.subCriteria()));
+        }
+
+        @Override
+        public Node visit(ExistsCriterion criterion) {
+            if (criterion.subCriteria().isEmpty()) {
+                return new Leaf(criterion);
+            }
+
+            SqlCriterion initialCriterion = new ExistsCriterion.Builder()
+                    .withExistsPredicate(criterion.existsPredicate())
+                    .build();
+            return new Group(toTerms(initialCriterion, criterion.subCriteria()));
+        }
+
+        @Override
+        public Node visit(CriteriaGroup criterion) {
+            return new Group(toTerms(criterion.initialCriterion().orElse(null), criterion.subCriteria()));
+        }
+
+        @Override
+        public Node visit(NotCriterion criterion) {
+            return new Not(toTerms(criterion.initialCriterion().orElse(null), criterion.subCriteria()));
+        }
+
+        @Override
+        public Node visit(CompiledCriterion criterion) {
+            // compiled criteria are already rendered, so they are never rewritten
+            return new Leaf(criterion);
+        }
+    }
+}
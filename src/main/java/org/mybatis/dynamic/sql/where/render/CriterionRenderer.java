@@ -23,6 +23,7 @@ import java.util.stream.Collectors;
 
 import org.mybatis.dynamic.sql.AndOrCriteriaGroup;
 import org.mybatis.dynamic.sql.ColumnAndConditionCriterion;
+import org.mybatis.dynamic.sql.CompiledCriterion;
 import org.mybatis.dynamic.sql.CriteriaGroup;
 import org.mybatis.dynamic.sql.ExistsCriterion;
 import org.mybatis.dynamic.sql.ExistsPredicate;
@@ -87,6 +88,12 @@ public class CriterionRenderer implements SqlCriterionVisitor<Optional<RenderedC
         return renderCriteriaGroup(criterion, this::calculateNotFragment);
     }
 
+    @Override
+    public Optional<RenderedCriterion> visit(CompiledCriterion criterion) {
+        return criterion.render(renderingContext)
+                .map(fp -> new RenderedCriterion.Builder().withFragmentAndParameters(fp).build());
+    }
+
     private Optional<RenderedCriterion> renderCriteriaGroup(CriteriaGroup criterion,
                                                             Function<FragmentCollector, String> fragmentCalculator) {
         return criterion.initialCriterion().map(ic -> render(ic, criterion.subCriteria(), fragmentCalculator))
@@ -122,7 +129,7 @@ public class CriterionRenderer implements SqlCriterionVisitor<Optional<RenderedC
         ExistsPredicate existsPredicate = criterion.existsPredicate();
 
         SelectStatementProvider selectStatement = SelectRenderer
-                .withSelectModel(existsPredicate.selectModelBuilder().build())
+                .withSelectModel(existsPredicate.selectModel())
                 .withRenderingContext(renderingContext)
                 .build()
                 .render();
@@ -18,7 +18,7 @@ package org.mybatis.dynamic.sql.where.render;
 import static org.mybatis.dynamic.sql.util.StringUtilities.spaceBefore;
 
 import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.StringJoiner;
 
 import org.mybatis.dynamic.sql.AbstractColumnComparisonCondition;
 import org.mybatis.dynamic.sql.AbstractListValueCondition;
@@ -33,7 +33,6 @@ import org.mybatis.dynamic.sql.render.RenderingContext;
 import org.mybatis.dynamic.sql.select.render.SelectRenderer;
 import org.mybatis.dynamic.sql.select.render.SelectStatementProvider;
 import org.mybatis.dynamic.sql.util.FragmentAndParameters;
-import org.mybatis.dynamic.sql.util.FragmentCollector;
 
 public class DefaultConditionVisitor<T> implements ConditionVisitor<T, FragmentAndParameters> {
 
@@ -48,17 +47,20 @@ public class DefaultConditionVisitor<T> implements ConditionVisitor<T, FragmentA
     @Override
     public FragmentAndParameters visit(AbstractListValueCondition<T> condition) {
         FragmentAndParameters renderedLeftColumn = column.render(renderingContext);
-        FragmentCollector fc = condition.mapValues(this::toFragmentAndParameters).collect(FragmentCollector.collect());
+        FragmentAndParameters.Builder builder = new FragmentAndParameters.Builder();
+        StringJoiner placeholders = new StringJoiner(",", "(", ")"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+        condition.forEachValue(value -> {
+            RenderedParameterInfo parameterInfo = renderingContext.calculateParameterInfo(column);
+            placeholders.add(parameterInfo.renderedPlaceHolder());
+            builder.withParameter(parameterInfo.parameterMapKey(), convertValue(value));
+        });
 
-        String joinedFragments =
-                fc.collectFragments(Collectors.joining(",", "(", ")")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
         String finalFragment = condition.overrideRenderedLeftColumn(renderedLeftColumn.fragment())
                 + spaceBefore(condition.operator())
-                + spaceBefore(joinedFragments);
+                + spaceBefore(placeholders.toString());
 
-        return FragmentAndParameters
-                .withFragment(finalFragment)
-                .withParameters(fc.parameters())
+        return builder.withFragment(finalFragment)
                 .withParameters(renderedLeftColumn.parameters())
                 .build();
     }
@@ -143,13 +145,6 @@ public class DefaultConditionVisitor<T> implements ConditionVisitor<T, FragmentA
         return column.convertParameterType(value);
     }
 
-    private FragmentAndParameters toFragmentAndParameters(T value) {
-        RenderedParameterInfo parameterInfo = renderingContext.calculateParameterInfo(column);
-        return FragmentAndParameters.withFragment(parameterInfo.renderedPlaceHolder())
-                .withParameter(parameterInfo.parameterMapKey(), convertValue(value))
-                .build();
-    }
-
     public static <T> Builder<T> withColumn(BindableColumn<T> column) {
         return new Builder<T>().withColumn(column);
     }
@@ -44,7 +44,7 @@ public class WhereRenderer extends AbstractBooleanExpressionRenderer<WhereModel>
 
     public static class Builder extends AbstractBuilder<WhereModel, Builder> {
         public Builder(WhereModel whereModel) {
-            super(whereModel);
+            super(whereModel.isCriteriaOptimizationEnabled() ? whereModel.optimizeCriteria() : whereModel);
         }
 
         @Override
@@ -323,6 +323,12 @@ class GroupingCriteriaCollector : SubCriteriaCollector() {
     infix fun <T> BindableColumn<T>.isIn(values: Collection<T & Any>) =
         invoke(org.mybatis.dynamic.sql.util.kotlin.elements.isIn(values))
 
+    infix fun BindableColumn<Long>.isIn(values: LongArray) =
+        invoke(org.mybatis.dynamic.sql.util.kotlin.elements.isIn(values))
+
+    infix fun BindableColumn<Int>.isIn(values: IntArray) =
+        invoke(org.mybatis.dynamic.sql.util.kotlin.elements.isIn(values))
+
     infix fun BindableColumn<*>.isIn(subQuery: KotlinSubQueryBuilder.() -> Unit) =
         invoke(org.mybatis.dynamic.sql.util.kotlin.elements.isIn(subQuery))
 
@@ -336,6 +342,12 @@ class GroupingCriteriaCollector : SubCriteriaCollector() {
     infix fun <T> BindableColumn<T>.isNotIn(values: Collection<T & Any>) =
         invoke(org.mybatis.dynamic.sql.util.kotlin.elements.isNotIn(values))
 
+    infix fun BindableColumn<Long>.isNotIn(values: LongArray) =
+        invoke(org.mybatis.dynamic.sql.util.kotlin.elements.isNotIn(values))
+
+    infix fun BindableColumn<Int>.isNotIn(values: IntArray) =
+        invoke(org.mybatis.dynamic.sql.util.kotlin.elements.isNotIn(values))
+
     infix fun BindableColumn<*>.isNotIn(subQuery: KotlinSubQueryBuilder.() -> Unit) =
         invoke(org.mybatis.dynamic.sql.util.kotlin.elements.isNotIn(subQuery))
 
@@ -236,6 +236,10 @@ fun <T> isIn(vararg values: T & Any): IsIn<T> = isIn(values.asList())
 
 fun <T> isIn(values: Collection<T & Any>): IsIn<T> = SqlBuilder.isIn(values)
 
+fun isIn(values: LongArray): IsIn<Long> = SqlBuilder.isIn(values)
+
+fun isIn(values: IntArray): IsIn<Int> = SqlBuilder.isIn(values)
+
 fun <T> isIn(subQuery: KotlinSubQueryBuilder.() -> Unit): IsInWithSubselect<T> =
     SqlBuilder.isIn(KotlinSubQueryBuilder().apply(subQuery))
 
@@ -247,6 +251,10 @@ fun <T> isNotIn(vararg values: T & Any): IsNotIn<T> = isNotIn(values.asList())
 
 fun <T> isNotIn(values: Collection<T & Any>): IsNotIn<T> = SqlBuilder.isNotIn(values)
 
+fun isNotIn(values: LongArray): IsNotIn<Long> = SqlBuilder.isNotIn(values)
+
+fun isNotIn(values: IntArray): IsNotIn<Int> = SqlBuilder.isNotIn(values)
+
 fun <T> isNotIn(subQuery: KotlinSubQueryBuilder.() -> Unit): IsNotInWithSubselect<T> =
     SqlBuilder.isNotIn(KotlinSubQueryBuilder().apply(subQuery))
 
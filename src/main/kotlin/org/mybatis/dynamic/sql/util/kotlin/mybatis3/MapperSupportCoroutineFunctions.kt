@@ -0,0 +1,96 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.util.kotlin.mybatis3
+
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.channels.Channel
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.buffer
+import kotlinx.coroutines.flow.flow
+import kotlinx.coroutines.flow.flowOn
+import kotlinx.coroutines.withContext
+import org.apache.ibatis.cursor.Cursor
+import org.mybatis.dynamic.sql.BasicColumn
+import org.mybatis.dynamic.sql.SqlTable
+import org.mybatis.dynamic.sql.select.render.SelectStatementProvider
+import org.mybatis.dynamic.sql.util.kotlin.SelectCompleter
+
+// Coroutine support for select statements. MyBatis mappers are blocking, so statements are executed on the supplied
+// dispatcher (Dispatchers.IO by default). Any dispatcher can be used - for example, a dispatcher backed by a virtual
+// thread executor: Executors.newVirtualThreadPerTaskExecutor().asCoroutineDispatcher()
+
+suspend fun <T> awaitSelectList(
+    mapper: (SelectStatementProvider) -> List<T>,
+    selectList: List<BasicColumn>,
+    table: SqlTable,
+    dispatcher: CoroutineDispatcher = Dispatchers.IO,
+    completer: SelectCompleter
+): List<T> =
+    withContext(dispatcher) { selectList(mapper, selectList, table, completer) }
+
+suspend fun <T> awaitSelectOne(
+    mapper: (SelectStatementProvider) -> T?,
+    selectList: List<BasicColumn>,
+    table: SqlTable,
+    dispatcher: CoroutineDispatcher = Dispatchers.IO,
+    completer: SelectCompleter
+): T? =
+    withContext(dispatcher) { selectOne(mapper, selectList, table, completer) }
+
+/**
+ * Execute a select statement with a mapper method that returns a MyBatis [Cursor], and emit each row as it is read.
+ * The mapper method is called on the dispatcher when the flow is collected, and the cursor is closed when the flow
+ * completes or is cancelled. Rows are buffered between the dispatcher and the collector - if the buffer is full,
+ * then reading from the cursor is suspended until the collector catches up.
+ *
+ * The SqlSession that owns the mapper must remain open until the flow completes. SqlSessions are not thread safe,
+ * so the session should not be used for anything else while the flow is being collected.
+ *
+ * @param mapper a mapper method that returns a cursor
+ * @param selectStatement the select statement
+ * @param dispatcher the dispatcher used to execute the statement and read the cursor
+ * @param bufferSize the number of rows buffered ahead of the collector (see [Channel] for special values)
+ */
+fun <T> selectFlow(
+    mapper: (SelectStatementProvider) -> Cursor<T>,
+    selectStatement: SelectStatementProvider,
+    dispatcher: CoroutineDispatcher = Dispatchers.IO,
+    bufferSize: Int = Channel.BUFFERED
+): Flow<T> =
+    flow {
+        mapper(selectStatement).use { cursor ->
+            cursor.forEach { emit(it) }
+        }
+    }.buffer(bufferSize).flowOn(dispatcher)
+
+fun <T> selectFlow(
+    mapper: (SelectStatementProvider) -> Cursor<T>,
+    selectList: List<BasicColumn>,
+    table: SqlTable,
+    dispatcher: CoroutineDispatcher = Dispatchers.IO,
+    bufferSize: Int = Channel.BUFFERED,
+    completer: SelectCompleter
+): Flow<T> =
+    selectFlow(
+        mapper,
+        select(selectList) {
+            from(table)
+            run(completer)
+        },
+        dispatcher,
+        bufferSize
+    )
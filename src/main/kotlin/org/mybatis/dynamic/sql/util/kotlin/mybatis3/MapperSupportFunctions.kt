@@ -23,8 +23,10 @@ import org.mybatis.dynamic.sql.insert.render.GeneralInsertStatementProvider
 import org.mybatis.dynamic.sql.insert.render.InsertSelectStatementProvider
 import org.mybatis.dynamic.sql.insert.render.InsertStatementProvider
 import org.mybatis.dynamic.sql.insert.render.MultiRowInsertStatementProvider
+import org.mybatis.dynamic.sql.render.StatementMetadata
 import org.mybatis.dynamic.sql.select.render.SelectStatementProvider
 import org.mybatis.dynamic.sql.update.render.UpdateStatementProvider
+import org.mybatis.dynamic.sql.util.StatementMetrics
 import org.mybatis.dynamic.sql.util.kotlin.CountCompleter
 import org.mybatis.dynamic.sql.util.kotlin.DeleteCompleter
 import org.mybatis.dynamic.sql.util.kotlin.GeneralInsertCompleter
@@ -144,6 +146,39 @@ fun <T> selectDistinct(
         run(completer)
     }.run(mapper)
 
+fun selectLongArray(
+    mapper: (SelectStatementProvider) -> LongArray,
+    column: BasicColumn,
+    table: SqlTable,
+    completer: SelectCompleter
+): LongArray =
+    select(column) {
+        from(table)
+        run(completer)
+    }.run(mapper)
+
+fun selectIntArray(
+    mapper: (SelectStatementProvider) -> IntArray,
+    column: BasicColumn,
+    table: SqlTable,
+    completer: SelectCompleter
+): IntArray =
+    select(column) {
+        from(table)
+        run(completer)
+    }.run(mapper)
+
+fun selectDoubleArray(
+    mapper: (SelectStatementProvider) -> DoubleArray,
+    column: BasicColumn,
+    table: SqlTable,
+    completer: SelectCompleter
+): DoubleArray =
+    select(column) {
+        from(table)
+        run(completer)
+    }.run(mapper)
+
 fun <T> selectList(
     mapper: (SelectStatementProvider) -> List<T>,
     selectList: List<BasicColumn>,
@@ -168,3 +203,106 @@ fun <T> selectOne(
 
 fun update(mapper: (UpdateStatementProvider) -> Int, table: SqlTable, completer: UpdateCompleter): Int =
     update(table, completer).run(mapper)
+
+/**
+ * Wrap a mapper select method so that every execution is reported to the metrics.
+ */
+fun <T> measuredSelect(
+    metrics: StatementMetrics,
+    mapper: (SelectStatementProvider) -> T
+): (SelectStatementProvider) -> T = { selectStatement ->
+    metrics.measure(
+        selectStatement.selectStatement,
+        selectStatement.fingerprint,
+        selectStatement.statementMetadata,
+        { mapper(selectStatement) }
+    ) {
+        StatementMetrics.rowsOf(it)
+    }
+}
+
+/**
+ * Wrap a mapper count method so that every execution is reported to the metrics.
+ */
+fun measuredCount(
+    metrics: StatementMetrics,
+    mapper: (SelectStatementProvider) -> Long
+): (SelectStatementProvider) -> Long = { selectStatement ->
+    metrics.measure(
+        selectStatement.selectStatement,
+        selectStatement.fingerprint,
+        selectStatement.statementMetadata,
+        { mapper(selectStatement) }
+    ) {
+        1L
+    }
+}
+
+/**
+ * Wrap a mapper delete method so that every execution is reported to the metrics.
+ */
+fun measuredDelete(
+    metrics: StatementMetrics,
+    mapper: (DeleteStatementProvider) -> Int
+): (DeleteStatementProvider) -> Int = { deleteStatement ->
+    measure(metrics, deleteStatement.deleteStatement, deleteStatement.fingerprint, deleteStatement.statementMetadata) {
+        mapper(deleteStatement)
+    }
+}
+
+/**
+ * Wrap a mapper general insert method so that every execution is reported to the metrics.
+ */
+fun measuredGeneralInsert(
+    metrics: StatementMetrics,
+    mapper: (GeneralInsertStatementProvider) -> Int
+): (GeneralInsertStatementProvider) -> Int = { insertStatement ->
+    measure(metrics, insertStatement.insertStatement, insertStatement.fingerprint, insertStatement.statementMetadata) {
+        mapper(insertStatement)
+    }
+}
+
+/**
+ * Wrap a mapper insert method so that every execution is reported to the metrics.
+ */
+fun <T> measuredInsert(
+    metrics: StatementMetrics,
+    mapper: (InsertStatementProvider<T>) -> Int
+): (InsertStatementProvider<T>) -> Int = { insertStatement ->
+    measure(metrics, insertStatement.insertStatement, insertStatement.fingerprint, insertStatement.statementMetadata) {
+        mapper(insertStatement)
+    }
+}
+
+/**
+ * Wrap a mapper multi-row insert method so that every execution is reported to the metrics.
+ */
+fun <T> measuredInsertMultiple(
+    metrics: StatementMetrics,
+    mapper: (MultiRowInsertStatementProvider<T>) -> Int
+): (MultiRowInsertStatementProvider<T>) -> Int = { insertStatement ->
+    measure(metrics, insertStatement.insertStatement, insertStatement.fingerprint, insertStatement.statementMetadata) {
+        mapper(insertStatement)
+    }
+}
+
+/**
+ * Wrap a mapper update method so that every execution is reported to the metrics.
+ */
+fun measuredUpdate(
+    metrics: StatementMetrics,
+    mapper: (UpdateStatementProvider) -> Int
+): (UpdateStatementProvider) -> Int = { updateStatement ->
+    measure(metrics, updateStatement.updateStatement, updateStatement.fingerprint, updateStatement.statementMetadata) {
+        mapper(updateStatement)
+    }
+}
+
+private fun measure(
+    metrics: StatementMetrics,
+    statement: String,
+    fingerprint: Long,
+    statementMetadata: StatementMetadata,
+    execution: () -> Int
+): Int =
+    metrics.measure(statement, fingerprint, statementMetadata, execution) { it.toLong() }
@@ -0,0 +1,92 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.util.kotlin.spring
+
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.channels.Channel
+import kotlinx.coroutines.channels.trySendBlocking
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.buffer
+import kotlinx.coroutines.flow.channelFlow
+import kotlinx.coroutines.flow.flowOn
+import kotlinx.coroutines.withContext
+import org.mybatis.dynamic.sql.select.render.SelectStatementProvider
+import org.springframework.jdbc.core.RowCallbackHandler
+import org.springframework.jdbc.core.RowMapper
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate
+import java.sql.ResultSet
+
+// Coroutine support for select statements. JDBC is blocking, so statements are executed on the supplied dispatcher
+// (Dispatchers.IO by default). Any dispatcher can be used - for example, a dispatcher backed by a virtual thread
+// executor: Executors.newVirtualThreadPerTaskExecutor().asCoroutineDispatcher()
+
+suspend fun <T> NamedParameterJdbcTemplate.awaitSelectList(
+    selectStatement: SelectStatementProvider,
+    dispatcher: CoroutineDispatcher = Dispatchers.IO,
+    rowMapper: (rs: ResultSet, rowNum: Int) -> T
+): List<T> = awaitSelectList(selectStatement, RowMapper(rowMapper), dispatcher)
+
+suspend fun <T> NamedParameterJdbcTemplate.awaitSelectList(
+    selectStatement: SelectStatementProvider,
+    rowMapper: RowMapper<T>,
+    dispatcher: CoroutineDispatcher = Dispatchers.IO
+): List<T> = withContext(dispatcher) { selectList(selectStatement, rowMapper) }
+
+suspend fun <T> NamedParameterJdbcTemplate.awaitSelectOne(
+    selectStatement: SelectStatementProvider,
+    dispatcher: CoroutineDispatcher = Dispatchers.IO,
+    rowMapper: (rs: ResultSet, rowNum: Int) -> T
+): T? = awaitSelectOne(selectStatement, RowMapper(rowMapper), dispatcher)
+
+suspend fun <T> NamedParameterJdbcTemplate.awaitSelectOne(
+    selectStatement: SelectStatementProvider,
+    rowMapper: RowMapper<T>,
+    dispatcher: CoroutineDispatcher = Dispatchers.IO
+): T? = withContext(dispatcher) { selectOne(selectStatement, rowMapper) }
+
+/**
+ * Execute a select statement and emit each mapped row as it is read from the result set. The statement is
+ * executed on the dispatcher when the flow is collected. Rows are buffered between the dispatcher and the collector -
+ * if the buffer is full, then reading from the result set is suspended until the collector catches up. If the
+ * collector is cancelled, then the statement is abandoned and the result set is closed.
+ *
+ * @param selectStatement the select statement
+ * @param dispatcher the dispatcher used to execute the statement
+ * @param bufferSize the number of rows buffered ahead of the collector (see [Channel] for special values)
+ * @param rowMapper function to create an object from a result set row
+ */
+fun <T> NamedParameterJdbcTemplate.selectFlow(
+    selectStatement: SelectStatementProvider,
+    dispatcher: CoroutineDispatcher = Dispatchers.IO,
+    bufferSize: Int = Channel.BUFFERED,
+    rowMapper: (rs: ResultSet, rowNum: Int) -> T
+): Flow<T> = selectFlow(selectStatement, RowMapper(rowMapper), dispatcher, bufferSize)
+
+fun <T> NamedParameterJdbcTemplate.selectFlow(
+    selectStatement: SelectStatementProvider,
+    rowMapper: RowMapper<T>,
+    dispatcher: CoroutineDispatcher = Dispatchers.IO,
+    bufferSize: Int = Channel.BUFFERED
+): Flow<T> =
+    channelFlow {
+        var rowNum = 0
+        query(
+            selectStatement.selectStatement,
+            selectStatement.parameters,
+            RowCallbackHandler { rs -> channel.trySendBlocking(rowMapper.mapRow(rs, rowNum++)).getOrThrow() }
+        )
+    }.buffer(bufferSize).flowOn(dispatcher)
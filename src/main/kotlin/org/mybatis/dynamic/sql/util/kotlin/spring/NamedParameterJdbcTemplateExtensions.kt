@@ -36,8 +36,10 @@ import org.mybatis.dynamic.sql.util.kotlin.KotlinMultiRowInsertCompleter
 import org.mybatis.dynamic.sql.util.kotlin.MyBatisDslMarker
 import org.mybatis.dynamic.sql.util.kotlin.SelectCompleter
 import org.mybatis.dynamic.sql.util.kotlin.UpdateCompleter
+import org.mybatis.dynamic.sql.util.ResultSetReader
 import org.mybatis.dynamic.sql.util.spring.BatchInsertUtility
 import org.springframework.dao.EmptyResultDataAccessException
+import org.springframework.jdbc.core.ResultSetExtractor
 import org.springframework.jdbc.core.RowMapper
 import org.springframework.jdbc.core.namedparam.BeanPropertySqlParameterSource
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource
@@ -188,6 +190,31 @@ fun <T : Any> NamedParameterJdbcTemplate.selectList(
 ): List<T> =
     queryForList(selectStatement.selectStatement, selectStatement.parameters, type.java)
 
+// primitive arrays - values are collected without boxing, nulls are returned as zero
+fun NamedParameterJdbcTemplate.selectLongArray(selectStatement: SelectStatementProvider): LongArray =
+    read(selectStatement, ResultSetReader.longArray())
+
+fun NamedParameterJdbcTemplate.selectLongArray(column: BasicColumn, completer: SelectCompleter): LongArray =
+    selectLongArray(org.mybatis.dynamic.sql.util.kotlin.spring.select(column, completer = completer))
+
+fun NamedParameterJdbcTemplate.selectIntArray(selectStatement: SelectStatementProvider): IntArray =
+    read(selectStatement, ResultSetReader.intArray())
+
+fun NamedParameterJdbcTemplate.selectIntArray(column: BasicColumn, completer: SelectCompleter): IntArray =
+    selectIntArray(org.mybatis.dynamic.sql.util.kotlin.spring.select(column, completer = completer))
+
+fun NamedParameterJdbcTemplate.selectDoubleArray(selectStatement: SelectStatementProvider): DoubleArray =
+    read(selectStatement, ResultSetReader.doubleArray())
+
+fun NamedParameterJdbcTemplate.selectDoubleArray(column: BasicColumn, completer: SelectCompleter): DoubleArray =
+    selectDoubleArray(org.mybatis.dynamic.sql.util.kotlin.spring.select(column, completer = completer))
+
+private fun <T : Any> NamedParameterJdbcTemplate.read(
+    selectStatement: SelectStatementProvider,
+    resultSetReader: ResultSetReader<T>
+): T =
+    query(selectStatement.selectStatement, selectStatement.parameters, ResultSetExtractor(resultSetReader::read))!!
+
 fun NamedParameterJdbcTemplate.selectOne(
     vararg selectList: BasicColumn,
     completer: SelectCompleter
@@ -47,16 +47,20 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mybatis.dynamic.sql.BasicColumn;
 import org.mybatis.dynamic.sql.SqlTable;
+import org.mybatis.dynamic.sql.delete.render.BatchDelete;
 import org.mybatis.dynamic.sql.delete.render.DeleteStatementProvider;
 import org.mybatis.dynamic.sql.exception.NonRenderingWhereClauseException;
 import org.mybatis.dynamic.sql.insert.render.BatchInsert;
 import org.mybatis.dynamic.sql.insert.render.GeneralInsertStatementProvider;
 import org.mybatis.dynamic.sql.insert.render.InsertSelectStatementProvider;
 import org.mybatis.dynamic.sql.insert.render.InsertStatementProvider;
+import org.mybatis.dynamic.sql.insert.render.MultiRowInsertStatementProvider;
 import org.mybatis.dynamic.sql.render.ExplicitTableAliasCalculator;
 import org.mybatis.dynamic.sql.render.RenderingStrategies;
 import org.mybatis.dynamic.sql.select.SelectModel;
 import org.mybatis.dynamic.sql.select.render.SelectStatementProvider;
+import org.mybatis.dynamic.sql.update.render.BatchUpdate;
+import org.mybatis.dynamic.sql.update.render.MultiRowUpdate;
 import org.mybatis.dynamic.sql.update.render.UpdateStatementProvider;
 import org.mybatis.dynamic.sql.util.mybatis3.CommonSelectMapper;
 import org.mybatis.dynamic.sql.util.mybatis3.MyBatis3Utils;
@@ -665,6 +669,46 @@ class AnimalDataTest {
         }
     }
 
+    @Test
+    void testInConditionWithIntArray() {
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            AnimalDataMapper mapper = sqlSession.getMapper(AnimalDataMapper.class);
+
+            int[] ids = {5, 8, 10};
+            SelectStatementProvider selectStatement = select(id, animalName, bodyWeight, brainWeight)
+                    .from(animalData)
+                    .where(id, isIn(ids))
+                    .orderBy(id)
+                    .build()
+                    .render(RenderingStrategies.MYBATIS3);
+
+            assertThat(selectStatement.getSelectStatement()).isEqualTo(
+                    "select id, animal_name, body_weight, brain_weight from AnimalData where id in "
+                            + "(#{parameters.p1,jdbcType=INTEGER},#{parameters.p2,jdbcType=INTEGER},"
+                            + "#{parameters.p3,jdbcType=INTEGER}) order by id");
+
+            ids[0] = 6; // changing the array after building the condition has no effect
+            List<AnimalData> animals = mapper.selectMany(selectStatement);
+            assertThat(animals).extracting(AnimalData::getId).containsExactly(5, 8, 10);
+        }
+    }
+
+    @Test
+    void testInConditionWithFilteredIntArray() {
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            AnimalDataMapper mapper = sqlSession.getMapper(AnimalDataMapper.class);
+
+            SelectStatementProvider selectStatement = select(id, animalName, bodyWeight, brainWeight)
+                    .from(animalData)
+                    .where(id, isIn(new int[] {5, 8, 10}).filter(i -> i > 5))
+                    .build()
+                    .render(RenderingStrategies.MYBATIS3);
+
+            List<AnimalData> animals = mapper.selectMany(selectStatement);
+            assertThat(animals).hasSize(2);
+        }
+    }
+
     @Test
     void testInConditionWithEventuallyEmptyList() {
         try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
@@ -745,6 +789,22 @@ class AnimalDataTest {
         }
     }
 
+    @Test
+    void testNotInConditionWithIntArray() {
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            AnimalDataMapper mapper = sqlSession.getMapper(AnimalDataMapper.class);
+
+            SelectStatementProvider selectStatement = select(id, animalName, bodyWeight, brainWeight)
+                    .from(animalData)
+                    .where(id, isNotIn(new int[] {5, 8, 10}))
+                    .build()
+                    .render(RenderingStrategies.MYBATIS3);
+
+            List<AnimalData> animals = mapper.selectMany(selectStatement);
+            assertThat(animals).hasSize(62);
+        }
+    }
+
     @Test
     void testNotInCaseSensitiveCondition() {
         try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
@@ -1650,6 +1710,316 @@ class AnimalDataTest {
         }
     }
 
+    @Test
+    void testBatchUpdate() {
+        try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+            AnimalDataMapper mapper = sqlSession.getMapper(AnimalDataMapper.class);
+            List<AnimalData> records = new ArrayList<>();
+            for (int i = 1; i <= 5; i++) {
+                AnimalData record = new AnimalData();
+                record.setId(i);
+                record.setAnimalName("Animal " + i);
+                record.setBodyWeight(i * 10.0);
+                records.add(record);
+            }
+
+            BatchUpdate<AnimalData> batchUpdate = updateBatch(records)
+                    .table(animalData)
+                    .set(animalName).toProperty("animalName")
+                    .set(bodyWeight).toProperty("bodyWeight")
+                    .set(brainWeight).toConstant("1.5")
+                    .where(id, "id")
+                    .build()
+                    .render(RenderingStrategies.MYBATIS3);
+
+            batchUpdate.updateStatements().forEach(mapper::update);
+            sqlSession.flushStatements();
+
+            SelectStatementProvider selectStatement = select(id, animalName, bodyWeight, brainWeight)
+                    .from(animalData)
+                    .where(id, isLessThanOrEqualTo(6))
+                    .orderBy(id)
+                    .build()
+                    .render(RenderingStrategies.MYBATIS3);
+
+            List<AnimalData> animals = mapper.selectMany(selectStatement);
+
+            assertAll(
+                    () -> assertThat(animals).hasSize(6),
+                    () -> assertThat(animals.get(0).getAnimalName()).isEqualTo("Animal 1"),
+                    () -> assertThat(animals.get(4).getAnimalName()).isEqualTo("Animal 5"),
+                    () -> assertThat(animals.get(4).getBodyWeight()).isEqualTo(50.0),
+                    () -> assertThat(animals.get(4).getBrainWeight()).isEqualTo(1.5),
+                    () -> assertThat(animals.get(5).getAnimalName()).isEqualTo("Star-nosed mole")
+            );
+        }
+    }
+
+    @Test
+    void testBatchDeleteInChunks() {
+        try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+            AnimalDataMapper mapper = sqlSession.getMapper(AnimalDataMapper.class);
+            List<AnimalData> records = new ArrayList<>();
+            for (int i = 1; i <= 5; i++) {
+                AnimalData record = new AnimalData();
+                record.setId(i);
+                records.add(record);
+            }
+
+            BatchDelete<AnimalData> batchDelete = deleteBatch(records)
+                    .from(animalData)
+                    .where(id, "id")
+                    .build()
+                    .render(RenderingStrategies.MYBATIS3);
+
+            int[][] updateCounts = MyBatis3Utils.deleteBatch(mapper::delete, sqlSession::flushStatements,
+                    batchDelete, 2);
+
+            assertThat(updateCounts).hasNumberOfRows(3);
+            assertThat(updateCounts[0]).containsExactly(1, 1);
+            assertThat(updateCounts[1]).containsExactly(1, 1);
+            assertThat(updateCounts[2]).containsExactly(1);
+
+            SelectStatementProvider selectStatement = select(id, animalName, bodyWeight, brainWeight)
+                    .from(animalData)
+                    .where(id, isLessThanOrEqualTo(6))
+                    .build()
+                    .render(RenderingStrategies.MYBATIS3);
+
+            List<AnimalData> animals = mapper.selectMany(selectStatement);
+            assertThat(animals).extracting(AnimalData::getId).containsExactly(6);
+        }
+    }
+
+    @Test
+    void testUpsert() {
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            AnimalDataMapper mapper = sqlSession.getMapper(AnimalDataMapper.class);
+            AnimalData record = new AnimalData();
+            record.setId(1);
+            record.setAnimalName("Updated Animal");
+            record.setBodyWeight(2.5);
+            record.setBrainWeight(1.2);
+
+            InsertStatementProvider<AnimalData> upsertStatement = upsert(record)
+                    .into(animalData)
+                    .map(id).toProperty("id")
+                    .map(animalName).toProperty("animalName")
+                    .map(bodyWeight).toProperty("bodyWeight")
+                    .map(brainWeight).toProperty("brainWeight")
+                    .onKey(id)
+                    .build()
+                    .render(RenderingStrategies.MYBATIS3);
+
+            int rows = mapper.insert(upsertStatement);
+            assertThat(rows).isEqualTo(1);
+
+            AnimalData returnedRecord = mapper.selectOne(select(id, animalName, bodyWeight, brainWeight)
+                    .from(animalData)
+                    .where(id, isEqualTo(1))
+                    .build()
+                    .render(RenderingStrategies.MYBATIS3));
+
+            assertAll(
+                    () -> assertThat(returnedRecord.getAnimalName()).isEqualTo("Updated Animal"),
+                    () -> assertThat(returnedRecord.getBodyWeight()).isEqualTo(2.5)
+            );
+        }
+    }
+
+    @Test
+    void testUpsertBatchAndMultiple() {
+        try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+            AnimalDataMapper mapper = sqlSession.getMapper(AnimalDataMapper.class);
+            List<AnimalData> records = new ArrayList<>();
+            for (int i = 64; i <= 67; i++) {
+                AnimalData record = new AnimalData();
+                record.setId(i);
+                record.setAnimalName("Animal " + i);
+                record.setBodyWeight(i * 10.0);
+                record.setBrainWeight(1.0);
+                records.add(record);
+            }
+
+            BatchInsert<AnimalData> batchUpsert = upsertBatch(records)
+                    .into(animalData)
+                    .map(id).toProperty("id")
+                    .map(animalName).toProperty("animalName")
+                    .map(bodyWeight).toProperty("bodyWeight")
+                    .map(brainWeight).toProperty("brainWeight")
+                    .onKey(id)
+                    .build()
+                    .render(RenderingStrategies.MYBATIS3);
+
+            batchUpsert.insertStatements().forEach(mapper::insert);
+            sqlSession.flushStatements();
+
+            MultiRowInsertStatementProvider<AnimalData> multiRowUpsert = upsertMultiple(records)
+                    .into(animalData)
+                    .map(id).toProperty("id")
+                    .map(animalName).toProperty("animalName")
+                    .map(bodyWeight).toConstant("0.0")
+                    .map(brainWeight).toProperty("brainWeight")
+                    .onKey(id)
+                    .build()
+                    .render(RenderingStrategies.MYBATIS3);
+
+            mapper.insertMultiple(multiRowUpsert);
+            sqlSession.flushStatements();
+
+            SelectStatementProvider selectStatement = select(id, animalName, bodyWeight, brainWeight)
+                    .from(animalData)
+                    .where(id, isGreaterThanOrEqualTo(64))
+                    .orderBy(id)
+                    .build()
+                    .render(RenderingStrategies.MYBATIS3);
+
+            List<AnimalData> animals = mapper.selectMany(selectStatement);
+
+            assertAll(
+                    () -> assertThat(animals).extracting(AnimalData::getId).containsExactly(64, 65, 66, 67),
+                    () -> assertThat(animals.get(0).getAnimalName()).isEqualTo("Animal 64"),
+                    () -> assertThat(animals.get(3).getAnimalName()).isEqualTo("Animal 67"),
+                    () -> assertThat(animals).allSatisfy(a -> assertThat(a.getBodyWeight()).isEqualTo(0.0))
+            );
+        }
+    }
+
+    @Test
+    void testInsertArrays() {
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            AnimalDataMapper mapper = sqlSession.getMapper(AnimalDataMapper.class);
+            List<AnimalData> records = new ArrayList<>();
+            for (int i = 70; i <= 72; i++) {
+                AnimalData record = new AnimalData();
+                record.setId(i);
+                record.setAnimalName("Animal " + i);
+                record.setBodyWeight(i * 10.0);
+                record.setBrainWeight(1.0);
+                records.add(record);
+            }
+
+            GeneralInsertStatementProvider insertStatement = insertArrays(records)
+                    .into(animalData)
+                    .map(id).toProperty("id", "integer")
+                    .map(animalName).toProperty("animalName", "varchar(20)")
+                    .map(bodyWeight).toProperty("bodyWeight", "double")
+                    .map(brainWeight).toProperty("brainWeight", "double")
+                    .build()
+                    .render(RenderingStrategies.MYBATIS3);
+
+            int rows = mapper.generalInsert(insertStatement);
+            assertThat(rows).isEqualTo(3);
+
+            SelectStatementProvider selectStatement = select(id, animalName, bodyWeight, brainWeight)
+                    .from(animalData)
+                    .where(id, isGreaterThanOrEqualTo(70))
+                    .orderBy(id)
+                    .build()
+                    .render(RenderingStrategies.MYBATIS3);
+
+            List<AnimalData> animals = mapper.selectMany(selectStatement);
+
+            assertAll(
+                    () -> assertThat(animals).extracting(AnimalData::getId).containsExactly(70, 71, 72),
+                    () -> assertThat(animals).extracting(AnimalData::getAnimalName)
+                            .containsExactly("Animal 70", "Animal 71", "Animal 72"),
+                    () -> assertThat(animals.get(2).getBodyWeight()).isEqualTo(720.0)
+            );
+        }
+    }
+
+    @Test
+    void testInsertTuples() {
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            AnimalDataMapper mapper = sqlSession.getMapper(AnimalDataMapper.class);
+            List<AnimalData> records = new ArrayList<>();
+            for (int i = 73; i <= 75; i++) {
+                AnimalData record = new AnimalData();
+                record.setId(i);
+                record.setAnimalName("Animal " + i);
+                record.setBodyWeight(i * 10.0);
+                records.add(record);
+            }
+
+            GeneralInsertStatementProvider insertStatement = insertTuples(records)
+                    .into(animalData)
+                    .map(id).toValue(AnimalData::getId)
+                    .map(animalName).toValue(AnimalData::getAnimalName)
+                    .map(bodyWeight).toValue(AnimalData::getBodyWeight)
+                    .map(brainWeight).toConstant("1.0")
+                    .build()
+                    .render(RenderingStrategies.MYBATIS3);
+
+            int rows = mapper.generalInsert(insertStatement);
+            assertThat(rows).isEqualTo(3);
+
+            SelectStatementProvider selectStatement = select(id, animalName, bodyWeight, brainWeight)
+                    .from(animalData)
+                    .where(id, isGreaterThanOrEqualTo(73))
+                    .orderBy(id)
+                    .build()
+                    .render(RenderingStrategies.MYBATIS3);
+
+            List<AnimalData> animals = mapper.selectMany(selectStatement);
+
+            assertAll(
+                    () -> assertThat(animals).extracting(AnimalData::getId).containsExactly(73, 74, 75),
+                    () -> assertThat(animals).extracting(AnimalData::getAnimalName)
+                            .containsExactly("Animal 73", "Animal 74", "Animal 75"),
+                    () -> assertThat(animals).allSatisfy(a -> assertThat(a.getBrainWeight()).isEqualTo(1.0))
+            );
+        }
+    }
+
+    @Test
+    void testUpdateMultiple() {
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            AnimalDataMapper mapper = sqlSession.getMapper(AnimalDataMapper.class);
+            List<AnimalData> records = new ArrayList<>();
+            for (int i = 1; i <= 5; i++) {
+                AnimalData record = new AnimalData();
+                record.setId(i);
+                record.setAnimalName("Animal " + i);
+                record.setBodyWeight(i * 10.0);
+                records.add(record);
+            }
+
+            MultiRowUpdate<AnimalData> multiRowUpdate = updateMultiple(records)
+                    .table(animalData)
+                    .set(animalName).toProperty("animalName")
+                    .set(bodyWeight).toProperty("bodyWeight")
+                    .set(brainWeight).toConstant("1.5")
+                    .where(id, "id")
+                    .withParameterLimit(15)
+                    .build()
+                    .render(RenderingStrategies.MYBATIS3);
+
+            assertThat(multiRowUpdate.updateStatements()).hasSize(2);
+
+            int rows = MyBatis3Utils.updateMultiple(mapper::update, multiRowUpdate);
+            assertThat(rows).isEqualTo(5);
+
+            SelectStatementProvider selectStatement = select(id, animalName, bodyWeight, brainWeight)
+                    .from(animalData)
+                    .where(id, isLessThanOrEqualTo(6))
+                    .orderBy(id)
+                    .build()
+                    .render(RenderingStrategies.MYBATIS3);
+
+            List<AnimalData> animals = mapper.selectMany(selectStatement);
+
+            assertAll(
+                    () -> assertThat(animals).hasSize(6),
+                    () -> assertThat(animals.get(0).getAnimalName()).isEqualTo("Animal 1"),
+                    () -> assertThat(animals.get(4).getAnimalName()).isEqualTo("Animal 5"),
+                    () -> assertThat(animals.get(4).getBodyWeight()).isEqualTo(50.0),
+                    () -> assertThat(animals.get(4).getBrainWeight()).isEqualTo(1.5),
+                    () -> assertThat(animals.get(5).getAnimalName()).isEqualTo("Star-nosed mole")
+            );
+        }
+    }
+
     @Test
     void testBulkInsert2() {
         try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
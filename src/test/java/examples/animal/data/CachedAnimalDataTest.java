@@ -0,0 +1,148 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package examples.animal.data;
+
+import static examples.animal.data.AnimalDataDynamicSqlSupport.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mybatis.dynamic.sql.SqlBuilder.*;
+import static org.mybatis.dynamic.sql.util.mybatis3.MyBatis3Utils.cachedSelect;
+import static org.mybatis.dynamic.sql.util.mybatis3.MyBatis3Utils.invalidatingUpdate;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.util.List;
+import java.util.function.Function;
+
+import org.apache.ibatis.datasource.unpooled.UnpooledDataSource;
+import org.apache.ibatis.jdbc.ScriptRunner;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mybatis.dynamic.sql.render.RenderingStrategies;
+import org.mybatis.dynamic.sql.select.render.SelectStatementProvider;
+import org.mybatis.dynamic.sql.util.QueryResultCache;
+import org.mybatis.dynamic.sql.util.mybatis3.CommonSelectMapper;
+import org.mybatis.dynamic.sql.util.mybatis3.IndexedRowInterceptor;
+import org.mybatis.dynamic.sql.util.mybatis3.MyBatis3Utils;
+
+class CachedAnimalDataTest {
+
+    private static final String JDBC_URL = "jdbc:hsqldb:mem:aname";
+    private static final String JDBC_DRIVER = "org.hsqldb.jdbcDriver";
+
+    private SqlSessionFactory sqlSessionFactory;
+    private QueryResultCache cache;
+
+    @BeforeEach
+    void setup() throws Exception {
+        Class.forName(JDBC_DRIVER);
+        InputStream is = getClass().getResourceAsStream("/examples/animal/data/CreateAnimalData.sql");
+        try (Connection connection = DriverManager.getConnection(JDBC_URL, "sa", "")) {
+            ScriptRunner sr = new ScriptRunner(connection);
+            sr.setLogWriter(null);
+            sr.runScript(new InputStreamReader(is));
+        }
+
+        UnpooledDataSource ds = new UnpooledDataSource(JDBC_DRIVER, JDBC_URL, "sa", "");
+        Environment environment = new Environment("test", new JdbcTransactionFactory(), ds);
+        Configuration config = new Configuration(environment);
+        config.addMapper(AnimalDataMapper.class);
+        config.addMapper(CommonSelectMapper.class);
+        config.addInterceptor(new IndexedRowInterceptor());
+        sqlSessionFactory = new SqlSessionFactoryBuilder().build(config);
+        cache = new QueryResultCache.Builder().build();
+    }
+
+    @Test
+    void testSelectIsCached() {
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            AnimalDataMapper mapper = sqlSession.getMapper(AnimalDataMapper.class);
+
+            List<AnimalData> rows1 = selectSmallAnimals(mapper);
+            List<AnimalData> rows2 = selectSmallAnimals(mapper);
+
+            assertThat(rows1).hasSize(5);
+            assertThat(rows2).containsExactlyElementsOf(rows1);
+            assertThat(cache.hitCount()).isEqualTo(1);
+            assertThat(cache.missCount()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void testCachedListIsUnmodifiable() {
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            AnimalDataMapper mapper = sqlSession.getMapper(AnimalDataMapper.class);
+
+            List<AnimalData> rows = selectSmallAnimals(mapper);
+
+            assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(rows::clear);
+            assertThat(selectSmallAnimals(mapper)).hasSize(5);
+        }
+    }
+
+    @Test
+    void testCachedArrayIsCopied() {
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            CommonSelectMapper mapper = sqlSession.getMapper(CommonSelectMapper.class);
+            Function<SelectStatementProvider, long[]> cachedSelect =
+                    cachedSelect(cache, "CommonSelectMapper.selectLongArray", mapper::selectLongArray);
+            SelectStatementProvider selectStatement = select(id)
+                    .from(animalData)
+                    .where(id, isLessThan(4))
+                    .orderBy(id)
+                    .build()
+                    .render(RenderingStrategies.MYBATIS3);
+
+            long[] ids1 = cachedSelect.apply(selectStatement);
+            ids1[0] = 99;
+            long[] ids2 = cachedSelect.apply(selectStatement);
+
+            assertThat(ids2).containsExactly(1, 2, 3);
+            assertThat(cache.hitCount()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void testUpdateInvalidatesCachedResults() {
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            AnimalDataMapper mapper = sqlSession.getMapper(AnimalDataMapper.class);
+
+            assertThat(selectSmallAnimals(mapper)).hasSize(5);
+
+            int rows = MyBatis3Utils.update(invalidatingUpdate(cache, mapper::update), animalData,
+                    c -> c.set(brainWeight).equalTo(0.04).where(id, isEqualTo(10)));
+            assertThat(rows).isEqualTo(1);
+
+            assertThat(selectSmallAnimals(mapper)).hasSize(6);
+            assertThat(cache.hitCount()).isZero();
+            assertThat(cache.missCount()).isEqualTo(2);
+        }
+    }
+
+    private List<AnimalData> selectSmallAnimals(AnimalDataMapper mapper) {
+        return MyBatis3Utils.selectList(cachedSelect(cache, "AnimalDataMapper.selectMany", mapper::selectMany),
+                select(id, animalName, bodyWeight, brainWeight).from(animalData),
+                c -> c.where(brainWeight, isLessThan(0.05)).orderBy(id));
+    }
+}
@@ -0,0 +1,256 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package examples.animal.data;
+
+import static examples.animal.data.AnimalDataDynamicSqlSupport.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mybatis.dynamic.sql.SqlBuilder.*;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.JDBCType;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.ibatis.datasource.unpooled.UnpooledDataSource;
+import org.apache.ibatis.jdbc.ScriptRunner;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mybatis.dynamic.sql.BasicColumn;
+import org.mybatis.dynamic.sql.SqlColumn;
+import org.mybatis.dynamic.sql.SqlTable;
+import org.mybatis.dynamic.sql.exception.DynamicSqlException;
+import org.mybatis.dynamic.sql.render.RenderingStrategies;
+import org.mybatis.dynamic.sql.select.SelectModel;
+import org.mybatis.dynamic.sql.util.ColumnarResult;
+import org.mybatis.dynamic.sql.util.ColumnarResultReader;
+import org.mybatis.dynamic.sql.util.mybatis3.CommonSelectMapper;
+import org.mybatis.dynamic.sql.util.mybatis3.IndexedRowInterceptor;
+import org.mybatis.dynamic.sql.util.mybatis3.MyBatis3Utils;
+
+class ColumnarResultTest {
+
+    private static final String JDBC_URL = "jdbc:hsqldb:mem:aname";
+    private static final String JDBC_DRIVER = "org.hsqldb.jdbcDriver";
+
+    private SqlSessionFactory sqlSessionFactory;
+
+    @BeforeEach
+    void setup() throws Exception {
+        Class.forName(JDBC_DRIVER);
+        InputStream is = getClass().getResourceAsStream("/examples/animal/data/CreateAnimalData.sql");
+        try (Connection connection = DriverManager.getConnection(JDBC_URL, "sa", "")) {
+            ScriptRunner sr = new ScriptRunner(connection);
+            sr.setLogWriter(null);
+            sr.runScript(new InputStreamReader(is));
+        }
+
+        UnpooledDataSource ds = new UnpooledDataSource(JDBC_DRIVER, JDBC_URL, "sa", "");
+        Environment environment = new Environment("test", new JdbcTransactionFactory(), ds);
+        Configuration config = new Configuration(environment);
+        config.addMapper(CommonSelectMapper.class);
+        config.addInterceptor(new IndexedRowInterceptor());
+        sqlSessionFactory = new SqlSessionFactoryBuilder().build(config);
+    }
+
+    @Test
+    void testSelectColumnar() {
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            CommonSelectMapper mapper = sqlSession.getMapper(CommonSelectMapper.class);
+            SelectModel selectModel = select(id, animalName, brainWeight, bodyWeight)
+                    .from(animalData)
+                    .orderBy(id)
+                    .build();
+
+            ColumnarResult result = mapper.selectColumnar(selectModel.render(RenderingStrategies.MYBATIS3),
+                    ColumnarResultReader.of(selectModel));
+
+            assertThat(result.rowCount()).isEqualTo(65);
+            assertThat(result.columnCount()).isEqualTo(4);
+            assertThat(result.ints(id).sum()).isEqualTo(2145);
+            assertThat(result.longs(id).limit(3)).containsExactly(1L, 2L, 3L);
+            assertThat(result.get(id, 0)).isEqualTo(1);
+            assertThat(result.get(animalName, 0)).isEqualTo("Lesser short-tailed shrew");
+            assertThat(result.getDouble(brainWeight, 1)).isEqualTo(0.01);
+            assertThat(result.doubles(bodyWeight).limit(2)).containsExactly(0.14, 0.25);
+            assertThat(result.values(animalName).skip(1).findFirst()).hasValue("Little brown bat");
+        }
+    }
+
+    @Test
+    void testRowAccess() {
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            CommonSelectMapper mapper = sqlSession.getMapper(CommonSelectMapper.class);
+            SelectModel selectModel = select(id, animalName, bodyWeight)
+                    .from(animalData)
+                    .where(id, isLessThan(4))
+                    .orderBy(id)
+                    .build();
+
+            ColumnarResult result = mapper.selectColumnar(selectModel.render(RenderingStrategies.MYBATIS3),
+                    ColumnarResultReader.of(selectModel));
+
+            List<String> rows = new ArrayList<>();
+            result.rows().forEach(row -> rows.add(row.rowNumber() + ":" + row.getInt(id) + ":" + row.get(animalName)
+                    + ":" + row.getDouble(bodyWeight)));
+
+            assertThat(rows).containsExactly("0:1:Lesser short-tailed shrew:0.14", "1:2:Little brown bat:0.25",
+                    "2:3:Big brown bat:0.3");
+        }
+    }
+
+    @Test
+    void testNullValues() {
+        SqlTable animalDataCopy = SqlTable.of("AnimalDataCopy");
+        SqlColumn<Integer> copyId = animalDataCopy.column("id", JDBCType.INTEGER);
+        SqlColumn<Long> longCopyId = animalDataCopy.column("id").withJavaType(Long.class);
+
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            CommonSelectMapper mapper = sqlSession.getMapper(CommonSelectMapper.class);
+            SelectModel selectModel = select(id, copyId, longCopyId)
+                    .from(animalData, "a")
+                    .leftJoin(animalDataCopy, "c").on(id, equalTo(copyId))
+                    .where(id, isLessThan(3))
+                    .orderBy(id)
+                    .build();
+
+            ColumnarResult result = mapper.selectColumnar(selectModel.render(RenderingStrategies.MYBATIS3),
+                    ColumnarResultReader.of(selectModel));
+
+            assertThat(result.rowCount()).isEqualTo(2);
+            assertThat(result.isNull(id, 0)).isFalse();
+            assertThat(result.isNull(copyId, 0)).isTrue();
+            assertThat(result.get(copyId, 0)).isNull();
+            assertThat(result.getInt(copyId, 0)).isZero();
+            assertThat(result.isNull(longCopyId, 1)).isTrue();
+            assertThat(result.getLong(longCopyId, 1)).isZero();
+            assertThat(result.longs(longCopyId)).containsExactly(0L, 0L);
+        }
+    }
+
+    @Test
+    void testUntypedColumns() {
+        SqlColumn<Integer> untypedId = animalData.column("id");
+        SqlColumn<String> untypedName = animalData.column("animal_name");
+
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            CommonSelectMapper mapper = sqlSession.getMapper(CommonSelectMapper.class);
+            SelectModel selectModel = select(untypedId, untypedName)
+                    .from(animalData)
+                    .where(untypedId, isIn(1, 2))
+                    .orderBy(untypedId)
+                    .build();
+
+            ColumnarResult result = mapper.selectColumnar(selectModel.render(RenderingStrategies.MYBATIS3),
+                    ColumnarResultReader.of(selectModel));
+
+            assertThat(result.getLong(untypedId, 1)).isEqualTo(2L);
+            assertThat(result.longs(untypedId)).containsExactly(1L, 2L);
+            assertThat(result.ints(untypedId)).containsExactly(1, 2);
+            assertThat(result.doubles(untypedId)).containsExactly(1.0, 2.0);
+            assertThatExceptionOfType(DynamicSqlException.class).isThrownBy(() -> result.longs(untypedName).sum())
+                    .withMessage("Column \"animal_name\" is not stored as long values");
+            assertThatExceptionOfType(DynamicSqlException.class).isThrownBy(() -> result.getInt(untypedName, 0))
+                    .withMessage("Column \"animal_name\" is not stored as int values");
+        }
+    }
+
+    @Test
+    void testWrongPrimitiveType() {
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            CommonSelectMapper mapper = sqlSession.getMapper(CommonSelectMapper.class);
+            SelectModel selectModel = select(id, bodyWeight)
+                    .from(animalData)
+                    .where(id, isEqualTo(1))
+                    .build();
+
+            ColumnarResult result = mapper.selectColumnar(selectModel.render(RenderingStrategies.MYBATIS3),
+                    ColumnarResultReader.of(selectModel));
+
+            assertThatExceptionOfType(DynamicSqlException.class).isThrownBy(() -> result.longs(bodyWeight))
+                    .withMessage("Column \"body_weight\" is not stored as long values");
+            assertThatExceptionOfType(DynamicSqlException.class).isThrownBy(() -> result.getInt(bodyWeight, 0))
+                    .withMessage("Column \"body_weight\" is not stored as int values");
+            assertThatExceptionOfType(DynamicSqlException.class).isThrownBy(() -> result.get(animalName, 0))
+                    .withMessage("Column \"animal_name\" is not in the select list of the statement");
+            assertThatExceptionOfType(IndexOutOfBoundsException.class).isThrownBy(() -> result.get(id, 1));
+        }
+    }
+
+    @Test
+    void testSelectColumnarInBatches() {
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            CommonSelectMapper mapper = sqlSession.getMapper(CommonSelectMapper.class);
+            SelectModel selectModel = select(id)
+                    .from(animalData)
+                    .orderBy(id)
+                    .build();
+
+            List<Integer> batchSizes = new ArrayList<>();
+            List<Integer> firstIds = new ArrayList<>();
+            mapper.selectColumnar(selectModel.render(RenderingStrategies.MYBATIS3),
+                    ColumnarResultReader.of(selectModel), 20, context -> {
+                        batchSizes.add(context.getResultObject().rowCount());
+                        firstIds.add(context.getResultObject().get(id, 0));
+                    });
+
+            assertThat(batchSizes).containsExactly(20, 20, 20, 5);
+            assertThat(firstIds).containsExactly(1, 21, 41, 61);
+        }
+    }
+
+    @Test
+    void testSelectColumnarInBatchesWithStop() {
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            CommonSelectMapper mapper = sqlSession.getMapper(CommonSelectMapper.class);
+            SelectModel selectModel = select(id)
+                    .from(animalData)
+                    .orderBy(id)
+                    .build();
+
+            List<Integer> batchSizes = new ArrayList<>();
+            mapper.selectColumnar(selectModel.render(RenderingStrategies.MYBATIS3),
+                    ColumnarResultReader.of(selectModel), 30, context -> {
+                        batchSizes.add(context.getResultObject().rowCount());
+                        context.stop();
+                    });
+
+            assertThat(batchSizes).containsExactly(30);
+        }
+    }
+
+    @Test
+    void testSelectColumnarWithUtils() {
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            CommonSelectMapper mapper = sqlSession.getMapper(CommonSelectMapper.class);
+
+            ColumnarResult result = MyBatis3Utils.selectColumnar(mapper::selectColumnar,
+                    new BasicColumn[] {id, animalName}, animalData, c -> c.where(id, isLessThan(11)));
+
+            assertThat(result.rowCount()).isEqualTo(10);
+            assertThat(result.ints(id).sum()).isEqualTo(55);
+        }
+    }
+}
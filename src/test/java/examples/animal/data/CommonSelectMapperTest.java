@@ -43,6 +43,8 @@ import org.junit.jupiter.api.Test;
 import org.mybatis.dynamic.sql.render.RenderingStrategies;
 import org.mybatis.dynamic.sql.select.render.SelectStatementProvider;
 import org.mybatis.dynamic.sql.util.mybatis3.CommonSelectMapper;
+import org.mybatis.dynamic.sql.util.mybatis3.IndexedRowInterceptor;
+import org.mybatis.dynamic.sql.util.mybatis3.MyBatis3Utils;
 
 class CommonSelectMapperTest {
 
@@ -65,6 +67,7 @@ class CommonSelectMapperTest {
         Environment environment = new Environment("test", new JdbcTransactionFactory(), ds);
         Configuration config = new Configuration(environment);
         config.addMapper(CommonSelectMapper.class);
+        config.addInterceptor(new IndexedRowInterceptor());
         sqlSessionFactory = new SqlSessionFactoryBuilder().build(config);
     }
 
@@ -426,6 +429,84 @@ class CommonSelectMapperTest {
         }
     }
 
+    @Test
+    void testSelectLongArray() {
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            CommonSelectMapper mapper = sqlSession.getMapper(CommonSelectMapper.class);
+            SelectStatementProvider selectStatement = select(id)
+                    .from(animalData)
+                    .orderBy(id)
+                    .build()
+                    .render(RenderingStrategies.MYBATIS3);
+
+            long[] ids = mapper.selectLongArray(selectStatement);
+
+            assertThat(ids).hasSize(65).startsWith(1L, 2L, 3L).endsWith(65L);
+        }
+    }
+
+    @Test
+    void testSelectLongArrayEmpty() {
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            CommonSelectMapper mapper = sqlSession.getMapper(CommonSelectMapper.class);
+            SelectStatementProvider selectStatement = select(id)
+                    .from(animalData)
+                    .where(id, isGreaterThan(100))
+                    .build()
+                    .render(RenderingStrategies.MYBATIS3);
+
+            long[] ids = mapper.selectLongArray(selectStatement);
+
+            assertThat(ids).isEmpty();
+        }
+    }
+
+    @Test
+    void testSelectIntArray() {
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            CommonSelectMapper mapper = sqlSession.getMapper(CommonSelectMapper.class);
+            SelectStatementProvider selectStatement = select(id)
+                    .from(animalData)
+                    .where(id, isIn(1, 2))
+                    .orderBy(id)
+                    .build()
+                    .render(RenderingStrategies.MYBATIS3);
+
+            int[] ids = mapper.selectIntArray(selectStatement);
+
+            assertThat(ids).containsExactly(1, 2);
+        }
+    }
+
+    @Test
+    void testSelectDoubleArray() {
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            CommonSelectMapper mapper = sqlSession.getMapper(CommonSelectMapper.class);
+            SelectStatementProvider selectStatement = select(bodyWeight)
+                    .from(animalData)
+                    .where(id, isIn(1, 2))
+                    .orderBy(id)
+                    .build()
+                    .render(RenderingStrategies.MYBATIS3);
+
+            double[] weights = mapper.selectDoubleArray(selectStatement);
+
+            assertThat(weights).containsExactly(0.14, 0.25);
+        }
+    }
+
+    @Test
+    void testSelectLongArrayWithUtils() {
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            CommonSelectMapper mapper = sqlSession.getMapper(CommonSelectMapper.class);
+
+            long[] ids = MyBatis3Utils.selectLongArray(mapper::selectLongArray, id, animalData,
+                    c -> c.where(id, isLessThan(4)).orderBy(id.descending()));
+
+            assertThat(ids).containsExactly(3L, 2L, 1L);
+        }
+    }
+
     @Test
     void testSelectOneString() {
         try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
@@ -0,0 +1,270 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package examples.animal.data;
+
+import static examples.animal.data.AnimalDataDynamicSqlSupport.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mybatis.dynamic.sql.SqlBuilder.*;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.ibatis.datasource.unpooled.UnpooledDataSource;
+import org.apache.ibatis.exceptions.PersistenceException;
+import org.apache.ibatis.jdbc.ScriptRunner;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mybatis.dynamic.sql.SqlColumn;
+import org.mybatis.dynamic.sql.exception.DynamicSqlException;
+import org.mybatis.dynamic.sql.render.RenderingStrategies;
+import org.mybatis.dynamic.sql.render.RenderingStrategy;
+import org.mybatis.dynamic.sql.select.SelectModel;
+import org.mybatis.dynamic.sql.select.render.SelectStatementProvider;
+import org.mybatis.dynamic.sql.util.IndexedRowMapper;
+import org.mybatis.dynamic.sql.util.mybatis3.CommonSelectMapper;
+import org.mybatis.dynamic.sql.util.mybatis3.IndexedRowInterceptor;
+import org.mybatis.dynamic.sql.util.mybatis3.PositionalParameterInterceptor;
+
+class IndexedRowMapperTest {
+
+    private static final String JDBC_URL = "jdbc:hsqldb:mem:aname";
+    private static final String JDBC_DRIVER = "org.hsqldb.jdbcDriver";
+
+    private SqlSessionFactory sqlSessionFactory;
+
+    @BeforeEach
+    void setup() throws Exception {
+        Class.forName(JDBC_DRIVER);
+        InputStream is = getClass().getResourceAsStream("/examples/animal/data/CreateAnimalData.sql");
+        try (Connection connection = DriverManager.getConnection(JDBC_URL, "sa", "")) {
+            ScriptRunner sr = new ScriptRunner(connection);
+            sr.setLogWriter(null);
+            sr.runScript(new InputStreamReader(is));
+        }
+
+        UnpooledDataSource ds = new UnpooledDataSource(JDBC_DRIVER, JDBC_URL, "sa", "");
+        Environment environment = new Environment("test", new JdbcTransactionFactory(), ds);
+        Configuration config = new Configuration(environment);
+        config.addMapper(CommonSelectMapper.class);
+        config.addMapper(AnimalDataMapper.class);
+        config.addInterceptor(new IndexedRowInterceptor());
+        sqlSessionFactory = new SqlSessionFactoryBuilder().build(config);
+    }
+
+    @Test
+    void testSelectManyWithIndexedRowMapper() {
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            CommonSelectMapper mapper = sqlSession.getMapper(CommonSelectMapper.class);
+            SelectModel selectModel = select(id, animalName, bodyWeight, brainWeight)
+                    .from(animalData)
+                    .where(id, isLessThan(3))
+                    .orderBy(id)
+                    .build();
+
+            IndexedRowMapper<AnimalData> rowMapper = IndexedRowMapper.of(selectModel, row -> {
+                AnimalData ad = new AnimalData();
+                ad.setId(row.getInt(id));
+                ad.setAnimalName(row.get(animalName));
+                ad.setBodyWeight(row.getDouble(bodyWeight));
+                ad.setBrainWeight(row.getDouble(brainWeight));
+                return ad;
+            });
+
+            List<AnimalData> animals = mapper.selectMany(selectModel.render(RenderingStrategies.MYBATIS3), rowMapper);
+
+            assertThat(animals).hasSize(2);
+            assertThat(animals.get(0).getId()).isEqualTo(1);
+            assertThat(animals.get(0).getAnimalName()).isEqualTo("Lesser short-tailed shrew");
+            assertThat(animals.get(0).getBodyWeight()).isEqualTo(0.14);
+            assertThat(animals.get(0).getBrainWeight()).isEqualTo(0.005);
+            assertThat(animals.get(1).getId()).isEqualTo(2);
+            assertThat(animals.get(1).getAnimalName()).isEqualTo("Little brown bat");
+        }
+    }
+
+    @Test
+    void testSelectManyWithTypedColumns() {
+        SqlColumn<Integer> typedId = id.withJavaType(Integer.class);
+        SqlColumn<String> typedName = animalName.withJavaType(String.class);
+
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            CommonSelectMapper mapper = sqlSession.getMapper(CommonSelectMapper.class);
+            SelectModel selectModel = select(typedId, typedName.as("name"))
+                    .from(animalData)
+                    .where(id, isIn(1, 2))
+                    .orderBy(id)
+                    .build();
+
+            IndexedRowMapper<String> rowMapper =
+                    IndexedRowMapper.of(selectModel, row -> row.get(typedId) + ": " + row.get(typedName));
+
+            List<String> animals = mapper.selectMany(selectModel.render(RenderingStrategies.MYBATIS3), rowMapper);
+
+            assertThat(animals).containsExactly("1: Lesser short-tailed shrew", "2: Little brown bat");
+        }
+    }
+
+    @Test
+    void testSelectManyByPosition() {
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            CommonSelectMapper mapper = sqlSession.getMapper(CommonSelectMapper.class);
+            SelectModel selectModel = select(id, animalName)
+                    .from(animalData)
+                    .where(id, isEqualTo(2))
+                    .build();
+
+            IndexedRowMapper<Object[]> rowMapper =
+                    IndexedRowMapper.of(selectModel, row -> new Object[] {row.get(1), row.get(2)});
+
+            List<Object[]> rows = mapper.selectMany(selectModel.render(RenderingStrategies.MYBATIS3), rowMapper);
+
+            assertThat(rows).hasSize(1);
+            assertThat(rows.get(0)).containsExactly(2, "Little brown bat");
+        }
+    }
+
+    @Test
+    void testSelectManyWithResultHandler() {
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            CommonSelectMapper mapper = sqlSession.getMapper(CommonSelectMapper.class);
+            SelectModel selectModel = select(id)
+                    .from(animalData)
+                    .orderBy(id)
+                    .build();
+
+            IndexedRowMapper<Integer> rowMapper = IndexedRowMapper.of(selectModel, row -> row.get(id));
+
+            List<Integer> ids = new ArrayList<>();
+            mapper.selectMany(selectModel.render(RenderingStrategies.MYBATIS3), rowMapper, context -> {
+                ids.add(context.getResultObject());
+                if (ids.size() == 10) {
+                    context.stop();
+                }
+            });
+
+            assertThat(ids).hasSize(10).startsWith(1, 2, 3);
+        }
+    }
+
+    @Test
+    void testDifferentRowMappersSameStatement() {
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            CommonSelectMapper mapper = sqlSession.getMapper(CommonSelectMapper.class);
+            SelectModel selectModel = select(id, animalName)
+                    .from(animalData)
+                    .where(id, isEqualTo(1))
+                    .build();
+            SelectStatementProvider selectStatement = selectModel.render(RenderingStrategies.MYBATIS3);
+
+            List<Integer> ids = mapper.selectMany(selectStatement, IndexedRowMapper.of(selectModel, row -> row.get(id)));
+            List<String> names = mapper.selectMany(selectStatement,
+                    IndexedRowMapper.of(selectModel, row -> row.get(animalName)));
+
+            assertThat(ids).containsExactly(1);
+            assertThat(names).containsExactly("Lesser short-tailed shrew");
+        }
+    }
+
+    @Test
+    void testLocalCacheIsKeyedByRowMapper() {
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            verifyLocalCache(sqlSession, RenderingStrategies.MYBATIS3);
+        }
+    }
+
+    @Test
+    void testLocalCacheIsKeyedByRowMapperWithPositionalParameters() {
+        UnpooledDataSource ds = new UnpooledDataSource(JDBC_DRIVER, JDBC_URL, "sa", "");
+        Environment environment = new Environment("test", new JdbcTransactionFactory(), ds);
+        Configuration config = new Configuration(environment);
+        config.addMapper(CommonSelectMapper.class);
+        config.addMapper(AnimalDataMapper.class);
+        config.addInterceptor(new IndexedRowInterceptor());
+        config.addInterceptor(new PositionalParameterInterceptor());
+
+        try (SqlSession sqlSession = new SqlSessionFactoryBuilder().build(config).openSession()) {
+            verifyLocalCache(sqlSession, RenderingStrategies.MYBATIS3_POSITIONAL);
+        }
+    }
+
+    private void verifyLocalCache(SqlSession sqlSession, RenderingStrategy renderingStrategy) {
+        AnimalDataMapper animalDataMapper = sqlSession.getMapper(AnimalDataMapper.class);
+        CommonSelectMapper mapper = sqlSession.getMapper(CommonSelectMapper.class);
+        SelectModel selectModel = select(id, animalName, bodyWeight, brainWeight)
+                .from(animalData)
+                .where(id, isEqualTo(1))
+                .build();
+        SelectStatementProvider selectStatement = selectModel.render(renderingStrategy);
+        IndexedRowMapper<Integer> idMapper = IndexedRowMapper.of(selectModel, row -> row.get(id));
+        IndexedRowMapper<String> nameMapper = IndexedRowMapper.of(selectModel, row -> row.get(animalName));
+
+        List<AnimalData> animals = animalDataMapper.selectMany(selectStatement);
+        List<Integer> ids = mapper.selectMany(selectStatement, idMapper);
+        List<String> names = mapper.selectMany(selectStatement, nameMapper);
+
+        assertThat(ids).containsExactly(1);
+        assertThat(names).containsExactly("Lesser short-tailed shrew");
+        assertThat(mapper.selectMany(selectStatement, idMapper)).isSameAs(ids);
+        // indexed row selects do not flush the results of other statements
+        assertThat(animalDataMapper.selectMany(selectStatement)).isSameAs(animals);
+    }
+
+    @Test
+    void testOtherStatementsUnaffectedByInterceptor() {
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            AnimalDataMapper mapper = sqlSession.getMapper(AnimalDataMapper.class);
+            SelectStatementProvider selectStatement = select(id, animalName, bodyWeight, brainWeight)
+                    .from(animalData)
+                    .where(id, isEqualTo(1))
+                    .build()
+                    .render(RenderingStrategies.MYBATIS3);
+
+            List<AnimalData> animals = mapper.selectMany(selectStatement);
+
+            assertThat(animals).hasSize(1);
+            assertThat(animals.get(0).getAnimalName()).isEqualTo("Lesser short-tailed shrew");
+        }
+    }
+
+    @Test
+    void testColumnNotInSelectList() {
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            CommonSelectMapper mapper = sqlSession.getMapper(CommonSelectMapper.class);
+            SelectModel selectModel = select(id)
+                    .from(animalData)
+                    .where(id, isEqualTo(1))
+                    .build();
+
+            IndexedRowMapper<String> rowMapper = IndexedRowMapper.of(selectModel, row -> row.get(animalName));
+            SelectStatementProvider selectStatement = selectModel.render(RenderingStrategies.MYBATIS3);
+
+            assertThatExceptionOfType(PersistenceException.class)
+                    .isThrownBy(() -> mapper.selectMany(selectStatement, rowMapper))
+                    .withRootCauseInstanceOf(DynamicSqlException.class);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package examples.animal.data;
+
+import static examples.animal.data.AnimalDataDynamicSqlSupport.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mybatis.dynamic.sql.SqlBuilder.*;
+import static org.mybatis.dynamic.sql.util.mybatis3.MyBatis3Utils.cachedSelect;
+import static org.mybatis.dynamic.sql.util.mybatis3.MyBatis3Utils.measuredSelect;
+import static org.mybatis.dynamic.sql.util.mybatis3.MyBatis3Utils.measuredUpdate;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.util.List;
+
+import org.apache.ibatis.datasource.unpooled.UnpooledDataSource;
+import org.apache.ibatis.jdbc.ScriptRunner;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mybatis.dynamic.sql.render.StatementKind;
+import org.mybatis.dynamic.sql.util.InMemoryStatementMetrics;
+import org.mybatis.dynamic.sql.util.QueryResultCache;
+import org.mybatis.dynamic.sql.util.mybatis3.MyBatis3Utils;
+
+class MeasuredAnimalDataTest {
+
+    private static final String JDBC_URL = "jdbc:hsqldb:mem:aname";
+    private static final String JDBC_DRIVER = "org.hsqldb.jdbcDriver";
+
+    private SqlSessionFactory sqlSessionFactory;
+    private InMemoryStatementMetrics metrics;
+
+    @BeforeEach
+    void setup() throws Exception {
+        Class.forName(JDBC_DRIVER);
+        InputStream is = getClass().getResourceAsStream("/examples/animal/data/CreateAnimalData.sql");
+        try (Connection connection = DriverManager.getConnection(JDBC_URL, "sa", "")) {
+            ScriptRunner sr = new ScriptRunner(connection);
+            sr.setLogWriter(null);
+            sr.runScript(new InputStreamReader(is));
+        }
+
+        UnpooledDataSource ds = new UnpooledDataSource(JDBC_DRIVER, JDBC_URL, "sa", "");
+        Environment environment = new Environment("test", new JdbcTransactionFactory(), ds);
+        Configuration config = new Configuration(environment);
+        config.addMapper(AnimalDataMapper.class);
+        sqlSessionFactory = new SqlSessionFactoryBuilder().build(config);
+        metrics = new InMemoryStatementMetrics();
+    }
+
+    @Test
+    void testSelectIsMeasured() {
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            AnimalDataMapper mapper = sqlSession.getMapper(AnimalDataMapper.class);
+
+            List<AnimalData> rows1 = selectAnimals(mapper, 0.05);
+            List<AnimalData> rows2 = selectAnimals(mapper, 0.01);
+
+            assertThat(rows1).hasSize(5);
+            assertThat(rows2).hasSize(1);
+            assertThat(metrics.statistics()).singleElement().satisfies(s -> {
+                assertThat(s.statementKind()).isEqualTo(StatementKind.SELECT);
+                assertThat(s.executions()).isEqualTo(2);
+                assertThat(s.rows()).isEqualTo(6);
+                assertThat(s.latencyPercentileNanos(50)).isPositive();
+            });
+        }
+    }
+
+    @Test
+    void testUpdateIsMeasured() {
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            AnimalDataMapper mapper = sqlSession.getMapper(AnimalDataMapper.class);
+
+            int rows = MyBatis3Utils.update(measuredUpdate(metrics, mapper::update), animalData,
+                    c -> c.set(brainWeight).equalTo(0.04).where(id, isLessThan(3)));
+
+            assertThat(rows).isEqualTo(2);
+            assertThat(metrics.statistics()).singleElement().satisfies(s -> {
+                assertThat(s.statementKind()).isEqualTo(StatementKind.UPDATE);
+                assertThat(s.rows()).isEqualTo(2);
+                assertThat(s.errors()).isZero();
+            });
+        }
+    }
+
+    @Test
+    void testOnlyCacheMissesAreMeasured() {
+        QueryResultCache cache = new QueryResultCache.Builder().build();
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            AnimalDataMapper mapper = sqlSession.getMapper(AnimalDataMapper.class);
+
+            for (int i = 0; i < 3; i++) {
+                MyBatis3Utils.selectList(
+                        cachedSelect(cache, "AnimalDataMapper.selectMany", measuredSelect(metrics, mapper::selectMany)),
+                        select(id, animalName, bodyWeight, brainWeight).from(animalData),
+                        c -> c.where(brainWeight, isLessThan(0.05)));
+            }
+
+            assertThat(cache.hitCount()).isEqualTo(2);
+            assertThat(metrics.statistics()).singleElement()
+                    .satisfies(s -> assertThat(s.executions()).isEqualTo(1));
+        }
+    }
+
+    private List<AnimalData> selectAnimals(AnimalDataMapper mapper, double maximumBrainWeight) {
+        return MyBatis3Utils.selectList(measuredSelect(metrics, mapper::selectMany),
+                select(id, animalName, bodyWeight, brainWeight).from(animalData),
+                c -> c.where(brainWeight, isLessThan(maximumBrainWeight)).orderBy(id));
+    }
+}
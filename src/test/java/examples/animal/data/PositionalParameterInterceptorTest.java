@@ -0,0 +1,284 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package examples.animal.data;
+
+import static examples.animal.data.AnimalDataDynamicSqlSupport.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mybatis.dynamic.sql.SqlBuilder.*;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.ibatis.datasource.unpooled.UnpooledDataSource;
+import org.apache.ibatis.exceptions.PersistenceException;
+import org.apache.ibatis.jdbc.ScriptRunner;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mybatis.dynamic.sql.delete.render.DeleteStatementProvider;
+import org.mybatis.dynamic.sql.insert.render.GeneralInsertStatementProvider;
+import org.mybatis.dynamic.sql.insert.render.InsertStatementProvider;
+import org.mybatis.dynamic.sql.render.RenderingStrategies;
+import org.mybatis.dynamic.sql.render.RenderingStrategy;
+import org.mybatis.dynamic.sql.select.render.SelectStatementProvider;
+import org.mybatis.dynamic.sql.update.render.UpdateStatementProvider;
+import org.mybatis.dynamic.sql.util.mybatis3.PositionalParameterInterceptor;
+
+class PositionalParameterInterceptorTest {
+
+    private static final String JDBC_URL = "jdbc:hsqldb:mem:aname";
+    private static final String JDBC_DRIVER = "org.hsqldb.jdbcDriver";
+
+    private SqlSessionFactory sqlSessionFactory;
+    private SqlSessionFactory sqlSessionFactoryWithoutInterceptor;
+
+    @BeforeEach
+    void setup() throws Exception {
+        Class.forName(JDBC_DRIVER);
+        InputStream is = getClass().getResourceAsStream("/examples/animal/data/CreateAnimalData.sql");
+        try (Connection connection = DriverManager.getConnection(JDBC_URL, "sa", "")) {
+            ScriptRunner sr = new ScriptRunner(connection);
+            sr.setLogWriter(null);
+            sr.runScript(new InputStreamReader(is));
+        }
+
+        UnpooledDataSource ds = new UnpooledDataSource(JDBC_DRIVER, JDBC_URL, "sa", "");
+        Environment environment = new Environment("test", new JdbcTransactionFactory(), ds);
+        Configuration config = new Configuration(environment);
+        config.addMapper(AnimalDataMapper.class);
+        config.addInterceptor(new PositionalParameterInterceptor());
+        sqlSessionFactory = new SqlSessionFactoryBuilder().build(config);
+
+        Configuration plainConfig = new Configuration(environment);
+        plainConfig.addMapper(AnimalDataMapper.class);
+        sqlSessionFactoryWithoutInterceptor = new SqlSessionFactoryBuilder().build(plainConfig);
+    }
+
+    @Test
+    void testPositionalRendering() {
+        SelectStatementProvider selectStatement = select(id, animalName)
+                .from(animalData)
+                .where(id, isIn(1, 5))
+                .and(animalName, isLike("%bat"))
+                .limit(3)
+                .build()
+                .render(RenderingStrategies.MYBATIS3_POSITIONAL);
+
+        String expected = "select id, animal_name from AnimalData "
+                + "where id in (#{p1,jdbcType=INTEGER},#{p2,jdbcType=INTEGER}) "
+                + "and animal_name like #{p3,jdbcType=VARCHAR} "
+                + "limit #{p4}";
+
+        assertThat(selectStatement.getSelectStatement()).isEqualTo(expected);
+    }
+
+    @Test
+    void testSelectWithPositionalStrategy() {
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            AnimalDataMapper mapper = sqlSession.getMapper(AnimalDataMapper.class);
+            SelectStatementProvider selectStatement = select(id, animalName, bodyWeight, brainWeight)
+                    .from(animalData)
+                    .where(id, isBetween(5).and(20))
+                    .and(animalName, isLike("%squirrel"))
+                    .orderBy(id)
+                    .limit(2)
+                    .build()
+                    .render(RenderingStrategies.MYBATIS3_POSITIONAL);
+
+            List<AnimalData> animals = mapper.selectMany(selectStatement);
+
+            assertThat(animals).extracting(AnimalData::getAnimalName)
+                    .containsExactly("Ground squirrel", "Artic ground squirrel");
+        }
+    }
+
+    @Test
+    void testLocalCacheKeyUsesParameterValues() {
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            AnimalDataMapper mapper = sqlSession.getMapper(AnimalDataMapper.class);
+
+            List<AnimalData> first = mapper.selectMany(selectById(1));
+            List<AnimalData> second = mapper.selectMany(selectById(1));
+            List<AnimalData> third = mapper.selectMany(selectById(2));
+
+            assertThat(second).isSameAs(first);
+            assertThat(third).extracting(AnimalData::getId).containsExactly(2);
+        }
+    }
+
+    @Test
+    void testLocalCacheKeyWithStandardStrategy() {
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            AnimalDataMapper mapper = sqlSession.getMapper(AnimalDataMapper.class);
+
+            List<AnimalData> first = mapper.selectMany(selectById(1, RenderingStrategies.MYBATIS3));
+            List<AnimalData> second = mapper.selectMany(selectById(1, RenderingStrategies.MYBATIS3));
+            List<AnimalData> third = mapper.selectMany(selectById(2, RenderingStrategies.MYBATIS3));
+
+            assertThat(second).isSameAs(first);
+            assertThat(third).extracting(AnimalData::getId).containsExactly(2);
+        }
+    }
+
+    @Test
+    void testParameterMapReadOncePerExecution() {
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            AnimalDataMapper mapper = sqlSession.getMapper(AnimalDataMapper.class);
+            SelectStatementProvider selectStatement = select(id, animalName, bodyWeight, brainWeight)
+                    .from(animalData)
+                    .where(id, isIn(10, 2, 7))
+                    .orderBy(id)
+                    .limit(2)
+                    .build()
+                    .render(RenderingStrategies.MYBATIS3_POSITIONAL);
+            AtomicInteger parameterReads = new AtomicInteger();
+            SelectStatementProvider countingStatement = new SelectStatementProvider() {
+                @Override
+                public Map<String, Object> getParameters() {
+                    parameterReads.incrementAndGet();
+                    return selectStatement.getParameters();
+                }
+
+                @Override
+                public String getSelectStatement() {
+                    return selectStatement.getSelectStatement();
+                }
+            };
+
+            List<AnimalData> animals = mapper.selectMany(countingStatement);
+
+            assertThat(animals).extracting(AnimalData::getId).containsExactly(2, 7);
+            assertThat(parameterReads).hasValue(1);
+        }
+    }
+
+    private SelectStatementProvider selectById(int animalId) {
+        return selectById(animalId, RenderingStrategies.MYBATIS3_POSITIONAL);
+    }
+
+    private SelectStatementProvider selectById(int animalId, RenderingStrategy renderingStrategy) {
+        return select(id, animalName, bodyWeight, brainWeight)
+                .from(animalData)
+                .where(id, isEqualTo(animalId))
+                .build()
+                .render(renderingStrategy);
+    }
+
+    @Test
+    void testSelectWithStandardStrategy() {
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            AnimalDataMapper mapper = sqlSession.getMapper(AnimalDataMapper.class);
+            SelectStatementProvider selectStatement = select(id, animalName, bodyWeight, brainWeight)
+                    .from(animalData)
+                    .where(id, isIn(10, 2, 7))
+                    .orderBy(id)
+                    .build()
+                    .render(RenderingStrategies.MYBATIS3);
+
+            List<AnimalData> animals = mapper.selectMany(selectStatement);
+
+            assertThat(animals).extracting(AnimalData::getId).containsExactly(2, 7, 10);
+        }
+    }
+
+    @Test
+    void testUpdateDeleteAndInsert() {
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            AnimalDataMapper mapper = sqlSession.getMapper(AnimalDataMapper.class);
+
+            GeneralInsertStatementProvider insertStatement = insertInto(animalData)
+                    .set(id).toValue(100)
+                    .set(animalName).toValue("Fred")
+                    .set(bodyWeight).toValue(2.2)
+                    .set(brainWeight).toValue(1.1)
+                    .build()
+                    .render(RenderingStrategies.MYBATIS3_POSITIONAL);
+            assertThat(mapper.generalInsert(insertStatement)).isEqualTo(1);
+
+            UpdateStatementProvider updateStatement = update(animalData)
+                    .set(animalName).equalTo("Barney")
+                    .set(brainWeight).equalTo(3.3)
+                    .where(id, isEqualTo(100))
+                    .build()
+                    .render(RenderingStrategies.MYBATIS3_POSITIONAL);
+            assertThat(mapper.update(updateStatement)).isEqualTo(1);
+
+            SelectStatementProvider selectStatement = select(id, animalName, bodyWeight, brainWeight)
+                    .from(animalData)
+                    .where(id, isEqualTo(100))
+                    .build()
+                    .render(RenderingStrategies.MYBATIS3_POSITIONAL);
+            AnimalData animal = mapper.selectOne(selectStatement);
+            assertThat(animal.getAnimalName()).isEqualTo("Barney");
+            assertThat(animal.getBrainWeight()).isEqualTo(3.3);
+
+            DeleteStatementProvider deleteStatement = deleteFrom(animalData)
+                    .where(id, isEqualTo(100))
+                    .build()
+                    .render(RenderingStrategies.MYBATIS3_POSITIONAL);
+            assertThat(mapper.delete(deleteStatement)).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void testRecordBasedInsertIsBoundNormally() {
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            AnimalDataMapper mapper = sqlSession.getMapper(AnimalDataMapper.class);
+            AnimalData row = new AnimalData();
+            row.setId(100);
+            row.setAnimalName("Old Shep");
+            row.setBodyWeight(22.5);
+            row.setBrainWeight(1.2);
+
+            InsertStatementProvider<AnimalData> insertStatement = insert(row)
+                    .into(animalData)
+                    .map(id).toProperty("id")
+                    .map(animalName).toProperty("animalName")
+                    .map(bodyWeight).toProperty("bodyWeight")
+                    .map(brainWeight).toProperty("brainWeight")
+                    .build()
+                    .render(RenderingStrategies.MYBATIS3_POSITIONAL);
+
+            assertThat(insertStatement.getInsertStatement()).contains("#{row.animalName,jdbcType=VARCHAR}");
+            assertThat(mapper.insert(insertStatement)).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void testPositionalStrategyRequiresInterceptor() {
+        try (SqlSession sqlSession = sqlSessionFactoryWithoutInterceptor.openSession()) {
+            AnimalDataMapper mapper = sqlSession.getMapper(AnimalDataMapper.class);
+            SelectStatementProvider selectStatement = select(id, animalName, bodyWeight, brainWeight)
+                    .from(animalData)
+                    .where(id, isEqualTo(1))
+                    .build()
+                    .render(RenderingStrategies.MYBATIS3_POSITIONAL);
+
+            assertThatExceptionOfType(PersistenceException.class).isThrownBy(() -> mapper.selectMany(selectStatement));
+        }
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package examples.r2dbc;
+
+import org.mybatis.dynamic.sql.SqlColumn;
+import org.mybatis.dynamic.sql.SqlTable;
+
+public final class ItemDynamicSqlSupport {
+    public static final Item item = new Item();
+    public static final SqlColumn<Integer> id = item.id;
+    public static final SqlColumn<String> description = item.description;
+    public static final SqlColumn<Integer> quantity = item.quantity;
+
+    public static final class Item extends SqlTable {
+        public final SqlColumn<Integer> id = column("id");
+        public final SqlColumn<String> description = column("description");
+        public final SqlColumn<Integer> quantity = column("quantity");
+
+        public Item() {
+            super("Item");
+        }
+    }
+}
@@ -0,0 +1,329 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package examples.r2dbc;
+
+import static examples.r2dbc.ItemDynamicSqlSupport.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mybatis.dynamic.sql.SqlBuilder.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import io.r2dbc.h2.CloseableConnectionFactory;
+import io.r2dbc.h2.H2ConnectionFactory;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mybatis.dynamic.sql.exception.InvalidSqlException;
+import org.mybatis.dynamic.sql.insert.render.MultiRowInsertStatementProvider;
+import org.mybatis.dynamic.sql.render.R2dbcRenderingStrategy;
+import org.mybatis.dynamic.sql.render.RenderingStrategies;
+import org.mybatis.dynamic.sql.select.render.SelectStatementProvider;
+import org.mybatis.dynamic.sql.update.render.UpdateStatementProvider;
+import org.mybatis.dynamic.sql.util.r2dbc.BoundStatement;
+import org.mybatis.dynamic.sql.util.r2dbc.ConnectionFactoryExtensions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class R2dbcTest {
+    private static final BiFunction<Row, RowMetadata, ItemRecord> itemMapper = (row, rowMetadata) ->
+            new ItemRecord(row.get("id", Integer.class), row.get("description", String.class),
+                    row.get("quantity", Integer.class));
+
+    private CloseableConnectionFactory connectionFactory;
+    private ConnectionFactoryExtensions extensions;
+
+    @BeforeEach
+    void setup() {
+        connectionFactory = H2ConnectionFactory.inMemory("r2dbc-test");
+        extensions = new ConnectionFactoryExtensions(connectionFactory);
+
+        Flux.usingWhen(connectionFactory.create(),
+                connection -> execute(connection, "drop table Item if exists")
+                        .thenMany(execute(connection,
+                                "create table Item (id int not null, description varchar(30) not null, "
+                                        + "quantity int, primary key(id))")),
+                Connection::close).blockLast();
+
+        List<ItemRecord> records = Arrays.asList(
+                new ItemRecord(1, "Hammer", 10),
+                new ItemRecord(2, "Saw", 5),
+                new ItemRecord(3, "Nails", null),
+                new ItemRecord(4, "Screws", 500));
+
+        Long rows = extensions.insertMultiple(insertMultiple(records)
+                .into(item)
+                .map(id).toProperty("id")
+                .map(description).toProperty("description")
+                .map(quantity).toProperty("quantity")).block();
+
+        assertThat(rows).isEqualTo(4);
+    }
+
+    @AfterEach
+    void teardown() {
+        connectionFactory.close();
+    }
+
+    private Mono<Long> execute(Connection connection, String sql) {
+        return Flux.from(connection.createStatement(sql).execute())
+                .flatMap(result -> result.getRowsUpdated())
+                .reduce(0L, Long::sum);
+    }
+
+    @Test
+    void testIndexedRendering() {
+        SelectStatementProvider selectStatement = select(id, description)
+                .from(item)
+                .where(id, isGreaterThan(1))
+                .and(description, isLike("S%"))
+                .orderBy(id)
+                .limit(2)
+                .build()
+                .render(RenderingStrategies.R2DBC_INDEXED);
+
+        assertThat(selectStatement.getSelectStatement()).isEqualTo(
+                "select id, description from Item where id > $1 and description like $2 order by id limit $3");
+
+        BoundStatement boundStatement = BoundStatement.of(selectStatement.getSelectStatement(),
+                selectStatement.getParameters());
+        assertThat(boundStatement.bindings()).extracting(BoundStatement.Binding::value)
+                .containsExactly(1, "S%", 2L);
+    }
+
+    @Test
+    void testAnonymousRendering() {
+        UpdateStatementProvider updateStatement = update(item)
+                .set(quantity).equalTo(3)
+                .where(id, isIn(1, 2))
+                .build()
+                .render(RenderingStrategies.R2DBC_ANONYMOUS);
+
+        assertThat(updateStatement.getUpdateStatement())
+                .isEqualTo("update Item set quantity = ? where id in (?,?)");
+    }
+
+    @Test
+    void testMultiRowInsertRendering() {
+        List<ItemRecord> records = Arrays.asList(new ItemRecord(5, "Glue", 1), new ItemRecord(6, "Tape", null));
+
+        MultiRowInsertStatementProvider<ItemRecord> insertStatement = insertMultiple(records)
+                .into(item)
+                .map(id).toProperty("id")
+                .map(description).toProperty("description")
+                .map(quantity).toProperty("quantity")
+                .build()
+                .render(RenderingStrategies.R2DBC_ANONYMOUS);
+
+        BoundStatement boundStatement = BoundStatement.ofRecords(insertStatement.getInsertStatement(),
+                insertStatement.getRecords(), RenderingStrategies.R2DBC_ANONYMOUS);
+
+        assertThat(boundStatement.sql())
+                .isEqualTo("insert into Item (id, description, quantity) values (?, ?, ?), (?, ?, ?)");
+        assertThat(boundStatement.bindings()).extracting(BoundStatement.Binding::value)
+                .containsExactly(5, "Glue", 1, 6, "Tape", null);
+        assertThat(boundStatement.bindings().get(5).type()).isEqualTo(Integer.class);
+    }
+
+    @Test
+    void testAnonymousBindingsFollowMarkerOrder() {
+        SelectStatementProvider indexedStatement = anonymousOrderSelect(RenderingStrategies.R2DBC_INDEXED);
+        SelectStatementProvider anonymousStatement = anonymousOrderSelect(RenderingStrategies.R2DBC_ANONYMOUS);
+
+        Matcher matcher = Pattern.compile("\\$(\\d+)").matcher(indexedStatement.getSelectStatement());
+        List<Integer> markerOrder = new ArrayList<>();
+        while (matcher.find()) {
+            markerOrder.add(Integer.parseInt(matcher.group(1)));
+        }
+        assertThat(markerOrder).containsExactly(1, 2, 3, 4, 5);
+        assertThat(anonymousStatement.getSelectStatement())
+                .isEqualTo(indexedStatement.getSelectStatement().replaceAll("\\$\\d+", "?"));
+
+        BoundStatement boundStatement = BoundStatement.of(anonymousStatement.getSelectStatement(),
+                anonymousStatement.getParameters());
+        assertThat(boundStatement.bindings()).extracting(BoundStatement.Binding::value)
+                .containsExactly(4, 1, "%", 3L, 1L);
+    }
+
+    private SelectStatementProvider anonymousOrderSelect(R2dbcRenderingStrategy renderingStrategy) {
+        return select(id, description)
+                .from(item)
+                .where(id, isIn(select(id).from(item).where(quantity, isGreaterThan(4)).and(id, isNotEqualTo(1))))
+                .and(description, isLike("%"))
+                .orderBy(id)
+                .limit(3)
+                .offset(1)
+                .build()
+                .render(renderingStrategy);
+    }
+
+    @Test
+    void testParameterKeyGap() {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("p1", 1);
+        parameters.put("p3", 3);
+
+        assertThatExceptionOfType(InvalidSqlException.class)
+                .isThrownBy(() -> BoundStatement.of("select ?, ?", parameters))
+                .withMessage("Parameter \"p3\" does not refer to a unique bind marker position between 1 and 2");
+    }
+
+    @Test
+    void testParameterKeyOutOfRange() {
+        Map<String, Object> parameters = Collections.singletonMap("p0", 1);
+
+        assertThatExceptionOfType(InvalidSqlException.class)
+                .isThrownBy(() -> BoundStatement.of("select ?", parameters))
+                .withMessage("Parameter \"p0\" does not refer to a unique bind marker position between 1 and 1");
+    }
+
+    @Test
+    void testDuplicateParameterPosition() {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("p1", 1);
+        parameters.put("p01", 2);
+
+        assertThatExceptionOfType(InvalidSqlException.class)
+                .isThrownBy(() -> BoundStatement.of("select ?, ?", parameters))
+                .withMessage("Parameter \"p01\" does not refer to a unique bind marker position between 1 and 2");
+    }
+
+    @Test
+    void testBadParameterKey() {
+        Map<String, Object> parameters = Collections.singletonMap("name", 1);
+
+        assertThatExceptionOfType(InvalidSqlException.class)
+                .isThrownBy(() -> BoundStatement.of("select ?", parameters))
+                .withMessage("Parameter \"name\" cannot be converted to a positional bind marker");
+    }
+
+    @Test
+    void testBadParameterName() {
+        assertThatExceptionOfType(InvalidSqlException.class)
+                .isThrownBy(() -> R2dbcRenderingStrategy.parameterIndex("name"))
+                .withMessage("Parameter \"name\" cannot be converted to a positional bind marker");
+    }
+
+    @Test
+    void testSelectList() {
+        List<ItemRecord> rows = extensions.selectList(select(id, description, quantity)
+                        .from(item)
+                        .where(quantity, isGreaterThan(6))
+                        .orderBy(id), itemMapper)
+                .collectList()
+                .block();
+
+        assertThat(rows).extracting(ItemRecord::getDescription).containsExactly("Hammer", "Screws");
+    }
+
+    @Test
+    void testSelectOne() {
+        ItemRecord row = extensions.selectOne(select(id, description, quantity)
+                .from(item)
+                .where(id, isEqualTo(3)), itemMapper)
+                .block();
+
+        assertThat(row).isNotNull();
+        assertThat(row.getDescription()).isEqualTo("Nails");
+        assertThat(row.getQuantity()).isNull();
+    }
+
+    @Test
+    void testSelectOneNoRows() {
+        ItemRecord row = extensions.selectOne(select(id, description, quantity)
+                .from(item)
+                .where(id, isEqualTo(33)), itemMapper)
+                .block();
+
+        assertThat(row).isNull();
+    }
+
+    @Test
+    void testCount() {
+        Long rows = extensions.count(countFrom(item).where(description, isLike("%s"))).block();
+
+        assertThat(rows).isEqualTo(2);
+    }
+
+    @Test
+    void testUpdate() {
+        Long rows = extensions.update(update(item)
+                .set(quantity).equalToNull()
+                .where(id, isIn(1, 2))).block();
+
+        assertThat(rows).isEqualTo(2);
+
+        Long nullRows = extensions.count(countFrom(item).where(quantity, isNull())).block();
+        assertThat(nullRows).isEqualTo(3);
+    }
+
+    @Test
+    void testDelete() {
+        Long rows = extensions.delete(deleteFrom(item).where(id, isLessThan(3))).block();
+
+        assertThat(rows).isEqualTo(2);
+        assertThat(extensions.count(countFrom(item)).block()).isEqualTo(2);
+    }
+
+    @Test
+    void testInsert() {
+        Long rows = extensions.insert(insert(new ItemRecord(7, "Drill", null))
+                .into(item)
+                .map(id).toProperty("id")
+                .map(description).toProperty("description")
+                .map(quantity).toProperty("quantity")).block();
+
+        assertThat(rows).isEqualTo(1);
+    }
+
+    @Test
+    void testGeneralInsert() {
+        Long rows = extensions.generalInsert(insertInto(item)
+                .set(id).toValue(8)
+                .set(description).toValue("Level")
+                .set(quantity).toNull()).block();
+
+        assertThat(rows).isEqualTo(1);
+    }
+
+    @Test
+    void testAnonymousBindMarkers() {
+        ConnectionFactoryExtensions anonymous =
+                new ConnectionFactoryExtensions(connectionFactory, RenderingStrategies.R2DBC_ANONYMOUS);
+
+        List<String> rows = anonymous.selectList(select(description)
+                        .from(item)
+                        .where(id, isBetween(2).and(4))
+                        .orderBy(description.descending()),
+                        (row, rowMetadata) -> row.get(0, String.class))
+                .collectList()
+                .block();
+
+        assertThat(rows).containsExactly("Screws", "Saw", "Nails");
+    }
+}
@@ -0,0 +1,255 @@
+/*
+ *    Copyright 2016-2022 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package examples.sharding;
+
+import static examples.sharding.TableCodesDynamicSqlSupport.tableCodes;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mybatis.dynamic.sql.SqlBuilder.insertInto;
+import static org.mybatis.dynamic.sql.SqlBuilder.isGreaterThan;
+import static org.mybatis.dynamic.sql.SqlBuilder.isLike;
+import static org.mybatis.dynamic.sql.SqlBuilder.select;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import examples.sharding.TableCodesDynamicSqlSupport.TableCodes;
+import org.apache.ibatis.datasource.unpooled.UnpooledDataSource;
+import org.apache.ibatis.jdbc.ScriptRunner;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mybatis.dynamic.sql.ShardedSqlTable;
+import org.mybatis.dynamic.sql.exception.InvalidSqlException;
+import org.mybatis.dynamic.sql.insert.render.GeneralInsertStatementProvider;
+import org.mybatis.dynamic.sql.render.RenderingStrategies;
+import org.mybatis.dynamic.sql.select.render.SelectStatementProvider;
+import org.mybatis.dynamic.sql.util.ShardedSelectExecutor;
+
+class ScatterGatherTest {
+    private static final String JDBC_DRIVER = "org.hsqldb.jdbcDriver";
+
+    private final ShardedSqlTable<TableCodes, Integer> shardedTable = ShardedSqlTable
+            .<TableCodes, Integer>withLogicalTable(tableCodes)
+            .withShardNames("tableCodes_0", "tableCodes_1", "tableCodes_2")
+            .withRouter(id -> "tableCodes_" + id % 3)
+            .build();
+
+    private final ShardedSelectExecutor executor = ShardedSelectExecutor.defaultExecutor();
+
+    // each shard is in a different database
+    private final Map<String, SqlSessionFactory> sessionFactories = new HashMap<>();
+
+    @BeforeEach
+    void setup() throws Exception {
+        Class.forName(JDBC_DRIVER);
+        for (String shardName : shardedTable.shardNames()) {
+            String jdbcUrl = "jdbc:hsqldb:mem:" + shardName;
+            InputStream is = getClass().getResourceAsStream("/examples/sharding/ScatterGatherDB.sql");
+            assert is != null;
+            try (Connection connection = DriverManager.getConnection(jdbcUrl, "sa", "")) {
+                ScriptRunner sr = new ScriptRunner(connection);
+                sr.setLogWriter(null);
+                sr.runScript(new InputStreamReader(is));
+            }
+
+            UnpooledDataSource ds = new UnpooledDataSource(JDBC_DRIVER, jdbcUrl, "sa", "");
+            Environment environment = new Environment("test", new JdbcTransactionFactory(), ds);
+            Configuration config = new Configuration(environment);
+            config.addMapper(ShardedMapper.class);
+            sessionFactories.put(shardName, new SqlSessionFactoryBuilder().build(config));
+        }
+
+        for (int i = 1; i <= 20; i++) {
+            insert(i, "Description " + (char) ('A' + (i * 7) % 20));
+        }
+    }
+
+    @Test
+    void testRouting() {
+        assertThat(shardedTable.route(3).tableNameAtRuntime()).isEqualTo("tableCodes_0");
+        assertThat(shardedTable.route(4).tableNameAtRuntime()).isEqualTo("tableCodes_1");
+        assertThat(shardedTable.route(5)).isSameAs(shardedTable.shard("tableCodes_2"));
+
+        try (SqlSession sqlSession = sessionFactories.get("tableCodes_1").openSession()) {
+            ShardedMapper mapper = sqlSession.getMapper(ShardedMapper.class);
+            TableCodes table = shardedTable.route(4);
+            SelectStatementProvider selectStatement = select(table.id)
+                    .from(table)
+                    .build()
+                    .render(RenderingStrategies.MYBATIS3);
+
+            assertThat(mapper.selectManyIntegers(selectStatement)).containsExactlyInAnyOrder(1, 4, 7, 10, 13, 16, 19);
+        }
+    }
+
+    @Test
+    void testOrderByWithLimitAndOffset() {
+        List<TableCode> rows = executor.selectList(shardedTable,
+                table -> select(table.id, table.description)
+                        .from(table)
+                        .orderBy(table.id)
+                        .limit(5)
+                        .offset(6),
+                RenderingStrategies.MYBATIS3, this::selectTableCodes, Comparator.comparing(TableCode::getId));
+
+        assertThat(rows).extracting(TableCode::getId).containsExactly(7, 8, 9, 10, 11);
+    }
+
+    @Test
+    void testOrderByDescendingWithFetchFirst() {
+        List<TableCode> rows = executor.selectList(shardedTable,
+                table -> select(table.id, table.description)
+                        .from(table)
+                        .where(table.id, isGreaterThan(2))
+                        .orderBy(table.description.descending())
+                        .fetchFirst(4).rowsOnly(),
+                RenderingStrategies.MYBATIS3, this::selectTableCodes,
+                Comparator.comparing(TableCode::getDescription).reversed());
+
+        List<String> expected = IntStream.rangeClosed(3, 20)
+                .mapToObj(i -> "Description " + (char) ('A' + (i * 7) % 20))
+                .sorted(Comparator.reverseOrder())
+                .limit(4)
+                .collect(Collectors.toList());
+        assertThat(rows).extracting(TableCode::getDescription).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void testUnorderedSelect() {
+        List<TableCode> rows = executor.selectList(shardedTable,
+                table -> select(table.id, table.description)
+                        .from(table)
+                        .where(table.description, isLike("Description%")),
+                RenderingStrategies.MYBATIS3, this::selectTableCodes, null);
+
+        assertThat(rows).extracting(TableCode::getId)
+                .containsExactlyInAnyOrderElementsOf(IntStream.rangeClosed(1, 20).boxed().collect(Collectors.toList()));
+    }
+
+    @Test
+    void testShardTemplatesAreCached() {
+        List<String> statements = Collections.synchronizedList(new ArrayList<>());
+        ShardedSqlTable<TableCodes, Integer> table = ShardedSqlTable.<TableCodes, Integer>withLogicalTable(tableCodes)
+                .withShardNames(shardedTable.shardNames())
+                .withRouter(shardedTable::shardName)
+                .build();
+
+        for (int minimumId : new int[] {5, 10, 15}) {
+            List<TableCode> rows = executor.selectList(table,
+                    t -> select(t.id, t.description)
+                            .from(t)
+                            .where(t.id, isGreaterThan(minimumId))
+                            .orderBy(t.id),
+                    RenderingStrategies.MYBATIS3,
+                    (shardName, selectStatement) -> {
+                        statements.add(selectStatement.getSelectStatement());
+                        return selectTableCodes(shardName, selectStatement);
+                    },
+                    Comparator.comparing(TableCode::getId));
+            assertThat(rows).extracting(TableCode::getId).startsWith(minimumId + 1).hasSize(20 - minimumId);
+        }
+
+        assertThat(table.cachedTemplateCount()).isEqualTo(1);
+        assertThat(statements).hasSize(9).contains(
+                "select id, description from tableCodes_0 where id > #{parameters.p1,jdbcType=INTEGER} order by id",
+                "select id, description from tableCodes_2 where id > #{parameters.p1,jdbcType=INTEGER} order by id");
+    }
+
+    @Test
+    void testOrderByRequiresComparator() {
+        assertThatExceptionOfType(InvalidSqlException.class).isThrownBy(() ->
+                executor.selectList(shardedTable,
+                        table -> select(table.id, table.description).from(table).orderBy(table.id),
+                        RenderingStrategies.MYBATIS3, this::selectTableCodes, null))
+                .withMessage("Results from a sharded select statement with an order by clause can only be merged "
+                        + "with a comparator");
+    }
+
+    @Test
+    void testUnknownShard() {
+        ShardedSqlTable<TableCodes, Integer> table = ShardedSqlTable.<TableCodes, Integer>withLogicalTable(tableCodes)
+                .withShardNames("tableCodes_0")
+                .withRouter(id -> "tableCodes_" + id)
+                .build();
+
+        assertThatExceptionOfType(InvalidSqlException.class).isThrownBy(() -> table.route(1))
+                .withMessage("Shard \"tableCodes_1\" is not defined for the sharded table tableCodes_even");
+    }
+
+    @Test
+    void testNoShards() {
+        ShardedSqlTable.Builder<TableCodes, Integer> builder =
+                ShardedSqlTable.<TableCodes, Integer>withLogicalTable(tableCodes)
+                        .withRouter(id -> "tableCodes_" + id);
+
+        assertThatExceptionOfType(InvalidSqlException.class).isThrownBy(builder::build)
+                .withMessage("Sharded tables must have at least one shard");
+    }
+
+    private void insert(int id, String description) {
+        TableCodes table = shardedTable.route(id);
+        GeneralInsertStatementProvider insertStatement = insertInto(table)
+                .set(table.id).toValue(id)
+                .set(table.description).toValue(description)
+                .build()
+                .render(RenderingStrategies.MYBATIS3);
+
+        try (SqlSession sqlSession = sessionFactories.get(shardedTable.shardName(id)).openSession(true)) {
+            sqlSession.getMapper(ShardedMapper.class).generalInsert(insertStatement);
+        }
+    }
+
+    private List<TableCode> selectTableCodes(String shardName, SelectStatementProvider selectStatement) {
+        try (SqlSession sqlSession = sessionFactories.get(shardName).openSession()) {
+            return sqlSession.getMapper(ShardedMapper.class).selectMany(selectStatement,
+                    row -> new TableCode((Integer) row.get("ID"), (String) row.get("DESCRIPTION")));
+        }
+    }
+
+    static class TableCode {
+        private final Integer id;
+        private final String description;
+
+        TableCode(Integer id, String description) {
+            this.id = id;
+            this.description = description;
+        }
+
+        Integer getId() {
+            return id;
+        }
+
+        String getDescription() {
+            return description;
+        }
+    }
+}
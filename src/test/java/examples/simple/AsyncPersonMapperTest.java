@@ -0,0 +1,152 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package examples.simple;
+
+import static examples.simple.PersonDynamicSqlSupport.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mybatis.dynamic.sql.SqlBuilder.*;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.apache.ibatis.datasource.unpooled.UnpooledDataSource;
+import org.apache.ibatis.exceptions.PersistenceException;
+import org.apache.ibatis.jdbc.ScriptRunner;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.session.SqlSessionManager;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mybatis.dynamic.sql.util.AsyncExecution;
+import org.mybatis.dynamic.sql.util.Page;
+import org.mybatis.dynamic.sql.util.mybatis3.AsyncMyBatis3Utils;
+
+class AsyncPersonMapperTest {
+
+    private static final String JDBC_URL = "jdbc:hsqldb:mem:async";
+    private static final String JDBC_DRIVER = "org.hsqldb.jdbcDriver";
+
+    private PersonMapper mapper;
+    private AsyncMyBatis3Utils asyncUtils;
+
+    @BeforeEach
+    void setup() throws Exception {
+        Class.forName(JDBC_DRIVER);
+        InputStream is = getClass().getResourceAsStream("/examples/simple/CreateSimpleDB.sql");
+        assert is != null;
+        try (Connection connection = DriverManager.getConnection(JDBC_URL, "sa", "")) {
+            ScriptRunner sr = new ScriptRunner(connection);
+            sr.setLogWriter(null);
+            sr.runScript(new InputStreamReader(is));
+        }
+
+        UnpooledDataSource ds = new UnpooledDataSource(JDBC_DRIVER, JDBC_URL, "sa", "");
+        Environment environment = new Environment("test", new JdbcTransactionFactory(), ds);
+        Configuration config = new Configuration(environment);
+        config.addMapper(PersonMapper.class);
+        SqlSessionFactory sqlSessionFactory = new SqlSessionFactoryBuilder().build(config);
+
+        // mappers from a session manager open a session for each call, so they are thread safe
+        mapper = SqlSessionManager.newInstance(sqlSessionFactory).getMapper(PersonMapper.class);
+        asyncUtils = new AsyncMyBatis3Utils(sqlSessionFactory,
+                new AsyncExecution.Builder().withMaxConcurrency(2).build());
+    }
+
+    @Test
+    void testFanOut() {
+        CompletableFuture<Long> count = asyncUtils.countFrom(mapper::count, person, c -> c.where(employed, isTrue()));
+        CompletableFuture<List<PersonRecord>> rows = asyncUtils.selectList(mapper::selectMany,
+                PersonMapper.selectList, person, c -> c.where(id, isLessThan(3)).orderBy(id));
+        CompletableFuture<Optional<PersonRecord>> row = asyncUtils.selectOne(mapper::selectOne,
+                PersonMapper.selectList, person, c -> c.where(id, isEqualTo(4)));
+
+        CompletableFuture.allOf(count, rows, row).join();
+
+        assertThat(count.join()).isEqualTo(4);
+        assertThat(rows.join()).extracting(PersonRecord::getId).containsExactly(1, 2);
+        assertThat(row.join()).hasValueSatisfying(r -> assertThat(r.getFirstName()).isEqualTo("Barney"));
+    }
+
+    @Test
+    void testSelectPage() {
+        Page<PersonRecord> page = asyncUtils.selectPage(mapper::selectMany, mapper::count,
+                PersonMapper.selectList, person, c -> c.where(employed, isTrue()).orderBy(id).limit(3).offset(2))
+                .join();
+
+        assertThat(page.rows()).extracting(PersonRecord::getId).containsExactly(4, 5);
+        assertThat(page.totalRows()).isEqualTo(4);
+        assertThat(page.offset()).isEqualTo(2);
+        assertThat(page.pageSize()).hasValue(3L);
+        assertThat(page.hasNext()).isFalse();
+    }
+
+    @Test
+    void testCounts() {
+        CompletableFuture<Long> count = asyncUtils.count(mapper::count, lastName, person, c -> c);
+        CompletableFuture<Long> distinct = asyncUtils.countDistinct(mapper::count, lastName, person, c -> c);
+
+        assertThat(count.join()).isEqualTo(6);
+        assertThat(distinct.join()).isEqualTo(2);
+    }
+
+    @Test
+    void testUpdateAndDelete() {
+        int rows = asyncUtils.update(mapper::update, person, c ->
+                c.set(occupation).equalTo("Programmer").where(id, isEqualTo(1))).join();
+        assertThat(rows).isEqualTo(1);
+
+        rows = asyncUtils.deleteFrom(mapper::delete, person, c -> c.where(occupation, isNull())).join();
+        assertThat(rows).isEqualTo(2);
+
+        assertThat(mapper.count(c -> c)).isEqualTo(4);
+    }
+
+    @Test
+    void testGeneralInsert() {
+        int rows = asyncUtils.generalInsert(mapper::generalInsert, person, c ->
+                c.set(id).toValue(100)
+                .set(firstName).toValue("Joe")
+                .set(lastName).toValue(LastName.of("Jones"))
+                .set(birthDate).toValue(new Date())
+                .set(employed).toValue(true)
+                .set(occupation).toValue("Developer")
+                .set(addressId).toValue(1)).join();
+
+        assertThat(rows).isEqualTo(1);
+        assertThat(mapper.count(c -> c)).isEqualTo(7);
+    }
+
+    @Test
+    void testFailure() {
+        CompletableFuture<Integer> future = asyncUtils.update(mapper::update, person, c ->
+                c.set(firstName).equalToNull().where(id, isEqualTo(1)));
+
+        assertThatExceptionOfType(CompletionException.class)
+                .isThrownBy(future::join)
+                .withCauseInstanceOf(PersistenceException.class);
+    }
+}
@@ -24,12 +24,14 @@ public final class AddressDynamicSqlSupport {
     public static final SqlColumn<String> streetAddress = address.streetAddress;
     public static final SqlColumn<String> city = address.city;
     public static final SqlColumn<String> state = address.state;
+    public static final SqlColumn<Integer> addressType = address.addressType;
 
     public static final class Address extends SqlTable {
         public final SqlColumn<Integer> id = column("address_id");
         public final SqlColumn<String> streetAddress = column("street_address");
         public final SqlColumn<String> city = column("city");
         public final SqlColumn<String> state = column("state");
+        public final SqlColumn<Integer> addressType = column("address_type");
 
         public Address() {
             super("Address");
@@ -20,6 +20,7 @@ public class AddressRecord {
     private String streetAddress;
     private String city;
     private String state;
+    private Integer addressType;
 
     public Integer getId() {
         return id;
@@ -52,4 +53,12 @@ public class AddressRecord {
     public void setState(String state) {
         this.state = state;
     }
+
+    public Integer getAddressType() {
+        return addressType;
+    }
+
+    public void setAddressType(Integer addressType) {
+        this.addressType = addressType;
+    }
 }
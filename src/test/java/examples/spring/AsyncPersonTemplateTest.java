@@ -0,0 +1,114 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package examples.spring;
+
+import static examples.spring.PersonDynamicSqlSupport.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mybatis.dynamic.sql.SqlBuilder.*;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mybatis.dynamic.sql.util.AsyncExecution;
+import org.mybatis.dynamic.sql.util.Page;
+import org.mybatis.dynamic.sql.util.spring.AsyncNamedParameterJdbcTemplateExtensions;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+class AsyncPersonTemplateTest {
+    private EmbeddedDatabase dataSource;
+    private AsyncNamedParameterJdbcTemplateExtensions template;
+
+    @BeforeEach
+    void setup() {
+        // statements run on other threads and commit immediately, so use a private database
+        dataSource = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.HSQL)
+                .generateUniqueName(true)
+                .addScript("classpath:/examples/simple/CreateSimpleDB.sql")
+                .build();
+        template = new AsyncNamedParameterJdbcTemplateExtensions(new NamedParameterJdbcTemplate(dataSource),
+                new AsyncExecution.Builder().withMaxConcurrency(2).build());
+    }
+
+    @AfterEach
+    void teardown() {
+        dataSource.shutdown();
+    }
+
+    @Test
+    void testFanOut() {
+        CompletableFuture<Long> count = template.count(countFrom(person).where(employed, isTrue()));
+        CompletableFuture<List<String>> names = template.selectList(select(firstName)
+                .from(person)
+                .where(id, isLessThan(3))
+                .orderBy(id), (rs, rowNum) -> rs.getString(1));
+        CompletableFuture<Optional<String>> name = template.selectOne(select(firstName)
+                .from(person)
+                .where(id, isEqualTo(4)), (rs, rowNum) -> rs.getString(1));
+        CompletableFuture<int[]> ids = template.selectIntArray(select(id).from(person).orderBy(id));
+
+        CompletableFuture.allOf(count, names, name, ids).join();
+
+        assertThat(count.join()).isEqualTo(4);
+        assertThat(names.join()).containsExactly("Fred", "Wilma");
+        assertThat(name.join()).hasValue("Barney");
+        assertThat(ids.join()).containsExactly(1, 2, 3, 4, 5, 6);
+    }
+
+    @Test
+    void testSelectPage() {
+        Page<String> page = template.selectPage(selectDistinct(lastName)
+                .from(person)
+                .orderBy(lastName)
+                .limit(1), (rs, rowNum) -> rs.getString(1)).join();
+
+        assertThat(page.rows()).containsExactly("Flintstone");
+        assertThat(page.totalRows()).isEqualTo(2);
+        assertThat(page.offset()).isZero();
+        assertThat(page.pageSize()).hasValue(1L);
+        assertThat(page.hasNext()).isTrue();
+    }
+
+    @Test
+    void testWrites() {
+        int rows = template.insert(insert(new PersonRecord())
+                .into(person)
+                .map(id).toConstant("22")
+                .map(firstName).toStringConstant("Joe")
+                .map(lastName).toStringConstant("Jones")
+                .map(birthDate).toConstant("'2020-01-01'")
+                .map(employed).toStringConstant("Yes")
+                .map(addressId).toConstant("1")).join();
+        assertThat(rows).isEqualTo(1);
+
+        rows = template.update(update(person)
+                .set(occupation).equalTo("Developer")
+                .where(id, isEqualTo(22))).join();
+        assertThat(rows).isEqualTo(1);
+
+        rows = template.delete(deleteFrom(person).where(occupation, isNull())).join();
+        assertThat(rows).isEqualTo(2);
+
+        assertThat(template.count(countFrom(person)).join()).isEqualTo(5);
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package examples.spring;
+
+import static examples.spring.PersonDynamicSqlSupport.*;
+import static examples.spring.PersonTemplateTest.personRowMapper;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mybatis.dynamic.sql.SqlBuilder.*;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mybatis.dynamic.sql.select.SelectModel;
+import org.mybatis.dynamic.sql.util.Buildable;
+import org.mybatis.dynamic.sql.util.QueryResultCache;
+import org.mybatis.dynamic.sql.util.spring.NamedParameterJdbcTemplateExtensions;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringJUnitConfig(classes = SpringConfiguration.class)
+@Transactional
+class CachedPersonTemplateTest {
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    private QueryResultCache cache;
+    private NamedParameterJdbcTemplateExtensions template;
+
+    @BeforeEach
+    void setup() {
+        cache = new QueryResultCache.Builder().build();
+        template = new NamedParameterJdbcTemplateExtensions(jdbcTemplate, cache);
+    }
+
+    @Test
+    void testSelectListIsCached() {
+        List<PersonRecord> rows1 = template.selectList(selectByOccupation("Brontosaurus Operator"),
+                personRowMapper);
+        List<PersonRecord> rows2 = template.selectList(selectByOccupation("Brontosaurus Operator"),
+                personRowMapper);
+
+        assertThat(rows1).hasSize(2);
+        assertThat(rows2).isSameAs(rows1);
+        assertThat(cache.hitCount()).isEqualTo(1);
+        assertThat(cache.missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testCountIsCached() {
+        long count1 = template.count(countFrom(person).where(employed, isEqualTo(true)));
+        long count2 = template.count(countFrom(person).where(employed, isEqualTo(true)));
+
+        assertThat(count1).isEqualTo(4);
+        assertThat(count2).isEqualTo(4);
+        assertThat(cache.hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testUpdateInvalidatesCachedResults() {
+        Optional<PersonRecord> before = template.selectOne(
+                select(id, firstName, lastName, birthDate, employed, occupation, addressId)
+                        .from(person)
+                        .where(id, isEqualTo(1)),
+                personRowMapper);
+        assertThat(before).hasValueSatisfying(
+                r -> assertThat(r.getOccupation()).isEqualTo("Brontosaurus Operator"));
+
+        int rows = template.update(update(person)
+                .set(occupation).equalTo("Programmer")
+                .where(id, isEqualTo(1)));
+        assertThat(rows).isEqualTo(1);
+        assertThat(cache.generation(person)).isEqualTo(1);
+
+        Optional<PersonRecord> after = template.selectOne(
+                select(id, firstName, lastName, birthDate, employed, occupation, addressId)
+                        .from(person)
+                        .where(id, isEqualTo(1)),
+                personRowMapper);
+        assertThat(after).hasValueSatisfying(r -> assertThat(r.getOccupation()).isEqualTo("Programmer"));
+        assertThat(cache.hitCount()).isZero();
+        assertThat(cache.missCount()).isEqualTo(2);
+    }
+
+    @Test
+    void testDeleteInvalidatesCachedCount() {
+        assertThat(template.count(countFrom(person))).isEqualTo(6);
+
+        int rows = template.delete(deleteFrom(person).where(id, isEqualTo(6)));
+        assertThat(rows).isEqualTo(1);
+
+        assertThat(template.count(countFrom(person))).isEqualTo(5);
+    }
+
+    @Test
+    void testUncachedTemplateIsUnaffected() {
+        NamedParameterJdbcTemplateExtensions uncached = new NamedParameterJdbcTemplateExtensions(jdbcTemplate);
+
+        List<PersonRecord> rows1 = uncached.selectList(selectByOccupation("Brontosaurus Operator"),
+                personRowMapper);
+        List<PersonRecord> rows2 = uncached.selectList(selectByOccupation("Brontosaurus Operator"),
+                personRowMapper);
+
+        assertThat(rows2).isNotSameAs(rows1).hasSameSizeAs(rows1);
+        assertThat(cache.size()).isZero();
+    }
+
+    private static Buildable<SelectModel> selectByOccupation(String value) {
+        return select(id, firstName, lastName, birthDate, employed, occupation, addressId)
+                .from(person)
+                .where(occupation, isEqualTo(value));
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package examples.spring;
+
+import static examples.spring.PersonDynamicSqlSupport.*;
+import static examples.spring.PersonTemplateTest.personRowMapper;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mybatis.dynamic.sql.SqlBuilder.*;
+
+import java.sql.JDBCType;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mybatis.dynamic.sql.SqlColumn;
+import org.mybatis.dynamic.sql.SqlTable;
+import org.mybatis.dynamic.sql.render.StatementKind;
+import org.mybatis.dynamic.sql.select.SelectModel;
+import org.mybatis.dynamic.sql.util.Buildable;
+import org.mybatis.dynamic.sql.util.InMemoryStatementMetrics;
+import org.mybatis.dynamic.sql.util.QueryResultCache;
+import org.mybatis.dynamic.sql.util.StatementShapeRegistry;
+import org.mybatis.dynamic.sql.util.StatementStatistics;
+import org.mybatis.dynamic.sql.util.spring.NamedParameterJdbcTemplateExtensions;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringJUnitConfig(classes = SpringConfiguration.class)
+@Transactional
+class MeasuredPersonTemplateTest {
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    private InMemoryStatementMetrics metrics;
+    private NamedParameterJdbcTemplateExtensions template;
+
+    @BeforeEach
+    void setup() {
+        metrics = new InMemoryStatementMetrics();
+        template = new NamedParameterJdbcTemplateExtensions(jdbcTemplate).withStatementMetrics(metrics);
+    }
+
+    @Test
+    void testSelectsAreGroupedByShape() {
+        List<PersonRecord> rows1 = template.selectList(selectByOccupation("Brontosaurus Operator"),
+                personRowMapper);
+        List<PersonRecord> rows2 = template.selectList(selectByOccupation("Accountant"), personRowMapper);
+
+        assertThat(rows1).hasSize(2);
+        assertThat(rows2).hasSize(1);
+        assertThat(metrics.statistics()).singleElement().satisfies(s -> {
+            assertThat(s.statementKind()).isEqualTo(StatementKind.SELECT);
+            assertThat(s.executions()).isEqualTo(2);
+            assertThat(s.rows()).isEqualTo(3);
+            assertThat(s.errors()).isZero();
+            assertThat(s.statement()).doesNotContain("Brontosaurus", "Accountant");
+        });
+    }
+
+    @Test
+    void testUpdateRecordsRowsAffected() {
+        int rows = template.update(update(person)
+                .set(occupation).equalTo("Programmer")
+                .where(employed, isEqualTo(true)));
+
+        assertThat(rows).isEqualTo(4);
+        assertThat(metrics.statistics()).singleElement().satisfies(s -> {
+            assertThat(s.statementKind()).isEqualTo(StatementKind.UPDATE);
+            assertThat(s.rows()).isEqualTo(4);
+        });
+    }
+
+    @Test
+    void testCountAndSelectOne() {
+        assertThat(template.count(countFrom(person))).isEqualTo(6);
+        assertThat(template.selectOne(select(id, firstName, lastName, birthDate, employed, occupation, addressId)
+                .from(person)
+                .where(id, isEqualTo(100)), personRowMapper)).isEmpty();
+
+        assertThat(metrics.statistics()).hasSize(2)
+                .allSatisfy(s -> assertThat(s.errors()).isZero())
+                .extracting(StatementStatistics::rows)
+                .containsExactlyInAnyOrder(1L, 0L);
+    }
+
+    @Test
+    void testFailuresAreCounted() {
+        SqlTable missing = SqlTable.of("Missing");
+        SqlColumn<Integer> missingId = missing.column("id", JDBCType.INTEGER);
+
+        assertThatExceptionOfType(BadSqlGrammarException.class).isThrownBy(() ->
+                template.delete(deleteFrom(missing).where(missingId, isEqualTo(1))));
+
+        assertThat(metrics.statistics()).singleElement().satisfies(s -> {
+            assertThat(s.statementKind()).isEqualTo(StatementKind.DELETE);
+            assertThat(s.executions()).isEqualTo(1);
+            assertThat(s.errors()).isEqualTo(1);
+        });
+    }
+
+    @Test
+    void testCachedResultsAreNotMeasured() {
+        NamedParameterJdbcTemplateExtensions cached =
+                new NamedParameterJdbcTemplateExtensions(jdbcTemplate, new QueryResultCache.Builder().build())
+                        .withStatementMetrics(metrics);
+
+        cached.selectList(selectByOccupation("Brontosaurus Operator"), personRowMapper);
+        cached.selectList(selectByOccupation("Brontosaurus Operator"), personRowMapper);
+
+        assertThat(metrics.statistics()).singleElement()
+                .satisfies(s -> assertThat(s.executions()).isEqualTo(1));
+    }
+
+    @Test
+    void testShapesAreCountedByCallSite() {
+        StatementShapeRegistry registry = new StatementShapeRegistry.Builder().withThreshold(1).build();
+        NamedParameterJdbcTemplateExtensions registered =
+                new NamedParameterJdbcTemplateExtensions(jdbcTemplate).withStatementMetrics(registry);
+
+        for (Integer[] ids : new Integer[][] {{1}, {1, 2}, {1, 2, 3}, {4, 5, 6}}) {
+            registered.count(countFrom(person).where(id, isIn(ids)));
+        }
+
+        assertThat(registry.exceeded()).singleElement().satisfies(c -> {
+            assertThat(c.origin()).asString().startsWith(getClass().getName() + ".testShapesAreCountedByCallSite");
+            assertThat(c.distinctShapes()).isEqualTo(3);
+            assertThat(c.executions()).isEqualTo(4);
+        });
+    }
+
+    private static Buildable<SelectModel> selectByOccupation(String value) {
+        return select(id, firstName, lastName, birthDate, employed, occupation, addressId)
+                .from(person)
+                .where(occupation, isEqualTo(value));
+    }
+}
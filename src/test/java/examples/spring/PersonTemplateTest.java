@@ -26,14 +26,27 @@ import java.util.List;
 import java.util.Optional;
 
 import org.junit.jupiter.api.Test;
+import org.mybatis.dynamic.sql.delete.BatchDeleteModel;
 import org.mybatis.dynamic.sql.delete.DeleteModel;
+import org.mybatis.dynamic.sql.delete.render.BatchDelete;
+import org.mybatis.dynamic.sql.insert.ArrayInsertModel;
 import org.mybatis.dynamic.sql.insert.BatchInsertModel;
+import org.mybatis.dynamic.sql.insert.BatchUpsertModel;
 import org.mybatis.dynamic.sql.insert.GeneralInsertModel;
 import org.mybatis.dynamic.sql.insert.InsertModel;
 import org.mybatis.dynamic.sql.insert.MultiRowInsertModel;
+import org.mybatis.dynamic.sql.insert.MultiRowUpsertModel;
+import org.mybatis.dynamic.sql.insert.TupleInsertModel;
+import org.mybatis.dynamic.sql.insert.UpsertModel;
+import org.mybatis.dynamic.sql.render.RenderingStrategies;
 import org.mybatis.dynamic.sql.select.SelectModel;
+import org.mybatis.dynamic.sql.update.BatchUpdateModel;
+import org.mybatis.dynamic.sql.update.MultiRowUpdateModel;
 import org.mybatis.dynamic.sql.update.UpdateModel;
 import org.mybatis.dynamic.sql.util.Buildable;
+import org.mybatis.dynamic.sql.util.ColumnarResult;
+import org.mybatis.dynamic.sql.util.ColumnarResultReader;
+import org.mybatis.dynamic.sql.util.IndexedRowMapper;
 import org.mybatis.dynamic.sql.util.spring.NamedParameterJdbcTemplateExtensions;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.BeanPropertyRowMapper;
@@ -99,6 +112,120 @@ class PersonTemplateTest {
         assertThat(rows).hasSize(5);
     }
 
+    @Test
+    void testSelectWithIndexedRowMapper() {
+        SelectModel selectModel = select(id, firstName, lastName, birthDate, employed, occupation, addressId)
+                .from(person)
+                .where(id, isEqualTo(1))
+                .or(occupation, isNull())
+                .orderBy(id)
+                .build();
+
+        IndexedRowMapper<PersonRecord> rowMapper = IndexedRowMapper.of(selectModel, row -> {
+            PersonRecord record = new PersonRecord();
+            record.setId(row.getInt(id));
+            record.setFirstName(row.get(firstName));
+            record.setLastName(LastName.of((String) row.get(3)));
+            record.setBirthDate(row.get(birthDate));
+            record.setEmployed("Yes".equals(row.get(5)));
+            record.setOccupation(row.get(occupation));
+            record.setAddressId(row.getInt(addressId));
+            return record;
+        });
+
+        List<PersonRecord> rows = template.selectList(
+                selectModel.render(RenderingStrategies.SPRING_NAMED_PARAMETER), rowMapper);
+
+        assertThat(rows).hasSize(3);
+        assertThat(rows.get(0).getId()).isEqualTo(1);
+        assertThat(rows.get(0).getFirstName()).isEqualTo("Fred");
+        assertThat(rows.get(0).getLastName().getName()).isEqualTo("Flintstone");
+        assertThat(rows.get(0).getEmployed()).isTrue();
+        assertThat(rows.get(0).getAddressId()).isEqualTo(1);
+    }
+
+    @Test
+    void testSelectOneWithIndexedRowMapper() {
+        SelectModel selectModel = select(id, firstName)
+                .from(person)
+                .where(id, isEqualTo(4))
+                .build();
+
+        IndexedRowMapper<String> rowMapper = IndexedRowMapper.of(selectModel,
+                row -> row.get(id) + " " + row.get(firstName));
+
+        Optional<String> row = template.selectOne(
+                selectModel.render(RenderingStrategies.SPRING_NAMED_PARAMETER), rowMapper);
+
+        assertThat(row).hasValue("4 Barney");
+    }
+
+    @Test
+    void testSelectLongArray() {
+        Buildable<SelectModel> selectStatement = select(id)
+                .from(person)
+                .where(id, isGreaterThan(2))
+                .orderBy(id);
+
+        long[] ids = template.selectLongArray(selectStatement);
+
+        assertThat(ids).containsExactly(3L, 4L, 5L, 6L);
+    }
+
+    @Test
+    void testSelectIntArray() {
+        Buildable<SelectModel> selectStatement = select(addressId)
+                .from(person)
+                .orderBy(id);
+
+        int[] ids = template.selectIntArray(selectStatement);
+
+        assertThat(ids).containsExactly(1, 1, 1, 2, 2, 2);
+    }
+
+    @Test
+    void testSelectDoubleArray() {
+        Buildable<SelectModel> selectStatement = select(id)
+                .from(person)
+                .where(id, isLessThan(3))
+                .orderBy(id);
+
+        double[] ids = template.selectDoubleArray(selectStatement);
+
+        assertThat(ids).containsExactly(1.0, 2.0);
+    }
+
+    @Test
+    void testSelectColumnar() {
+        Buildable<SelectModel> selectStatement = select(id, firstName, occupation)
+                .from(person)
+                .orderBy(id);
+
+        ColumnarResult result = template.selectColumnar(selectStatement);
+
+        assertThat(result.rowCount()).isEqualTo(6);
+        assertThat(result.longs(id)).containsExactly(1L, 2L, 3L, 4L, 5L, 6L);
+        assertThat(result.get(firstName, 3)).isEqualTo("Barney");
+        assertThat(result.isNull(occupation, 2)).isTrue();
+        assertThat(result.rows().filter(row -> row.isNull(occupation)).map(row -> row.get(firstName)))
+                .containsExactly("Pebbles", "Bamm Bamm");
+    }
+
+    @Test
+    void testSelectColumnarInBatches() {
+        SelectModel selectModel = select(id)
+                .from(person)
+                .orderBy(id)
+                .build();
+
+        List<Long> sums = new ArrayList<>();
+        int rows = template.selectColumnar(selectModel.render(RenderingStrategies.SPRING_NAMED_PARAMETER),
+                ColumnarResultReader.of(selectModel), 4, batch -> sums.add(batch.longs(id).sum()));
+
+        assertThat(rows).isEqualTo(6);
+        assertThat(sums).containsExactly(10L, 11L);
+    }
+
     @Test
     void testSelectWithUnion() {
         Buildable<SelectModel> selectStatement = select(id, firstName, lastName, birthDate, employed, occupation, addressId)
@@ -259,6 +386,142 @@ class PersonTemplateTest {
         assertThat(rows).isEqualTo(1);
     }
 
+    @Test
+    void testUpsert() {
+        Buildable<UpsertModel<AddressRecord>> upsertStatement = upsert(upsertRecord(1, "123 Granite Way"))
+                .into(address)
+                .map(address.id).toProperty("id")
+                .map(address.streetAddress).toProperty("streetAddress")
+                .map(address.city).toProperty("city")
+                .map(address.state).toProperty("state")
+                .map(address.addressType).toConstant("1")
+                .onKey(address.id);
+
+        int rows = template.upsert(upsertStatement);
+        assertThat(rows).isEqualTo(1);
+
+        upsertStatement = upsert(upsertRecord(100, "1 Main Street"))
+                .into(address)
+                .map(address.id).toProperty("id")
+                .map(address.streetAddress).toProperty("streetAddress")
+                .map(address.city).toProperty("city")
+                .map(address.state).toProperty("state")
+                .map(address.addressType).toConstant("1")
+                .onKey(address.id);
+
+        rows = template.upsert(upsertStatement);
+        assertThat(rows).isEqualTo(1);
+
+        List<String> streets = template.selectList(select(address.streetAddress).from(address)
+                .orderBy(address.id), (rs, rowNum) -> rs.getString(1));
+        assertThat(streets).containsExactly("123 Granite Way", "456 Main Street", "1 Main Street");
+    }
+
+    @Test
+    void testUpsertBatch() {
+        List<AddressRecord> records = new ArrayList<>();
+        records.add(upsertRecord(2, "789 Marble Lane"));
+        records.add(upsertRecord(100, "1 Main Street"));
+
+        Buildable<BatchUpsertModel<AddressRecord>> upsertStatement = upsertBatch(records)
+                .into(address)
+                .map(address.id).toProperty("id")
+                .map(address.streetAddress).toProperty("streetAddress")
+                .map(address.city).toProperty("city")
+                .map(address.state).toProperty("state")
+                .map(address.addressType).toConstant("1")
+                .onKey(address.id);
+
+        int[] rows = template.upsertBatch(upsertStatement);
+        assertThat(rows).containsExactly(1, 1);
+
+        List<String> streets = template.selectList(select(address.streetAddress).from(address)
+                .orderBy(address.id), (rs, rowNum) -> rs.getString(1));
+        assertThat(streets).containsExactly("123 Main Street", "789 Marble Lane", "1 Main Street");
+    }
+
+    @Test
+    void testUpsertMultiple() {
+        List<AddressRecord> records = new ArrayList<>();
+        records.add(upsertRecord(1, "123 Granite Way"));
+        records.add(upsertRecord(100, "1 Main Street"));
+        records.add(upsertRecord(101, "2 Main Street"));
+
+        Buildable<MultiRowUpsertModel<AddressRecord>> upsertStatement = upsertMultiple(records)
+                .into(address)
+                .map(address.id).toProperty("id")
+                .map(address.streetAddress).toProperty("streetAddress")
+                .map(address.city).toProperty("city")
+                .map(address.state).toProperty("state")
+                .map(address.addressType).toConstant("1")
+                .onKey(address.id);
+
+        int rows = template.upsertMultiple(upsertStatement);
+        assertThat(rows).isEqualTo(3);
+
+        List<String> streets = template.selectList(select(address.streetAddress).from(address)
+                .orderBy(address.id), (rs, rowNum) -> rs.getString(1));
+        assertThat(streets).containsExactly("123 Granite Way", "456 Main Street", "1 Main Street",
+                "2 Main Street");
+    }
+
+    @Test
+    void testInsertArrays() {
+        List<AddressRecord> records = new ArrayList<>();
+        records.add(upsertRecord(100, "1 Main Street"));
+        records.add(upsertRecord(101, "2 Main Street"));
+        records.add(upsertRecord(102, "3 Main Street"));
+        records.forEach(r -> r.setAddressType(1));
+
+        Buildable<ArrayInsertModel<AddressRecord>> insertStatement = insertArrays(records)
+                .into(address)
+                .map(address.id).toProperty("id", "integer")
+                .map(address.streetAddress).toProperty("streetAddress", "varchar(50)")
+                .map(address.city).toProperty("city", "varchar(20)")
+                .map(address.state).toProperty("state", "varchar(2)")
+                .map(address.addressType).toProperty("addressType", "integer");
+
+        int rows = template.insertArrays(insertStatement);
+        assertThat(rows).isEqualTo(3);
+
+        List<String> streets = template.selectList(select(address.streetAddress).from(address)
+                .where(address.id, isGreaterThanOrEqualTo(100))
+                .orderBy(address.id), (rs, rowNum) -> rs.getString(1));
+        assertThat(streets).containsExactly("1 Main Street", "2 Main Street", "3 Main Street");
+    }
+
+    @Test
+    void testInsertTuples() {
+        List<AddressRecord> records = new ArrayList<>();
+        records.add(upsertRecord(100, "1 Main Street"));
+        records.add(upsertRecord(101, "2 Main Street"));
+
+        Buildable<TupleInsertModel<AddressRecord>> insertStatement = insertTuples(records)
+                .into(address)
+                .map(address.id).toValue(AddressRecord::getId)
+                .map(address.streetAddress).toValue(AddressRecord::getStreetAddress)
+                .map(address.city).toValue(AddressRecord::getCity)
+                .map(address.state).toValue(AddressRecord::getState)
+                .map(address.addressType).toConstant("1");
+
+        int rows = template.insertTuples(insertStatement);
+        assertThat(rows).isEqualTo(2);
+
+        List<String> streets = template.selectList(select(address.streetAddress).from(address)
+                .where(address.id, isGreaterThanOrEqualTo(100))
+                .orderBy(address.id), (rs, rowNum) -> rs.getString(1));
+        assertThat(streets).containsExactly("1 Main Street", "2 Main Street");
+    }
+
+    private AddressRecord upsertRecord(int id, String streetAddress) {
+        AddressRecord record = new AddressRecord();
+        record.setId(id);
+        record.setStreetAddress(streetAddress);
+        record.setCity("Bedrock");
+        record.setState("IN");
+        return record;
+    }
+
     @Test
     void testGeneralInsert() {
         Buildable<GeneralInsertModel> insertStatement = insertInto(person)
@@ -355,6 +618,115 @@ class PersonTemplateTest {
         assertThat(rows[1]).isEqualTo(1);
     }
 
+    @Test
+    void testUpdateBatch() {
+        List<PersonRecord> records = new ArrayList<>();
+
+        PersonRecord record = new PersonRecord();
+        record.setId(1);
+        record.setOccupation("Quarry Supervisor");
+        records.add(record);
+
+        record = new PersonRecord();
+        record.setId(3);
+        record.setOccupation("Student");
+        records.add(record);
+
+        Buildable<BatchUpdateModel<PersonRecord>> updateStatement = updateBatch(records).table(person)
+                .set(occupation).toProperty("occupation")
+                .where(id, "id");
+
+        int[] rows = template.updateBatch(updateStatement);
+
+        assertThat(rows).containsExactly(1, 1);
+
+        List<String> occupations = template.selectList(select(occupation).from(person)
+                .where(id, isIn(1, 3)).orderBy(id), (rs, rowNum) -> rs.getString(1));
+        assertThat(occupations).containsExactly("Quarry Supervisor", "Student");
+    }
+
+    @Test
+    void testDeleteBatch() {
+        List<PersonRecord> records = new ArrayList<>();
+
+        PersonRecord record = new PersonRecord();
+        record.setId(1);
+        records.add(record);
+
+        record = new PersonRecord();
+        record.setId(2);
+        records.add(record);
+
+        Buildable<BatchDeleteModel<PersonRecord>> deleteStatement = deleteBatch(records).from(person)
+                .where(id, "id");
+
+        int[] rows = template.deleteBatch(deleteStatement);
+
+        assertThat(rows).containsExactly(1, 1);
+
+        long count = template.count(countFrom(person));
+        assertThat(count).isEqualTo(4);
+    }
+
+    @Test
+    void testDeleteBatchInChunks() {
+        List<PersonRecord> records = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            PersonRecord record = new PersonRecord();
+            record.setId(i);
+            records.add(record);
+        }
+
+        BatchDelete<PersonRecord> batchDelete = deleteBatch(records).from(person)
+                .where(id, "id")
+                .build()
+                .render(RenderingStrategies.SPRING_NAMED_PARAMETER);
+
+        int[][] rows = template.deleteBatch(batchDelete, 2);
+
+        assertThat(rows).hasNumberOfRows(3);
+        assertThat(rows[2]).containsExactly(1);
+
+        long count = template.count(countFrom(person));
+        assertThat(count).isEqualTo(1);
+    }
+
+    @Test
+    void testUpdateMultiple() {
+        List<PersonRecord> records = new ArrayList<>();
+        for (int i = 1; i <= 6; i++) {
+            PersonRecord record = new PersonRecord();
+            record.setId(i);
+            record.setFirstName("Name " + i);
+            record.setOccupation(i % 2 == 0 ? null : "Occupation " + i);
+            records.add(record);
+        }
+
+        // one case expression per column - 5 parameters per record - 2 records per statement
+        Buildable<MultiRowUpdateModel<PersonRecord>> updateStatement = updateMultiple(records).table(person)
+                .set(firstName).toProperty("firstName")
+                .set(occupation).toProperty("occupation")
+                .where(id, "id")
+                .withParameterLimit(10);
+
+        int rows = template.updateMultiple(updateStatement);
+
+        assertThat(rows).isEqualTo(6);
+
+        List<PersonRecord> updated = template.selectList(select(id, firstName, occupation).from(person).orderBy(id),
+                (rs, rowNum) -> {
+                    PersonRecord record = new PersonRecord();
+                    record.setId(rs.getInt(1));
+                    record.setFirstName(rs.getString(2));
+                    record.setOccupation(rs.getString(3));
+                    return record;
+                });
+        assertThat(updated).extracting(PersonRecord::getFirstName)
+                .containsExactly("Name 1", "Name 2", "Name 3", "Name 4", "Name 5", "Name 6");
+        assertThat(updated).extracting(PersonRecord::getOccupation)
+                .containsExactly("Occupation 1", null, "Occupation 3", null, "Occupation 5", null);
+    }
+
     @Test
     void testInsertSelective() {
         PersonRecord record = new PersonRecord();
@@ -17,10 +17,18 @@ package org.mybatis.dynamic.sql;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import static org.mybatis.dynamic.sql.SqlBuilder.equalTo;
+import static org.mybatis.dynamic.sql.SqlBuilder.exists;
+import static org.mybatis.dynamic.sql.SqlBuilder.isEqualTo;
+import static org.mybatis.dynamic.sql.SqlBuilder.select;
+
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
 import org.junit.jupiter.api.Test;
+import org.mybatis.dynamic.sql.render.RenderingStrategies;
+import org.mybatis.dynamic.sql.select.render.SelectStatementProvider;
 
 class SqlTableTest {
 
@@ -118,6 +126,44 @@ class SqlTableTest {
         assertThat(table.tableNameAtRuntime()).isEqualTo("second_catalog..my_table");
     }
 
+    @Test
+    void testComposedNameIsReused() {
+        MySchemaSupplier schemaSupplier = new MySchemaSupplier();
+        SqlTable table = new SqlTable(schemaSupplier, "my_table");
+        String first = table.tableNameAtRuntime();
+
+        assertThat(table.tableNameAtRuntime()).isSameAs(first);
+
+        schemaSupplier.setFirst(false);
+        assertThat(table.tableNameAtRuntime()).isEqualTo("second_schema.my_table").isNotSameAs(first);
+    }
+
+    @Test
+    void testNameIsCalculatedOncePerRender() {
+        AtomicInteger calls = new AtomicInteger();
+        SqlTable table = new SqlTable(() -> {
+            calls.incrementAndGet();
+            return "my_table";
+        });
+        SqlColumn<Integer> id = table.column("id");
+        SqlColumn<String> description = table.column("description");
+        SqlTable other = SqlTable.of("other");
+        SqlColumn<Integer> otherId = other.column("id");
+
+        SelectStatementProvider selectStatement = select(id, description, otherId)
+                .from(table)
+                .join(other).on(otherId, equalTo(id))
+                .where(id, isEqualTo(3))
+                .and(exists(select(otherId).from(other).join(table).on(id, equalTo(otherId))))
+                .build()
+                .render(RenderingStrategies.SPRING_NAMED_PARAMETER);
+
+        assertThat(selectStatement.getSelectStatement()).isEqualTo("select my_table.id, my_table.description, "
+                + "other.id from my_table join other on other.id = my_table.id where my_table.id = :p1 "
+                + "and exists (select other.id from other join my_table on my_table.id = other.id)");
+        assertThat(calls).hasValue(1);
+    }
+
     private static String namePropertyReader() {
         return System.getProperty(NAME_PROPERTY);
     }
@@ -33,6 +33,7 @@ class GlobalConfigurationTest {
         System.clearProperty(GlobalConfiguration.CONFIGURATION_FILE_PROPERTY);
 
         assertThat(configuration.isIsNonRenderingWhereClauseAllowed()).isTrue();
+        assertThat(configuration.isCriteriaOptimizationEnabled()).isTrue();
     }
 
     @Test
@@ -42,6 +43,7 @@ class GlobalConfigurationTest {
         System.clearProperty(GlobalConfiguration.CONFIGURATION_FILE_PROPERTY);
 
         assertThat(configuration.isIsNonRenderingWhereClauseAllowed()).isFalse();
+        assertThat(configuration.isCriteriaOptimizationEnabled()).isFalse();
     }
 
     @Test
@@ -0,0 +1,123 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.delete;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mybatis.dynamic.sql.SqlBuilder.deleteBatch;
+
+import java.sql.JDBCType;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mybatis.dynamic.sql.SqlColumn;
+import org.mybatis.dynamic.sql.SqlTable;
+import org.mybatis.dynamic.sql.delete.render.BatchDelete;
+import org.mybatis.dynamic.sql.delete.render.BatchDeleteStatementProvider;
+import org.mybatis.dynamic.sql.exception.InvalidSqlException;
+import org.mybatis.dynamic.sql.render.RenderingStrategies;
+import org.mybatis.dynamic.sql.util.Utilities;
+
+class BatchDeleteStatementTest {
+    private static final SqlTable foo = SqlTable.of("foo");
+    private static final SqlColumn<Integer> id1 = foo.column("id1", JDBCType.INTEGER);
+    private static final SqlColumn<Integer> id2 = foo.column("id2", JDBCType.INTEGER);
+
+    @Test
+    void testMyBatisRendering() {
+        List<TestKey> keys = Arrays.asList(new TestKey(1, 2), new TestKey(3, 4), new TestKey(5, 6));
+
+        BatchDelete<TestKey> batchDelete = deleteBatch(keys)
+                .from(foo)
+                .where(id1, "id1")
+                .and(id2, "id2")
+                .build()
+                .render(RenderingStrategies.MYBATIS3);
+
+        String expected = "delete from foo where id1 = #{row.id1,jdbcType=INTEGER} and id2 = #{row.id2,jdbcType=INTEGER}";
+
+        assertThat(batchDelete.getDeleteStatementSQL()).isEqualTo(expected);
+        assertThat(batchDelete.getRecords()).hasSize(3);
+
+        List<BatchDeleteStatementProvider<TestKey>> providers = batchDelete.deleteStatements();
+        assertThat(providers).hasSize(3);
+        assertThat(providers).allSatisfy(p -> {
+            assertThat(p.getDeleteStatement()).isEqualTo(expected);
+            assertThat(p.getParameters()).isEmpty();
+        });
+        assertThat(providers.get(2).getRow().getId2()).isEqualTo(6);
+    }
+
+    @Test
+    void testSpringRendering() {
+        BatchDelete<TestKey> batchDelete = deleteBatch(new TestKey(1, 2))
+                .from(foo)
+                .where(id1, "id1")
+                .build()
+                .render(RenderingStrategies.SPRING_NAMED_PARAMETER);
+
+        assertThat(batchDelete.getDeleteStatementSQL()).isEqualTo("delete from foo where id1 = :row.id1");
+    }
+
+    @Test
+    void testNoRecords() {
+        BatchDeleteDSL<TestKey> dsl = deleteBatch(Collections.<TestKey>emptyList())
+                .from(foo)
+                .where(id1, "id1");
+
+        assertThatExceptionOfType(InvalidSqlException.class).isThrownBy(dsl::build)
+                .withMessage("Batch delete statements must have at least one record to delete");
+    }
+
+    @Test
+    void testNoWhereKeys() {
+        BatchDeleteDSL<TestKey> dsl = deleteBatch(new TestKey(1, 2)).from(foo);
+
+        assertThatExceptionOfType(InvalidSqlException.class).isThrownBy(dsl::build)
+                .withMessage("Batch delete statements must have at least one where key");
+    }
+
+    @Test
+    void testChunk() {
+        List<Integer> list = Arrays.asList(1, 2, 3, 4, 5);
+
+        assertThat(Utilities.chunk(list, 2)).containsExactly(Arrays.asList(1, 2), Arrays.asList(3, 4),
+                Collections.singletonList(5));
+        assertThat(Utilities.chunk(list, 5)).containsExactly(list);
+        assertThat(Utilities.chunk(list, 0)).containsExactly(list);
+        assertThat(Utilities.chunk(Collections.emptyList(), 2)).isEmpty();
+    }
+
+    static class TestKey {
+        private final Integer id1;
+        private final Integer id2;
+
+        TestKey(Integer id1, Integer id2) {
+            this.id1 = id1;
+            this.id2 = id2;
+        }
+
+        public Integer getId1() {
+            return id1;
+        }
+
+        public Integer getId2() {
+            return id2;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.insert;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mybatis.dynamic.sql.SqlBuilder.insertArrays;
+
+import java.sql.CallableStatement;
+import java.sql.JDBCType;
+import java.sql.ResultSet;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+import org.mybatis.dynamic.sql.SqlColumn;
+import org.mybatis.dynamic.sql.SqlTable;
+import org.mybatis.dynamic.sql.exception.DynamicSqlException;
+import org.mybatis.dynamic.sql.exception.InvalidSqlException;
+import org.mybatis.dynamic.sql.insert.render.ArrayInsertRenderer;
+import org.mybatis.dynamic.sql.insert.render.ArrayParameter;
+import org.mybatis.dynamic.sql.insert.render.GeneralInsertStatementProvider;
+import org.mybatis.dynamic.sql.render.RenderingStrategies;
+import org.mybatis.dynamic.sql.util.Messages;
+import org.mybatis.dynamic.sql.util.mybatis3.ArrayParameterTypeHandler;
+
+class ArrayInsertStatementTest {
+    private static final SqlTable foo = SqlTable.of("foo");
+    private static final SqlColumn<Integer> id = foo.column("id", JDBCType.INTEGER);
+    private static final SqlColumn<String> firstName = foo.column("first_name", JDBCType.VARCHAR);
+    private static final SqlColumn<String> occupation = foo.column("occupation");
+
+    @Test
+    void testMyBatis3Rendering() {
+        GeneralInsertStatementProvider insertStatement = insertArrays(new TestRecord(1, "Fred"),
+                new TestRecord(2, "Barney"))
+                .into(foo)
+                .map(id).toProperty("id")
+                .map(firstName).toProperty("firstName", "varchar(30)")
+                .build()
+                .render(RenderingStrategies.MYBATIS3);
+
+        String expected = "insert into foo (id, first_name) select * from unnest("
+                + "#{parameters.p1,jdbcType=ARRAY,typeHandler=" + ArrayInsertRenderer.MYBATIS3_TYPE_HANDLER + "}, "
+                + "cast(#{parameters.p2,jdbcType=ARRAY,typeHandler=" + ArrayInsertRenderer.MYBATIS3_TYPE_HANDLER + "}"
+                + " as varchar(30) array))";
+
+        assertThat(insertStatement.getInsertStatement()).isEqualTo(expected);
+        assertThat(insertStatement.getParameters()).hasSize(2);
+
+        ArrayParameter ids = (ArrayParameter) insertStatement.getParameters().get("p1");
+        assertThat(ids.elementTypeName()).isEqualTo("INTEGER");
+        assertThat(ids.elements()).containsExactly(1, 2);
+
+        ArrayParameter names = (ArrayParameter) insertStatement.getParameters().get("p2");
+        assertThat(names.elementTypeName()).isEqualTo("VARCHAR");
+        assertThat(names.elements()).containsExactly("Fred", "Barney");
+    }
+
+    @Test
+    void testSpringRendering() {
+        GeneralInsertStatementProvider insertStatement = insertArrays(Collections.singletonList(
+                new TestRecord(1, "Fred")))
+                .into(foo)
+                .map(id).toProperty("id", "integer")
+                .map(occupation).toProperty("occupation", "varchar(30)")
+                .build()
+                .render(RenderingStrategies.SPRING_NAMED_PARAMETER);
+
+        String expected = "insert into foo (id, occupation) select * from unnest("
+                + "cast(:p1 as integer array), cast(:p2 as varchar(30) array))";
+
+        assertThat(insertStatement.getInsertStatement()).isEqualTo(expected);
+
+        ArrayParameter occupations = (ArrayParameter) insertStatement.getParameters().get("p2");
+        assertThat(occupations.elementTypeName()).isEqualTo("varchar");
+        assertThat(occupations.elements()).containsExactly((Object) null);
+    }
+
+    @Test
+    void testNoRecords() {
+        ArrayInsertDSL<TestRecord> insertStatement = insertArrays(Collections.<TestRecord>emptyList())
+                .into(foo)
+                .map(id).toProperty("id");
+
+        assertThatExceptionOfType(InvalidSqlException.class).isThrownBy(insertStatement::build)
+                .withMessage("Array based insert statements must have at least one record to insert");
+    }
+
+    @Test
+    void testNoMappings() {
+        ArrayInsertDSL<TestRecord> insertStatement = insertArrays(new TestRecord(1, "Fred"))
+                .into(foo);
+
+        assertThatExceptionOfType(InvalidSqlException.class).isThrownBy(insertStatement::build)
+                .withMessage("Array based insert statements must have at least one column mapping");
+    }
+
+    @Test
+    void testUnknownElementType() {
+        ArrayInsertDSL<TestRecord> insertStatement = insertArrays(new TestRecord(1, "Fred"))
+                .into(foo)
+                .map(occupation).toProperty("occupation");
+
+        assertThatExceptionOfType(InvalidSqlException.class).isThrownBy(insertStatement::build)
+                .withMessageStartingWith("Unable to determine the array element type for column \"occupation\"");
+    }
+
+    @Test
+    void testUnknownProperty() {
+        ArrayInsertModel<TestRecord> insertModel = insertArrays(new TestRecord(1, "Fred"))
+                .into(foo)
+                .map(id).toProperty("notAProperty")
+                .build();
+
+        assertThatExceptionOfType(DynamicSqlException.class)
+                .isThrownBy(() -> insertModel.render(RenderingStrategies.MYBATIS3))
+                .withMessageContaining("notAProperty");
+    }
+
+    @Test
+    void testTypeHandlerDoesNotReadResults() {
+        ArrayParameterTypeHandler typeHandler = new ArrayParameterTypeHandler();
+
+        assertThatExceptionOfType(UnsupportedOperationException.class)
+                .isThrownBy(() -> typeHandler.getNullableResult((ResultSet) null, "id"))
+                .withMessage(Messages.getString("ERROR.64"));
+        assertThatExceptionOfType(UnsupportedOperationException.class)
+                .isThrownBy(() -> typeHandler.getNullableResult((ResultSet) null, 1))
+                .withMessage(Messages.getString("ERROR.64"));
+        assertThatExceptionOfType(UnsupportedOperationException.class)
+                .isThrownBy(() -> typeHandler.getNullableResult((CallableStatement) null, 1))
+                .withMessage(Messages.getString("ERROR.64"));
+    }
+
+    public static class TestRecord {
+        private final Integer id;
+        private final String firstName;
+
+        TestRecord(Integer id, String firstName) {
+            this.id = id;
+            this.firstName = firstName;
+        }
+
+        public Integer getId() {
+            return id;
+        }
+
+        public String getFirstName() {
+            return firstName;
+        }
+
+        public String getOccupation() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.insert;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mybatis.dynamic.sql.SqlBuilder.insertTuples;
+
+import java.sql.JDBCType;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+import org.mybatis.dynamic.sql.SqlColumn;
+import org.mybatis.dynamic.sql.SqlTable;
+import org.mybatis.dynamic.sql.exception.InvalidSqlException;
+import org.mybatis.dynamic.sql.insert.render.GeneralInsertStatementProvider;
+import org.mybatis.dynamic.sql.render.RenderingStrategies;
+
+class TupleInsertStatementTest {
+    private static final SqlTable foo = SqlTable.of("foo");
+    private static final SqlColumn<Integer> id = foo.column("id", JDBCType.INTEGER);
+    private static final SqlColumn<String> firstName = foo.column("first_name", JDBCType.VARCHAR);
+    private static final SqlColumn<String> occupation = foo.column("occupation", JDBCType.VARCHAR);
+    private static final SqlColumn<Integer> version = foo.column("version", JDBCType.INTEGER);
+
+    @Test
+    void testMyBatis3Rendering() {
+        GeneralInsertStatementProvider insertStatement = insertTuples(new TestRecord(1, "Fred"),
+                new TestRecord(2, "Barney"))
+                .into(foo)
+                .map(id).toValue(TestRecord::getId)
+                .map(firstName).toValue(TestRecord::getFirstName)
+                .map(occupation).toNull()
+                .map(version).toConstant("1")
+                .build()
+                .render(RenderingStrategies.MYBATIS3);
+
+        String expected = "insert into foo (id, first_name, occupation, version) values "
+                + "(#{parameters.p1,jdbcType=INTEGER}, #{parameters.p2,jdbcType=VARCHAR}, null, 1), "
+                + "(#{parameters.p3,jdbcType=INTEGER}, #{parameters.p4,jdbcType=VARCHAR}, null, 1)";
+
+        assertThat(insertStatement.getInsertStatement()).isEqualTo(expected);
+        assertThat(insertStatement.getParameters()).containsOnly(entry("p1", 1), entry("p2", "Fred"),
+                entry("p3", 2), entry("p4", "Barney"));
+    }
+
+    @Test
+    void testSpringRendering() {
+        GeneralInsertStatementProvider insertStatement = insertTuples(Collections.singletonList(
+                new TestRecord(1, null)))
+                .into(foo)
+                .map(id).toValue(TestRecord::getId)
+                .map(firstName).toValue(TestRecord::getFirstName)
+                .map(occupation).toStringConstant("Developer")
+                .build()
+                .render(RenderingStrategies.SPRING_NAMED_PARAMETER);
+
+        String expected = "insert into foo (id, first_name, occupation) values (:p1, :p2, 'Developer')";
+
+        assertThat(insertStatement.getInsertStatement()).isEqualTo(expected);
+        assertThat(insertStatement.getParameters()).containsOnly(entry("p1", 1), entry("p2", null));
+    }
+
+    @Test
+    void testNoRecords() {
+        TupleInsertDSL<TestRecord> insertStatement = insertTuples(Collections.<TestRecord>emptyList())
+                .into(foo)
+                .map(id).toValue(TestRecord::getId);
+
+        assertThatExceptionOfType(InvalidSqlException.class).isThrownBy(insertStatement::build)
+                .withMessage("Tuple based insert statements must have at least one record to insert");
+    }
+
+    @Test
+    void testNoMappings() {
+        TupleInsertDSL<TestRecord> insertStatement = insertTuples(new TestRecord(1, "Fred"))
+                .into(foo);
+
+        assertThatExceptionOfType(InvalidSqlException.class).isThrownBy(insertStatement::build)
+                .withMessage("Tuple based insert statements must have at least one column mapping");
+    }
+
+    static class TestRecord {
+        private final Integer id;
+        private final String firstName;
+
+        TestRecord(Integer id, String firstName) {
+            this.id = id;
+            this.firstName = firstName;
+        }
+
+        Integer getId() {
+            return id;
+        }
+
+        String getFirstName() {
+            return firstName;
+        }
+    }
+}
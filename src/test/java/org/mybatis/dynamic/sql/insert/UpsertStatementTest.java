@@ -0,0 +1,231 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.insert;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mybatis.dynamic.sql.SqlBuilder.upsert;
+import static org.mybatis.dynamic.sql.SqlBuilder.upsertBatch;
+import static org.mybatis.dynamic.sql.SqlBuilder.upsertMultiple;
+
+import java.sql.JDBCType;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mybatis.dynamic.sql.SqlColumn;
+import org.mybatis.dynamic.sql.SqlTable;
+import org.mybatis.dynamic.sql.exception.InvalidSqlException;
+import org.mybatis.dynamic.sql.insert.render.BatchInsert;
+import org.mybatis.dynamic.sql.insert.render.InsertStatementProvider;
+import org.mybatis.dynamic.sql.insert.render.MultiRowInsertStatementProvider;
+import org.mybatis.dynamic.sql.render.RenderingStrategies;
+
+class UpsertStatementTest {
+    private static final SqlTable foo = SqlTable.of("foo");
+    private static final SqlColumn<Integer> id = foo.column("id", JDBCType.INTEGER);
+    private static final SqlColumn<String> firstName = foo.column("first_name", JDBCType.VARCHAR);
+    private static final SqlColumn<String> occupation = foo.column("occupation", JDBCType.VARCHAR);
+
+    @Test
+    void testMergeSingleRow() {
+        TestRecord row = new TestRecord(1, "Fred");
+
+        InsertStatementProvider<TestRecord> upsertStatement = upsert(row)
+                .into(foo)
+                .map(id).toProperty("id")
+                .map(firstName).toProperty("firstName")
+                .map(occupation).toStringConstant("Developer")
+                .onKey(id)
+                .build()
+                .render(RenderingStrategies.MYBATIS3);
+
+        String expected = "merge into foo using (values (#{row.id,jdbcType=INTEGER}, "
+                + "#{row.firstName,jdbcType=VARCHAR}, 'Developer')) as src (id, first_name, occupation) "
+                + "on (foo.id = src.id) "
+                + "when matched then update set first_name = src.first_name, occupation = src.occupation "
+                + "when not matched then insert (id, first_name, occupation) "
+                + "values (src.id, src.first_name, src.occupation)";
+
+        assertThat(upsertStatement.getInsertStatement()).isEqualTo(expected);
+        assertThat(upsertStatement.getRow()).isSameAs(row);
+    }
+
+    @Test
+    void testMergeAllKeyColumns() {
+        InsertStatementProvider<TestRecord> upsertStatement = upsert(new TestRecord(1, "Fred"))
+                .into(foo)
+                .map(id).toProperty("id")
+                .map(firstName).toProperty("firstName")
+                .onKey(id, firstName)
+                .build()
+                .render(RenderingStrategies.SPRING_NAMED_PARAMETER);
+
+        String expected = "merge into foo using (values (:row.id, :row.firstName)) as src (id, first_name) "
+                + "on (foo.id = src.id and foo.first_name = src.first_name) "
+                + "when not matched then insert (id, first_name) values (src.id, src.first_name)";
+
+        assertThat(upsertStatement.getInsertStatement()).isEqualTo(expected);
+    }
+
+    @Test
+    void testMergeMultiRow() {
+        List<TestRecord> records = Arrays.asList(new TestRecord(1, "Fred"), new TestRecord(2, "Barney"));
+
+        MultiRowInsertStatementProvider<TestRecord> upsertStatement = upsertMultiple(records)
+                .into(foo)
+                .map(id).toProperty("id")
+                .map(firstName).toProperty("firstName")
+                .onKey(id)
+                .build()
+                .render(RenderingStrategies.SPRING_NAMED_PARAMETER);
+
+        String expected = "merge into foo using (values (:records[0].id, :records[0].firstName), "
+                + "(:records[1].id, :records[1].firstName)) as src (id, first_name) on (foo.id = src.id) "
+                + "when matched then update set first_name = src.first_name "
+                + "when not matched then insert (id, first_name) values (src.id, src.first_name)";
+
+        assertThat(upsertStatement.getInsertStatement()).isEqualTo(expected);
+        assertThat(upsertStatement.getRecords()).hasSize(2);
+    }
+
+    @Test
+    void testOnConflictBatch() {
+        BatchInsert<TestRecord> batchUpsert = upsertBatch(new TestRecord(1, "Fred"), new TestRecord(2, "Barney"))
+                .into(foo)
+                .map(id).toProperty("id")
+                .map(firstName).toProperty("firstName")
+                .map(occupation).toNull()
+                .onKey(id)
+                .withDialect(UpsertDialect.ON_CONFLICT)
+                .build()
+                .render(RenderingStrategies.MYBATIS3);
+
+        String expected = "insert into foo (id, first_name, occupation) "
+                + "values (#{row.id,jdbcType=INTEGER}, #{row.firstName,jdbcType=VARCHAR}, null) "
+                + "on conflict (id) do update set first_name = excluded.first_name, occupation = excluded.occupation";
+
+        assertThat(batchUpsert.getInsertStatementSQL()).isEqualTo(expected);
+        assertThat(batchUpsert.insertStatements()).hasSize(2);
+    }
+
+    @Test
+    void testOnConflictDoNothing() {
+        InsertStatementProvider<TestRecord> upsertStatement = upsert(new TestRecord(1, "Fred"))
+                .into(foo)
+                .map(id).toProperty("id")
+                .onKey(id)
+                .withDialect(UpsertDialect.ON_CONFLICT)
+                .build()
+                .render(RenderingStrategies.SPRING_NAMED_PARAMETER);
+
+        assertThat(upsertStatement.getInsertStatement())
+                .isEqualTo("insert into foo (id) values (:row.id) on conflict (id) do nothing");
+    }
+
+    @Test
+    void testOnDuplicateKeyMultiRow() {
+        MultiRowInsertStatementProvider<TestRecord> upsertStatement =
+                upsertMultiple(new TestRecord(1, "Fred"), new TestRecord(2, "Barney"))
+                .into(foo)
+                .map(id).toProperty("id")
+                .map(firstName).toProperty("firstName")
+                .withDialect(UpsertDialect.ON_DUPLICATE_KEY)
+                .build()
+                .render(RenderingStrategies.SPRING_NAMED_PARAMETER);
+
+        String expected = "insert into foo (id, first_name) values (:records[0].id, :records[0].firstName), "
+                + "(:records[1].id, :records[1].firstName) "
+                + "on duplicate key update id = values(id), first_name = values(first_name)";
+
+        assertThat(upsertStatement.getInsertStatement()).isEqualTo(expected);
+    }
+
+    @Test
+    void testOnDuplicateKeyAllKeyColumns() {
+        InsertStatementProvider<TestRecord> upsertStatement = upsert(new TestRecord(1, "Fred"))
+                .into(foo)
+                .map(id).toProperty("id")
+                .onKey(id)
+                .withDialect(UpsertDialect.ON_DUPLICATE_KEY)
+                .build()
+                .render(RenderingStrategies.SPRING_NAMED_PARAMETER);
+
+        assertThat(upsertStatement.getInsertStatement())
+                .isEqualTo("insert into foo (id) values (:row.id) on duplicate key update id = id");
+    }
+
+    @Test
+    void testNoRecords() {
+        UpsertDSL<TestRecord, BatchUpsertModel<TestRecord>> dsl = upsertBatch(Collections.<TestRecord>emptyList())
+                .into(foo)
+                .map(id).toProperty("id")
+                .onKey(id);
+
+        assertThatExceptionOfType(InvalidSqlException.class).isThrownBy(dsl::build)
+                .withMessage("Upsert statements must have at least one record");
+    }
+
+    @Test
+    void testNoColumnMappings() {
+        UpsertDSL<TestRecord, UpsertModel<TestRecord>> dsl = upsert(new TestRecord(1, "Fred"))
+                .into(foo)
+                .onKey(id);
+
+        assertThatExceptionOfType(InvalidSqlException.class).isThrownBy(dsl::build)
+                .withMessage("Upsert statements must have at least one column mapping");
+    }
+
+    @Test
+    void testNoKeyColumns() {
+        UpsertDSL<TestRecord, UpsertModel<TestRecord>> dsl = upsert(new TestRecord(1, "Fred"))
+                .into(foo)
+                .map(id).toProperty("id");
+
+        assertThatExceptionOfType(InvalidSqlException.class).isThrownBy(dsl::build)
+                .withMessage("Upsert statements rendered with the MERGE dialect must specify at least one key column");
+    }
+
+    @Test
+    void testUnmappedKeyColumn() {
+        UpsertDSL<TestRecord, UpsertModel<TestRecord>> dsl = upsert(new TestRecord(1, "Fred"))
+                .into(foo)
+                .map(firstName).toProperty("firstName")
+                .onKey(id);
+
+        assertThatExceptionOfType(InvalidSqlException.class).isThrownBy(dsl::build)
+                .withMessage("Upsert key column \"id\" must also be mapped to a value");
+    }
+
+    static class TestRecord {
+        private final Integer id;
+        private final String firstName;
+
+        TestRecord(Integer id, String firstName) {
+            this.id = id;
+            this.firstName = firstName;
+        }
+
+        public Integer getId() {
+            return id;
+        }
+
+        public String getFirstName() {
+            return firstName;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.render;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mybatis.dynamic.sql.SqlBuilder.*;
+
+import java.sql.JDBCType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.mybatis.dynamic.sql.CompiledCriterion;
+import org.mybatis.dynamic.sql.SqlColumn;
+import org.mybatis.dynamic.sql.SqlTable;
+import org.mybatis.dynamic.sql.delete.DeleteModel;
+import org.mybatis.dynamic.sql.delete.render.DeleteStatementProvider;
+import org.mybatis.dynamic.sql.insert.GeneralInsertModel;
+import org.mybatis.dynamic.sql.insert.render.GeneralInsertStatementProvider;
+import org.mybatis.dynamic.sql.select.QueryExpressionDSL;
+import org.mybatis.dynamic.sql.select.QueryExpressionModel;
+import org.mybatis.dynamic.sql.select.SelectModel;
+import org.mybatis.dynamic.sql.select.render.SelectStatementProvider;
+import org.mybatis.dynamic.sql.update.UpdateModel;
+import org.mybatis.dynamic.sql.update.render.UpdateStatementProvider;
+
+/**
+ * Renders shared models from many threads at once, and checks that every thread sees the same statement and
+ * parameters as a single threaded render.
+ */
+class ConcurrentRenderingTest {
+    private static final int THREADS = 8;
+    private static final int ITERATIONS = 500;
+
+    private static final SqlTable foo = SqlTable.of("foo");
+    private static final SqlColumn<Integer> id = foo.column("id", JDBCType.INTEGER);
+    private static final SqlColumn<Integer> tenantId = foo.column("tenant_id", JDBCType.INTEGER);
+    private static final SqlColumn<String> description = foo.column("description", JDBCType.VARCHAR);
+
+    private static final SqlTable bar = SqlTable.of("bar");
+    private static final SqlColumn<Integer> barId = bar.column("id", JDBCType.INTEGER);
+    private static final SqlColumn<Integer> fooId = bar.column("foo_id", JDBCType.INTEGER);
+
+    private static final CompiledCriterion TENANT_FILTER = CompiledCriterion.of(tenantId, isEqualTo(7));
+
+    @Test
+    void testSelect() throws Exception {
+        SelectModel selectModel = select(id, description, barId)
+                .from(foo, "f")
+                .leftJoin(bar, "b").on(id, equalTo(fooId))
+                .where(id, isIn(1, 2, 3))
+                .and(description, isLikeWhenPresent("%fred%"))
+                .and(TENANT_FILTER)
+                .or(exists(select(barId).from(bar).where(fooId, isGreaterThan(5))))
+                .union()
+                .select(id, description, id)
+                .from(foo)
+                .where(id, isBetween(10).and(20))
+                .orderBy(id.descending())
+                .limit(10)
+                .offset(20)
+                .build();
+
+        assertConsistent(() -> {
+            SelectStatementProvider provider = selectModel.render(RenderingStrategies.MYBATIS3);
+            return Arrays.asList(provider.getSelectStatement(), provider.getParameters());
+        });
+    }
+
+    @Test
+    void testCount() throws Exception {
+        SelectModel countModel = select(id, description)
+                .from(foo)
+                .where(id, isNotIn(4, 5))
+                .and(TENANT_FILTER)
+                .build()
+                .toCountModel();
+
+        assertConsistent(() -> {
+            SelectStatementProvider provider = countModel.render(RenderingStrategies.SPRING_NAMED_PARAMETER);
+            return Arrays.asList(provider.getSelectStatement(), provider.getParameters());
+        });
+    }
+
+    @Test
+    void testUpdate() throws Exception {
+        UpdateModel updateModel = update(foo)
+                .set(description).equalTo("barney")
+                .set(tenantId).equalToNull()
+                .where(id, isGreaterThan(3))
+                .and(TENANT_FILTER)
+                .build();
+
+        assertConsistent(() -> {
+            UpdateStatementProvider provider = updateModel.render(RenderingStrategies.MYBATIS3);
+            return Arrays.asList(provider.getUpdateStatement(), provider.getParameters());
+        });
+    }
+
+    @Test
+    void testDelete() throws Exception {
+        DeleteModel deleteModel = deleteFrom(foo)
+                .where(id, isLessThan(100), or(description, isNull()))
+                .and(TENANT_FILTER)
+                .build();
+
+        assertConsistent(() -> {
+            DeleteStatementProvider provider = deleteModel.render(RenderingStrategies.R2DBC_INDEXED);
+            return Arrays.asList(provider.getDeleteStatement(), provider.getParameters());
+        });
+    }
+
+    @Test
+    void testGeneralInsert() throws Exception {
+        GeneralInsertModel insertModel = insertInto(foo)
+                .set(id).toValue(22)
+                .set(description).toValue("wilma")
+                .set(tenantId).toConstant("7")
+                .build();
+
+        assertConsistent(() -> {
+            GeneralInsertStatementProvider provider = insertModel.render(RenderingStrategies.MYBATIS3);
+            return Arrays.asList(provider.getInsertStatement(), provider.getParameters());
+        });
+    }
+
+    @Test
+    void testConditionValuesAreCopied() {
+        List<Integer> ids = new ArrayList<>(Arrays.asList(1, 2));
+        SelectModel selectModel = select(id)
+                .from(foo)
+                .where(id, isIn(ids))
+                .build();
+
+        ids.add(3);
+        SelectStatementProvider provider = selectModel.render(RenderingStrategies.SPRING_NAMED_PARAMETER);
+
+        assertThat(provider.getSelectStatement()).isEqualTo("select id from foo where id in (:p1,:p2)");
+    }
+
+    @Test
+    void testModelBuildersAreCopied() {
+        QueryExpressionModel queryExpression = QueryExpressionModel.withSelectList(Collections.singletonList(id))
+                .withTable(foo)
+                .build();
+        SelectModel.Builder builder = SelectModel.withQueryExpressions(Collections.singletonList(queryExpression));
+        SelectModel selectModel = builder.build();
+
+        builder.withQueryExpression(queryExpression);
+        SelectStatementProvider provider = selectModel.render(RenderingStrategies.SPRING_NAMED_PARAMETER);
+
+        assertThat(provider.getSelectStatement()).isEqualTo("select id from foo");
+    }
+
+    @Test
+    void testStatementConfigurationIsCopied() {
+        List<Integer> noIds = Collections.emptyList();
+        QueryExpressionDSL<SelectModel>.QueryExpressionWhereBuilder dsl = select(id)
+                .from(foo)
+                .where(id, isInWhenPresent(noIds))
+                .configureStatement(c -> c.setNonRenderingWhereClauseAllowed(true));
+        SelectModel selectModel = dsl.build();
+
+        dsl.configureStatement(c -> c.setNonRenderingWhereClauseAllowed(false));
+        SelectStatementProvider provider = selectModel.render(RenderingStrategies.SPRING_NAMED_PARAMETER);
+
+        assertThat(provider.getSelectStatement()).isEqualTo("select id from foo");
+    }
+
+    private void assertConsistent(Supplier<List<Object>> renderer) throws Exception {
+        List<Object> expected = renderer.get();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    int matches = 0;
+                    for (int j = 0; j < ITERATIONS; j++) {
+                        if (expected.equals(renderer.get())) {
+                            matches++;
+                        }
+                    }
+                    return matches;
+                }));
+            }
+            start.countDown();
+
+            for (Future<Integer> future : futures) {
+                assertThat(future.get()).isEqualTo(ITERATIONS);
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertThat((Map<?, ?>) expected.get(1)).isNotEmpty();
+    }
+}
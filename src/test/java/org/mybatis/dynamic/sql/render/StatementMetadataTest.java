@@ -0,0 +1,235 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.render;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mybatis.dynamic.sql.SqlBuilder.deleteFrom;
+import static org.mybatis.dynamic.sql.SqlBuilder.equalTo;
+import static org.mybatis.dynamic.sql.SqlBuilder.exists;
+import static org.mybatis.dynamic.sql.SqlBuilder.insert;
+import static org.mybatis.dynamic.sql.SqlBuilder.insertInto;
+import static org.mybatis.dynamic.sql.SqlBuilder.isEqualTo;
+import static org.mybatis.dynamic.sql.SqlBuilder.isIn;
+import static org.mybatis.dynamic.sql.SqlBuilder.select;
+import static org.mybatis.dynamic.sql.SqlBuilder.update;
+import static org.mybatis.dynamic.sql.SqlBuilder.updateMultiple;
+
+import java.sql.JDBCType;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.mybatis.dynamic.sql.SqlColumn;
+import org.mybatis.dynamic.sql.SqlTable;
+import org.mybatis.dynamic.sql.delete.render.DeleteStatementProvider;
+import org.mybatis.dynamic.sql.insert.render.GeneralInsertStatementProvider;
+import org.mybatis.dynamic.sql.insert.render.InsertSelectStatementProvider;
+import org.mybatis.dynamic.sql.insert.render.InsertStatementProvider;
+import org.mybatis.dynamic.sql.select.render.SelectStatementProvider;
+import org.mybatis.dynamic.sql.update.render.MultiRowUpdate;
+import org.mybatis.dynamic.sql.update.render.UpdateStatementProvider;
+
+class StatementMetadataTest {
+    private static final SqlTable foo = SqlTable.of("foo");
+    private static final SqlColumn<Integer> fooId = foo.column("id", JDBCType.INTEGER);
+    private static final SqlColumn<String> fooName = foo.column("name", JDBCType.VARCHAR);
+
+    private static final SqlTable bar = SqlTable.of("bar");
+    private static final SqlColumn<Integer> barId = bar.column("id", JDBCType.INTEGER);
+    private static final SqlColumn<Integer> barFooId = bar.column("foo_id", JDBCType.INTEGER);
+
+    private static final SqlTable baz = SqlTable.of("baz");
+    private static final SqlColumn<Integer> bazBarId = baz.column("bar_id", JDBCType.INTEGER);
+
+    private static final SqlTable qux = SqlTable.of("qux");
+    private static final SqlColumn<Integer> quxId = qux.column("id", JDBCType.INTEGER);
+
+    @Test
+    void testSelectWithJoinAndSubqueries() {
+        SelectStatementProvider selectStatement = select(fooId, fooName.as("the_name"), barId)
+                .from(foo, "f")
+                .join(bar, "b").on(fooId, equalTo(barFooId))
+                .where(fooId, isIn(select(quxId).from(qux)))
+                .and(exists(select(bazBarId).from(baz).where(bazBarId, isEqualTo(barId))))
+                .orderBy(fooId.descending())
+                .build()
+                .render(RenderingStrategies.MYBATIS3);
+
+        StatementMetadata metadata = selectStatement.getStatementMetadata();
+
+        assertThat(metadata.statementKind()).isEqualTo(StatementKind.SELECT);
+        assertThat(metadata.tablesRead()).containsExactly(foo, bar, qux, baz);
+        assertThat(metadata.tablesWritten()).isEmpty();
+        assertThat(metadata.tables()).containsExactly(foo, bar, qux, baz);
+        // the aliased copy of the name column is reported, so compare table and column names
+        assertThat(metadata.columns()).extracting(c -> c.table().tableNameAtRuntime() + "." + c.name())
+                .containsExactly("foo.id", "foo.name", "bar.id", "bar.foo_id", "qux.id", "baz.bar_id");
+    }
+
+    @Test
+    void testUnionAndDerivedTable() {
+        SelectStatementProvider selectStatement = select(fooId)
+                .from(select(fooId).from(foo), "d")
+                .union()
+                .select(barId)
+                .from(bar)
+                .build()
+                .render(RenderingStrategies.SPRING_NAMED_PARAMETER);
+
+        StatementMetadata metadata = selectStatement.getStatementMetadata();
+
+        assertThat(metadata.tablesRead()).containsExactly(foo, bar);
+        assertThat(metadata.columns()).containsExactly(fooId, barId);
+    }
+
+    @Test
+    void testUpdate() {
+        UpdateStatementProvider updateStatement = update(foo)
+                .set(fooName).equalTo("Fred")
+                .where(fooId, isIn(select(barFooId).from(bar)))
+                .build()
+                .render(RenderingStrategies.MYBATIS3);
+
+        StatementMetadata metadata = updateStatement.getStatementMetadata();
+
+        assertThat(metadata.statementKind()).isEqualTo(StatementKind.UPDATE);
+        assertThat(metadata.tablesWritten()).containsExactly(foo);
+        assertThat(metadata.tablesRead()).containsExactly(bar);
+        assertThat(metadata.tables()).containsExactly(foo, bar);
+        assertThat(metadata.columns()).containsExactly(fooName, fooId, barFooId);
+    }
+
+    @Test
+    void testDelete() {
+        DeleteStatementProvider deleteStatement = deleteFrom(foo)
+                .where(fooId, isEqualTo(3))
+                .build()
+                .render(RenderingStrategies.MYBATIS3);
+
+        StatementMetadata metadata = deleteStatement.getStatementMetadata();
+
+        assertThat(metadata.statementKind()).isEqualTo(StatementKind.DELETE);
+        assertThat(metadata.tablesWritten()).containsExactly(foo);
+        assertThat(metadata.tablesRead()).isEmpty();
+        assertThat(metadata.columns()).containsExactly(fooId);
+    }
+
+    @Test
+    void testInsertSkipsColumnsThatAreNotRendered() {
+        TestRecord row = new TestRecord(1, null);
+
+        InsertStatementProvider<TestRecord> insertStatement = insert(row)
+                .into(foo)
+                .map(fooId).toProperty("id")
+                .map(fooName).toPropertyWhenPresent("name", row::getName)
+                .build()
+                .render(RenderingStrategies.MYBATIS3);
+
+        StatementMetadata metadata = insertStatement.getStatementMetadata();
+
+        assertThat(metadata.statementKind()).isEqualTo(StatementKind.INSERT);
+        assertThat(metadata.tablesWritten()).containsExactly(foo);
+        assertThat(metadata.tablesRead()).isEmpty();
+        assertThat(metadata.columns()).containsExactly(fooId);
+    }
+
+    @Test
+    void testGeneralInsert() {
+        GeneralInsertStatementProvider insertStatement = insertInto(foo)
+                .set(fooId).toValue(1)
+                .set(fooName).toNull()
+                .build()
+                .render(RenderingStrategies.MYBATIS3);
+
+        StatementMetadata metadata = insertStatement.getStatementMetadata();
+
+        assertThat(metadata.tablesWritten()).containsExactly(foo);
+        assertThat(metadata.columns()).containsExactly(fooId, fooName);
+    }
+
+    @Test
+    void testInsertSelect() {
+        InsertSelectStatementProvider insertStatement = insertInto(foo)
+                .withColumnList(fooId)
+                .withSelectStatement(select(barId).from(bar).where(barFooId, isEqualTo(2)))
+                .build()
+                .render(RenderingStrategies.MYBATIS3);
+
+        StatementMetadata metadata = insertStatement.getStatementMetadata();
+
+        assertThat(metadata.statementKind()).isEqualTo(StatementKind.INSERT);
+        assertThat(metadata.tablesWritten()).containsExactly(foo);
+        assertThat(metadata.tablesRead()).containsExactly(bar);
+        assertThat(metadata.columns()).containsExactly(fooId, barId, barFooId);
+    }
+
+    @Test
+    void testMultiRowUpdate() {
+        MultiRowUpdate<TestRecord> multiRowUpdate = updateMultiple(Arrays.asList(new TestRecord(1, "Fred"),
+                new TestRecord(2, "Barney")))
+                .table(foo)
+                .set(fooName).toProperty("name")
+                .where(fooId, "id")
+                .build()
+                .render(RenderingStrategies.MYBATIS3);
+
+        StatementMetadata metadata = multiRowUpdate.updateStatements().get(0).getStatementMetadata();
+
+        assertThat(metadata.statementKind()).isEqualTo(StatementKind.UPDATE);
+        assertThat(metadata.tablesWritten()).containsExactly(foo);
+        assertThat(metadata.columns()).containsExactly(fooName, fooId);
+    }
+
+    @Test
+    void testCustomProviderHasEmptyMetadata() {
+        SelectStatementProvider custom = new SelectStatementProvider() {
+            @Override
+            public Map<String, Object> getParameters() {
+                return Collections.emptyMap();
+            }
+
+            @Override
+            public String getSelectStatement() {
+                return "select 1";
+            }
+        };
+
+        StatementMetadata metadata = custom.getStatementMetadata();
+
+        assertThat(metadata.statementKind()).isEqualTo(StatementKind.SELECT);
+        assertThat(metadata.tables()).isEmpty();
+        assertThat(metadata.columns()).isEmpty();
+    }
+
+    static class TestRecord {
+        private final Integer id;
+        private final String name;
+
+        TestRecord(Integer id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        public Integer getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+}
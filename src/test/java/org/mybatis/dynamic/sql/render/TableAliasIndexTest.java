@@ -0,0 +1,96 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.render;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.mybatis.dynamic.sql.SqlTable;
+
+class TableAliasIndexTest {
+    private static final SqlTable foo = SqlTable.of("foo");
+    private static final SqlTable bar = SqlTable.of("bar");
+    private static final SqlTable baz = SqlTable.of("baz");
+    private static final SqlTable outer = SqlTable.of("outer");
+    private static final SqlTable unknown = SqlTable.of("unknown");
+
+    private final Map<SqlTable, String> aliases = new HashMap<>();
+    private final TableAliasCalculator parent = ExplicitTableAliasCalculator.of(outer, "o");
+
+    @Test
+    void testExplicitMatchesCalculatorWithParent() {
+        aliases.put(foo, "f");
+        TableAliasIndex index = TableAliasIndex.of(Arrays.asList(foo, bar), aliases);
+
+        TableAliasCalculator expected = withParent(ExplicitTableAliasCalculator.of(aliases));
+        TableAliasCalculator actual = index.explicitTableAliasCalculator(parent);
+
+        assertSameAliases(expected, actual);
+        assertThat(actual.aliasedColumnName(foo, "id")).isEqualTo("f.id");
+        assertThat(actual.aliasedColumnName(bar, "id")).isEqualTo("id");
+        assertThat(actual.aliasedColumnName(outer, "id")).isEqualTo("o.id");
+    }
+
+    @Test
+    void testGuaranteedMatchesCalculatorWithParent() {
+        aliases.put(bar, "b");
+        TableAliasIndex index = TableAliasIndex.of(Arrays.asList(foo, bar, baz), aliases);
+
+        TableAliasCalculator expected = withParent(GuaranteedTableAliasCalculator.of(aliases));
+        TableAliasCalculator actual = index.guaranteedTableAliasCalculator(parent);
+
+        assertSameAliases(expected, actual);
+        assertThat(actual.aliasedColumnName(foo, "id")).isEqualTo("foo.id");
+        assertThat(actual.aliasedColumnName(bar, "id")).isEqualTo("b.id");
+        assertThat(actual.aliasedColumnName(unknown, "id")).isEqualTo("unknown.id");
+    }
+
+    @Test
+    void testRuntimeTableNamesAreResolvedForEachCalculator() {
+        StringBuilder name = new StringBuilder("first");
+        SqlTable dynamic = new SqlTable(name::toString) { };
+        TableAliasIndex index = TableAliasIndex.of(Arrays.asList(foo, dynamic), aliases);
+
+        assertThat(index.guaranteedTableAliasCalculator(parent).aliasedColumnName(dynamic, "id"))
+                .isEqualTo("first.id");
+
+        name.replace(0, name.length(), "second");
+
+        assertThat(index.guaranteedTableAliasCalculator(parent).aliasedColumnName(dynamic, "id"))
+                .isEqualTo("second.id");
+    }
+
+    private TableAliasCalculator withParent(TableAliasCalculator child) {
+        return new TableAliasCalculatorWithParent.Builder()
+                .withParent(parent)
+                .withChild(child)
+                .build();
+    }
+
+    private void assertSameAliases(TableAliasCalculator expected, TableAliasCalculator actual) {
+        List<SqlTable> tables = Arrays.asList(foo, bar, baz, outer, unknown);
+        for (SqlTable table : tables) {
+            assertThat(actual.aliasForColumn(table)).isEqualTo(expected.aliasForColumn(table));
+            assertThat(actual.aliasForTable(table)).isEqualTo(expected.aliasForTable(table));
+            assertThat(actual.aliasedColumnName(table, "id")).isEqualTo(expected.aliasedColumnName(table, "id"));
+        }
+    }
+}
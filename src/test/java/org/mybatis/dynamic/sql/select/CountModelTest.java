@@ -0,0 +1,139 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.select;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mybatis.dynamic.sql.SqlBuilder.*;
+
+import java.sql.JDBCType;
+
+import org.junit.jupiter.api.Test;
+import org.mybatis.dynamic.sql.SqlColumn;
+import org.mybatis.dynamic.sql.SqlTable;
+import org.mybatis.dynamic.sql.render.RenderingStrategies;
+import org.mybatis.dynamic.sql.select.render.SelectStatementProvider;
+import org.mybatis.dynamic.sql.where.WhereModel;
+
+class CountModelTest {
+    private static final SqlTable foo = SqlTable.of("foo");
+    private static final SqlColumn<Integer> id = foo.column("id", JDBCType.INTEGER);
+    private static final SqlColumn<String> description = foo.column("description", JDBCType.VARCHAR);
+
+    private static final SqlTable bar = SqlTable.of("bar");
+    private static final SqlColumn<Integer> barId = bar.column("id", JDBCType.INTEGER);
+    private static final SqlColumn<Integer> fooId = bar.column("foo_id", JDBCType.INTEGER);
+
+    @Test
+    void testSimpleSelect() {
+        SelectModel selectModel = select(id, description)
+                .from(foo)
+                .where(id, isGreaterThan(3))
+                .orderBy(description)
+                .limit(10)
+                .offset(20)
+                .build();
+
+        SelectStatementProvider countStatement = selectModel.toCountModel()
+                .render(RenderingStrategies.SPRING_NAMED_PARAMETER);
+
+        assertThat(countStatement.getSelectStatement()).isEqualTo("select count(*) from foo where id > :p1");
+        assertThat(countStatement.getParameters()).containsEntry("p1", 3).hasSize(1);
+    }
+
+    @Test
+    void testWhereModelIsReused() {
+        SelectModel selectModel = select(id, description)
+                .from(foo)
+                .where(id, isGreaterThan(3))
+                .build();
+
+        WhereModel original = selectModel.mapQueryExpressions(QueryExpressionModel::whereModel)
+                .findFirst().flatMap(w -> w).orElseThrow(AssertionError::new);
+        WhereModel derived = selectModel.toCountModel().mapQueryExpressions(QueryExpressionModel::whereModel)
+                .findFirst().flatMap(w -> w).orElseThrow(AssertionError::new);
+
+        assertThat(derived).isSameAs(original);
+    }
+
+    @Test
+    void testJoinWithAliases() {
+        SelectModel selectModel = select(foo.column("id"), barId)
+                .from(foo, "f")
+                .join(bar, "b").on(fooId, equalTo(id))
+                .where(barId, isLessThan(5))
+                .orderBy(barId)
+                .build();
+
+        SelectStatementProvider countStatement = selectModel.toCountModel()
+                .render(RenderingStrategies.SPRING_NAMED_PARAMETER);
+
+        assertThat(countStatement.getSelectStatement())
+                .isEqualTo("select count(*) from foo f join bar b on b.foo_id = f.id where b.id < :p1");
+    }
+
+    @Test
+    void testDistinctIsWrapped() {
+        SelectModel selectModel = selectDistinct(description)
+                .from(foo)
+                .where(id, isGreaterThan(3))
+                .orderBy(description)
+                .fetchFirst(5).rowsOnly()
+                .build();
+
+        SelectStatementProvider countStatement = selectModel.toCountModel()
+                .render(RenderingStrategies.SPRING_NAMED_PARAMETER);
+
+        assertThat(countStatement.getSelectStatement()).isEqualTo("select count(*) from "
+                + "(select distinct description from foo where id > :p1) count_source");
+    }
+
+    @Test
+    void testGroupByIsWrapped() {
+        SelectModel selectModel = select(description, count())
+                .from(foo)
+                .groupBy(description)
+                .having(count(), isGreaterThan(1L))
+                .build();
+
+        SelectStatementProvider countStatement = selectModel.toCountModel()
+                .render(RenderingStrategies.SPRING_NAMED_PARAMETER);
+
+        assertThat(countStatement.getSelectStatement()).isEqualTo("select count(*) from "
+                + "(select description, count(*) from foo group by description having count(*) > :p1) "
+                + "count_source");
+    }
+
+    @Test
+    void testUnionIsWrapped() {
+        SelectModel selectModel = select(id)
+                .from(foo)
+                .where(id, isLessThan(2))
+                .union()
+                .select(barId)
+                .from(bar)
+                .where(barId, isGreaterThan(8))
+                .orderBy(id)
+                .limit(3)
+                .build();
+
+        SelectStatementProvider countStatement = selectModel.toCountModel()
+                .render(RenderingStrategies.SPRING_NAMED_PARAMETER);
+
+        assertThat(countStatement.getSelectStatement()).isEqualTo("select count(*) from "
+                + "(select id from foo where id < :p1 union select id from bar where id > :p2) count_source");
+        assertThat(countStatement.getParameters()).containsEntry("p1", 2).containsEntry("p2", 8).hasSize(2);
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.update;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mybatis.dynamic.sql.SqlBuilder.updateBatch;
+
+import java.sql.JDBCType;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mybatis.dynamic.sql.SqlColumn;
+import org.mybatis.dynamic.sql.SqlTable;
+import org.mybatis.dynamic.sql.exception.InvalidSqlException;
+import org.mybatis.dynamic.sql.render.RenderingStrategies;
+import org.mybatis.dynamic.sql.update.render.BatchUpdate;
+import org.mybatis.dynamic.sql.update.render.BatchUpdateStatementProvider;
+
+class BatchUpdateStatementTest {
+    private static final SqlTable foo = SqlTable.of("foo");
+    private static final SqlColumn<Integer> id = foo.column("id", JDBCType.INTEGER);
+    private static final SqlColumn<String> firstName = foo.column("firstName", JDBCType.VARCHAR);
+    private static final SqlColumn<String> lastName = foo.column("lastName", JDBCType.VARCHAR);
+    private static final SqlColumn<String> occupation = foo.column("occupation", JDBCType.VARCHAR);
+    private static final SqlColumn<Integer> version = foo.column("version", JDBCType.INTEGER);
+
+    @Test
+    void testMyBatisRendering() {
+        List<TestRecord> records = Arrays.asList(new TestRecord(1, "Fred"), new TestRecord(2, "Barney"));
+
+        BatchUpdate<TestRecord> batchUpdate = updateBatch(records)
+                .table(foo)
+                .set(firstName).toProperty("firstName")
+                .set(lastName).toStringConstant("Flintstone")
+                .set(occupation).toNull()
+                .set(version).toConstant("version + 1")
+                .where(id, "id")
+                .build()
+                .render(RenderingStrategies.MYBATIS3);
+
+        String expected = "update foo set firstName = #{row.firstName,jdbcType=VARCHAR}, lastName = 'Flintstone', "
+                + "occupation = null, version = version + 1 where id = #{row.id,jdbcType=INTEGER}";
+
+        assertThat(batchUpdate.getUpdateStatementSQL()).isEqualTo(expected);
+        assertThat(batchUpdate.getRecords()).hasSize(2);
+
+        List<BatchUpdateStatementProvider<TestRecord>> providers = batchUpdate.updateStatements();
+        assertThat(providers).hasSize(2);
+        assertThat(providers).allSatisfy(p -> {
+            assertThat(p.getUpdateStatement()).isEqualTo(expected);
+            assertThat(p.getParameters()).isEmpty();
+        });
+        assertThat(providers.get(1).getRow().getFirstName()).isEqualTo("Barney");
+    }
+
+    @Test
+    void testSpringRenderingWithCompoundKey() {
+        BatchUpdate<TestRecord> batchUpdate = updateBatch(new TestRecord(1, "Fred"))
+                .table(foo)
+                .set(occupation).toProperty("firstName")
+                .where(id, "id")
+                .and(firstName, "firstName")
+                .build()
+                .render(RenderingStrategies.SPRING_NAMED_PARAMETER);
+
+        assertThat(batchUpdate.getUpdateStatementSQL())
+                .isEqualTo("update foo set occupation = :row.firstName where id = :row.id and firstName = :row.firstName");
+    }
+
+    @Test
+    void testNoRecords() {
+        BatchUpdateDSL<TestRecord> dsl = updateBatch(Collections.<TestRecord>emptyList())
+                .table(foo)
+                .set(firstName).toProperty("firstName")
+                .where(id, "id");
+
+        assertThatExceptionOfType(InvalidSqlException.class).isThrownBy(dsl::build)
+                .withMessage("Batch update statements must have at least one record to update");
+    }
+
+    @Test
+    void testNoSetMappings() {
+        BatchUpdateDSL<TestRecord> dsl = updateBatch(new TestRecord(1, "Fred"))
+                .table(foo)
+                .where(id, "id");
+
+        assertThatExceptionOfType(InvalidSqlException.class).isThrownBy(dsl::build)
+                .withMessage("Batch update statements must have at least one set mapping");
+    }
+
+    @Test
+    void testNoWhereKeys() {
+        BatchUpdateDSL<TestRecord> dsl = updateBatch(new TestRecord(1, "Fred"))
+                .table(foo)
+                .set(firstName).toProperty("firstName");
+
+        assertThatExceptionOfType(InvalidSqlException.class).isThrownBy(dsl::build)
+                .withMessage("Batch update statements must have at least one where key");
+    }
+
+    static class TestRecord {
+        private final Integer id;
+        private final String firstName;
+
+        TestRecord(Integer id, String firstName) {
+            this.id = id;
+            this.firstName = firstName;
+        }
+
+        public Integer getId() {
+            return id;
+        }
+
+        public String getFirstName() {
+            return firstName;
+        }
+    }
+}
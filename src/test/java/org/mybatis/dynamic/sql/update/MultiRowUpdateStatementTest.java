@@ -0,0 +1,199 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.update;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mybatis.dynamic.sql.SqlBuilder.updateMultiple;
+
+import java.sql.JDBCType;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.mybatis.dynamic.sql.SqlColumn;
+import org.mybatis.dynamic.sql.SqlTable;
+import org.mybatis.dynamic.sql.exception.InvalidSqlException;
+import org.mybatis.dynamic.sql.render.RenderingStrategies;
+import org.mybatis.dynamic.sql.update.render.MultiRowUpdate;
+import org.mybatis.dynamic.sql.update.render.MultiRowUpdateStatementProvider;
+
+class MultiRowUpdateStatementTest {
+    private static final SqlTable foo = SqlTable.of("foo");
+    private static final SqlColumn<Integer> id = foo.column("id", JDBCType.INTEGER);
+    private static final SqlColumn<String> firstName = foo.column("firstName", JDBCType.VARCHAR);
+    private static final SqlColumn<String> occupation = foo.column("occupation", JDBCType.VARCHAR);
+    private static final SqlColumn<Integer> version = foo.column("version", JDBCType.INTEGER);
+
+    @Test
+    void testMyBatisRendering() {
+        List<TestRecord> records = Arrays.asList(new TestRecord(1, "Fred"), new TestRecord(2, "Barney"));
+
+        MultiRowUpdate<TestRecord> multiRowUpdate = updateMultiple(records)
+                .table(foo)
+                .set(firstName).toProperty("firstName")
+                .set(version).toConstant("version + 1")
+                .where(id, "id")
+                .build()
+                .render(RenderingStrategies.MYBATIS3);
+
+        String expected = "update foo set firstName = case id "
+                + "when #{records[0].id,jdbcType=INTEGER} then #{records[0].firstName,jdbcType=VARCHAR} "
+                + "when #{records[1].id,jdbcType=INTEGER} then #{records[1].firstName,jdbcType=VARCHAR} "
+                + "else firstName end, version = version + 1 "
+                + "where id in (#{records[0].id,jdbcType=INTEGER}, #{records[1].id,jdbcType=INTEGER})";
+
+        List<MultiRowUpdateStatementProvider<TestRecord>> statements = multiRowUpdate.updateStatements();
+        assertThat(statements).hasSize(1);
+        assertThat(statements.get(0).getUpdateStatement()).isEqualTo(expected);
+        assertThat(statements.get(0).getParameters()).isEmpty();
+        assertThat(statements.get(0).getRecords()).isEqualTo(records);
+    }
+
+    @Test
+    void testSpringRendering() {
+        MultiRowUpdate<TestRecord> multiRowUpdate = updateMultiple(new TestRecord(1, "Fred"))
+                .table(foo)
+                .set(firstName).toProperty("firstName")
+                .set(occupation).toNull()
+                .where(id, "id")
+                .build()
+                .render(RenderingStrategies.SPRING_NAMED_PARAMETER);
+
+        assertThat(multiRowUpdate.updateStatements()).singleElement()
+                .extracting(MultiRowUpdateStatementProvider::getUpdateStatement)
+                .isEqualTo("update foo set firstName = case id when :records[0].id then :records[0].firstName "
+                        + "else firstName end, occupation = null where id in (:records[0].id)");
+    }
+
+    @Test
+    void testChunkingByParameterLimit() {
+        List<TestRecord> records = IntStream.rangeClosed(1, 10)
+                .mapToObj(i -> new TestRecord(i, "Name " + i))
+                .collect(Collectors.toList());
+
+        // two case expressions - 5 parameters per record - 4 records per statement
+        MultiRowUpdate<TestRecord> multiRowUpdate = updateMultiple(records)
+                .table(foo)
+                .set(firstName).toProperty("firstName")
+                .set(occupation).toProperty("firstName")
+                .set(version).toConstant("1")
+                .where(id, "id")
+                .withParameterLimit(20)
+                .build()
+                .render(RenderingStrategies.SPRING_NAMED_PARAMETER);
+
+        List<MultiRowUpdateStatementProvider<TestRecord>> statements = multiRowUpdate.updateStatements();
+        assertThat(statements).hasSize(3);
+        assertThat(statements).extracting(s -> s.getRecords().size()).containsExactly(4, 4, 2);
+        assertThat(statements.get(2).getRecords().get(0).getId()).isEqualTo(9);
+        assertThat(statements.get(2).getUpdateStatement()).endsWith("where id in (:records[0].id, :records[1].id)");
+    }
+
+    @Test
+    void testTableNameIsResolvedOncePerRender() {
+        AtomicInteger nameCalls = new AtomicInteger();
+        SqlTable dynamicFoo = new SqlTable(() -> "foo_" + nameCalls.incrementAndGet()) { };
+        SqlColumn<Integer> dynamicId = dynamicFoo.column("id", JDBCType.INTEGER);
+        SqlColumn<String> dynamicFirstName = dynamicFoo.column("firstName", JDBCType.VARCHAR);
+        List<TestRecord> records = IntStream.rangeClosed(1, 10)
+                .mapToObj(i -> new TestRecord(i, "Name " + i))
+                .collect(Collectors.toList());
+
+        // one case expression - 3 parameters per record - 4 records per statement
+        MultiRowUpdate<TestRecord> multiRowUpdate = updateMultiple(records)
+                .table(dynamicFoo)
+                .set(dynamicFirstName).toProperty("firstName")
+                .where(dynamicId, "id")
+                .withParameterLimit(12)
+                .build()
+                .render(RenderingStrategies.SPRING_NAMED_PARAMETER);
+
+        List<MultiRowUpdateStatementProvider<TestRecord>> statements = multiRowUpdate.updateStatements();
+        assertThat(statements).extracting(s -> s.getRecords().size()).containsExactly(4, 4, 2);
+        assertThat(statements).allSatisfy(s -> assertThat(s.getUpdateStatement()).startsWith("update foo_1 set"));
+        assertThat(statements.get(1).getUpdateStatement()).isSameAs(statements.get(0).getUpdateStatement());
+        assertThat(nameCalls).hasValue(1);
+    }
+
+    @Test
+    void testParameterLimitSmallerThanRecord() {
+        List<TestRecord> records = Arrays.asList(new TestRecord(1, "Fred"), new TestRecord(2, "Barney"));
+
+        MultiRowUpdate<TestRecord> multiRowUpdate = updateMultiple(records)
+                .table(foo)
+                .set(firstName).toProperty("firstName")
+                .where(id, "id")
+                .withParameterLimit(1)
+                .build()
+                .render(RenderingStrategies.SPRING_NAMED_PARAMETER);
+
+        assertThat(multiRowUpdate.updateStatements()).hasSize(2);
+    }
+
+    @Test
+    void testNoRecords() {
+        MultiRowUpdateDSL<TestRecord> dsl = updateMultiple(Collections.<TestRecord>emptyList())
+                .table(foo)
+                .set(firstName).toProperty("firstName")
+                .where(id, "id");
+
+        assertThatExceptionOfType(InvalidSqlException.class).isThrownBy(dsl::build)
+                .withMessage("Multiple row update statements must have at least one record to update");
+    }
+
+    @Test
+    void testNoSetMappings() {
+        MultiRowUpdateDSL<TestRecord> dsl = updateMultiple(new TestRecord(1, "Fred"))
+                .table(foo)
+                .where(id, "id");
+
+        assertThatExceptionOfType(InvalidSqlException.class).isThrownBy(dsl::build)
+                .withMessage("Multiple row update statements must have at least one set mapping");
+    }
+
+    @Test
+    void testNoKey() {
+        MultiRowUpdateDSL<TestRecord> dsl = updateMultiple(new TestRecord(1, "Fred"))
+                .table(foo)
+                .set(firstName).toProperty("firstName");
+
+        assertThatExceptionOfType(InvalidSqlException.class).isThrownBy(dsl::build)
+                .withMessage("Multiple row update statements must have a key column in the where clause");
+    }
+
+    static class TestRecord {
+        private final Integer id;
+        private final String firstName;
+
+        TestRecord(Integer id, String firstName) {
+            this.id = id;
+            this.firstName = firstName;
+        }
+
+        public Integer getId() {
+            return id;
+        }
+
+        public String getFirstName() {
+            return firstName;
+        }
+    }
+}
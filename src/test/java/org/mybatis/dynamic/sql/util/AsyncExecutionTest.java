@@ -0,0 +1,176 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class AsyncExecutionTest {
+
+    @Test
+    void testConcurrencyIsLimitedPerDataSource() {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            AsyncExecution asyncExecution = new AsyncExecution.Builder()
+                    .withExecutor(executor)
+                    .withMaxConcurrency(2)
+                    .build();
+
+            Object dataSource1 = new Object();
+            Object dataSource2 = new Object();
+            AtomicInteger running1 = new AtomicInteger();
+            AtomicInteger running2 = new AtomicInteger();
+            AtomicInteger maxRunning1 = new AtomicInteger();
+            AtomicInteger maxRunning2 = new AtomicInteger();
+
+            List<CompletableFuture<Integer>> futures = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                int value = i;
+                futures.add(asyncExecution.supplyAsync(dataSource1, () -> track(running1, maxRunning1, value)));
+                futures.add(asyncExecution.supplyAsync(dataSource2, () -> track(running2, maxRunning2, value)));
+            }
+
+            int total = futures.stream().mapToInt(CompletableFuture::join).sum();
+
+            assertThat(total).isEqualTo(90);
+            assertThat(maxRunning1.get()).isBetween(1, 2);
+            assertThat(maxRunning2.get()).isBetween(1, 2);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testQueuedTasksDoNotUseExecutorThreads() {
+        ExecutorService executorService = Executors.newCachedThreadPool();
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        Executor executor = r -> executorService.execute(() -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                r.run();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        });
+        try {
+            AsyncExecution asyncExecution = new AsyncExecution.Builder()
+                    .withExecutor(executor)
+                    .withMaxConcurrency(2)
+                    .build();
+
+            Object dataSource = new Object();
+            AtomicInteger running = new AtomicInteger();
+            AtomicInteger maxRunning = new AtomicInteger();
+
+            List<CompletableFuture<Integer>> futures = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                int value = i;
+                futures.add(asyncExecution.supplyAsync(dataSource, () -> track(running, maxRunning, value)));
+            }
+
+            int total = futures.stream().mapToInt(CompletableFuture::join).sum();
+
+            assertThat(total).isEqualTo(1225);
+            assertThat(maxRunning.get()).isBetween(1, 2);
+            // a task may still be completing its future after handing its permit to the next task
+            assertThat(maxInFlight.get()).isBetween(1, 4);
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    void testDependentStageDoesNotHoldPermit() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            AsyncExecution asyncExecution = new AsyncExecution.Builder()
+                    .withExecutor(executor)
+                    .withMaxConcurrency(1)
+                    .build();
+
+            Object dataSource = new Object();
+            CountDownLatch latch = new CountDownLatch(1);
+            CompletableFuture<Integer> first = asyncExecution.supplyAsync(dataSource, () -> {
+                try {
+                    latch.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return 1;
+            });
+            CompletableFuture<Integer> dependent =
+                    first.thenApply(v -> v + asyncExecution.supplyAsync(dataSource, () -> 2).join());
+            CompletableFuture<Integer> queued = asyncExecution.supplyAsync(dataSource, () -> 3);
+            latch.countDown();
+
+            assertThat(dependent.get(10, TimeUnit.SECONDS)).isEqualTo(3);
+            assertThat(queued.get(10, TimeUnit.SECONDS)).isEqualTo(3);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testFailedTaskReleasesPermit() {
+        AsyncExecution asyncExecution = new AsyncExecution.Builder()
+                .withMaxConcurrency(1)
+                .build();
+
+        Object dataSource = new Object();
+        CompletableFuture<String> failed = asyncExecution.supplyAsync(dataSource, () -> {
+            throw new IllegalStateException("Fred");
+        });
+        CompletableFuture<String> succeeded = asyncExecution.supplyAsync(dataSource, () -> "Barney");
+
+        assertThatExceptionOfType(CompletionException.class).isThrownBy(failed::join)
+                .withCauseInstanceOf(IllegalStateException.class);
+        assertThat(succeeded.join()).isEqualTo("Barney");
+    }
+
+    @Test
+    void testUnlimited() {
+        AsyncExecution asyncExecution = AsyncExecution.defaultExecution();
+
+        assertThat(asyncExecution.maxConcurrency()).isZero();
+        assertThat(asyncExecution.executor()).isSameAs(AsyncExecution.defaultExecutor());
+        assertThat(asyncExecution.supplyAsync(null, () -> "Fred").join()).isEqualTo("Fred");
+    }
+
+    private int track(AtomicInteger running, AtomicInteger maxRunning, int value) {
+        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+        try {
+            TimeUnit.MILLISECONDS.sleep(10);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        running.decrementAndGet();
+        return value;
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import org.junit.jupiter.api.Test;
+
+class GrowableArraysTest {
+
+    @Test
+    void testLongArrayGrowth() {
+        GrowableLongArray values = new GrowableLongArray(2);
+        assertThat(values.isEmpty()).isTrue();
+
+        for (long i = 0; i < 100; i++) {
+            values.add(i);
+        }
+
+        assertThat(values.size()).isEqualTo(100);
+        assertThat(values.get(99)).isEqualTo(99L);
+        assertThat(values.toArray()).hasSize(100).startsWith(0L, 1L).endsWith(98L, 99L);
+    }
+
+    @Test
+    void testLongArrayOutOfBounds() {
+        GrowableLongArray values = new GrowableLongArray();
+        values.add(1L);
+
+        assertThatExceptionOfType(IndexOutOfBoundsException.class).isThrownBy(() -> values.get(1));
+        assertThatExceptionOfType(IndexOutOfBoundsException.class).isThrownBy(() -> values.get(-1));
+    }
+
+    @Test
+    void testIntArrayGrowth() {
+        GrowableIntArray values = new GrowableIntArray(0);
+
+        for (int i = 0; i < 20; i++) {
+            values.add(i * 2);
+        }
+
+        assertThat(values.isEmpty()).isFalse();
+        assertThat(values.get(10)).isEqualTo(20);
+        assertThat(values.toArray()).hasSize(20).endsWith(38);
+    }
+
+    @Test
+    void testIntArrayOutOfBounds() {
+        GrowableIntArray values = new GrowableIntArray();
+
+        assertThatExceptionOfType(IndexOutOfBoundsException.class).isThrownBy(() -> values.get(0));
+    }
+
+    @Test
+    void testDoubleArrayGrowth() {
+        GrowableDoubleArray values = new GrowableDoubleArray(1);
+        values.add(1.5);
+        values.add(2.5);
+        values.add(3.5);
+
+        assertThat(values.size()).isEqualTo(3);
+        assertThat(values.get(1)).isEqualTo(2.5);
+        assertThat(values.toArray()).containsExactly(1.5, 2.5, 3.5);
+    }
+
+    @Test
+    void testDoubleArrayOutOfBounds() {
+        GrowableDoubleArray values = new GrowableDoubleArray();
+
+        assertThatExceptionOfType(IndexOutOfBoundsException.class).isThrownBy(() -> values.get(0));
+    }
+}
@@ -0,0 +1,272 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mybatis.dynamic.sql.SqlBuilder.equalTo;
+import static org.mybatis.dynamic.sql.SqlBuilder.isEqualTo;
+import static org.mybatis.dynamic.sql.SqlBuilder.select;
+import static org.mybatis.dynamic.sql.SqlBuilder.update;
+
+import java.sql.JDBCType;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.mybatis.dynamic.sql.AliasableSqlTable;
+import org.mybatis.dynamic.sql.SqlColumn;
+import org.mybatis.dynamic.sql.SqlTable;
+import org.mybatis.dynamic.sql.render.RenderingStrategies;
+import org.mybatis.dynamic.sql.select.render.SelectStatementProvider;
+import org.mybatis.dynamic.sql.update.render.UpdateStatementProvider;
+
+class QueryResultCacheTest {
+    private static final SqlTable foo = SqlTable.of("foo");
+    private static final SqlColumn<Integer> fooId = foo.column("id", JDBCType.INTEGER);
+    private static final SqlColumn<String> fooName = foo.column("name", JDBCType.VARCHAR);
+
+    private static final SqlTable bar = SqlTable.of("bar");
+    private static final SqlColumn<Integer> barId = bar.column("id", JDBCType.INTEGER);
+
+    private static final PersonTable person = new PersonTable();
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void testResultsAreCached() {
+        QueryResultCache cache = new QueryResultCache.Builder().build();
+
+        assertThat(load(cache, selectFoo(1))).isEqualTo("result 1");
+        assertThat(load(cache, selectFoo(1))).isEqualTo("result 1");
+        assertThat(load(cache, selectFoo(2))).isEqualTo("result 2");
+
+        assertThat(loads).hasValue(2);
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.hitCount()).isEqualTo(1);
+        assertThat(cache.missCount()).isEqualTo(2);
+    }
+
+    @Test
+    void testResultTypesAreCachedSeparately() {
+        QueryResultCache cache = new QueryResultCache.Builder().build();
+        SelectStatementProvider selectStatement = selectFoo(1);
+
+        Integer first = cache.computeIfAbsent(selectStatement, Integer.class, loads::incrementAndGet);
+        Integer second = cache.computeIfAbsent(selectStatement, Long.class, loads::incrementAndGet);
+
+        assertThat(first).isEqualTo(1);
+        assertThat(second).isEqualTo(2);
+    }
+
+    @Test
+    void testWriteInvalidatesTablesRead() {
+        QueryResultCache cache = new QueryResultCache.Builder().build();
+
+        load(cache, selectFoo(1));
+        load(cache, selectBar());
+
+        UpdateStatementProvider updateStatement = update(foo)
+                .set(fooName).equalTo("Fred")
+                .build()
+                .render(RenderingStrategies.SPRING_NAMED_PARAMETER);
+        cache.recordWrite(updateStatement.getStatementMetadata());
+
+        load(cache, selectFoo(1));
+        load(cache, selectBar());
+
+        assertThat(loads).hasValue(3);
+        assertThat(cache.generation(foo)).isEqualTo(1);
+        assertThat(cache.generation(bar)).isZero();
+    }
+
+    @Test
+    void testWriteInvalidatesSubqueries() {
+        QueryResultCache cache = new QueryResultCache.Builder().build();
+        SelectStatementProvider selectStatement = select(fooId)
+                .from(foo)
+                .where(fooId, isEqualTo(select(barId).from(bar)))
+                .build()
+                .render(RenderingStrategies.SPRING_NAMED_PARAMETER);
+
+        load(cache, selectStatement);
+        cache.invalidate(bar);
+        load(cache, selectStatement);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void testWriteInvalidatesAliasedTables() {
+        QueryResultCache cache = new QueryResultCache.Builder().build();
+        PersonTable parent = person.withAlias("parent");
+        PersonTable child = person.withAlias("child");
+        SelectStatementProvider aliasedSelect = select(parent.id)
+                .from(parent)
+                .where(parent.id, isEqualTo(1))
+                .build()
+                .render(RenderingStrategies.SPRING_NAMED_PARAMETER);
+        SelectStatementProvider selfJoin = select(child.id)
+                .from(child)
+                .join(parent).on(child.parentId, equalTo(parent.id))
+                .build()
+                .render(RenderingStrategies.SPRING_NAMED_PARAMETER);
+
+        load(cache, aliasedSelect);
+        load(cache, selfJoin);
+
+        UpdateStatementProvider updateStatement = update(person)
+                .set(person.parentId).equalTo(2)
+                .build()
+                .render(RenderingStrategies.SPRING_NAMED_PARAMETER);
+        cache.recordWrite(updateStatement.getStatementMetadata());
+
+        load(cache, aliasedSelect);
+        load(cache, selfJoin);
+
+        assertThat(loads).hasValue(4);
+        assertThat(cache.generation(parent)).isEqualTo(1);
+        assertThat(cache.generation(person.withName("person_2"))).isZero();
+    }
+
+    @Test
+    void testTimeToLive() {
+        MutableClock clock = new MutableClock();
+        QueryResultCache cache = new QueryResultCache.Builder()
+                .withTimeToLive(Duration.ofSeconds(10))
+                .withClock(clock)
+                .build();
+
+        load(cache, selectFoo(1));
+        clock.advance(Duration.ofSeconds(9));
+        load(cache, selectFoo(1));
+        assertThat(loads).hasValue(1);
+
+        clock.advance(Duration.ofSeconds(1));
+        load(cache, selectFoo(1));
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void testLeastRecentlyUsedResultIsEvicted() {
+        QueryResultCache cache = QueryResultCache.withMaximumSize(2).build();
+
+        load(cache, selectFoo(1));
+        load(cache, selectFoo(2));
+        load(cache, selectFoo(1));
+        load(cache, selectFoo(3));
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(loads).hasValue(3);
+
+        load(cache, selectFoo(1));
+        assertThat(loads).hasValue(3);
+
+        load(cache, selectFoo(2));
+        assertThat(loads).hasValue(4);
+    }
+
+    @Test
+    void testStatementsWithoutMetadataAreNotCached() {
+        QueryResultCache cache = new QueryResultCache.Builder().build();
+        SelectStatementProvider selectStatement = new SelectStatementProvider() {
+            @Override
+            public Map<String, Object> getParameters() {
+                return Collections.emptyMap();
+            }
+
+            @Override
+            public String getSelectStatement() {
+                return "select 1";
+            }
+        };
+
+        load(cache, selectStatement);
+        load(cache, selectStatement);
+
+        assertThat(loads).hasValue(2);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void testClear() {
+        QueryResultCache cache = new QueryResultCache.Builder().build();
+
+        load(cache, selectFoo(1));
+        cache.clear();
+        load(cache, selectFoo(1));
+
+        assertThat(loads).hasValue(2);
+    }
+
+    private String load(QueryResultCache cache, SelectStatementProvider selectStatement) {
+        return cache.computeIfAbsent(selectStatement, String.class, () -> {
+            loads.incrementAndGet();
+            return "result " + selectStatement.getParameters().values().stream().findFirst().orElse("");
+        });
+    }
+
+    private SelectStatementProvider selectFoo(int id) {
+        return select(fooId, fooName)
+                .from(foo)
+                .where(fooId, isEqualTo(id))
+                .build()
+                .render(RenderingStrategies.SPRING_NAMED_PARAMETER);
+    }
+
+    private SelectStatementProvider selectBar() {
+        return select(barId)
+                .from(bar)
+                .build()
+                .render(RenderingStrategies.SPRING_NAMED_PARAMETER);
+    }
+
+    private static class PersonTable extends AliasableSqlTable<PersonTable> {
+        private final SqlColumn<Integer> id = column("id", JDBCType.INTEGER);
+        private final SqlColumn<Integer> parentId = column("parent_id", JDBCType.INTEGER);
+
+        private PersonTable() {
+            super("person", PersonTable::new);
+        }
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2023-01-01T00:00:00Z");
+
+        private void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
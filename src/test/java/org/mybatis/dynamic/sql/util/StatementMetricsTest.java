@@ -0,0 +1,204 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mybatis.dynamic.sql.SqlBuilder.isEqualTo;
+import static org.mybatis.dynamic.sql.SqlBuilder.isIn;
+import static org.mybatis.dynamic.sql.SqlBuilder.select;
+
+import java.sql.JDBCType;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.mybatis.dynamic.sql.SqlColumn;
+import org.mybatis.dynamic.sql.SqlTable;
+import org.mybatis.dynamic.sql.render.RenderingStrategies;
+import org.mybatis.dynamic.sql.render.StatementKind;
+import org.mybatis.dynamic.sql.render.StatementMetadata;
+import org.mybatis.dynamic.sql.select.SelectModel;
+import org.mybatis.dynamic.sql.select.render.SelectStatementProvider;
+
+class StatementMetricsTest {
+    private static final SqlTable foo = SqlTable.of("foo");
+    private static final SqlColumn<Integer> fooId = foo.column("id", JDBCType.INTEGER);
+    private static final SqlColumn<String> fooName = foo.column("name", JDBCType.VARCHAR);
+
+    @Test
+    void testFingerprintIgnoresParameterValues() {
+        SelectStatementProvider s1 = selectById(1).render(RenderingStrategies.MYBATIS3);
+        SelectStatementProvider s2 = selectById(2).render(RenderingStrategies.MYBATIS3);
+
+        assertThat(s1.getParameters()).isNotEqualTo(s2.getParameters());
+        assertThat(StatementFingerprint.of(s1.getSelectStatement()))
+                .isEqualTo(StatementFingerprint.of(s2.getSelectStatement()));
+    }
+
+    @Test
+    void testFingerprintIgnoresRenderingStrategy() {
+        long mybatis = StatementFingerprint.of(selectById(1).render(RenderingStrategies.MYBATIS3).getSelectStatement());
+        long spring = StatementFingerprint.of(
+                selectById(1).render(RenderingStrategies.SPRING_NAMED_PARAMETER).getSelectStatement());
+        long jdbc = StatementFingerprint.of("select id, name from foo where id = ?");
+
+        assertThat(spring).isEqualTo(mybatis);
+        assertThat(jdbc).isEqualTo(mybatis);
+    }
+
+    @Test
+    void testFingerprintDistinguishesShapes() {
+        String in2 = select(fooId).from(foo).where(fooId, isIn(1, 2))
+                .build().render(RenderingStrategies.MYBATIS3).getSelectStatement();
+        String in3 = select(fooId).from(foo).where(fooId, isIn(1, 2, 3))
+                .build().render(RenderingStrategies.MYBATIS3).getSelectStatement();
+
+        assertThat(StatementFingerprint.of(in2)).isNotEqualTo(StatementFingerprint.of(in3));
+        assertThat(StatementFingerprint.of("select a from foo"))
+                .isNotEqualTo(StatementFingerprint.of("select b from foo"));
+    }
+
+    @Test
+    void testFingerprintNormalization() {
+        assertThat(StatementFingerprint.of("select  id\n from foo where id = :p1"))
+                .isEqualTo(StatementFingerprint.of("select id from foo where id = $1"));
+        assertThat(StatementFingerprint.of("select id::text from foo"))
+                .isNotEqualTo(StatementFingerprint.of("select id:? from foo"));
+        assertThat(StatementFingerprint.of("select id from foo where name = ':p1'"))
+                .isNotEqualTo(StatementFingerprint.of("select id from foo where name = '?'"));
+        assertThat(StatementFingerprint.of("select id from foo where name = 'it''s :p1'"))
+                .isNotEqualTo(StatementFingerprint.of("select id from foo where name = 'it''s ?'"));
+    }
+
+    @Test
+    void testFingerprintIsStable() {
+        assertThat(StatementFingerprint.toHexString(StatementFingerprint.of(""))).isEqualTo("cbf29ce484222325");
+        assertThat(StatementFingerprint.toHexString(StatementFingerprint.of("a"))).isEqualTo("af63dc4c8601ec8c");
+        assertThat(StatementFingerprint.toHexString(1L)).isEqualTo("0000000000000001");
+    }
+
+    @Test
+    void testMeasureRecordsSuccess() {
+        InMemoryStatementMetrics metrics = new InMemoryStatementMetrics();
+        SelectStatementProvider selectStatement = selectById(1).render(RenderingStrategies.MYBATIS3);
+
+        String result = metrics.measure(selectStatement.getSelectStatement(), selectStatement.getStatementMetadata(),
+                () -> "row", StatementMetrics::rowsOf);
+
+        assertThat(result).isEqualTo("row");
+        assertThat(metrics.statistics()).singleElement().satisfies(s -> {
+            assertThat(s.statement()).isEqualTo(selectStatement.getSelectStatement());
+            assertThat(s.fingerprint()).isEqualTo(StatementFingerprint.of(selectStatement.getSelectStatement()));
+            assertThat(s.fingerprintTag()).hasSize(16);
+            assertThat(s.statementKind()).isEqualTo(StatementKind.SELECT);
+            assertThat(s.executions()).isEqualTo(1);
+            assertThat(s.errors()).isZero();
+            assertThat(s.rows()).isEqualTo(1);
+        });
+    }
+
+    @Test
+    void testMeasureRecordsFailure() {
+        InMemoryStatementMetrics metrics = new InMemoryStatementMetrics();
+        StatementMetadata statementMetadata = StatementMetadata.of(StatementKind.DELETE);
+
+        assertThatExceptionOfType(IllegalStateException.class).isThrownBy(() ->
+                metrics.measure("delete from foo", statementMetadata, () -> {
+                    throw new IllegalStateException("failed");
+                }, r -> 1));
+
+        assertThat(metrics.statistics(StatementFingerprint.of("delete from foo"))).hasValueSatisfying(s -> {
+            assertThat(s.executions()).isEqualTo(1);
+            assertThat(s.errors()).isEqualTo(1);
+            assertThat(s.rows()).isZero();
+        });
+    }
+
+    @Test
+    void testExecutionsAreGroupedByShape() {
+        InMemoryStatementMetrics metrics = new InMemoryStatementMetrics();
+        for (int i = 0; i < 3; i++) {
+            SelectStatementProvider selectStatement = selectById(i).render(RenderingStrategies.MYBATIS3);
+            metrics.measure(selectStatement.getSelectStatement(), selectStatement.getStatementMetadata(),
+                    () -> Arrays.asList(1, 2), StatementMetrics::rowsOf);
+        }
+
+        assertThat(metrics.statistics()).singleElement().satisfies(s -> {
+            assertThat(s.executions()).isEqualTo(3);
+            assertThat(s.rows()).isEqualTo(6);
+        });
+
+        metrics.clear();
+        assertThat(metrics.statistics()).isEmpty();
+    }
+
+    @Test
+    void testRowsOf() {
+        assertThat(StatementMetrics.rowsOf(null)).isZero();
+        assertThat(StatementMetrics.rowsOf(Collections.emptyList())).isZero();
+        assertThat(StatementMetrics.rowsOf(Arrays.asList(1, 2, 3))).isEqualTo(3);
+        assertThat(StatementMetrics.rowsOf(Optional.empty())).isZero();
+        assertThat(StatementMetrics.rowsOf(Optional.of(1))).isEqualTo(1);
+        assertThat(StatementMetrics.rowsOf(new long[] {1, 2})).isEqualTo(2);
+        assertThat(StatementMetrics.rowsOf(new int[] {1, 2, 3, 4})).isEqualTo(4);
+        assertThat(StatementMetrics.rowsOf(5L)).isEqualTo(1);
+        assertThat(StatementMetrics.updateCountOf(new int[] {1, 2, Statement.SUCCESS_NO_INFO})).isEqualTo(3);
+    }
+
+    @Test
+    void testLatencyHistogram() {
+        InMemoryStatementMetrics metrics = new InMemoryStatementMetrics();
+        long[] latencies = {500, 1_000, 1_500, 3_000, TimeUnit.MILLISECONDS.toNanos(10)};
+        for (long latency : latencies) {
+            metrics.record(StatementExecution.withStatement("select 1")
+                    .withStatementKind(StatementKind.SELECT)
+                    .withElapsedNanos(latency)
+                    .withRows(1)
+                    .build());
+        }
+
+        StatementStatistics statistics = metrics.statistics(StatementFingerprint.of("select 1")).orElseThrow(
+                IllegalStateException::new);
+        long[] buckets = statistics.latencyBucketCounts();
+        assertThat(buckets[0]).isEqualTo(2);
+        assertThat(buckets[1]).isEqualTo(1);
+        assertThat(buckets[2]).isEqualTo(1);
+        assertThat(buckets[14]).isEqualTo(1);
+        assertThat(statistics.totalNanos()).isEqualTo(6_000 + TimeUnit.MILLISECONDS.toNanos(10));
+        assertThat(statistics.maxNanos()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(10));
+        assertThat(statistics.latencyPercentileNanos(50)).isEqualTo(2_000);
+        assertThat(statistics.latencyPercentileNanos(100))
+                .isEqualTo(StatementStatistics.latencyBucketUpperBoundNanos(14));
+        assertThat(StatementStatistics.latencyBucketUpperBoundNanos(StatementStatistics.LATENCY_BUCKETS - 1))
+                .isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    void testNoOpMetrics() {
+        StatementMetrics metrics = StatementMetrics.noOp();
+        int rows = metrics.measure("delete from foo", StatementMetadata.of(StatementKind.DELETE), () -> 3,
+                Integer::longValue);
+        assertThat(rows).isEqualTo(3);
+    }
+
+    private static SelectModel selectById(int id) {
+        return select(fooId, fooName).from(foo).where(fooId, isEqualTo(id)).build();
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mybatis.dynamic.sql.SqlBuilder.deleteFrom;
+import static org.mybatis.dynamic.sql.SqlBuilder.isEqualTo;
+import static org.mybatis.dynamic.sql.SqlBuilder.isEqualToWhenPresent;
+import static org.mybatis.dynamic.sql.SqlBuilder.isIn;
+import static org.mybatis.dynamic.sql.SqlBuilder.select;
+
+import java.sql.JDBCType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.mybatis.dynamic.sql.SqlColumn;
+import org.mybatis.dynamic.sql.SqlTable;
+import org.mybatis.dynamic.sql.delete.render.DeleteStatementProvider;
+import org.mybatis.dynamic.sql.render.RenderingStrategies;
+import org.mybatis.dynamic.sql.render.StatementKind;
+import org.mybatis.dynamic.sql.select.render.SelectStatementProvider;
+
+class StatementShapeRegistryTest {
+    private static final SqlTable foo = SqlTable.of("foo");
+    private static final SqlColumn<Integer> fooId = foo.column("id", JDBCType.INTEGER);
+    private static final SqlColumn<String> fooName = foo.column("name", JDBCType.VARCHAR);
+
+    @Test
+    void testProviderFingerprints() {
+        SelectStatementProvider s1 = search(1, "Fred");
+        SelectStatementProvider s2 = search(2, "Barney");
+        SelectStatementProvider s3 = search(3, null);
+
+        assertThat(s1.getFingerprint()).isEqualTo(s2.getFingerprint())
+                .isEqualTo(StatementFingerprint.of(s1.getSelectStatement()));
+        assertThat(s3.getFingerprint()).isNotEqualTo(s1.getFingerprint());
+
+        DeleteStatementProvider deleteStatement = deleteFrom(foo).where(fooId, isEqualTo(1))
+                .build().render(RenderingStrategies.SPRING_NAMED_PARAMETER);
+        assertThat(deleteStatement.getFingerprint()).isEqualTo(StatementFingerprint.of("delete from foo where id = ?"));
+    }
+
+    @Test
+    void testCustomProviderFingerprint() {
+        SelectStatementProvider provider = new SelectStatementProvider() {
+            @Override
+            public Map<String, Object> getParameters() {
+                return Collections.emptyMap();
+            }
+
+            @Override
+            public String getSelectStatement() {
+                return "select id from foo where id = #{parameters.id}";
+            }
+        };
+
+        assertThat(provider.getFingerprint()).isEqualTo(StatementFingerprint.of("select id from foo where id = ?"));
+    }
+
+    @Test
+    void testThresholdListenerIsCalledOnce() {
+        List<ShapeCardinality> warnings = new ArrayList<>();
+        StatementShapeRegistry registry = new StatementShapeRegistry.Builder()
+                .withThreshold(2)
+                .withThresholdListener(warnings::add)
+                .build();
+
+        for (int size = 1; size <= 5; size++) {
+            SelectStatementProvider selectStatement = selectIn(size);
+            registry.record("selectIn", selectStatement.getFingerprint(), selectStatement.getSelectStatement());
+            registry.record("selectIn", selectStatement.getFingerprint(), selectStatement.getSelectStatement());
+        }
+        registry.record("search", search(1, "Fred").getFingerprint(), search(1, "Fred").getSelectStatement());
+
+        assertThat(warnings).singleElement().satisfies(c -> {
+            assertThat(c.origin()).isEqualTo("selectIn");
+            assertThat(c.distinctShapes()).isEqualTo(3);
+        });
+        assertThat(registry.exceeded()).singleElement().satisfies(c -> {
+            assertThat(c.distinctShapes()).isEqualTo(5);
+            assertThat(c.executions()).isEqualTo(10);
+            assertThat(c.shapes()).containsValue(selectIn(3).getSelectStatement());
+            assertThat(c.isTruncated()).isFalse();
+        });
+        assertThat(registry.report()).extracting(ShapeCardinality::origin).containsExactly("selectIn", "search");
+        assertThat(registry.cardinality("search")).hasValueSatisfying(c -> assertThat(c.distinctShapes()).isOne());
+        assertThat(registry.cardinality("missing")).isEmpty();
+
+        registry.clear();
+        assertThat(registry.report()).isEmpty();
+    }
+
+    @Test
+    void testShapesAreTruncated() {
+        StatementShapeRegistry registry = new StatementShapeRegistry.Builder()
+                .withThreshold(2)
+                .withMaximumShapesPerOrigin(3)
+                .build();
+
+        for (int size = 1; size <= 5; size++) {
+            SelectStatementProvider selectStatement = selectIn(size);
+            registry.record("selectIn", selectStatement.getFingerprint(), selectStatement.getSelectStatement());
+        }
+
+        assertThat(registry.cardinality("selectIn")).hasValueSatisfying(c -> {
+            assertThat(c.distinctShapes()).isEqualTo(3);
+            assertThat(c.executions()).isEqualTo(5);
+            assertThat(c.isTruncated()).isTrue();
+        });
+    }
+
+    @Test
+    void testExecutionsAreRecordedByCallSite() {
+        StatementShapeRegistry registry = new StatementShapeRegistry.Builder().build();
+        InMemoryStatementMetrics inMemory = new InMemoryStatementMetrics();
+        StatementMetrics metrics = inMemory.andThen(registry);
+
+        SelectStatementProvider selectStatement = selectIn(2);
+        metrics.measure(selectStatement.getSelectStatement(), selectStatement.getFingerprint(),
+                selectStatement.getStatementMetadata(), () -> 2, Integer::longValue);
+
+        // this test is in a library package, so every frame is skipped until the test framework is reached
+        assertThat(registry.report()).singleElement()
+                .satisfies(c -> assertThat(c.origin()).asString().doesNotStartWith("org.mybatis.dynamic.sql."));
+        assertThat(inMemory.statistics(selectStatement.getFingerprint())).isPresent();
+    }
+
+    @Test
+    void testCustomOriginResolver() {
+        StatementShapeRegistry registry = new StatementShapeRegistry.Builder()
+                .withOriginResolver(StatementExecution::statementKind)
+                .build();
+
+        registry.record(StatementExecution.withStatement("select id from foo")
+                .withStatementKind(StatementKind.SELECT)
+                .build());
+
+        assertThat(registry.cardinality(StatementKind.SELECT)).isPresent();
+    }
+
+    private static SelectStatementProvider search(int id, String name) {
+        return select(fooId, fooName)
+                .from(foo)
+                .where(fooId, isEqualTo(id))
+                .and(fooName, isEqualToWhenPresent(name))
+                .build()
+                .render(RenderingStrategies.MYBATIS3);
+    }
+
+    private static SelectStatementProvider selectIn(int size) {
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            values.add(i);
+        }
+        return select(fooId).from(foo).where(fooId, isIn(values)).build().render(RenderingStrategies.MYBATIS3);
+    }
+}
@@ -0,0 +1,256 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.where.render;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mybatis.dynamic.sql.SqlBuilder.*;
+
+import java.sql.JDBCType;
+
+import org.junit.jupiter.api.Test;
+import org.mybatis.dynamic.sql.CompiledCriterion;
+import org.mybatis.dynamic.sql.SqlColumn;
+import org.mybatis.dynamic.sql.SqlTable;
+import org.mybatis.dynamic.sql.delete.render.DeleteStatementProvider;
+import org.mybatis.dynamic.sql.exception.InvalidSqlException;
+import org.mybatis.dynamic.sql.render.RenderingStrategies;
+import org.mybatis.dynamic.sql.select.render.SelectStatementProvider;
+import org.mybatis.dynamic.sql.update.render.UpdateStatementProvider;
+
+class CompiledCriterionTest {
+    private static final SqlTable foo = SqlTable.of("foo");
+    private static final SqlColumn<Integer> id = foo.column("id", JDBCType.INTEGER);
+    private static final SqlColumn<Integer> tenantId = foo.column("tenant_id", JDBCType.INTEGER);
+    private static final SqlColumn<String> status = foo.column("status", JDBCType.VARCHAR);
+
+    private static final SqlTable bar = SqlTable.of("bar");
+    private static final SqlColumn<Integer> barId = bar.column("id", JDBCType.INTEGER);
+    private static final SqlColumn<Integer> fooId = bar.column("foo_id", JDBCType.INTEGER);
+
+    private static final CompiledCriterion TENANT_FILTER =
+            CompiledCriterion.of(tenantId, isEqualTo(22), and(status, isNotEqualTo("deleted")));
+
+    @Test
+    void testParametersAreRenumbered() {
+        SelectStatementProvider selectStatement = select(id)
+                .from(foo)
+                .where(id, isGreaterThan(3))
+                .and(TENANT_FILTER)
+                .build()
+                .render(RenderingStrategies.SPRING_NAMED_PARAMETER);
+
+        assertThat(selectStatement.getSelectStatement())
+                .isEqualTo("select id from foo where id > :p1 and (tenant_id = :p2 and status <> :p3)");
+        assertThat(selectStatement.getParameters())
+                .containsEntry("p1", 3)
+                .containsEntry("p2", 22)
+                .containsEntry("p3", "deleted")
+                .hasSize(3);
+    }
+
+    @Test
+    void testMatchesUncompiledRendering() {
+        SelectStatementProvider uncompiled = select(id)
+                .from(foo)
+                .where(group(tenantId, isEqualTo(22), and(status, isNotEqualTo("deleted"))))
+                .or(id, isIn(1, 2))
+                .build()
+                .render(RenderingStrategies.MYBATIS3);
+
+        SelectStatementProvider compiled = select(id)
+                .from(foo)
+                .where(TENANT_FILTER)
+                .or(id, isIn(1, 2))
+                .build()
+                .render(RenderingStrategies.MYBATIS3);
+
+        assertThat(compiled.getSelectStatement()).isEqualTo(uncompiled.getSelectStatement());
+        assertThat(compiled.getParameters()).isEqualTo(uncompiled.getParameters());
+    }
+
+    @Test
+    void testUsedTwiceInOneStatement() {
+        SelectStatementProvider selectStatement = select(id)
+                .from(foo)
+                .where(TENANT_FILTER)
+                .or(TENANT_FILTER.withValues(23, "archived"))
+                .build()
+                .render(RenderingStrategies.SPRING_NAMED_PARAMETER);
+
+        assertThat(selectStatement.getSelectStatement()).isEqualTo("select id from foo where "
+                + "(tenant_id = :p1 and status <> :p2) or (tenant_id = :p3 and status <> :p4)");
+        assertThat(selectStatement.getParameters())
+                .containsEntry("p1", 22)
+                .containsEntry("p2", "deleted")
+                .containsEntry("p3", 23)
+                .containsEntry("p4", "archived");
+    }
+
+    @Test
+    void testIndexedPlaceholders() {
+        SelectStatementProvider selectStatement = select(id)
+                .from(foo)
+                .where(id, isBetween(1).and(10))
+                .and(TENANT_FILTER)
+                .build()
+                .render(RenderingStrategies.R2DBC_INDEXED);
+
+        assertThat(selectStatement.getSelectStatement())
+                .isEqualTo("select id from foo where id between $1 and $2 and (tenant_id = $3 and status <> $4)");
+    }
+
+    @Test
+    void testCompiledForEachAlias() {
+        SelectStatementProvider aliased = select(id)
+                .from(foo, "f")
+                .where(TENANT_FILTER)
+                .build()
+                .render(RenderingStrategies.SPRING_NAMED_PARAMETER);
+
+        SelectStatementProvider joined = select(id, barId)
+                .from(foo, "a")
+                .join(bar, "b").on(id, equalTo(fooId))
+                .where(TENANT_FILTER)
+                .build()
+                .render(RenderingStrategies.SPRING_NAMED_PARAMETER);
+
+        SelectStatementProvider plain = select(id)
+                .from(foo)
+                .where(TENANT_FILTER)
+                .build()
+                .render(RenderingStrategies.SPRING_NAMED_PARAMETER);
+
+        assertThat(aliased.getSelectStatement())
+                .isEqualTo("select f.id from foo f where f.tenant_id = :p1 and f.status <> :p2");
+        assertThat(joined.getSelectStatement()).isEqualTo("select a.id, b.id from foo a join bar b on a.id = b.foo_id "
+                + "where a.tenant_id = :p1 and a.status <> :p2");
+        assertThat(plain.getSelectStatement())
+                .isEqualTo("select id from foo where tenant_id = :p1 and status <> :p2");
+    }
+
+    @Test
+    void testUpdateAndDeleteAndCount() {
+        UpdateStatementProvider updateStatement = update(foo)
+                .set(status).equalTo("active")
+                .where(TENANT_FILTER)
+                .build()
+                .render(RenderingStrategies.MYBATIS3);
+
+        DeleteStatementProvider deleteStatement = deleteFrom(foo)
+                .applyWhere(TENANT_FILTER.toWhereApplier())
+                .build()
+                .render(RenderingStrategies.MYBATIS3);
+
+        SelectStatementProvider countStatement = countFrom(foo)
+                .where(TENANT_FILTER)
+                .build()
+                .render(RenderingStrategies.MYBATIS3);
+
+        assertThat(updateStatement.getUpdateStatement()).isEqualTo(
+                "update foo set status = #{parameters.p1,jdbcType=VARCHAR} "
+                        + "where tenant_id = #{parameters.p2,jdbcType=INTEGER} "
+                        + "and status <> #{parameters.p3,jdbcType=VARCHAR}");
+        assertThat(updateStatement.getParameters())
+                .containsEntry("p1", "active")
+                .containsEntry("p2", 22)
+                .containsEntry("p3", "deleted");
+        assertThat(deleteStatement.getDeleteStatement()).isEqualTo(
+                "delete from foo where tenant_id = #{parameters.p1,jdbcType=INTEGER} "
+                        + "and status <> #{parameters.p2,jdbcType=VARCHAR}");
+        assertThat(countStatement.getSelectStatement()).isEqualTo(
+                "select count(*) from foo where tenant_id = #{parameters.p1,jdbcType=INTEGER} "
+                        + "and status <> #{parameters.p2,jdbcType=VARCHAR}");
+    }
+
+    @Test
+    void testExistsSubQuery() {
+        CompiledCriterion hasBar = CompiledCriterion.of(exists(select(barId).from(bar).where(fooId, isEqualTo(id))),
+                and(id, isLessThan(100)));
+
+        SelectStatementProvider selectStatement = select(id)
+                .from(foo)
+                .where(id, isGreaterThan(3))
+                .and(hasBar)
+                .build()
+                .render(RenderingStrategies.SPRING_NAMED_PARAMETER);
+
+        assertThat(selectStatement.getSelectStatement()).isEqualTo("select id from foo where id > :p1 "
+                + "and (exists (select id from bar where foo_id = id) and id < :p2)");
+        assertThat(selectStatement.getParameters()).containsEntry("p2", 100);
+        assertThat(selectStatement.getStatementMetadata().tablesRead()).containsExactly(foo, bar);
+        assertThat(selectStatement.getStatementMetadata().columns()).contains(fooId, barId);
+    }
+
+    @Test
+    void testFromWhereApplier() {
+        CompiledCriterion compiled = CompiledCriterion.of(d -> d.and(tenantId, isEqualTo(4)));
+
+        SelectStatementProvider selectStatement = select(id)
+                .from(foo)
+                .where(compiled)
+                .build()
+                .render(RenderingStrategies.SPRING_NAMED_PARAMETER);
+
+        assertThat(compiled.slotCount()).isEqualTo(1);
+        assertThat(selectStatement.getSelectStatement()).isEqualTo("select id from foo where tenant_id = :p1");
+        assertThat(selectStatement.getParameters()).containsEntry("p1", 4);
+    }
+
+    @Test
+    void testNonRenderingConditionsAreFrozen() {
+        CompiledCriterion compiled = CompiledCriterion.of(tenantId, isEqualToWhenPresent((Integer) null));
+
+        SelectStatementProvider selectStatement = select(id)
+                .from(foo)
+                .where(id, isEqualTo(3))
+                .and(compiled)
+                .build()
+                .render(RenderingStrategies.SPRING_NAMED_PARAMETER);
+
+        assertThat(compiled.slotCount()).isZero();
+        assertThat(selectStatement.getSelectStatement()).isEqualTo("select id from foo where id = :p1");
+    }
+
+    @Test
+    void testWithOptimizer() {
+        SelectStatementProvider selectStatement = select(id)
+                .from(foo)
+                .where(group(TENANT_FILTER))
+                .and(id, isEqualTo(3))
+                .configureStatement(c -> c.setCriteriaOptimizationEnabled(true))
+                .build()
+                .render(RenderingStrategies.SPRING_NAMED_PARAMETER);
+
+        assertThat(selectStatement.getSelectStatement())
+                .isEqualTo("select id from foo where (tenant_id = :p1 and status <> :p2) and id = :p3");
+    }
+
+    @Test
+    void testWrongNumberOfValues() {
+        assertThatExceptionOfType(InvalidSqlException.class).isThrownBy(() -> TENANT_FILTER.withValues(1))
+                .withMessage("A compiled criterion with 2 parameter slot(s) cannot be bound to 1 value(s)");
+    }
+
+    @Test
+    void testColumnRenderingStrategyIsNotSupported() {
+        SqlColumn<Integer> column = id.withRenderingStrategy(RenderingStrategies.MYBATIS3);
+
+        assertThatExceptionOfType(InvalidSqlException.class)
+                .isThrownBy(() -> CompiledCriterion.of(column, isEqualTo(3)))
+                .withMessage("Criteria that reference a column with its own rendering strategy cannot be compiled");
+    }
+}
@@ -0,0 +1,256 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.dynamic.sql.where.render;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mybatis.dynamic.sql.SqlBuilder.*;
+
+import java.sql.JDBCType;
+
+import org.junit.jupiter.api.Test;
+import org.mybatis.dynamic.sql.SqlColumn;
+import org.mybatis.dynamic.sql.SqlTable;
+import org.mybatis.dynamic.sql.render.RenderingStrategies;
+import org.mybatis.dynamic.sql.select.render.SelectStatementProvider;
+import org.mybatis.dynamic.sql.update.render.UpdateStatementProvider;
+
+class CriteriaOptimizerTest {
+    private static final SqlTable foo = SqlTable.of("foo");
+    private static final SqlColumn<Integer> id = foo.column("id", JDBCType.INTEGER);
+    private static final SqlColumn<String> description = foo.column("description", JDBCType.VARCHAR);
+
+    @Test
+    void testOptimizationIsDisabledByDefault() {
+        SelectStatementProvider selectStatement = select(id)
+                .from(foo)
+                .where(id, isEqualTo(1))
+                .or(id, isEqualTo(2))
+                .build()
+                .render(RenderingStrategies.SPRING_NAMED_PARAMETER);
+
+        assertThat(selectStatement.getSelectStatement()).isEqualTo("select id from foo where id = :p1 or id = :p2");
+    }
+
+    @Test
+    void testEqualitiesAreCombined() {
+        SelectStatementProvider selectStatement = select(id)
+                .from(foo)
+                .where(id, isEqualTo(1))
+                .or(description, isEqualTo("fred"))
+                .or(id, isEqualTo(2))
+                .or(id, isIn(3, 1))
+                .configureStatement(c -> c.setCriteriaOptimizationEnabled(true))
+                .build()
+                .render(RenderingStrategies.SPRING_NAMED_PARAMETER);
+
+        assertThat(selectStatement.getSelectStatement())
+                .isEqualTo("select id from foo where id in (:p1,:p2,:p3) or description = :p4");
+        assertThat(selectStatement.getParameters())
+                .containsEntry("p1", 1)
+                .containsEntry("p2", 2)
+                .containsEntry("p3", 3)
+                .containsEntry("p4", "fred")
+                .hasSize(4);
+    }
+
+    @Test
+    void testMixedConnectorsAreUnchanged() {
+        SelectStatementProvider selectStatement = select(id)
+                .from(foo)
+                .where(id, isEqualTo(1))
+                .and(description, isEqualTo("fred"))
+                .or(id, isEqualTo(2))
+                .configureStatement(c -> c.setCriteriaOptimizationEnabled(true))
+                .build()
+                .render(RenderingStrategies.SPRING_NAMED_PARAMETER);
+
+        assertThat(selectStatement.getSelectStatement())
+                .isEqualTo("select id from foo where id = :p1 and description = :p2 or id = :p3");
+    }
+
+    @Test
+    void testNullValuesAreNotCombined() {
+        SelectStatementProvider selectStatement = select(id)
+                .from(foo)
+                .where(id, isEqualTo((Integer) null))
+                .or(id, isEqualTo(2))
+                .configureStatement(c -> c.setCriteriaOptimizationEnabled(true))
+                .build()
+                .render(RenderingStrategies.SPRING_NAMED_PARAMETER);
+
+        assertThat(selectStatement.getSelectStatement()).isEqualTo("select id from foo where id = :p1 or id = :p2");
+    }
+
+    @Test
+    void testDuplicatesAreRemoved() {
+        SelectStatementProvider selectStatement = select(id)
+                .from(foo)
+                .where(id, isGreaterThan(3))
+                .and(description, isLike("f%"))
+                .and(id, isGreaterThan(3))
+                .and(id, isBetween(1).and(10))
+                .and(id, isBetween(1).and(10))
+                .configureStatement(c -> c.setCriteriaOptimizationEnabled(true))
+                .build()
+                .render(RenderingStrategies.SPRING_NAMED_PARAMETER);
+
+        assertThat(selectStatement.getSelectStatement())
+                .isEqualTo("select id from foo where id > :p1 and description like :p2 and id between :p3 and :p4");
+    }
+
+    @Test
+    void testDifferentValuesAreNotDuplicates() {
+        SelectStatementProvider selectStatement = select(id)
+                .from(foo)
+                .where(id, isGreaterThan(3))
+                .and(id, isGreaterThan(4))
+                .configureStatement(c -> c.setCriteriaOptimizationEnabled(true))
+                .build()
+                .render(RenderingStrategies.SPRING_NAMED_PARAMETER);
+
+        assertThat(selectStatement.getSelectStatement()).isEqualTo("select id from foo where id > :p1 and id > :p2");
+    }
+
+    @Test
+    void testAndGroupIsMerged() {
+        SelectStatementProvider selectStatement = select(id)
+                .from(foo)
+                .where(id, isGreaterThan(1))
+                .and(group(description, isEqualTo("fred"), and(id, isLessThan(10))))
+                .or(id, isNull())
+                .configureStatement(c -> c.setCriteriaOptimizationEnabled(true))
+                .build()
+                .render(RenderingStrategies.SPRING_NAMED_PARAMETER);
+
+        assertThat(selectStatement.getSelectStatement())
+                .isEqualTo("select id from foo where id > :p1 and description = :p2 and id < :p3 or id is null");
+    }
+
+    @Test
+    void testOrGroupInAndIsKept() {
+        SelectStatementProvider selectStatement = select(id)
+                .from(foo)
+                .where(description, isNotNull())
+                .and(group(id, isLessThan(2), or(id, isGreaterThan(8))))
+                .configureStatement(c -> c.setCriteriaOptimizationEnabled(true))
+                .build()
+                .render(RenderingStrategies.SPRING_NAMED_PARAMETER);
+
+        assertThat(selectStatement.getSelectStatement())
+                .isEqualTo("select id from foo where description is not null and (id < :p1 or id > :p2)");
+    }
+
+    @Test
+    void testOrGroupInAndIsCombined() {
+        SelectStatementProvider selectStatement = select(id)
+                .from(foo)
+                .where(description, isNotNull())
+                .and(id, isEqualTo(5), or(id, isEqualTo(6)))
+                .configureStatement(c -> c.setCriteriaOptimizationEnabled(true))
+                .build()
+                .render(RenderingStrategies.SPRING_NAMED_PARAMETER);
+
+        assertThat(selectStatement.getSelectStatement())
+                .isEqualTo("select id from foo where description is not null and id in (:p1,:p2)");
+    }
+
+    @Test
+    void testOrGroupInOrIsMerged() {
+        SelectStatementProvider selectStatement = select(id)
+                .from(foo)
+                .where(description, isNull())
+                .or(group(id, isLessThan(2), or(id, isGreaterThan(8))))
+                .configureStatement(c -> c.setCriteriaOptimizationEnabled(true))
+                .build()
+                .render(RenderingStrategies.SPRING_NAMED_PARAMETER);
+
+        assertThat(selectStatement.getSelectStatement())
+                .isEqualTo("select id from foo where description is null or id < :p1 or id > :p2");
+    }
+
+    @Test
+    void testSingleMemberGroupsAreRemoved() {
+        SelectStatementProvider selectStatement = select(id)
+                .from(foo)
+                .where(group(group(id, isEqualTo(1))))
+                .and(group(description, isEqualToWhenPresent((String) null), and(id, isLessThan(9))))
+                .configureStatement(c -> c.setCriteriaOptimizationEnabled(true))
+                .build()
+                .render(RenderingStrategies.SPRING_NAMED_PARAMETER);
+
+        assertThat(selectStatement.getSelectStatement()).isEqualTo("select id from foo where id = :p1 and id < :p2");
+    }
+
+    @Test
+    void testDoubleNegationIsRemoved() {
+        SelectStatementProvider selectStatement = select(id)
+                .from(foo)
+                .where(not(not(id, isEqualTo(1), or(id, isEqualTo(2)))))
+                .and(not(description, isLike("f%")))
+                .configureStatement(c -> c.setCriteriaOptimizationEnabled(true))
+                .build()
+                .render(RenderingStrategies.SPRING_NAMED_PARAMETER);
+
+        assertThat(selectStatement.getSelectStatement())
+                .isEqualTo("select id from foo where id in (:p1,:p2) and not description like :p3");
+    }
+
+    @Test
+    void testNonRenderingConditionsAreRemoved() {
+        SelectStatementProvider selectStatement = select(id)
+                .from(foo)
+                .where(id, isEqualToWhenPresent((Integer) null))
+                .or(id, isEqualTo(2))
+                .or(description, isLikeWhenPresent((String) null))
+                .or(id, isEqualTo(4))
+                .configureStatement(c -> c.setCriteriaOptimizationEnabled(true))
+                .build()
+                .render(RenderingStrategies.SPRING_NAMED_PARAMETER);
+
+        assertThat(selectStatement.getSelectStatement()).isEqualTo("select id from foo where id in (:p1,:p2)");
+    }
+
+    @Test
+    void testExistsIsUnchanged() {
+        SqlTable bar = SqlTable.of("bar");
+        SqlColumn<Integer> fooId = bar.column("foo_id", JDBCType.INTEGER);
+
+        SelectStatementProvider selectStatement = select(id)
+                .from(foo)
+                .where(exists(select(fooId).from(bar).where(fooId, isEqualTo(id))))
+                .and(id, isEqualTo(1), or(id, isEqualTo(2)))
+                .configureStatement(c -> c.setCriteriaOptimizationEnabled(true))
+                .build()
+                .render(RenderingStrategies.SPRING_NAMED_PARAMETER);
+
+        assertThat(selectStatement.getSelectStatement()).isEqualTo("select id from foo "
+                + "where exists (select foo_id from bar where foo_id = id) and id in (:p1,:p2)");
+    }
+
+    @Test
+    void testUpdate() {
+        UpdateStatementProvider updateStatement = update(foo)
+                .set(description).equalTo("fred")
+                .where(id, isEqualTo(1))
+                .or(id, isEqualTo(2))
+                .configureStatement(c -> c.setCriteriaOptimizationEnabled(true))
+                .build()
+                .render(RenderingStrategies.SPRING_NAMED_PARAMETER);
+
+        assertThat(updateStatement.getUpdateStatement())
+                .isEqualTo("update foo set description = :p1 where id in (:p2,:p3)");
+    }
+}
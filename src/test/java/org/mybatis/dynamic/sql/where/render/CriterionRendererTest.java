@@ -31,6 +31,8 @@ import org.mybatis.dynamic.sql.render.RenderingContext;
 import org.mybatis.dynamic.sql.render.RenderingStrategies;
 import org.mybatis.dynamic.sql.util.FragmentAndParameters;
 import org.mybatis.dynamic.sql.where.condition.IsEqualTo;
+import org.mybatis.dynamic.sql.where.condition.IsIn;
+import org.mybatis.dynamic.sql.where.condition.IsNotIn;
 
 class CriterionRendererTest {
 
@@ -82,4 +84,44 @@ class CriterionRendererTest {
             assertThat(fp.parameters()).containsExactly(entry("p1", 3));
         });
     }
+
+    @Test
+    void testInWithLongArray() {
+        SqlTable table = SqlTable.of("foo");
+        SqlColumn<Long> column = table.column("id", JDBCType.BIGINT);
+        IsIn<Long> condition = IsIn.of(new long[] {3L, 4L});
+        ColumnAndConditionCriterion<Long> criterion = ColumnAndConditionCriterion.withColumn(column)
+                .withCondition(condition)
+                .build();
+
+        RenderingContext renderingContext = RenderingContext
+                .withRenderingStrategy(RenderingStrategies.SPRING_NAMED_PARAMETER)
+                .build();
+
+        CriterionRenderer renderer = new CriterionRenderer(renderingContext);
+
+        assertThat(criterion.accept(renderer)).hasValueSatisfying(rc -> {
+            FragmentAndParameters fp = rc.fragmentAndParameters();
+            assertThat(fp.fragment()).isEqualTo("id in (:p1,:p2)");
+            assertThat(fp.parameters()).containsOnly(entry("p1", 3L), entry("p2", 4L));
+        });
+    }
+
+    @Test
+    void testNotInWithEmptyLongArray() {
+        SqlTable table = SqlTable.of("foo");
+        SqlColumn<Long> column = table.column("id", JDBCType.BIGINT);
+        IsNotIn<Long> condition = IsNotIn.of(new long[0]);
+        ColumnAndConditionCriterion<Long> criterion = ColumnAndConditionCriterion.withColumn(column)
+                .withCondition(condition)
+                .build();
+
+        RenderingContext renderingContext = RenderingContext
+                .withRenderingStrategy(RenderingStrategies.SPRING_NAMED_PARAMETER)
+                .build();
+
+        CriterionRenderer renderer = new CriterionRenderer(renderingContext);
+
+        assertThat(criterion.accept(renderer)).isEmpty();
+    }
 }
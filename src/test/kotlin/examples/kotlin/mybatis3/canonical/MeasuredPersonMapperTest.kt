@@ -0,0 +1,91 @@
+/*
+ *    Copyright 2016-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package examples.kotlin.mybatis3.canonical
+
+import examples.kotlin.mybatis3.TestUtils
+import examples.kotlin.mybatis3.canonical.PersonDynamicSqlSupport.employed
+import examples.kotlin.mybatis3.canonical.PersonDynamicSqlSupport.firstName
+import examples.kotlin.mybatis3.canonical.PersonDynamicSqlSupport.id
+import examples.kotlin.mybatis3.canonical.PersonDynamicSqlSupport.lastName
+import examples.kotlin.mybatis3.canonical.PersonDynamicSqlSupport.occupation
+import examples.kotlin.mybatis3.canonical.PersonDynamicSqlSupport.person
+import org.apache.ibatis.session.SqlSessionFactory
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.jupiter.api.BeforeAll
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.mybatis.dynamic.sql.render.StatementKind
+import org.mybatis.dynamic.sql.util.InMemoryStatementMetrics
+import org.mybatis.dynamic.sql.util.kotlin.mybatis3.countFrom
+import org.mybatis.dynamic.sql.util.kotlin.mybatis3.measuredCount
+import org.mybatis.dynamic.sql.util.kotlin.mybatis3.measuredSelect
+import org.mybatis.dynamic.sql.util.kotlin.mybatis3.measuredUpdate
+import org.mybatis.dynamic.sql.util.kotlin.mybatis3.selectList
+import org.mybatis.dynamic.sql.util.kotlin.mybatis3.update
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class MeasuredPersonMapperTest {
+    private lateinit var sqlSessionFactory: SqlSessionFactory
+
+    @BeforeAll
+    fun setup() {
+        sqlSessionFactory = TestUtils.buildSqlSessionFactory {
+            withInitializationScript("/examples/kotlin/mybatis3/CreateSimpleDB.sql")
+            withTypeHandler(YesNoTypeHandler::class)
+            withMapper(PersonMapper::class)
+        }
+    }
+
+    @Test
+    fun testSelectAndCount() {
+        sqlSessionFactory.openSession().use { session ->
+            val mapper = session.getMapper(PersonMapper::class.java)
+            val metrics = InMemoryStatementMetrics()
+
+            val rows = selectList(measuredSelect(metrics, mapper::selectMany), listOf(id, firstName, lastName),
+                person) {
+                where { id isLessThan 4 }
+            }
+            val count = countFrom(measuredCount(metrics, mapper::count), person) {
+                where { id isLessThan 4 }
+            }
+
+            assertThat(rows).hasSize(3)
+            assertThat(count).isEqualTo(3)
+            assertThat(metrics.statistics()).hasSize(2)
+            assertThat(metrics.statistics().map { it.rows() }).containsExactlyInAnyOrder(3L, 1L)
+        }
+    }
+
+    @Test
+    fun testUpdate() {
+        sqlSessionFactory.openSession().use { session ->
+            val mapper = session.getMapper(PersonMapper::class.java)
+            val metrics = InMemoryStatementMetrics()
+
+            val rows = update(measuredUpdate(metrics, mapper::update), person) {
+                set(occupation) equalTo "Programmer"
+                where { employed isEqualTo true }
+            }
+
+            assertThat(rows).isEqualTo(4)
+            assertThat(metrics.statistics()).singleElement().satisfies({
+                assertThat(it.statementKind()).isEqualTo(StatementKind.UPDATE)
+                assertThat(it.rows()).isEqualTo(4)
+            })
+        }
+    }
+}
@@ -20,6 +20,7 @@ import org.apache.ibatis.annotations.Result
 import org.apache.ibatis.annotations.ResultMap
 import org.apache.ibatis.annotations.Results
 import org.apache.ibatis.annotations.SelectProvider
+import org.apache.ibatis.cursor.Cursor
 import org.apache.ibatis.type.JdbcType
 import org.mybatis.dynamic.sql.select.render.SelectStatementProvider
 import org.mybatis.dynamic.sql.util.SqlProviderAdapter
@@ -62,6 +63,10 @@ interface PersonMapper : CommonCountMapper, CommonDeleteMapper, CommonInsertMapp
     )
     fun selectMany(selectStatement: SelectStatementProvider): List<PersonRecord>
 
+    @SelectProvider(type = SqlProviderAdapter::class, method = "select")
+    @ResultMap("PersonResult")
+    fun selectManyCursor(selectStatement: SelectStatementProvider): Cursor<PersonRecord>
+
     @SelectProvider(type = SqlProviderAdapter::class, method = "select")
     @ResultMap("PersonResult")
     fun selectOne(selectStatement: SelectStatementProvider): PersonRecord?
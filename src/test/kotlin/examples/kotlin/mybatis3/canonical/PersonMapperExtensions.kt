@@ -42,6 +42,7 @@ import org.mybatis.dynamic.sql.util.kotlin.mybatis3.insertInto
 import org.mybatis.dynamic.sql.util.kotlin.mybatis3.insertMultiple
 import org.mybatis.dynamic.sql.util.kotlin.mybatis3.insertSelect
 import org.mybatis.dynamic.sql.util.kotlin.mybatis3.selectDistinct
+import org.mybatis.dynamic.sql.util.kotlin.mybatis3.selectFlow
 import org.mybatis.dynamic.sql.util.kotlin.mybatis3.selectList
 import org.mybatis.dynamic.sql.util.kotlin.mybatis3.selectOne
 import org.mybatis.dynamic.sql.util.kotlin.mybatis3.update
@@ -127,6 +128,9 @@ fun PersonMapper.selectOne(completer: SelectCompleter) =
 fun PersonMapper.select(completer: SelectCompleter) =
     selectList(this::selectMany, columnList, person, completer)
 
+fun PersonMapper.selectFlow(completer: SelectCompleter) =
+    selectFlow(this::selectManyCursor, columnList, person, completer = completer)
+
 fun PersonMapper.selectDistinct(completer: SelectCompleter) =
     selectDistinct(this::selectMany, columnList, person, completer)
 
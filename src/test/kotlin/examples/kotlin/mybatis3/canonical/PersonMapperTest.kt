@@ -25,6 +25,10 @@ import examples.kotlin.mybatis3.canonical.PersonDynamicSqlSupport.id
 import examples.kotlin.mybatis3.canonical.PersonDynamicSqlSupport.lastName
 import examples.kotlin.mybatis3.canonical.PersonDynamicSqlSupport.occupation
 import examples.kotlin.mybatis3.canonical.PersonDynamicSqlSupport.person
+import kotlinx.coroutines.flow.map
+import kotlinx.coroutines.flow.take
+import kotlinx.coroutines.flow.toList
+import kotlinx.coroutines.runBlocking
 import org.apache.ibatis.session.ExecutorType
 import org.apache.ibatis.session.SqlSessionFactory
 import org.assertj.core.api.Assertions.assertThat
@@ -36,6 +40,7 @@ import org.mybatis.dynamic.sql.util.kotlin.elements.add
 import org.mybatis.dynamic.sql.util.kotlin.elements.constant
 import org.mybatis.dynamic.sql.util.kotlin.elements.isIn
 import org.mybatis.dynamic.sql.util.kotlin.elements.sortColumn
+import org.mybatis.dynamic.sql.util.kotlin.mybatis3.awaitSelectList
 import org.mybatis.dynamic.sql.util.kotlin.mybatis3.insertInto
 import org.mybatis.dynamic.sql.util.kotlin.mybatis3.insertSelect
 import org.mybatis.dynamic.sql.util.kotlin.mybatis3.multiSelect
@@ -86,6 +91,57 @@ class PersonMapperTest {
         }
     }
 
+    @Test
+    fun testSelectFlow() {
+        sqlSessionFactory.openSession().use { session ->
+            val mapper = session.getMapper(PersonMapper::class.java)
+
+            val names = runBlocking {
+                mapper.selectFlow {
+                    where { id isGreaterThan 2 }
+                    orderBy(id)
+                }.map { it.firstName }.toList()
+            }
+
+            assertThat(names).containsExactly("Pebbles", "Barney", "Betty", "Bamm Bamm")
+        }
+    }
+
+    @Test
+    fun testSelectFlowCancelled() {
+        sqlSessionFactory.openSession().use { session ->
+            val mapper = session.getMapper(PersonMapper::class.java)
+
+            val ids = runBlocking {
+                mapper.selectFlow {
+                    allRows()
+                    orderBy(id)
+                }.take(2).map { it.id }.toList()
+            }
+
+            assertThat(ids).containsExactly(1, 2)
+
+            // the cursor was closed, so the session can be used again
+            assertThat(mapper.count { allRows() }).isEqualTo(6)
+        }
+    }
+
+    @Test
+    fun testAwaitSelectList() {
+        sqlSessionFactory.openSession().use { session ->
+            val mapper = session.getMapper(PersonMapper::class.java)
+
+            val rows = runBlocking {
+                awaitSelectList(mapper::selectMany, listOf(id, firstName), person) {
+                    where { id isLessThan 3 }
+                    orderBy(id)
+                }
+            }
+
+            assertThat(rows.map { it.firstName }).containsExactly("Fred", "Wilma")
+        }
+    }
+
     @Test
     fun testSelectAllOrdered() {
         sqlSessionFactory.openSession().use { session ->
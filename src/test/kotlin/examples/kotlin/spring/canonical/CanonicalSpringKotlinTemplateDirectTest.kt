@@ -25,11 +25,16 @@ import examples.kotlin.spring.canonical.PersonDynamicSqlSupport.firstName
 import examples.kotlin.spring.canonical.PersonDynamicSqlSupport.id
 import examples.kotlin.spring.canonical.PersonDynamicSqlSupport.lastName
 import examples.kotlin.spring.canonical.PersonDynamicSqlSupport.occupation
+import kotlinx.coroutines.flow.take
+import kotlinx.coroutines.flow.toList
+import kotlinx.coroutines.runBlocking
 import org.assertj.core.api.Assertions.assertThat
 import org.junit.jupiter.api.Test
 import org.mybatis.dynamic.sql.util.kotlin.elements.`as`
 import org.mybatis.dynamic.sql.util.kotlin.elements.add
 import org.mybatis.dynamic.sql.util.kotlin.elements.constant
+import org.mybatis.dynamic.sql.util.kotlin.spring.awaitSelectList
+import org.mybatis.dynamic.sql.util.kotlin.spring.awaitSelectOne
 import org.mybatis.dynamic.sql.util.kotlin.spring.count
 import org.mybatis.dynamic.sql.util.kotlin.spring.countDistinct
 import org.mybatis.dynamic.sql.util.kotlin.spring.countFrom
@@ -41,6 +46,9 @@ import org.mybatis.dynamic.sql.util.kotlin.spring.insertMultiple
 import org.mybatis.dynamic.sql.util.kotlin.spring.insertSelect
 import org.mybatis.dynamic.sql.util.kotlin.spring.select
 import org.mybatis.dynamic.sql.util.kotlin.spring.selectDistinct
+import org.mybatis.dynamic.sql.util.kotlin.spring.selectFlow
+import org.mybatis.dynamic.sql.util.kotlin.spring.selectIntArray
+import org.mybatis.dynamic.sql.util.kotlin.spring.selectLongArray
 import org.mybatis.dynamic.sql.util.kotlin.spring.selectOne
 import org.mybatis.dynamic.sql.util.kotlin.spring.update
 import org.mybatis.dynamic.sql.util.kotlin.spring.withKeyHolder
@@ -69,6 +77,80 @@ open class CanonicalSpringKotlinTemplateDirectTest {
         assertThat(rows).isEqualTo(3)
     }
 
+    @Test
+    fun testSelectLongArray() {
+        val ids = template.selectLongArray(id) {
+            from(person)
+            where { id isGreaterThan 3 }
+            orderBy(id)
+        }
+
+        assertThat(ids).containsExactly(4L, 5L, 6L)
+    }
+
+    @Test
+    fun testSelectIntArray() {
+        val ids = template.selectIntArray(addressId) {
+            from(person)
+            orderBy(id.descending())
+        }
+
+        assertThat(ids).containsExactly(2, 2, 2, 1, 1, 1)
+    }
+
+    @Test
+    fun testSelectFlow() {
+        val selectStatement = select(id, firstName) {
+            from(person)
+            where { id isGreaterThan 3 }
+            orderBy(id)
+        }
+
+        val names = runBlocking {
+            template.selectFlow(selectStatement) { rs, _ -> rs.getString(2) }.toList()
+        }
+
+        assertThat(names).containsExactly("Barney", "Betty", "Bamm Bamm")
+    }
+
+    @Test
+    fun testSelectFlowWithSmallBuffer() {
+        val selectStatement = select(id) {
+            from(person)
+            orderBy(id)
+        }
+
+        val ids = runBlocking {
+            template.selectFlow(selectStatement, bufferSize = 1) { rs, _ -> rs.getInt(1) }.take(2).toList()
+        }
+
+        assertThat(ids).containsExactly(1, 2)
+    }
+
+    @Test
+    fun testAwaitSelectListAndOne() {
+        val listStatement = select(firstName) {
+            from(person)
+            where { id isLessThan 3 }
+            orderBy(id)
+        }
+
+        val oneStatement = select(firstName) {
+            from(person)
+            where { id isEqualTo 4 }
+        }
+
+        val (names, name) = runBlocking {
+            Pair(
+                template.awaitSelectList(listStatement) { rs, _ -> rs.getString(1) },
+                template.awaitSelectOne(oneStatement) { rs, _ -> rs.getString(1) }
+            )
+        }
+
+        assertThat(names).containsExactly("Fred", "Wilma")
+        assertThat(name).isEqualTo("Barney")
+    }
+
     @Test
     fun testCountAllRows() {
         val rows = template.countFrom(person) {
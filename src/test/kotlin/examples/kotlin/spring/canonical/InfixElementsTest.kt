@@ -1199,6 +1199,40 @@ open class InfixElementsTest {
         assertThat(rows[0]).isEqualTo("Fred")
     }
 
+    @Test
+    fun testIsInIntArray() {
+        val ids = intArrayOf(1, 2)
+
+        val selectStatement = select(firstName) {
+            from(person)
+            where { id isIn ids }
+            orderBy(id)
+        }
+
+        assertThat(selectStatement.selectStatement)
+            .isEqualTo("select first_name from Person where id in (:p1,:p2) order by id")
+
+        val rows = template.selectList(selectStatement, String::class)
+
+        assertThat(rows).containsExactly("Fred", "Wilma")
+    }
+
+    @Test
+    fun testIsNotInIntArray() {
+        val selectStatement = select(firstName) {
+            from(person)
+            where { id isNotIn intArrayOf(1, 2, 3, 4) }
+            orderBy(id)
+        }
+
+        assertThat(selectStatement.selectStatement)
+            .isEqualTo("select first_name from Person where id not in (:p1,:p2,:p3,:p4) order by id")
+
+        val rows = template.selectList(selectStatement, String::class)
+
+        assertThat(rows).containsExactly("Betty", "Bamm Bamm")
+    }
+
     @Test
     fun testIsTrue() {
         val selectStatement = select(firstName) {
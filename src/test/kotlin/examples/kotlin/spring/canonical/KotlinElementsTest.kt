@@ -33,6 +33,7 @@ import org.mybatis.dynamic.sql.util.kotlin.elements.divide
 import org.mybatis.dynamic.sql.util.kotlin.elements.isBetweenWhenPresent
 import org.mybatis.dynamic.sql.util.kotlin.elements.isEqualTo
 import org.mybatis.dynamic.sql.util.kotlin.elements.isFalse
+import org.mybatis.dynamic.sql.util.kotlin.elements.isIn
 import org.mybatis.dynamic.sql.util.kotlin.elements.isInCaseInsensitive
 import org.mybatis.dynamic.sql.util.kotlin.elements.isInCaseInsensitiveWhenPresent
 import org.mybatis.dynamic.sql.util.kotlin.elements.isInWhenPresent
@@ -305,6 +306,23 @@ open class KotlinElementsTest {
         assertThat(rows[0]).isEqualTo("Fred")
     }
 
+    @Test
+    fun testIsInIntArray() {
+        val selectStatement = select(firstName) {
+            from(person)
+            where { id (isIn(intArrayOf(2, 3))) }
+            orderBy(id)
+        }
+
+        assertThat(selectStatement.selectStatement).isEqualTo(
+            "select first_name from Person where id in (:p1,:p2) order by id"
+        )
+
+        val rows = template.selectList(selectStatement, String::class)
+
+        assertThat(rows).containsExactly("Wilma", "Pebbles")
+    }
+
     @Test
     fun testIsNotInWhenPresent() {
         val selectStatement = select(firstName) {
@@ -0,0 +1,36 @@
+--
+--    Copyright 2016-2022 the original author or authors.
+--
+--    Licensed under the Apache License, Version 2.0 (the "License");
+--    you may not use this file except in compliance with the License.
+--    You may obtain a copy of the License at
+--
+--       https://www.apache.org/licenses/LICENSE-2.0
+--
+--    Unless required by applicable law or agreed to in writing, software
+--    distributed under the License is distributed on an "AS IS" BASIS,
+--    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+--    See the License for the specific language governing permissions and
+--    limitations under the License.
+--
+drop table tableCodes_0 if exists;
+drop table tableCodes_1 if exists;
+drop table tableCodes_2 if exists;
+
+create table tableCodes_0 (
+    id int not null,
+    description varchar(30) not null,
+    primary key (id)
+);
+
+create table tableCodes_1 (
+    id int not null,
+    description varchar(30) not null,
+    primary key (id)
+);
+
+create table tableCodes_2 (
+    id int not null,
+    description varchar(30) not null,
+    primary key (id)
+);